@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicatesMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the characters of a corpus matching an identifier rule, with and without
+ * {@link EbnfGrammarCharPredicatesMetrics#fromGrammar} instrumenting, showing the cost of counting every test of the
+ * rule and its branches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private final static EbnfIdentifierName IDENTIFIER = EbnfIdentifierName.with("IDENTIFIER");
+
+    private char[] corpus;
+
+    private CharPredicate plain;
+
+    private CharPredicate instrumented;
+
+    @Setup
+    public void setup() {
+        this.corpus = Corpus.text(64 * 1024, 5);
+
+        this.plain = fromGrammar(false);
+        this.instrumented = fromGrammar(true);
+    }
+
+    private static CharPredicate fromGrammar(final boolean instrument) {
+        return EbnfGrammarCharPredicatesMetrics.fromGrammar(
+                EbnfParserToken.parse("IDENTIFIER = \"a\"..\"z\" | \"A\"..\"Z\" | \"0\"..\"9\" | \"_$\";"),
+                Maps.empty(),
+                instrument
+        ).get(IDENTIFIER);
+    }
+
+    @Benchmark
+    public int plain() {
+        return count(this.plain, this.corpus);
+    }
+
+    @Benchmark
+    public int instrumented() {
+        return count(this.instrumented, this.corpus);
+    }
+
+    @Benchmark
+    public int plainBulk() {
+        return EbnfGrammarCharPredicates.count(this.plain, this.corpus, 0, this.corpus.length);
+    }
+
+    @Benchmark
+    public int instrumentedBulk() {
+        return EbnfGrammarCharPredicates.count(this.instrumented, this.corpus, 0, this.corpus.length);
+    }
+
+    private static int count(final CharPredicate predicate,
+                             final char[] corpus) {
+        int count = 0;
+        for (final char c : corpus) {
+            if (predicate.test(c)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicatesParallel;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a synthetic grammar of many rules, comparing the serial {@link EbnfGrammarCharPredicates#fromGrammar} with
+ * {@link EbnfGrammarCharPredicatesParallel#fromGrammar} using the common pool or a pool of the given threads. Forking
+ * only pays off with at least as many free processors as threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelBenchmark {
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    @Param({"1000", "10000"})
+    public int rules;
+
+    private GrammarEbnfParserToken grammar;
+
+    private Map<EbnfIdentifierName, CharPredicate> predefined;
+
+    /**
+     * The threads of the pool, or 0 for the common pool.
+     */
+    @Param({"0", "4"})
+    public int threads;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        this.pool = 0 == this.threads ?
+                ForkJoinPool.commonPool() :
+                new ForkJoinPool(this.threads);
+
+        final StringBuilder grammar = new StringBuilder();
+
+        for (int i = 0; i < this.rules; i++) {
+            final char c = (char) ('a' + i % 26);
+            grammar.append("R").append(i).append(" = \"").append(c).append("\" .. \"z\"");
+
+            if (i > 0) {
+                grammar.append(" | R").append(i / 2)
+                        .append(" | R").append(i / 3);
+            }
+            if (i % 7 == 0) {
+                grammar.append(" | LETTER");
+            }
+            grammar.append(";\n");
+        }
+
+        this.grammar = EbnfParserToken.parse(grammar.toString());
+        this.predefined = Maps.of(LETTER, CharPredicates.range('0', '9'));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (0 != this.threads) {
+            this.pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Map<EbnfIdentifierName, CharPredicate> serial() {
+        return EbnfGrammarCharPredicates.fromGrammar(this.grammar, this.predefined);
+    }
+
+    @Benchmark
+    public Map<EbnfIdentifierName, CharPredicate> parallel() {
+        return EbnfGrammarCharPredicatesParallel.fromGrammar(this.grammar, this.predefined, this.pool);
+    }
+}
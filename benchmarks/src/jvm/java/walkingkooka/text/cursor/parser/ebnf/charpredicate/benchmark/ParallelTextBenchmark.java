@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicatesParallel;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the identifier characters of a large text and searches it for a character it does not contain, comparing the
+ * serial {@link EbnfGrammarCharPredicates} bulk methods with {@link EbnfGrammarCharPredicatesParallel} using the common
+ * pool or a pool of the given threads. Forking only pays off with at least as many free processors as threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelTextBenchmark {
+
+    private final static String GRAMMAR = "IDENTIFIER = \"a\" .. \"z\" | \"A\" .. \"Z\" | \"0\" .. \"9\" | \"_\";\n" +
+            "MISSING = \"~\";";
+
+    @Param({"1048576", "16777216"})
+    public int length;
+
+    private char[] text;
+
+    private CharPredicate identifier;
+
+    private CharPredicate missing;
+
+    /**
+     * The threads of the pool, or 0 for the common pool.
+     */
+    @Param({"0", "4"})
+    public int threads;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        this.pool = 0 == this.threads ?
+                ForkJoinPool.commonPool() :
+                new ForkJoinPool(this.threads);
+
+        this.text = Corpus.text(this.length, 30);
+
+        final Map<EbnfIdentifierName, CharPredicate> predicates = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(GRAMMAR),
+                Maps.empty()
+        );
+        this.identifier = predicates.get(EbnfIdentifierName.with("IDENTIFIER"));
+        this.missing = predicates.get(EbnfIdentifierName.with("MISSING"));
+
+        // both must agree, otherwise the comparison is meaningless
+        if (this.serialCount() != this.parallelCount()) {
+            throw new IllegalStateException("Counts differ serial=" + this.serialCount() + " parallel=" + this.parallelCount());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (0 != this.threads) {
+            this.pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int serialCount() {
+        return EbnfGrammarCharPredicates.count(this.identifier, this.text, 0, this.length);
+    }
+
+    @Benchmark
+    public int parallelCount() {
+        return EbnfGrammarCharPredicatesParallel.count(this.identifier, this.text, 0, this.length, this.pool);
+    }
+
+    @Benchmark
+    public int serialIndexOf() {
+        return EbnfGrammarCharPredicates.indexOf(this.missing, this.text, 0, this.length);
+    }
+
+    @Benchmark
+    public int parallelIndexOf() {
+        return EbnfGrammarCharPredicatesParallel.indexOf(this.missing, this.text, 0, this.length, this.pool);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicateUtf8;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicatesUtf8;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the identifiers in a UTF-8 corpus held by a direct {@link ByteBuffer}, decoding it and scanning the chars,
+ * or scanning the bytes with {@link EbnfGrammarCharPredicatesUtf8}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Utf8Benchmark {
+
+    private final static EbnfIdentifierName IDENTIFIER = EbnfIdentifierName.with("IDENTIFIER");
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    /**
+     * The percentage of non ASCII characters in the corpus.
+     */
+    @Param({"0", "30"})
+    public int nonAsciiPercentage;
+
+    private ByteBuffer bytes;
+
+    private CharPredicate predicate;
+
+    private EbnfGrammarCharPredicateUtf8 utf8;
+
+    @Setup
+    public void setup() {
+        final byte[] encoded = new String(Corpus.text(64 * 1024, this.nonAsciiPercentage))
+                .getBytes(StandardCharsets.UTF_8);
+        this.bytes = ByteBuffer.allocateDirect(encoded.length);
+        this.bytes.put(encoded)
+                .flip();
+
+        final CharPredicate letter = Character::isLetter;
+        this.predicate = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse("IDENTIFIER = LETTER | \"0\" .. \"9\" | \"_\";"),
+                Map.of(LETTER, letter)
+        ).get(IDENTIFIER);
+        this.utf8 = EbnfGrammarCharPredicatesUtf8.compile(this.predicate);
+
+        // both must agree, otherwise the comparison is meaningless
+        final int expected = this.decode();
+        if (expected != this.utf8()) {
+            throw new IllegalStateException("Counts differ decode=" + expected + " utf8=" + this.utf8());
+        }
+    }
+
+    @Benchmark
+    public int decode() {
+        final CharBuffer chars = StandardCharsets.UTF_8.decode(this.bytes.duplicate());
+        final CharPredicate predicate = this.predicate;
+        int count = 0;
+
+        int i = EbnfGrammarCharPredicates.indexOf(predicate, chars, 0);
+        while (-1 != i) {
+            count++;
+            i += EbnfGrammarCharPredicates.span(predicate, chars, i);
+            i = i < chars.length() ?
+                    EbnfGrammarCharPredicates.indexOf(predicate, chars, i) :
+                    -1;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int utf8() {
+        final ByteBuffer bytes = this.bytes;
+        final EbnfGrammarCharPredicateUtf8 utf8 = this.utf8;
+        final int to = bytes.limit();
+        int count = 0;
+
+        int i = utf8.indexOf(bytes, 0, to);
+        while (-1 != i) {
+            count++;
+            i += utf8.span(bytes, i, to);
+            i = utf8.indexOf(bytes, i, to);
+        }
+        return count;
+    }
+}
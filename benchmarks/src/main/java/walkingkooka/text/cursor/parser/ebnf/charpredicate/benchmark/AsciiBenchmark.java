@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the characters of an ASCII heavy corpus matching an identifier rule, comparing a hand built
+ * {@link CharPredicates} composition, the predicates returned by {@link EbnfGrammarCharPredicates#fromGrammar}, which
+ * answer ASCII from a mask, and {@link EbnfGrammarCharPredicates#compile}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsciiBenchmark {
+
+    private final static String GRAMMAR = "IDENTIFIER = LETTER | DIGIT | \"_$\";\n" +
+            "LETTER = \"a\"..\"z\" | \"A\"..\"Z\";\n" +
+            "DIGIT = \"0\"..\"9\";\n" +
+            "WHITESPACE_OR_LETTER = WHITESPACE | LETTER;";
+
+    /**
+     * The percentage of non ASCII characters in the corpus.
+     */
+    @Param({"0", "5"})
+    public int nonAsciiPercentage;
+
+    private char[] corpus;
+
+    private CharPredicate composed;
+
+    private CharPredicate fromGrammar;
+
+    private CharPredicate compiled;
+
+    private CharPredicate predefinedComposed;
+
+    private CharPredicate predefinedFromGrammar;
+
+    @Setup
+    public void setup() {
+        this.corpus = Corpus.text(64 * 1024, this.nonAsciiPercentage);
+
+        final CharPredicate whitespace = Character::isWhitespace;
+
+        this.composed = CharPredicates.range('a', 'z')
+                .or(CharPredicates.range('A', 'Z'))
+                .or(CharPredicates.range('0', '9'))
+                .or(CharPredicates.any("_$"));
+        this.predefinedComposed = whitespace.or(CharPredicates.range('a', 'z').or(CharPredicates.range('A', 'Z')));
+
+        final Map<EbnfIdentifierName, CharPredicate> predicates = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(GRAMMAR),
+                Maps.of(EbnfIdentifierName.with("WHITESPACE"), whitespace)
+        );
+        this.fromGrammar = predicates.get(EbnfIdentifierName.with("IDENTIFIER"));
+        this.predefinedFromGrammar = predicates.get(EbnfIdentifierName.with("WHITESPACE_OR_LETTER"));
+        this.compiled = EbnfGrammarCharPredicates.compile(predicates)
+                .get(EbnfIdentifierName.with("IDENTIFIER"));
+    }
+
+    @Benchmark
+    public int composed() {
+        return count(this.composed, this.corpus);
+    }
+
+    @Benchmark
+    public int fromGrammar() {
+        return count(this.fromGrammar, this.corpus);
+    }
+
+    @Benchmark
+    public int compiled() {
+        return count(this.compiled, this.corpus);
+    }
+
+    @Benchmark
+    public int predefinedComposed() {
+        return count(this.predefinedComposed, this.corpus);
+    }
+
+    @Benchmark
+    public int predefinedFromGrammar() {
+        return count(this.predefinedFromGrammar, this.corpus);
+    }
+
+    private static int count(final CharPredicate predicate,
+                             final char[] corpus) {
+        int count = 0;
+        for (final char c : corpus) {
+            if (predicate.test(c)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
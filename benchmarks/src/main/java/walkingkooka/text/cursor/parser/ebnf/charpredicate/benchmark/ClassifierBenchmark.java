@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicateClassifier;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the token class of every character of a corpus, like a lexer, comparing testing each rule in turn until one
+ * matches with a single {@link EbnfGrammarCharPredicateClassifier#ruleIndex(char)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassifierBenchmark {
+
+    private final static String GRAMMAR = "WHITESPACE = \" \t\r\n\";\n" +
+            "DIGIT = \"0\" .. \"9\";\n" +
+            "UPPER = \"A\" .. \"Z\";\n" +
+            "LOWER = \"a\" .. \"z\";\n" +
+            "UNDERSCORE = \"_\";\n" +
+            "DOLLAR = \"$\";\n" +
+            "QUOTE = \"'`\";\n" +
+            "OPEN = \"([{\";\n" +
+            "CLOSE = \")]}\";\n" +
+            "OPERATOR = \"+-*%=<>!&|^~?\";\n" +
+            "SEPARATOR = \",;:.\";\n" +
+            "SLASH = \"/\";\n" +
+            "AT = \"@#\";\n" +
+            "LATIN = \"\u00c0\" .. \"\u024f\";\n" +
+            "GREEK = \"\u0370\" .. \"\u03ff\";\n" +
+            "CYRILLIC = \"\u0400\" .. \"\u04ff\";\n" +
+            "CJK = \"\u4e00\" .. \"\u9fff\";\n" +
+            "KANA = \"\u3040\" .. \"\u30ff\";\n" +
+            "FULLWIDTH = \"\uff00\" .. \"\uffef\";\n" +
+            "OTHER = \"\u0080\" .. \"\u00bf\";";
+
+    /**
+     * The percentage of non ASCII characters in the corpus.
+     */
+    @Param({"0", "30"})
+    public int nonAsciiPercentage;
+
+    private char[] corpus;
+
+    private CharPredicate[] rules;
+
+    private EbnfGrammarCharPredicateClassifier classifier;
+
+    @Setup
+    public void setup() {
+        this.corpus = Corpus.text(64 * 1024, this.nonAsciiPercentage);
+
+        final Map<EbnfIdentifierName, CharPredicate> predicates = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(GRAMMAR),
+                Maps.empty()
+        );
+        this.rules = predicates.values()
+                .toArray(new CharPredicate[0]);
+        this.classifier = EbnfGrammarCharPredicates.classifier(predicates);
+
+        // both must agree, otherwise the comparison is meaningless
+        final int expected = this.sequential();
+        if (expected != this.classifier()) {
+            throw new IllegalStateException("Sums differ sequential=" + expected + " classifier=" + this.classifier());
+        }
+    }
+
+    @Benchmark
+    public int sequential() {
+        final CharPredicate[] rules = this.rules;
+        int sum = 0;
+
+        for (final char c : this.corpus) {
+            int index = -1;
+            for (int r = 0; r < rules.length; r++) {
+                if (rules[r].test(c)) {
+                    index = r;
+                    break;
+                }
+            }
+            sum += index;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int classifier() {
+        final EbnfGrammarCharPredicateClassifier classifier = this.classifier;
+        int sum = 0;
+
+        for (final char c : this.corpus) {
+            sum += classifier.ruleIndex(c);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates repeatable text that looks like source code or log lines, with an optional share of non ASCII characters.
+ */
+final class Corpus {
+
+    private final static String ASCII = "public static final int count = values.length; // total of 42 items\n" +
+            "2024-01-01T10:15:30 INFO request_id=abc$123 path=/api/v1/users?limit=50\t{\"name\": \"x\"}\n";
+
+    private final static String NON_ASCII = "\u00e9\u00fc\u00df\u03b1\u03b2\u0416\u4e2d\u6587\u3042\uff21";
+
+    static char[] text(final int length,
+                       final int nonAsciiPercentage) {
+        final Random random = new Random(length + nonAsciiPercentage);
+        final char[] text = new char[length];
+
+        for (int i = 0; i < length; i++) {
+            text[i] = random.nextInt(100) < nonAsciiPercentage ?
+                    NON_ASCII.charAt(random.nextInt(NON_ASCII.length())) :
+                    ASCII.charAt(i % ASCII.length());
+        }
+
+        return text;
+    }
+
+    private Corpus() {
+        throw new UnsupportedOperationException();
+    }
+}
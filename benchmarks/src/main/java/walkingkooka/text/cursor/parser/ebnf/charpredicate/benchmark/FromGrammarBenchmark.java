@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EbnfGrammarCharPredicates#fromGrammar} for synthetic grammars, as the number of rules and the
+ * nesting of groups within each rule grow. Every rule references two earlier rules, and every seventh rule a
+ * predefined predicate, so both range and wrapped predicates are built. The grammar is parsed once during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FromGrammarBenchmark {
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    @Param({"10", "100", "1000"})
+    public int rules;
+
+    /**
+     * The number of groups each rule is nested within.
+     */
+    @Param({"1", "16"})
+    public int nesting;
+
+    private GrammarEbnfParserToken grammar;
+
+    private Map<EbnfIdentifierName, CharPredicate> predefined;
+
+    @Setup
+    public void setup() {
+        final StringBuilder grammar = new StringBuilder();
+
+        for (int i = 0; i < this.rules; i++) {
+            grammar.append("R").append(i).append(" = ");
+            for (int n = 0; n < this.nesting; n++) {
+                grammar.append('(');
+            }
+
+            final char c = (char) ('a' + i % 26);
+            grammar.append('"').append(c).append("\" .. \"z\"");
+            if (i > 0) {
+                grammar.append(" | R").append(i / 2)
+                        .append(" | R").append(i / 3);
+            }
+            if (i % 7 == 0) {
+                grammar.append(" | LETTER");
+            }
+
+            for (int n = 0; n < this.nesting; n++) {
+                grammar.append(") | \"").append((char) ('A' + n % 26)).append('"');
+            }
+            grammar.append(";\n");
+        }
+
+        this.grammar = EbnfParserToken.parse(grammar.toString());
+        this.predefined = Maps.of(LETTER, CharPredicates.range('0', '9'));
+    }
+
+    @Benchmark
+    public Map<EbnfIdentifierName, CharPredicate> fromGrammar() {
+        return EbnfGrammarCharPredicates.fromGrammar(this.grammar, this.predefined);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the characters of a corpus matching typical terminals, comparing the predicate returned by
+ * {@link EbnfGrammarCharPredicates#fromGrammar} with {@link CharPredicates#any(String)} holding the same characters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TerminalBenchmark {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    @Param({"single", "delimiters", "whitespace", "unicodeWhitespace", "quotes"})
+    public String terminal;
+
+    /**
+     * The percentage of non ASCII characters in the corpus.
+     */
+    @Param({"0", "30"})
+    public int nonAsciiPercentage;
+
+    private char[] corpus;
+
+    private CharPredicate fromGrammar;
+
+    private CharPredicate any;
+
+    @Setup
+    public void setup() {
+        this.corpus = Corpus.text(64 * 1024, this.nonAsciiPercentage);
+
+        final String characters = characters(this.terminal);
+        this.any = CharPredicates.any(characters);
+        this.fromGrammar = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse("TEST = \"" + characters.replace("\\", "\\\\").replace("\"", "\\\"") + "\";"),
+                Maps.empty()
+        ).get(TEST);
+
+        // both must agree, otherwise the comparison is meaningless
+        final int expected = this.any();
+        if (expected != this.fromGrammar()) {
+            throw new IllegalStateException(
+                    "Counts differ for " + this.terminal + " any=" + expected + " fromGrammar=" + this.fromGrammar()
+            );
+        }
+    }
+
+    private static String characters(final String terminal) {
+        final String characters;
+
+        switch (terminal) {
+            case "single":
+                characters = ",";
+                break;
+            case "delimiters":
+                characters = ",;:.()[]{}";
+                break;
+            case "whitespace":
+                characters = " \t\r\n";
+                break;
+            case "unicodeWhitespace":
+                characters = " \t\r\n\u00a0\u1680\u2000\u2001\u2002\u2003\u2028\u2029\u202f\u205f\u3000";
+                break;
+            case "quotes":
+                characters = "'`\u00ab\u00bb\u2018\u2019\u201c\u201d\u300c\u300d\uff02";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown terminal " + terminal);
+        }
+
+        return characters;
+    }
+
+    @Benchmark
+    public int fromGrammar() {
+        return count(this.fromGrammar, this.corpus);
+    }
+
+    @Benchmark
+    public int any() {
+        return count(this.any, this.corpus);
+    }
+
+    private static int count(final CharPredicate predicate,
+                             final char[] corpus) {
+        int count = 0;
+        for (final char c : corpus) {
+            if (predicate.test(c)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
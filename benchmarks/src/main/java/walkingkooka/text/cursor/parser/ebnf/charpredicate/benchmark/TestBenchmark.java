@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+
+import java.nio.CharBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the characters of a corpus matching a single rule of each kind, comparing the predicate returned by
+ * {@link EbnfGrammarCharPredicates#fromGrammar}, a hand built {@link CharPredicates} composition and the equivalent
+ * {@link Pattern} character class. The corpus may be all ASCII or hold a share of other characters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TestBenchmark {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    @Param({"terminal", "range", "alternatives", "exception", "predefined"})
+    public String kind;
+
+    /**
+     * The percentage of non ASCII characters in the corpus.
+     */
+    @Param({"0", "30"})
+    public int nonAsciiPercentage;
+
+    private char[] corpus;
+
+    private CharBuffer corpusBuffer;
+
+    private CharPredicate fromGrammar;
+
+    private CharPredicate composed;
+
+    private Pattern regex;
+
+    @Setup
+    public void setup() {
+        this.corpus = Corpus.text(64 * 1024, this.nonAsciiPercentage);
+        this.corpusBuffer = CharBuffer.wrap(this.corpus);
+
+        final CharPredicate letter = Character::isLetter;
+        final String grammar;
+
+        switch (this.kind) {
+            case "terminal":
+                grammar = "\"aeiou\"";
+                this.composed = CharPredicates.any("aeiou");
+                this.regex = Pattern.compile("[aeiou]");
+                break;
+            case "range":
+                grammar = "\"a\" .. \"z\"";
+                this.composed = CharPredicates.range('a', 'z');
+                this.regex = Pattern.compile("[a-z]");
+                break;
+            case "alternatives":
+                grammar = "\"a\" .. \"z\" | \"A\" .. \"Z\" | \"0\" .. \"9\" | \"_\"";
+                this.composed = CharPredicates.range('a', 'z')
+                        .or(CharPredicates.range('A', 'Z'))
+                        .or(CharPredicates.range('0', '9'))
+                        .or(CharPredicates.is('_'));
+                this.regex = Pattern.compile("[a-zA-Z0-9_]");
+                break;
+            case "exception":
+                grammar = "(\"a\" .. \"z\") - \"aeiou\"";
+                this.composed = CharPredicates.range('a', 'z')
+                        .andNot(CharPredicates.any("aeiou"));
+                this.regex = Pattern.compile("[a-z&&[^aeiou]]");
+                break;
+            case "predefined":
+                grammar = "LETTER | \"_\"";
+                this.composed = letter.or(CharPredicates.is('_'));
+                this.regex = Pattern.compile("[\\p{IsLetter}_]");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown kind " + this.kind);
+        }
+
+        this.fromGrammar = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse("TEST = " + grammar + ";"),
+                Maps.of(LETTER, letter)
+        ).get(TEST);
+
+        // all three must agree, otherwise the comparison is meaningless
+        final int expected = this.composed();
+        if (expected != this.fromGrammar() || expected != this.regex()) {
+            throw new IllegalStateException(
+                    "Counts differ for " + this.kind + " composed=" + expected + " fromGrammar=" + this.fromGrammar() + " regex=" + this.regex()
+            );
+        }
+    }
+
+    @Benchmark
+    public int fromGrammar() {
+        return count(this.fromGrammar, this.corpus);
+    }
+
+    @Benchmark
+    public int composed() {
+        return count(this.composed, this.corpus);
+    }
+
+    @Benchmark
+    public int regex() {
+        final Matcher matcher = this.regex.matcher(this.corpusBuffer);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int count(final CharPredicate predicate,
+                             final char[] corpus) {
+        int count = 0;
+        for (final char c : corpus) {
+            if (predicate.test(c)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicatesVector;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and vector span and count over a long log like buffer, for an ASCII only rule that uses the
+ * nibble lookup and a rule with non ASCII ranges that uses range compares.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class VectorBenchmark {
+
+    private final static String GRAMMAR = "IDENTIFIER = \"a\"..\"z\" | \"A\"..\"Z\" | \"0\"..\"9\" | \"_$\";\n" +
+            "NOT_CONTROL = \" \"..\"~\" | \"\u00a0\"..\"\uffff\";";
+
+    @Param({"IDENTIFIER", "NOT_CONTROL"})
+    public String rule;
+
+    private char[] corpus;
+
+    private CharPredicate predicate;
+
+    @Setup
+    public void setup() {
+        this.corpus = Corpus.text(256 * 1024, 1);
+
+        final Map<EbnfIdentifierName, CharPredicate> predicates = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(GRAMMAR),
+                Maps.empty()
+        );
+        this.predicate = predicates.get(EbnfIdentifierName.with(this.rule));
+
+        if (false == EbnfGrammarCharPredicatesVector.isSupported()) {
+            throw new IllegalStateException("Vector module missing");
+        }
+    }
+
+    @Benchmark
+    public int countScalar() {
+        return EbnfGrammarCharPredicates.count(this.predicate, this.corpus, 0, this.corpus.length);
+    }
+
+    @Benchmark
+    public int countVector() {
+        return EbnfGrammarCharPredicatesVector.count(this.predicate, this.corpus, 0, this.corpus.length);
+    }
+
+    /**
+     * Splits the whole corpus into runs of matching and non matching characters.
+     */
+    @Benchmark
+    public int spansScalar() {
+        final char[] corpus = this.corpus;
+        final int length = corpus.length;
+        int spans = 0;
+
+        for (int i = 0; i < length; ) {
+            final int match = EbnfGrammarCharPredicates.indexOf(this.predicate, corpus, i, length);
+            if (-1 == match) {
+                break;
+            }
+            i = match + EbnfGrammarCharPredicates.span(this.predicate, corpus, match, length);
+            spans++;
+        }
+        return spans;
+    }
+
+    @Benchmark
+    public int spansVector() {
+        final char[] corpus = this.corpus;
+        final int length = corpus.length;
+        int spans = 0;
+
+        for (int i = 0; i < length; ) {
+            final int match = EbnfGrammarCharPredicatesVector.indexOf(this.predicate, corpus, i, length);
+            if (-1 == match) {
+                break;
+            }
+            i = match + EbnfGrammarCharPredicatesVector.span(this.predicate, corpus, match, length);
+            spans++;
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link EbnfGrammarCharPredicateBinaryReader} that reads a {@link ByteBuffer}, where ranges remain in the buffer
+ * rather than being copied.
+ */
+final class EbnfGrammarCharPredicateBinaryReaderByteBuffer extends EbnfGrammarCharPredicateBinaryReader {
+
+    static EbnfGrammarCharPredicateBinaryReaderByteBuffer with(final ByteBuffer buffer) {
+        return new EbnfGrammarCharPredicateBinaryReaderByteBuffer(buffer);
+    }
+
+    private EbnfGrammarCharPredicateBinaryReaderByteBuffer(final ByteBuffer buffer) {
+        super();
+        this.buffer = buffer;
+    }
+
+    @Override
+    int readInt() {
+        try {
+            return this.buffer.getInt();
+        } catch (final BufferUnderflowException cause) {
+            throw truncated();
+        }
+    }
+
+    @Override
+    char readChar() {
+        try {
+            return this.buffer.getChar();
+        } catch (final BufferUnderflowException cause) {
+            throw truncated();
+        }
+    }
+
+    private IllegalArgumentException truncated() {
+        return new IllegalArgumentException("Truncated at " + this.buffer.position());
+    }
+
+    @Override
+    EbnfGrammarCharPredicate readRanges(final int count,
+                                        final String toString) {
+        final ByteBuffer buffer = this.buffer;
+        final int position = buffer.position();
+        final int length = count * 4;
+
+        final ByteBuffer ranges = buffer.duplicate();
+        ranges.limit(position + length);
+        buffer.position(position + length);
+
+        return EbnfGrammarCharPredicateCharBuffer.with(
+                ranges.slice().asCharBuffer(),
+                toString
+        );
+    }
+
+    @Override
+    int remaining() {
+        return this.buffer.remaining();
+    }
+
+    private final ByteBuffer buffer;
+
+    @Override
+    public String toString() {
+        return this.buffer.toString();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Tests the characters encoded in bytes of a single {@link Charset} without decoding them into chars. A character is
+ * the one or more bytes of a single code point, and invalid bytes are single byte characters that never match.
+ */
+abstract class EbnfGrammarCharPredicateByteScanner {
+
+    /**
+     * Creates a scanner for UTF-8, UTF-16BE, UTF-16LE and any charset encoding every character as a single byte,
+     * failing for all others.
+     */
+    static EbnfGrammarCharPredicateByteScanner with(final CharPredicate predicate,
+                                                    final Charset charset) {
+        Objects.requireNonNull(predicate, "predicate");
+        Objects.requireNonNull(charset, "charset");
+
+        final EbnfGrammarCharPredicateByteScanner scanner;
+
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            scanner = EbnfGrammarCharPredicateByteScannerUtf8.with(predicate);
+        } else if (StandardCharsets.UTF_16BE.equals(charset)) {
+            scanner = EbnfGrammarCharPredicateByteScannerUtf16.with(predicate, ByteOrder.BIG_ENDIAN);
+        } else if (StandardCharsets.UTF_16LE.equals(charset)) {
+            scanner = EbnfGrammarCharPredicateByteScannerUtf16.with(predicate, ByteOrder.LITTLE_ENDIAN);
+        } else if (charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f) {
+            scanner = EbnfGrammarCharPredicateByteScannerSingleByte.with(predicate, charset);
+        } else {
+            throw new IllegalArgumentException("Unsupported charset " + charset + ", expected UTF-8, UTF-16BE, UTF-16LE or a single byte charset");
+        }
+
+        return scanner;
+    }
+
+    EbnfGrammarCharPredicateByteScanner() {
+        super();
+    }
+
+    /**
+     * Returns the index of the first byte of the first character between from and to whose match equals test, or -1.
+     */
+    abstract int indexOf(final ByteBuffer bytes,
+                         final int from,
+                         final int to,
+                         final boolean test);
+
+    /**
+     * Returns the index of the first byte of the character after the one beginning at the given index.
+     */
+    abstract int next(final ByteBuffer bytes,
+                      final int index,
+                      final int to);
+
+    /**
+     * Counts the characters beginning between from and to.
+     */
+    abstract int characters(final ByteBuffer bytes,
+                            final int from,
+                            final int to);
+
+    /**
+     * Returns the index at or before end where a character begins, so a chunk ending there never splits a character.
+     * The bytes following end, up to the longest character, are available if not at the end of the input. When end is
+     * the end of the input it is returned unchanged.
+     */
+    abstract int boundary(final ByteBuffer bytes,
+                          final int end);
+
+    /**
+     * The most bytes of a single character.
+     */
+    abstract int maxCharacterLength();
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * A {@link EbnfGrammarCharPredicateByteScanner} for charsets encoding every character as a single byte, such as
+ * ISO-8859-1. Every byte is decoded and tested once when created, so scanning is a mask lookup for each byte. Bytes
+ * that the charset cannot decode never match.
+ */
+final class EbnfGrammarCharPredicateByteScannerSingleByte extends EbnfGrammarCharPredicateByteScanner {
+
+    static EbnfGrammarCharPredicateByteScannerSingleByte with(final CharPredicate predicate,
+                                                               final Charset charset) {
+        final long[] masks = new long[4];
+
+        for (int b = 0; b < 256; b++) {
+            final String decoded = new String(new byte[]{(byte) b}, charset);
+            if (decoded.length() == 1) {
+                final char c = decoded.charAt(0);
+                if (c != REPLACEMENT && predicate.test(c)) {
+                    masks[b >> 6] |= 1L << b;
+                }
+            }
+        }
+
+        return new EbnfGrammarCharPredicateByteScannerSingleByte(
+                masks,
+                predicate + " " + charset
+        );
+    }
+
+    private final static char REPLACEMENT = '\ufffd';
+
+    private EbnfGrammarCharPredicateByteScannerSingleByte(final long[] masks,
+                                                          final String toString) {
+        super();
+        this.masks = masks;
+        this.toString = toString;
+    }
+
+    @Override
+    int indexOf(final ByteBuffer bytes,
+                final int from,
+                final int to,
+                final boolean test) {
+        final long[] masks = this.masks;
+
+        for (int i = from; i < to; i++) {
+            final int b = bytes.get(i) & 0xff;
+            if (test == ((masks[b >> 6] >>> b & 1) != 0)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    int next(final ByteBuffer bytes,
+             final int index,
+             final int to) {
+        return index + 1;
+    }
+
+    @Override
+    int characters(final ByteBuffer bytes,
+                   final int from,
+                   final int to) {
+        return to - from;
+    }
+
+    @Override
+    int boundary(final ByteBuffer bytes,
+                 final int end) {
+        return end;
+    }
+
+    @Override
+    int maxCharacterLength() {
+        return 1;
+    }
+
+    /**
+     * The bytes that match, 64 in each long.
+     */
+    private final long[] masks;
+
+    @Override
+    public String toString() {
+        return this.toString;
+    }
+
+    private final String toString;
+}
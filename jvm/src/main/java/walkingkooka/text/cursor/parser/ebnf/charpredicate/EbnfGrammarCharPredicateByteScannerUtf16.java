@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A {@link EbnfGrammarCharPredicateByteScanner} for UTF-16 in either byte order, without a byte order mark. A surrogate
+ * pair is a single character matching only if both surrogates match, and surrogates that are not part of a pair never
+ * match, like invalid UTF-8.
+ */
+final class EbnfGrammarCharPredicateByteScannerUtf16 extends EbnfGrammarCharPredicateByteScanner {
+
+    static EbnfGrammarCharPredicateByteScannerUtf16 with(final CharPredicate predicate,
+                                                          final ByteOrder order) {
+        return new EbnfGrammarCharPredicateByteScannerUtf16(
+                EbnfGrammarCharPredicateRanges.with(predicate),
+                ByteOrder.BIG_ENDIAN.equals(order)
+        );
+    }
+
+    private EbnfGrammarCharPredicateByteScannerUtf16(final EbnfGrammarCharPredicateRanges ranges,
+                                                     final boolean bigEndian) {
+        super();
+        this.ranges = ranges;
+        this.bigEndian = bigEndian;
+    }
+
+    @Override
+    int indexOf(final ByteBuffer bytes,
+                final int from,
+                final int to,
+                final boolean test) {
+        final EbnfGrammarCharPredicateRanges ranges = this.ranges;
+
+        int i = from;
+        while (i + 1 < to) {
+            final char c = this.charAt(bytes, i);
+            int length = 2;
+            boolean match;
+
+            if (Character.isSurrogate(c)) {
+                match = false;
+                if (Character.isHighSurrogate(c) && i + 3 < to) {
+                    final char low = this.charAt(bytes, i + 2);
+                    if (Character.isLowSurrogate(low)) {
+                        length = 4;
+                        match = ranges.test(c) && ranges.test(low);
+                    }
+                }
+            } else {
+                match = ranges.test(c);
+            }
+
+            if (test == match) {
+                return i;
+            }
+            i += length;
+        }
+
+        // an odd byte at the end is never a character
+        return i < to && false == test ?
+                i :
+                -1;
+    }
+
+    @Override
+    int next(final ByteBuffer bytes,
+             final int index,
+             final int to) {
+        return index + 3 < to &&
+                Character.isHighSurrogate(this.charAt(bytes, index)) &&
+                Character.isLowSurrogate(this.charAt(bytes, index + 2)) ?
+                index + 4 :
+                index + 2;
+    }
+
+    @Override
+    int characters(final ByteBuffer bytes,
+                   final int from,
+                   final int to) {
+        int count = 0;
+        for (int i = from; i < to; i = this.next(bytes, i, to)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Keeps the end even, and before the low surrogate of a pair, while more bytes follow. The end of the input is
+     * always a boundary, so an odd byte at the end of the input is scanned as a character that never matches.
+     */
+    @Override
+    int boundary(final ByteBuffer bytes,
+                 final int end) {
+        int boundary = end;
+        if (end < bytes.limit()) {
+            boundary = end & ~1;
+            if (boundary >= 2 && Character.isHighSurrogate(this.charAt(bytes, boundary - 2))) {
+                boundary -= 2;
+            }
+        }
+        return boundary;
+    }
+
+    @Override
+    int maxCharacterLength() {
+        return 4;
+    }
+
+    private char charAt(final ByteBuffer bytes,
+                        final int index) {
+        final int first = bytes.get(index) & 0xff;
+        final int second = bytes.get(index + 1) & 0xff;
+        return (char) (this.bigEndian ?
+                first << 8 | second :
+                second << 8 | first);
+    }
+
+    private final EbnfGrammarCharPredicateRanges ranges;
+
+    private final boolean bigEndian;
+
+    @Override
+    public String toString() {
+        return this.ranges + (this.bigEndian ? " UTF-16BE" : " UTF-16LE");
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link EbnfGrammarCharPredicateByteScanner} for UTF-8, using the automaton of a {@link EbnfGrammarCharPredicateUtf8}.
+ */
+final class EbnfGrammarCharPredicateByteScannerUtf8 extends EbnfGrammarCharPredicateByteScanner {
+
+    static EbnfGrammarCharPredicateByteScannerUtf8 with(final CharPredicate predicate) {
+        return new EbnfGrammarCharPredicateByteScannerUtf8(
+                EbnfGrammarCharPredicateUtf8.with(predicate)
+        );
+    }
+
+    private EbnfGrammarCharPredicateByteScannerUtf8(final EbnfGrammarCharPredicateUtf8 utf8) {
+        super();
+        this.utf8 = utf8;
+    }
+
+    @Override
+    int indexOf(final ByteBuffer bytes,
+                final int from,
+                final int to,
+                final boolean test) {
+        return this.utf8.indexOf(bytes, from, to, test);
+    }
+
+    /**
+     * Skips any continuation bytes, which only follow the first byte of a matching character.
+     */
+    @Override
+    int next(final ByteBuffer bytes,
+             final int index,
+             final int to) {
+        int next = index + 1;
+        while (next < to && isContinuation(bytes.get(next))) {
+            next++;
+        }
+        return next;
+    }
+
+    /**
+     * Counts the bytes that are not continuation bytes, one for each code point.
+     */
+    @Override
+    int characters(final ByteBuffer bytes,
+                   final int from,
+                   final int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (false == isContinuation(bytes.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    int boundary(final ByteBuffer bytes,
+                 final int end) {
+        int boundary = end;
+        if (end < bytes.limit()) {
+            while (boundary > end - 3 && boundary > 0 && isContinuation(bytes.get(boundary))) {
+                boundary--;
+            }
+        }
+        return boundary;
+    }
+
+    private static boolean isContinuation(final byte b) {
+        return (b & 0xc0) == 0x80;
+    }
+
+    @Override
+    int maxCharacterLength() {
+        return 4;
+    }
+
+    private final EbnfGrammarCharPredicateUtf8 utf8;
+
+    @Override
+    public String toString() {
+        return this.utf8.toString();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Objects;
+
+/**
+ * Base class for the hidden classes written by {@link EbnfGrammarCharPredicateBytecodeGenerator}, which only
+ * implement {@link #testNonAscii(char)}. The ranges are kept so {@link #setToString(String)} can create another
+ * instance of the same hidden class.
+ */
+abstract class EbnfGrammarCharPredicateBytecode extends EbnfGrammarCharPredicate {
+
+    EbnfGrammarCharPredicateBytecode(final EbnfGrammarCharPredicateRanges ranges,
+                                     final String toString,
+                                     final MethodHandle constructor) {
+        super(ranges.ascii0, ranges.ascii1, toString);
+        this.ranges = ranges;
+        this.constructor = constructor;
+    }
+
+    @Override
+    public final EbnfGrammarCharPredicate setToString(final String toString) {
+        Objects.requireNonNull(toString, "toString");
+
+        return this.toString.equals(toString) ?
+                this :
+                newInstance(this.constructor, this.ranges, toString);
+    }
+
+    /**
+     * Creates an instance of a hidden class using its constructor.
+     */
+    static EbnfGrammarCharPredicateBytecode newInstance(final MethodHandle constructor,
+                                                       final EbnfGrammarCharPredicateRanges ranges,
+                                                       final String toString) {
+        try {
+            return (EbnfGrammarCharPredicateBytecode) constructor.invoke(ranges, toString, constructor);
+        } catch (final RuntimeException | Error rethrow) {
+            throw rethrow;
+        } catch (final Throwable cause) {
+            throw new IllegalStateException("Unable to create " + toString + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * The characters tested by the generated code.
+     */
+    final EbnfGrammarCharPredicateRanges ranges;
+
+    private final MethodHandle constructor;
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Writes a hidden class for a {@link EbnfGrammarCharPredicateRanges} whose {@link EbnfGrammarCharPredicate#testNonAscii(char)}
+ * is a binary decision tree of compares against the constant begin and end of each non ASCII range, with no loops or
+ * array loads. Hidden classes are not strongly linked to their loader, so they are unloaded once the predicate is
+ * no longer referenced.
+ */
+final class EbnfGrammarCharPredicateBytecodeGenerator {
+
+    /**
+     * Above this many non ASCII ranges the deeper decision tree mispredicts more branches than the two loads of a
+     * table, so the caller should use a table instead. This is also well below the maximum method size.
+     */
+    final static int MAX_RANGES = 256;
+
+    private final static String SUPER = Type.getInternalName(EbnfGrammarCharPredicateBytecode.class);
+
+    private final static String CLASS_NAME = SUPER + "Rule";
+
+    private final static String CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(
+            Type.VOID_TYPE,
+            Type.getType(EbnfGrammarCharPredicateRanges.class),
+            Type.getType(String.class),
+            Type.getType(MethodHandle.class)
+    );
+
+    private final static MethodType CONSTRUCTOR_TYPE = MethodType.methodType(
+            void.class,
+            EbnfGrammarCharPredicateRanges.class,
+            String.class,
+            MethodHandle.class
+    );
+
+    /**
+     * Returns an instance of a new hidden class testing the given ranges, or null if there are too many ranges.
+     */
+    static EbnfGrammarCharPredicateBytecode generate(final EbnfGrammarCharPredicateRanges ranges) {
+        final char[] nonAscii = nonAscii(ranges.ranges);
+
+        return nonAscii.length / 2 > MAX_RANGES ?
+                null :
+                define(classFile(nonAscii), ranges);
+    }
+
+    /**
+     * Returns only the ranges ending after ASCII, with any begin before clipped to the first non ASCII character.
+     */
+    private static char[] nonAscii(final char[] ranges) {
+        int first = 0;
+        while (first < ranges.length && ranges[first + 1] < 128) {
+            first += 2;
+        }
+
+        final char[] nonAscii = new char[ranges.length - first];
+        System.arraycopy(ranges, first, nonAscii, 0, nonAscii.length);
+        if (nonAscii.length > 0 && nonAscii[0] < 128) {
+            nonAscii[0] = 128;
+        }
+        return nonAscii;
+    }
+
+    static byte[] classFile(final char[] nonAscii) {
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        writer.visit(
+                Opcodes.V17,
+                Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+                CLASS_NAME,
+                null,
+                SUPER,
+                null
+        );
+
+        final MethodVisitor constructor = writer.visitMethod(0, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitVarInsn(Opcodes.ALOAD, 1);
+        constructor.visitVarInsn(Opcodes.ALOAD, 2);
+        constructor.visitVarInsn(Opcodes.ALOAD, 3);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, SUPER, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        final MethodVisitor test = writer.visitMethod(0, "testNonAscii", "(C)Z", null, null);
+        test.visitCode();
+        tree(test, nonAscii, 0, nonAscii.length / 2 - 1);
+        test.visitMaxs(0, 0);
+        test.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Writes the code for the ranges between low and high inclusive, comparing against the middle range and
+     * continuing with the ranges before or after it.
+     */
+    private static void tree(final MethodVisitor method,
+                             final char[] ranges,
+                             final int low,
+                             final int high) {
+        if (low > high) {
+            method.visitInsn(Opcodes.ICONST_0);
+            method.visitInsn(Opcodes.IRETURN);
+        } else {
+            final int mid = (low + high) >>> 1;
+            final char begin = ranges[mid * 2];
+            final char end = ranges[mid * 2 + 1];
+
+            final Label before = new Label();
+            final Label match = new Label();
+
+            // the first range may begin at 128 and the caller never passes smaller characters
+            final boolean testBegin = begin > 128;
+            if (testBegin) {
+                method.visitVarInsn(Opcodes.ILOAD, 1);
+                push(method, begin);
+                method.visitJumpInsn(Opcodes.IF_ICMPLT, before);
+            }
+
+            if (end == Character.MAX_VALUE) {
+                method.visitJumpInsn(Opcodes.GOTO, match);
+            } else {
+                method.visitVarInsn(Opcodes.ILOAD, 1);
+                push(method, end);
+                method.visitJumpInsn(Opcodes.IF_ICMPLE, match);
+                tree(method, ranges, mid + 1, high);
+            }
+
+            if (testBegin) {
+                method.visitLabel(before);
+                tree(method, ranges, low, mid - 1);
+            }
+
+            method.visitLabel(match);
+            method.visitInsn(Opcodes.ICONST_1);
+            method.visitInsn(Opcodes.IRETURN);
+        }
+    }
+
+    private static void push(final MethodVisitor method,
+                             final char c) {
+        if (c <= Short.MAX_VALUE) {
+            method.visitIntInsn(Opcodes.SIPUSH, c);
+        } else {
+            method.visitLdcInsn((int) c);
+        }
+    }
+
+    private static EbnfGrammarCharPredicateBytecode define(final byte[] classFile,
+                                                           final EbnfGrammarCharPredicateRanges ranges) {
+        final MethodHandle constructor;
+        try {
+            final MethodHandles.Lookup hidden = MethodHandles.lookup()
+                    .defineHiddenClass(classFile, true);
+            constructor = hidden.findConstructor(hidden.lookupClass(), CONSTRUCTOR_TYPE);
+        } catch (final ReflectiveOperationException cause) {
+            throw new IllegalStateException("Unable to define class for " + ranges + ", " + cause.getMessage(), cause);
+        }
+
+        return EbnfGrammarCharPredicateBytecode.newInstance(constructor, ranges, ranges.toString());
+    }
+
+    private EbnfGrammarCharPredicateBytecodeGenerator() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * A {@link EbnfGrammarCharPredicate} that binary searches ranges held in a {@link CharBuffer}, typically a view of a
+ * memory mapped file, so the ranges are never copied onto the heap and processes mapping the same file share them.
+ */
+final class EbnfGrammarCharPredicateCharBuffer extends EbnfGrammarCharPredicate {
+
+    /**
+     * Creates a predicate over pairs of begin and end characters, failing if they are not ascending or overlap.
+     */
+    static EbnfGrammarCharPredicateCharBuffer with(final CharBuffer ranges,
+                                                   final String toString) {
+        Objects.requireNonNull(ranges, "ranges");
+        Objects.requireNonNull(toString, "toString");
+
+        final int length = ranges.limit();
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("Invalid ranges odd length " + length + " in " + toString);
+        }
+
+        int previous = -1;
+        for (int i = 0; i < length; i += 2) {
+            final char begin = ranges.get(i);
+            final char end = ranges.get(i + 1);
+            if (begin <= previous || begin > end) {
+                throw new IllegalArgumentException("Invalid range " + (int) begin + ".." + (int) end + " at " + i + " in " + toString);
+            }
+            previous = end;
+        }
+
+        return new EbnfGrammarCharPredicateCharBuffer(
+                asciiMask(ranges, 0),
+                asciiMask(ranges, 64),
+                ranges,
+                toString
+        );
+    }
+
+    /**
+     * Computes the bits of the ASCII mask for characters first to first + 63 from the ranges.
+     */
+    private static long asciiMask(final CharBuffer ranges,
+                                  final int first) {
+        final int last = first + 63;
+        long mask = 0;
+
+        for (int i = 0; i < ranges.limit() && ranges.get(i) <= last; i += 2) {
+            final int begin = Math.max(ranges.get(i), first);
+            final int end = Math.min(ranges.get(i + 1), last);
+
+            for (int c = begin; c <= end; c++) {
+                mask |= 1L << (c - first);
+            }
+        }
+
+        return mask;
+    }
+
+    private EbnfGrammarCharPredicateCharBuffer(final long ascii0,
+                                               final long ascii1,
+                                               final CharBuffer ranges,
+                                               final String toString) {
+        super(ascii0, ascii1, toString);
+        this.ranges = ranges;
+    }
+
+    @Override
+    boolean testNonAscii(final char c) {
+        final CharBuffer ranges = this.ranges;
+
+        int low = 0;
+        int high = (ranges.limit() >> 1) - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int begin = mid << 1;
+
+            if (c < ranges.get(begin)) {
+                high = mid - 1;
+            } else {
+                if (c <= ranges.get(begin + 1)) {
+                    return true;
+                }
+                low = mid + 1;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns a predicate sharing the same ranges with a new {@link #toString()}.
+     */
+    @Override
+    public EbnfGrammarCharPredicateCharBuffer setToString(final String toString) {
+        Objects.requireNonNull(toString, "toString");
+
+        return this.toString.equals(toString) ?
+                this :
+                new EbnfGrammarCharPredicateCharBuffer(
+                        this.ascii0,
+                        this.ascii1,
+                        this.ranges,
+                        toString
+                );
+    }
+
+    /**
+     * Only absolute gets are used, so the position of this buffer never changes.
+     */
+    private final CharBuffer ranges;
+}
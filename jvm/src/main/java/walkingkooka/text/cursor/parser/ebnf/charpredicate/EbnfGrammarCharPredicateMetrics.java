@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the true and false results of the wrapped {@link CharPredicate}, either a rule along with the counters of the
+ * branches of its alternative, or a single branch. Each result increments a {@link LongAdder}, which spreads contended
+ * increments over many cells, so threads testing the same rule rarely slow each other.
+ */
+final class EbnfGrammarCharPredicateMetrics implements CharPredicate {
+
+    static EbnfGrammarCharPredicateMetrics with(final CharPredicate predicate,
+                                                final String toString,
+                                                final List<EbnfGrammarCharPredicateMetrics> branches) {
+        return new EbnfGrammarCharPredicateMetrics(
+                predicate,
+                toString,
+                branches
+        );
+    }
+
+    private EbnfGrammarCharPredicateMetrics(final CharPredicate predicate,
+                                            final String toString,
+                                            final List<EbnfGrammarCharPredicateMetrics> branches) {
+        super();
+        this.predicate = predicate;
+        this.toString = toString;
+        this.branches = branches;
+    }
+
+    @Override
+    public boolean test(final char c) {
+        final boolean result = this.predicate.test(c);
+        (result ? this.trues : this.falses).increment();
+        return result;
+    }
+
+    private final CharPredicate predicate;
+
+    private final LongAdder trues = new LongAdder();
+
+    private final LongAdder falses = new LongAdder();
+
+    /**
+     * The counters of each branch of the alternative forming a rule, empty for a branch or a rule that is not an
+     * alternative.
+     */
+    private final List<EbnfGrammarCharPredicateMetrics> branches;
+
+    /**
+     * Clears the counters, for tests that happened before the predicate is handed out.
+     */
+    void reset() {
+        this.trues.reset();
+        this.falses.reset();
+    }
+
+    /**
+     * Reads the counters, which may be slightly behind while other threads are testing.
+     */
+    EbnfGrammarCharPredicateStats stats() {
+        final List<EbnfGrammarCharPredicateStats> branches = Lists.array();
+        for (final EbnfGrammarCharPredicateMetrics branch : this.branches) {
+            branches.add(branch.stats());
+        }
+
+        return EbnfGrammarCharPredicateStats.with(
+                this.trues.sum(),
+                this.falses.sum(),
+                Lists.immutable(branches)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return this.toString;
+    }
+
+    private final String toString;
+}
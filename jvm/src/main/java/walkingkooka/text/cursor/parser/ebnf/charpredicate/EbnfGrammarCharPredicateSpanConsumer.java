@@ -17,18 +17,15 @@
 
 package walkingkooka.text.cursor.parser.ebnf.charpredicate;
 
-import walkingkooka.reflect.ClassTesting2;
-import walkingkooka.reflect.JavaVisibility;
-
-public final class CharPredicateGrammarEbnfParserTokenVisitorProxyTest implements ClassTesting2<CharPredicateGrammarEbnfParserTokenVisitorProxy> {
-
-    @Override
-    public Class<CharPredicateGrammarEbnfParserTokenVisitorProxy> type() {
-        return CharPredicateGrammarEbnfParserTokenVisitorProxy.class;
-    }
+/**
+ * Receives each run of matching characters found by {@link EbnfGrammarCharPredicatesFiles#spans}.
+ */
+@FunctionalInterface
+public interface EbnfGrammarCharPredicateSpanConsumer {
 
-    @Override
-    public JavaVisibility typeVisibility() {
-        return JavaVisibility.PACKAGE_PRIVATE;
-    }
+    /**
+     * Accepts a run, as the offset of its first byte and its length in bytes.
+     */
+    void accept(final long offset,
+                final long length);
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import java.util.List;
+
+/**
+ * The number of times a rule or a branch was tested, along with how many tests were true and false, taken by
+ * {@link EbnfGrammarCharPredicatesMetrics#snapshot}.
+ */
+public final class EbnfGrammarCharPredicateStats {
+
+    static EbnfGrammarCharPredicateStats with(final long trues,
+                                              final long falses,
+                                              final List<EbnfGrammarCharPredicateStats> branches) {
+        return new EbnfGrammarCharPredicateStats(trues, falses, branches);
+    }
+
+    private EbnfGrammarCharPredicateStats(final long trues,
+                                          final long falses,
+                                          final List<EbnfGrammarCharPredicateStats> branches) {
+        super();
+        this.trues = trues;
+        this.falses = falses;
+        this.branches = branches;
+    }
+
+    /**
+     * The number of times the rule was tested.
+     */
+    public long calls() {
+        return this.trues + this.falses;
+    }
+
+    /**
+     * The number of tests that returned true.
+     */
+    public long trues() {
+        return this.trues;
+    }
+
+    private final long trues;
+
+    /**
+     * The number of tests that returned false.
+     */
+    public long falses() {
+        return this.falses;
+    }
+
+    private final long falses;
+
+    /**
+     * The counters of each branch of the alternative forming a rule, in grammar order. A branch is only tested when
+     * every branch before it was false, so its trues are the matches it alone is responsible for. Empty for a branch,
+     * or a rule that is not an alternative.
+     */
+    public List<EbnfGrammarCharPredicateStats> branches() {
+        return this.branches;
+    }
+
+    private final List<EbnfGrammarCharPredicateStats> branches;
+
+    @Override
+    public int hashCode() {
+        return (Long.hashCode(this.trues) * 31 + Long.hashCode(this.falses)) * 31 + this.branches.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+                other instanceof EbnfGrammarCharPredicateStats && this.equals0((EbnfGrammarCharPredicateStats) other);
+    }
+
+    private boolean equals0(final EbnfGrammarCharPredicateStats other) {
+        return this.trues == other.trues &&
+                this.falses == other.falses &&
+                this.branches.equals(other.branches);
+    }
+
+    @Override
+    public String toString() {
+        final String toString = "calls=" + this.calls() + " true=" + this.trues + " false=" + this.falses;
+        return this.branches.isEmpty() ?
+                toString :
+                toString + " " + this.branches;
+    }
+}
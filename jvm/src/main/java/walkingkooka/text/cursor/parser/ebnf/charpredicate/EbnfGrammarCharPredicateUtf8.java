@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Matches a rule directly against UTF-8 bytes, so text never needs to be decoded into chars. The rule is compiled into
+ * a small automaton over the bytes of each sequence:
+ * <ul>
+ * <li>single bytes are answered from a mask of the ASCII characters</li>
+ * <li>two byte sequences select a mask of the continuation byte by their lead byte</li>
+ * <li>three byte sequences select a block by their lead byte, and the mask of the last byte by the second byte,
+ * where blocks with the same masks are shared</li>
+ * <li>four byte sequences, which are supplementary code points, match only if both surrogates of the code point match</li>
+ * </ul>
+ * Invalid sequences, such as stray continuation bytes, overlong encodings, encoded surrogates or sequences cut short by
+ * the end of the bytes, never match. Scanning reads a {@link ByteBuffer} by absolute index, never changes its position
+ * and never allocates, so heap and direct buffers may be shared by many threads.
+ */
+public final class EbnfGrammarCharPredicateUtf8 {
+
+    static EbnfGrammarCharPredicateUtf8 with(final CharPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+
+        final EbnfGrammarCharPredicateRanges ranges = EbnfGrammarCharPredicateRanges.with(predicate);
+
+        final long[] two = new long[32];
+        for (int c = 0x80; c < 0x800; c++) {
+            if (ranges.test((char) c)) {
+                two[c >> 6] |= 1L << (c & 0x3f);
+            }
+        }
+
+        final long[][] three = new long[16][];
+        for (int lead = 0; lead < 16; lead++) {
+            final long[] block = new long[64];
+            for (int second = 0; second < 64; second++) {
+                final int first = lead << 12 | second << 6;
+                if (first >= 0x800 && (first < Character.MIN_SURROGATE || first > Character.MAX_SURROGATE)) {
+                    long mask = 0;
+                    for (int third = 0; third < 64; third++) {
+                        if (ranges.test((char) (first | third))) {
+                            mask |= 1L << third;
+                        }
+                    }
+                    block[second] = mask;
+                }
+            }
+            three[lead] = shared(block, three, lead);
+        }
+
+        return new EbnfGrammarCharPredicateUtf8(
+                ranges,
+                two,
+                three
+        );
+    }
+
+    /**
+     * Returns an earlier block with the same masks, or the given block.
+     */
+    private static long[] shared(final long[] block,
+                                 final long[][] blocks,
+                                 final int count) {
+        long[] shared = block;
+        for (int i = 0; i < count; i++) {
+            if (Arrays.equals(block, blocks[i])) {
+                shared = blocks[i];
+                break;
+            }
+        }
+        return shared;
+    }
+
+    private EbnfGrammarCharPredicateUtf8(final EbnfGrammarCharPredicateRanges ranges,
+                                         final long[] two,
+                                         final long[][] three) {
+        super();
+        this.ascii0 = ranges.ascii0;
+        this.ascii1 = ranges.ascii1;
+        this.two = two;
+        this.three = three;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Returns the index of the first byte of the first character between from and to that matches, or -1 if none match.
+     */
+    public int indexOf(final ByteBuffer bytes,
+                       final int from,
+                       final int to) {
+        return this.indexOf(bytes, from, to, true);
+    }
+
+    /**
+     * Returns the index of the first byte of the first character between from and to that does not match or is
+     * invalid, or -1 if all match.
+     */
+    public int indexOfFirstMismatch(final ByteBuffer bytes,
+                                    final int from,
+                                    final int to) {
+        return this.indexOf(bytes, from, to, false);
+    }
+
+    /**
+     * Returns the number of bytes of the longest run of matching characters beginning at from and ending at or
+     * before to.
+     */
+    public int span(final ByteBuffer bytes,
+                    final int from,
+                    final int to) {
+        final int mismatch = this.indexOf(bytes, from, to, false);
+        return (-1 == mismatch ? to : mismatch) - from;
+    }
+
+    /**
+     * Returns the index of the first byte of the first character between from and to whose match equals test, or -1.
+     */
+    int indexOf(final ByteBuffer bytes,
+                final int from,
+                final int to,
+                final boolean test) {
+        Objects.requireNonNull(bytes, "bytes");
+        if (from < 0 || from > to || to > bytes.limit()) {
+            throw new IndexOutOfBoundsException("Invalid from " + from + " to " + to + " limit " + bytes.limit());
+        }
+
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+
+        int i = from;
+        while (i < to) {
+            final int b0 = bytes.get(i);
+
+            // ASCII is by far the most common, so keep its test small and in this loop
+            if (b0 >= 0) {
+                if (test == (((b0 < 64 ? ascii0 : ascii1) >>> b0 & 1) != 0)) {
+                    return i;
+                }
+                i++;
+            } else {
+                final int sequence = this.testSequence(bytes, i, to, b0 & 0xff);
+                if (test == ((sequence & MATCH) != 0)) {
+                    return i;
+                }
+                i += sequence & LENGTH;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Tests the sequence beginning with a non ASCII lead byte, returning its length, which is 1 for invalid sequences,
+     * along with {@link #MATCH} if it matches.
+     */
+    private int testSequence(final ByteBuffer bytes,
+                             final int i,
+                             final int to,
+                             final int b0) {
+        int length = 1;
+        boolean match = false;
+
+        if (b0 >= 0xc0) {
+            if (b0 < 0xe0) {
+                if (i + 1 < to) {
+                    final int b1 = bytes.get(i + 1);
+                    if ((b1 & 0xc0) == 0x80) {
+                        length = 2;
+                        match = (this.two[b0 & 0x1f] >>> b1 & 1) != 0;
+                    }
+                }
+            } else if (b0 < 0xf0) {
+                if (i + 2 < to) {
+                    final int b1 = bytes.get(i + 1);
+                    final int b2 = bytes.get(i + 2);
+                    if ((b1 & 0xc0) == 0x80 && (b2 & 0xc0) == 0x80) {
+                        length = 3;
+                        match = (this.three[b0 & 0x0f][b1 & 0x3f] >>> b2 & 1) != 0;
+                    }
+                }
+            } else if (b0 < 0xf5) {
+                if (i + 3 < to) {
+                    final int b1 = bytes.get(i + 1);
+                    final int b2 = bytes.get(i + 2);
+                    final int b3 = bytes.get(i + 3);
+                    if ((b1 & 0xc0) == 0x80 && (b2 & 0xc0) == 0x80 && (b3 & 0xc0) == 0x80) {
+                        length = 4;
+                        match = this.testSupplementary(
+                                (b0 & 0x07) << 18 | (b1 & 0x3f) << 12 | (b2 & 0x3f) << 6 | (b3 & 0x3f)
+                        );
+                    }
+                }
+            }
+        }
+
+        return match ?
+                length | MATCH :
+                length;
+    }
+
+    private final static int LENGTH = 0x7;
+
+    private final static int MATCH = 0x8;
+
+    /**
+     * Tests both surrogates of the code point, which is invalid and never matches if it is overlong or too large.
+     */
+    private boolean testSupplementary(final int codePoint) {
+        return codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT &&
+                codePoint <= Character.MAX_CODE_POINT &&
+                this.ranges.test(Character.highSurrogate(codePoint)) &&
+                this.ranges.test(Character.lowSurrogate(codePoint));
+    }
+
+    /**
+     * The ASCII characters 0 to 63 and 64 to 127.
+     */
+    private final long ascii0;
+
+    private final long ascii1;
+
+    /**
+     * The continuation bytes that match for each two byte lead byte, selected by its low five bits.
+     */
+    private final long[] two;
+
+    /**
+     * The last bytes that match for each three byte lead byte, selected by its low four bits, and each second byte,
+     * selected by its low six bits.
+     */
+    private final long[][] three;
+
+    private final EbnfGrammarCharPredicateRanges ranges;
+
+    @Override
+    public String toString() {
+        return this.ranges.toString();
+    }
+}
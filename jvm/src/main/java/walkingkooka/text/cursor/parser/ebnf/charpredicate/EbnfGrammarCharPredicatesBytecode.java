@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compiles predicates into hidden classes at runtime, intended for grammars that are not known at build time. Each
+ * class answers ASCII from a mask and other characters with straight line compares against constants, which the JIT
+ * compiles like hand written code. Any predefined predicates are tested once for every character while compiling,
+ * so the result never calls them.
+ */
+final public class EbnfGrammarCharPredicatesBytecode implements PublicStaticHelper {
+
+    /**
+     * Compiles each {@link CharPredicate}, typically returned by {@link EbnfGrammarCharPredicates#fromGrammar}, into a
+     * hidden class, or a lookup table for predicates with too many ranges. The original {@link CharPredicate#toString()}
+     * is kept. The classes are unloaded once the returned predicates are no longer referenced.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> compile(final Map<EbnfIdentifierName, CharPredicate> predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+
+        final Map<EbnfIdentifierName, CharPredicate> compiled = Maps.ordered();
+        for (final Map.Entry<EbnfIdentifierName, CharPredicate> nameAndPredicate : predicates.entrySet()) {
+            compiled.put(
+                    nameAndPredicate.getKey(),
+                    compile(nameAndPredicate.getValue())
+            );
+        }
+        return Maps.immutable(compiled);
+    }
+
+    private static CharPredicate compile(final CharPredicate predicate) {
+        final EbnfGrammarCharPredicateRanges ranges = EbnfGrammarCharPredicateRanges.with(predicate);
+        final CharPredicate bytecode = EbnfGrammarCharPredicateBytecodeGenerator.generate(ranges);
+
+        return null != bytecode ?
+                bytecode :
+                EbnfGrammarCharPredicateTable.with(ranges);
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfGrammarCharPredicatesBytecode() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Scans files of any size for characters matching a {@link CharPredicate}, typically returned by
+ * {@link EbnfGrammarCharPredicates#fromGrammar}. Files are memory mapped a chunk at a time, each chunk ending where a
+ * character begins, and the bytes are tested in place without decoding them into chars or {@link String}s.
+ * <br>
+ * UTF-8, UTF-16BE, UTF-16LE and charsets encoding every character as a single byte, such as ISO-8859-1, are supported.
+ * A character is the bytes of a single code point, so a supplementary code point is one character matching only if both
+ * of its surrogates match. Invalid bytes never match. Offsets and lengths are in bytes from the start of the file.
+ */
+final public class EbnfGrammarCharPredicatesFiles implements PublicStaticHelper {
+
+    /**
+     * The bytes mapped at a time, well below the 2GB limit of a single mapping.
+     */
+    final static int CHUNK = 64 * 1024 * 1024;
+
+    /**
+     * Counts the characters that match.
+     */
+    public static long count(final Path file,
+                             final Charset charset,
+                             final CharPredicate predicate) throws IOException {
+        return count(file, charset, predicate, CHUNK);
+    }
+
+    static long count(final Path file,
+                      final Charset charset,
+                      final CharPredicate predicate,
+                      final int chunk) throws IOException {
+        final long[] count = new long[1];
+
+        scan(
+                file,
+                charset,
+                predicate,
+                chunk,
+                (scanner, bytes, base, from, to) -> {
+                    count[0] += scanner.characters(bytes, from, to);
+                    return false;
+                },
+                null
+        );
+
+        return count[0];
+    }
+
+    /**
+     * Returns the offset of the first character that matches, or -1 if none match.
+     */
+    public static long indexOf(final Path file,
+                               final Charset charset,
+                               final CharPredicate predicate) throws IOException {
+        return indexOf(file, charset, predicate, CHUNK);
+    }
+
+    static long indexOf(final Path file,
+                        final Charset charset,
+                        final CharPredicate predicate,
+                        final int chunk) throws IOException {
+        final long[] index = new long[]{-1};
+
+        scan(
+                file,
+                charset,
+                predicate,
+                chunk,
+                (scanner, bytes, base, from, to) -> {
+                    index[0] = base + from;
+                    return true;
+                },
+                null
+        );
+
+        return index[0];
+    }
+
+    /**
+     * Returns the offset of the first character that does not match, or -1 if all match.
+     */
+    public static long indexOfFirstMismatch(final Path file,
+                                            final Charset charset,
+                                            final CharPredicate predicate) throws IOException {
+        return indexOfFirstMismatch(file, charset, predicate, CHUNK);
+    }
+
+    static long indexOfFirstMismatch(final Path file,
+                                     final Charset charset,
+                                     final CharPredicate predicate,
+                                     final int chunk) throws IOException {
+        // the end of the matching characters so far, a mismatch if the next segment does not begin there
+        final long[] next = new long[1];
+        final boolean[] gap = new boolean[1];
+
+        final long size = scan(
+                file,
+                charset,
+                predicate,
+                chunk,
+                (scanner, bytes, base, from, to) -> {
+                    gap[0] = base + from != next[0];
+                    if (false == gap[0]) {
+                        next[0] = base + to;
+                    }
+                    return gap[0];
+                },
+                null
+        );
+
+        return gap[0] || next[0] < size ?
+                next[0] :
+                -1;
+    }
+
+    /**
+     * Gives the offset of every character that matches to the consumer, in order.
+     */
+    public static void matches(final Path file,
+                               final Charset charset,
+                               final CharPredicate predicate,
+                               final LongConsumer matches) throws IOException {
+        matches(file, charset, predicate, matches, CHUNK);
+    }
+
+    static void matches(final Path file,
+                        final Charset charset,
+                        final CharPredicate predicate,
+                        final LongConsumer matches,
+                        final int chunk) throws IOException {
+        Objects.requireNonNull(matches, "matches");
+
+        scan(
+                file,
+                charset,
+                predicate,
+                chunk,
+                (scanner, bytes, base, from, to) -> {
+                    for (int i = from; i < to; i = scanner.next(bytes, i, to)) {
+                        matches.accept(base + i);
+                    }
+                    return false;
+                },
+                null
+        );
+    }
+
+    /**
+     * Gives every run of matching characters, which may cross chunks, to the consumer in order.
+     */
+    public static void spans(final Path file,
+                             final Charset charset,
+                             final CharPredicate predicate,
+                             final EbnfGrammarCharPredicateSpanConsumer spans) throws IOException {
+        spans(file, charset, predicate, spans, CHUNK);
+    }
+
+    static void spans(final Path file,
+                      final Charset charset,
+                      final CharPredicate predicate,
+                      final EbnfGrammarCharPredicateSpanConsumer spans,
+                      final int chunk) throws IOException {
+        Objects.requireNonNull(spans, "spans");
+
+        scan(
+                file,
+                charset,
+                predicate,
+                chunk,
+                null,
+                spans
+        );
+    }
+
+    /**
+     * Receives the matching characters within a single chunk.
+     */
+    @FunctionalInterface
+    private interface Segments {
+
+        /**
+         * Accepts the matching characters between from and to of the bytes, which begin at base within the file,
+         * returning true to stop scanning.
+         */
+        boolean accept(final EbnfGrammarCharPredicateByteScanner scanner,
+                       final MappedByteBuffer bytes,
+                       final long base,
+                       final int from,
+                       final int to);
+    }
+
+    /**
+     * Maps the file a chunk at a time, giving every matching segment within a chunk and every complete run to the
+     * optional consumers, and returns the size of the file.
+     */
+    private static long scan(final Path file,
+                             final Charset charset,
+                             final CharPredicate predicate,
+                             final int chunk,
+                             final Segments segments,
+                             final EbnfGrammarCharPredicateSpanConsumer runs) throws IOException {
+        Objects.requireNonNull(file, "file");
+        final EbnfGrammarCharPredicateByteScanner scanner = EbnfGrammarCharPredicateByteScanner.with(predicate, charset);
+        final int extra = scanner.maxCharacterLength() - 1;
+        if (chunk <= extra * 2) {
+            throw new IllegalArgumentException("Invalid chunk " + chunk + " <= " + extra * 2);
+        }
+
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long runStart = -1;
+            long base = 0;
+
+            while (base < size) {
+                final MappedByteBuffer bytes = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        base,
+                        Math.min(size - base, (long) chunk + extra)
+                );
+                final int end = scanner.boundary(
+                        bytes,
+                        (int) Math.min(bytes.limit(), chunk)
+                );
+                if (end <= 0) {
+                    throw new IllegalStateException("Chunk at " + base + " of " + size + " did not advance");
+                }
+
+                int i = 0;
+                while (i < end) {
+                    if (-1 == runStart) {
+                        final int match = scanner.indexOf(bytes, i, end, true);
+                        if (-1 == match) {
+                            break;
+                        }
+                        runStart = base + match;
+                        i = match;
+                    }
+
+                    final int mismatch = scanner.indexOf(bytes, i, end, false);
+                    final int segmentEnd = -1 == mismatch ? end : mismatch;
+
+                    if (null != segments && segments.accept(scanner, bytes, base, i, segmentEnd)) {
+                        return size;
+                    }
+
+                    if (-1 == mismatch) {
+                        break; // the run may continue in the next chunk
+                    }
+                    if (null != runs) {
+                        runs.accept(runStart, base + mismatch - runStart);
+                    }
+                    runStart = -1;
+                    i = mismatch;
+                }
+
+                base += end;
+            }
+
+            if (-1 != runStart && null != runs) {
+                runs.accept(runStart, size - runStart);
+            }
+
+            return size;
+        }
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfGrammarCharPredicatesFiles() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Loads predicates written by {@link EbnfGrammarCharPredicates#toBinary(Map, Map)} from a memory mapped file. Ranges
+ * are read in place, so processes on the same host loading the same file share its pages, and loading never parses
+ * or visits a grammar.
+ */
+final public class EbnfGrammarCharPredicatesMapped implements PublicStaticHelper {
+
+    /**
+     * Maps the file read only and reads the predicates, which keep the mapping alive. The file must not be modified
+     * while they are in use.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> load(final Path file,
+                                                              final Map<EbnfIdentifierName, CharPredicate> predefined) throws IOException {
+        Objects.requireNonNull(file, "file");
+
+        final MappedByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            return load(buffer, predefined);
+        } catch (final IllegalArgumentException cause) {
+            throw new IllegalArgumentException(file + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Reads the predicates from the remaining bytes of the buffer, without changing its position.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> load(final ByteBuffer buffer,
+                                                              final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        Objects.requireNonNull(buffer, "buffer");
+
+        return EbnfGrammarCharPredicateBinaryReaderByteBuffer.with(
+                buffer.duplicate()
+                        .order(ByteOrder.BIG_ENDIAN)
+        ).read(predefined);
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfGrammarCharPredicatesMapped() {
+        throw new UnsupportedOperationException();
+    }
+}
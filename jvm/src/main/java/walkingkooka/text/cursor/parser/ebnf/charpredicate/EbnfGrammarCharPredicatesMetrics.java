@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Counts how often each rule, and each branch of the alternative forming a rule, is tested and how often it matches,
+ * to find the hot rules of a grammar in production. Instrumenting is chosen when the grammar is built, and when it is
+ * not enabled the predicates of {@link EbnfGrammarCharPredicates#fromGrammar} are returned, so there is no cost at all.
+ */
+final public class EbnfGrammarCharPredicatesMetrics implements PublicStaticHelper {
+
+    /**
+     * When enabled builds every rule like {@link EbnfGrammarCharPredicates#fromGrammar} but counting every true and
+     * false result of each returned rule and each branch of the alternative forming a rule, otherwise returns exactly
+     * what {@link EbnfGrammarCharPredicates#fromGrammar} returns. Rules are counted as built, after ranges were unioned
+     * and ASCII masks filled, so a rule referenced by another rule is not counted when tested through it, branches are
+     * only counted for characters the ASCII mask of their rule does not answer, and a rule turned into ranges has no
+     * branches. Bulk methods such as {@link EbnfGrammarCharPredicates#indexOf} test instrumented rules one character at
+     * a time.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> fromGrammar(final GrammarEbnfParserToken grammar,
+                                                                     final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                                     final boolean enabled) {
+        return enabled ?
+                CharPredicateGrammarEbnfParserTokenVisitor.fromGrammarInstrumented(
+                        grammar,
+                        predefined,
+                        new Instrument()
+                ) :
+                EbnfGrammarCharPredicates.fromGrammar(
+                        grammar,
+                        predefined
+                );
+    }
+
+    /**
+     * Wraps each branch of a rule while it is built, then once every rule is built the rule along with its branches,
+     * clearing the counts of any tests of the branches while building.
+     */
+    private final static class Instrument implements EbnfGrammarCharPredicateInstrument {
+
+        @Override
+        public CharPredicate branch(final EbnfIdentifierName rule,
+                                    final CharPredicate branch) {
+            final EbnfGrammarCharPredicateMetrics metrics = EbnfGrammarCharPredicateMetrics.with(
+                    branch,
+                    branch.toString(),
+                    Lists.empty()
+            );
+            this.ruleToBranches.computeIfAbsent(rule, r -> Lists.array())
+                    .add(metrics);
+            return metrics;
+        }
+
+        @Override
+        public CharPredicate rule(final EbnfIdentifierName rule,
+                                  final CharPredicate predicate) {
+            List<EbnfGrammarCharPredicateMetrics> branches = this.ruleToBranches.remove(rule);
+            if (null == branches || predicate instanceof EbnfGrammarCharPredicateRanges) {
+                branches = Lists.empty();
+            }
+            for (final EbnfGrammarCharPredicateMetrics branch : branches) {
+                branch.reset();
+            }
+
+            return EbnfGrammarCharPredicateMetrics.with(
+                    predicate,
+                    rule.toString(),
+                    Lists.immutable(branches)
+            );
+        }
+
+        /**
+         * The branches of each rule that is built but not yet wrapped.
+         */
+        private final Map<EbnfIdentifierName, List<EbnfGrammarCharPredicateMetrics>> ruleToBranches = Maps.hash();
+
+        @Override
+        public String toString() {
+            return this.ruleToBranches.toString();
+        }
+    }
+
+    /**
+     * Returns the counters of every instrumented rule in the given map, by name, ignoring all others. Counters are
+     * read one predicate at a time, and may miss tests that happen while the snapshot is taken.
+     */
+    public static Map<EbnfIdentifierName, EbnfGrammarCharPredicateStats> snapshot(final Map<EbnfIdentifierName, CharPredicate> predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+
+        final Map<EbnfIdentifierName, EbnfGrammarCharPredicateStats> snapshot = Maps.ordered();
+        for (final Map.Entry<EbnfIdentifierName, CharPredicate> nameAndPredicate : predicates.entrySet()) {
+            final CharPredicate predicate = nameAndPredicate.getValue();
+            if (predicate instanceof EbnfGrammarCharPredicateMetrics) {
+                snapshot.put(
+                        nameAndPredicate.getKey(),
+                        ((EbnfGrammarCharPredicateMetrics) predicate).stats()
+                );
+            }
+        }
+        return Maps.immutable(snapshot);
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfGrammarCharPredicatesMetrics() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,700 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the rules of large grammars on many threads, returning the same map as
+ * {@link EbnfGrammarCharPredicates#fromGrammar(GrammarEbnfParserToken, Map)}. Each rule is given a level one more than
+ * the deepest rule it references. All rules of a level only reference earlier levels, so they are built at the same
+ * time by a {@link ForkJoinPool}, each task with its own visitor.
+ * <br>
+ * Long texts are also scanned by many threads, each task testing a slice of the text. Shorter texts, or a pool with a
+ * single thread or running on a single processor, are scanned by the calling thread exactly like the
+ * {@link EbnfGrammarCharPredicates} bulk methods.
+ */
+final public class EbnfGrammarCharPredicatesParallel implements PublicStaticHelper {
+
+    /**
+     * Grammars with fewer rules are built by a single visitor, as they finish before tasks are worth forking.
+     */
+    final static int MIN_RULES = 256;
+
+    /**
+     * The fewest rules built by a single task of a level. Levels with no more rules are built by the calling thread.
+     */
+    final static int RULES_PER_TASK = 64;
+
+    /**
+     * Builds the grammar using the {@link ForkJoinPool#commonPool()}.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> fromGrammar(final GrammarEbnfParserToken grammar,
+                                                                     final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        return fromGrammar(
+                grammar,
+                predefined,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Builds the grammar using the given {@link ForkJoinPool}. Small grammars, or a pool with a single thread or
+     * running on a single processor, are built by the serial visitor as levels would only add overhead.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> fromGrammar(final GrammarEbnfParserToken grammar,
+                                                                     final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                                     final ForkJoinPool pool) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(predefined, "predefined");
+        Objects.requireNonNull(pool, "pool");
+
+        final int parallelism = parallelism(pool);
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule = parallelism < 2 ?
+                null :
+                CharPredicateGrammarEbnfParserTokenVisitor.rules(grammar);
+
+        return null == identifierToRule || identifierToRule.size() < MIN_RULES ?
+                EbnfGrammarCharPredicates.fromGrammar(grammar, predefined) :
+                fromGrammar0(
+                        grammar,
+                        predefined,
+                        identifierToRule,
+                        pool,
+                        parallelism
+                );
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> fromGrammar0(final GrammarEbnfParserToken grammar,
+                                                                       final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                                       final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule,
+                                                                       final ForkJoinPool pool,
+                                                                       final int parallelism) {
+        grammar.checkIdentifiers(predefined.keySet());
+
+        final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate = new ConcurrentHashMap<>(predefined);
+        identifierToCharPredicate.keySet()
+                .removeAll(identifierToRule.keySet()); // rules replace any predefined with the same name
+
+        for (final List<EbnfIdentifierName> level : levels(EbnfGrammarCharPredicateRuleGraph.with(identifierToRule))) {
+            final int size = level.size();
+            final BuildRules build = new BuildRules(
+                    identifierToRule,
+                    identifierToCharPredicate,
+                    level,
+                    Math.max(RULES_PER_TASK, size / (parallelism * 4)),
+                    0,
+                    size
+            );
+            if (size <= RULES_PER_TASK) {
+                build.compute();
+            } else {
+                pool.invoke(build);
+            }
+        }
+
+        // predefined first then rules in grammar order, like the serial visitor
+        final Map<EbnfIdentifierName, CharPredicate> ordered = Maps.ordered();
+        for (final EbnfIdentifierName identifier : predefined.keySet()) {
+            if (false == identifierToRule.containsKey(identifier)) {
+                ordered.put(identifier, predefined.get(identifier));
+            }
+        }
+        for (final EbnfIdentifierName identifier : identifierToRule.keySet()) {
+            ordered.put(identifier, identifierToCharPredicate.get(identifier));
+        }
+        return Maps.immutable(ordered);
+    }
+
+    /**
+     * Groups the rules by level, where a level is one more than the highest level of any rule referenced, failing if
+     * any rule references itself.
+     */
+    static List<List<EbnfIdentifierName>> levels(final EbnfGrammarCharPredicateRuleGraph graph) {
+        final Map<EbnfIdentifierName, Integer> identifierToLevel = Maps.hash();
+        final List<List<EbnfIdentifierName>> levels = new ArrayList<>();
+
+        for (final EbnfIdentifierName rule : graph.order()) {
+            int level = 0;
+            for (final EbnfIdentifierName reference : graph.references.get(rule)) {
+                final Integer referenceLevel = identifierToLevel.get(reference);
+                if (null != referenceLevel) {
+                    level = Math.max(level, referenceLevel + 1);
+                }
+            }
+
+            identifierToLevel.put(rule, level);
+            if (level == levels.size()) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(rule);
+        }
+
+        return levels;
+    }
+
+    /**
+     * Builds a range of the rules of a single level, splitting into two tasks while there are more than the rules per
+     * task, leaving at least a few tasks for every thread.
+     */
+    private final static class BuildRules extends RecursiveAction {
+
+        private final static long serialVersionUID = 1L;
+
+        BuildRules(final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule,
+                   final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate,
+                   final List<EbnfIdentifierName> rules,
+                   final int rulesPerTask,
+                   final int from,
+                   final int to) {
+            this.identifierToRule = identifierToRule;
+            this.identifierToCharPredicate = identifierToCharPredicate;
+            this.rules = rules;
+            this.rulesPerTask = rulesPerTask;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            final int from = this.from;
+            final int to = this.to;
+
+            if (to - from > this.rulesPerTask) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(
+                        new BuildRules(this.identifierToRule, this.identifierToCharPredicate, this.rules, this.rulesPerTask, from, mid),
+                        new BuildRules(this.identifierToRule, this.identifierToCharPredicate, this.rules, this.rulesPerTask, mid, to)
+                );
+            } else {
+                CharPredicateGrammarEbnfParserTokenVisitor.buildRules(
+                        this.identifierToRule,
+                        this.identifierToCharPredicate,
+                        this.rules.subList(from, to)
+                );
+            }
+        }
+
+        private final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule;
+
+        private final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate;
+
+        private final List<EbnfIdentifierName> rules;
+
+        private final int rulesPerTask;
+
+        private final int from;
+
+        private final int to;
+
+        @Override
+        public String toString() {
+            return this.rules.subList(this.from, this.to).toString();
+        }
+    }
+
+    // text.............................................................................................................
+
+    /**
+     * Texts shorter than this are scanned by the calling thread, as they finish before tasks are worth forking.
+     */
+    final static int MIN_TEXT_LENGTH = 256 * 1024;
+
+    /**
+     * The fewest characters scanned by a single task.
+     */
+    final static int CHARS_PER_TASK = 64 * 1024;
+
+    /**
+     * Counts the characters at or after from that match the predicate, using the {@link ForkJoinPool#commonPool()}.
+     */
+    public static int count(final CharPredicate predicate,
+                            final CharSequence text,
+                            final int from) {
+        return count(
+                predicate,
+                text,
+                from,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Counts the characters at or after from that match the predicate, using the given {@link ForkJoinPool}. The
+     * text must not be modified until this returns.
+     */
+    public static int count(final CharPredicate predicate,
+                            final CharSequence text,
+                            final int from,
+                            final ForkJoinPool pool) {
+        checkText(predicate, text, pool);
+        final int to = text.length();
+        EbnfGrammarCharPredicates.checkFromTo(from, to, to);
+
+        return scan(
+                (f, t) -> EbnfGrammarCharPredicates.count0(predicate, text, f, t),
+                false,
+                from,
+                to,
+                pool
+        );
+    }
+
+    /**
+     * Counts the characters between from and to that match the predicate, using the {@link ForkJoinPool#commonPool()}.
+     */
+    public static int count(final CharPredicate predicate,
+                            final char[] text,
+                            final int from,
+                            final int to) {
+        return count(
+                predicate,
+                text,
+                from,
+                to,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Counts the characters between from and to that match the predicate, using the given {@link ForkJoinPool}.
+     */
+    public static int count(final CharPredicate predicate,
+                            final char[] text,
+                            final int from,
+                            final int to,
+                            final ForkJoinPool pool) {
+        checkText(predicate, text, pool);
+        EbnfGrammarCharPredicates.checkFromTo(from, to, text.length);
+
+        return scan(
+                (f, t) -> EbnfGrammarCharPredicates.count0(predicate, text, f, t),
+                false,
+                from,
+                to,
+                pool
+        );
+    }
+
+    /**
+     * Returns the index of the first character at or after from that matches the predicate, or -1 if none match,
+     * using the {@link ForkJoinPool#commonPool()}.
+     */
+    public static int indexOf(final CharPredicate predicate,
+                              final CharSequence text,
+                              final int from) {
+        return indexOf(
+                predicate,
+                text,
+                from,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Returns the index of the first character at or after from that matches the predicate, or -1 if none match,
+     * using the given {@link ForkJoinPool}.
+     */
+    public static int indexOf(final CharPredicate predicate,
+                              final CharSequence text,
+                              final int from,
+                              final ForkJoinPool pool) {
+        return indexOf(predicate, text, from, pool, true);
+    }
+
+    /**
+     * Returns the index of the first character between from and to that matches the predicate, or -1 if none match,
+     * using the {@link ForkJoinPool#commonPool()}.
+     */
+    public static int indexOf(final CharPredicate predicate,
+                              final char[] text,
+                              final int from,
+                              final int to) {
+        return indexOf(
+                predicate,
+                text,
+                from,
+                to,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Returns the index of the first character between from and to that matches the predicate, or -1 if none match,
+     * using the given {@link ForkJoinPool}.
+     */
+    public static int indexOf(final CharPredicate predicate,
+                              final char[] text,
+                              final int from,
+                              final int to,
+                              final ForkJoinPool pool) {
+        return indexOf(predicate, text, from, to, pool, true);
+    }
+
+    /**
+     * Returns the index of the first character at or after from that does not match the predicate, or -1 if all
+     * match, using the {@link ForkJoinPool#commonPool()}.
+     */
+    public static int indexOfFirstMismatch(final CharPredicate predicate,
+                                           final CharSequence text,
+                                           final int from) {
+        return indexOfFirstMismatch(
+                predicate,
+                text,
+                from,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Returns the index of the first character at or after from that does not match the predicate, or -1 if all
+     * match, using the given {@link ForkJoinPool}.
+     */
+    public static int indexOfFirstMismatch(final CharPredicate predicate,
+                                           final CharSequence text,
+                                           final int from,
+                                           final ForkJoinPool pool) {
+        return indexOf(predicate, text, from, pool, false);
+    }
+
+    /**
+     * Returns the index of the first character between from and to that does not match the predicate, or -1 if all
+     * match, using the {@link ForkJoinPool#commonPool()}.
+     */
+    public static int indexOfFirstMismatch(final CharPredicate predicate,
+                                           final char[] text,
+                                           final int from,
+                                           final int to) {
+        return indexOfFirstMismatch(
+                predicate,
+                text,
+                from,
+                to,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Returns the index of the first character between from and to that does not match the predicate, or -1 if all
+     * match, using the given {@link ForkJoinPool}.
+     */
+    public static int indexOfFirstMismatch(final CharPredicate predicate,
+                                           final char[] text,
+                                           final int from,
+                                           final int to,
+                                           final ForkJoinPool pool) {
+        return indexOf(predicate, text, from, to, pool, false);
+    }
+
+    /**
+     * Returns true if every character at or after from matches the predicate, using the
+     * {@link ForkJoinPool#commonPool()}.
+     */
+    public static boolean allMatch(final CharPredicate predicate,
+                                   final CharSequence text,
+                                   final int from) {
+        return allMatch(
+                predicate,
+                text,
+                from,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Returns true if every character at or after from matches the predicate, using the given {@link ForkJoinPool}.
+     */
+    public static boolean allMatch(final CharPredicate predicate,
+                                   final CharSequence text,
+                                   final int from,
+                                   final ForkJoinPool pool) {
+        return -1 == indexOf(predicate, text, from, pool, false);
+    }
+
+    /**
+     * Returns true if every character between from and to matches the predicate, using the
+     * {@link ForkJoinPool#commonPool()}.
+     */
+    public static boolean allMatch(final CharPredicate predicate,
+                                   final char[] text,
+                                   final int from,
+                                   final int to) {
+        return allMatch(
+                predicate,
+                text,
+                from,
+                to,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Returns true if every character between from and to matches the predicate, using the given {@link ForkJoinPool}.
+     */
+    public static boolean allMatch(final CharPredicate predicate,
+                                   final char[] text,
+                                   final int from,
+                                   final int to,
+                                   final ForkJoinPool pool) {
+        return -1 == indexOf(predicate, text, from, to, pool, false);
+    }
+
+    /**
+     * Returns the length of the longest run of matching characters beginning at from, using the
+     * {@link ForkJoinPool#commonPool()}.
+     */
+    public static int span(final CharPredicate predicate,
+                           final CharSequence text,
+                           final int from) {
+        return span(
+                predicate,
+                text,
+                from,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Returns the length of the longest run of matching characters beginning at from, using the given
+     * {@link ForkJoinPool}.
+     */
+    public static int span(final CharPredicate predicate,
+                           final CharSequence text,
+                           final int from,
+                           final ForkJoinPool pool) {
+        final int mismatch = indexOf(predicate, text, from, pool, false);
+        return (-1 == mismatch ? text.length() : mismatch) - from;
+    }
+
+    /**
+     * Returns the length of the longest run of matching characters beginning at from and ending at or before to,
+     * using the {@link ForkJoinPool#commonPool()}.
+     */
+    public static int span(final CharPredicate predicate,
+                           final char[] text,
+                           final int from,
+                           final int to) {
+        return span(
+                predicate,
+                text,
+                from,
+                to,
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Returns the length of the longest run of matching characters beginning at from and ending at or before to,
+     * using the given {@link ForkJoinPool}.
+     */
+    public static int span(final CharPredicate predicate,
+                           final char[] text,
+                           final int from,
+                           final int to,
+                           final ForkJoinPool pool) {
+        final int mismatch = indexOf(predicate, text, from, to, pool, false);
+        return (-1 == mismatch ? to : mismatch) - from;
+    }
+
+    private static int indexOf(final CharPredicate predicate,
+                               final CharSequence text,
+                               final int from,
+                               final ForkJoinPool pool,
+                               final boolean test) {
+        checkText(predicate, text, pool);
+        final int to = text.length();
+        EbnfGrammarCharPredicates.checkFromTo(from, to, to);
+
+        return scan(
+                (f, t) -> EbnfGrammarCharPredicates.indexOf0(predicate, text, f, t, test),
+                true,
+                from,
+                to,
+                pool
+        );
+    }
+
+    private static int indexOf(final CharPredicate predicate,
+                               final char[] text,
+                               final int from,
+                               final int to,
+                               final ForkJoinPool pool,
+                               final boolean test) {
+        checkText(predicate, text, pool);
+        EbnfGrammarCharPredicates.checkFromTo(from, to, text.length);
+
+        return scan(
+                (f, t) -> EbnfGrammarCharPredicates.indexOf0(predicate, text, f, t, test),
+                true,
+                from,
+                to,
+                pool
+        );
+    }
+
+    private static void checkText(final CharPredicate predicate,
+                                  final Object text,
+                                  final ForkJoinPool pool) {
+        EbnfGrammarCharPredicates.checkPredicate(predicate);
+        EbnfGrammarCharPredicates.checkText(text);
+        Objects.requireNonNull(pool, "pool");
+    }
+
+    /**
+     * Scans a slice of the text, returning a count or the first index found or -1.
+     */
+    @FunctionalInterface
+    private interface Slice {
+        int scan(final int from, final int to);
+    }
+
+    /**
+     * Scans the text on the calling thread if it is short or only a single thread may run, otherwise splits the text
+     * into at least a few tasks for every thread, so threads finishing early may steal the remaining tasks.
+     */
+    private static int scan(final Slice slice,
+                            final boolean first,
+                            final int from,
+                            final int to,
+                            final ForkJoinPool pool) {
+        final int length = to - from;
+        final int parallelism = parallelism(pool);
+
+        return length < MIN_TEXT_LENGTH || parallelism < 2 ?
+                slice.scan(from, to) :
+                pool.invoke(
+                        new ScanText(
+                                slice,
+                                first ? new AtomicInteger(Integer.MAX_VALUE) : null,
+                                Math.max(CHARS_PER_TASK, length / (parallelism * 4)),
+                                from,
+                                to
+                        )
+                );
+    }
+
+    /**
+     * Scans a range of the text, splitting into two tasks while longer than the characters per task. Characters are
+     * tested independently, so the results of the two halves are simply summed, or for an index the left is taken
+     * if found otherwise the right.
+     */
+    private final static class ScanText extends RecursiveTask<Integer> {
+
+        private final static long serialVersionUID = 1L;
+
+        ScanText(final Slice slice,
+                 final AtomicInteger found,
+                 final int charsPerTask,
+                 final int from,
+                 final int to) {
+            this.slice = slice;
+            this.found = found;
+            this.charsPerTask = charsPerTask;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            final int from = this.from;
+            final int to = this.to;
+            final AtomicInteger found = this.found;
+            final int result;
+
+            if (null != found && found.get() < from) {
+                result = -1; // an earlier task already found a smaller index
+            } else {
+                if (to - from > this.charsPerTask) {
+                    final int mid = (from + to) >>> 1;
+                    final ScanText right = new ScanText(this.slice, found, this.charsPerTask, mid, to);
+                    right.fork();
+
+                    final int left = new ScanText(this.slice, found, this.charsPerTask, from, mid).compute();
+                    if (null == found) {
+                        result = left + right.join();
+                    } else {
+                        if (-1 != left) {
+                            right.cancel(false); // skipped if not yet taken by another thread
+                            result = left;
+                        } else {
+                            result = right.join();
+                        }
+                    }
+                } else {
+                    result = this.slice.scan(from, to);
+                    if (null != found && -1 != result) {
+                        found.accumulateAndGet(result, Math::min);
+                    }
+                }
+            }
+
+            return result;
+        }
+
+        private final Slice slice;
+
+        /**
+         * The smallest index found by any task, or null when counting.
+         */
+        private final AtomicInteger found;
+
+        private final int charsPerTask;
+
+        private final int from;
+
+        private final int to;
+
+        @Override
+        public String toString() {
+            return this.from + ".." + this.to;
+        }
+    }
+
+    /**
+     * The threads of the pool that may actually run at the same time, as forking for more threads than processors
+     * only adds overhead.
+     */
+    static int parallelism(final ForkJoinPool pool) {
+        return Math.min(
+                pool.getParallelism(),
+                Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfGrammarCharPredicatesParallel() {
+        throw new UnsupportedOperationException();
+    }
+}
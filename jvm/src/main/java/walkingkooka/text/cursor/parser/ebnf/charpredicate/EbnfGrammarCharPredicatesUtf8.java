@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compiles predicates into {@link EbnfGrammarCharPredicateUtf8}, which scan UTF-8 bytes held by a
+ * {@link java.nio.ByteBuffer} without decoding them. Any predefined predicates are tested once for every character while
+ * compiling, so scanning never calls them.
+ */
+final public class EbnfGrammarCharPredicatesUtf8 implements PublicStaticHelper {
+
+    /**
+     * Compiles each {@link CharPredicate}, typically returned by {@link EbnfGrammarCharPredicates#fromGrammar}, keeping
+     * the original {@link CharPredicate#toString()}.
+     */
+    public static Map<EbnfIdentifierName, EbnfGrammarCharPredicateUtf8> compile(final Map<EbnfIdentifierName, CharPredicate> predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+
+        final Map<EbnfIdentifierName, EbnfGrammarCharPredicateUtf8> compiled = Maps.ordered();
+        for (final Map.Entry<EbnfIdentifierName, CharPredicate> nameAndPredicate : predicates.entrySet()) {
+            compiled.put(
+                    nameAndPredicate.getKey(),
+                    compile(nameAndPredicate.getValue())
+            );
+        }
+        return Maps.immutable(compiled);
+    }
+
+    /**
+     * Compiles a single {@link CharPredicate}.
+     */
+    public static EbnfGrammarCharPredicateUtf8 compile(final CharPredicate predicate) {
+        return EbnfGrammarCharPredicateUtf8.with(predicate);
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfGrammarCharPredicatesUtf8() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class EbnfGrammarCharPredicateBytecodeGeneratorTest {
+
+    @Test
+    public void testAsciiOnly() {
+        this.generateAndCheck(EbnfGrammarCharPredicateRanges.range('a', 'z', "letters"));
+    }
+
+    @Test
+    public void testEmpty() {
+        this.generateAndCheck(EbnfGrammarCharPredicateRanges.characters("", "empty"));
+    }
+
+    @Test
+    public void testAll() {
+        this.generateAndCheck(EbnfGrammarCharPredicateRanges.range('\u0000', '\uffff', "all"));
+    }
+
+    @Test
+    public void testRangeSpanningAscii() {
+        this.generateAndCheck(EbnfGrammarCharPredicateRanges.range('x', '\u00ff', "spanning"));
+    }
+
+    @Test
+    public void testRangeEndingMaxValue() {
+        this.generateAndCheck(
+                EbnfGrammarCharPredicateRanges.range('\u00c0', '\u00ff', "high")
+                        .union(EbnfGrammarCharPredicateRanges.range('\u8000', '\uffff', "high"), "high")
+        );
+    }
+
+    @Test
+    public void testPredicate() {
+        this.generateAndCheck(EbnfGrammarCharPredicateRanges.with(Character::isDigit));
+    }
+
+    @Test
+    public void testRandomRanges() {
+        final Random random = new Random(1);
+
+        for (int i = 0; i < 20; i++) {
+            final StringBuilder characters = new StringBuilder();
+            for (int j = random.nextInt(200); j > 0; j--) {
+                characters.append((char) random.nextInt(65536));
+            }
+            this.generateAndCheck(EbnfGrammarCharPredicateRanges.characters(characters, "random" + i));
+        }
+    }
+
+    @Test
+    public void testTooManyRanges() {
+        final StringBuilder characters = new StringBuilder();
+        for (int i = 0; i <= EbnfGrammarCharPredicateBytecodeGenerator.MAX_RANGES; i++) {
+            characters.append((char) (256 + i * 2));
+        }
+
+        assertNull(EbnfGrammarCharPredicateBytecodeGenerator.generate(EbnfGrammarCharPredicateRanges.characters(characters, "many")));
+    }
+
+    @Test
+    public void testSetToString() {
+        final EbnfGrammarCharPredicateBytecode predicate = EbnfGrammarCharPredicateBytecodeGenerator.generate(
+                EbnfGrammarCharPredicateRanges.range('\u00c0', '\u00ff', "before")
+        );
+        final EbnfGrammarCharPredicate different = predicate.setToString("after");
+
+        assertSame(predicate.getClass(), different.getClass());
+        assertEquals("after", different.toString());
+        assertEquals(true, different.test('\u00c0'));
+        assertEquals(false, different.test('\u0100'));
+    }
+
+    @Test
+    public void testSetToStringSame() {
+        final EbnfGrammarCharPredicateBytecode predicate = EbnfGrammarCharPredicateBytecodeGenerator.generate(
+                EbnfGrammarCharPredicateRanges.range('\u00c0', '\u00ff', "same")
+        );
+        assertSame(predicate, predicate.setToString("same"));
+    }
+
+    private void generateAndCheck(final EbnfGrammarCharPredicateRanges ranges) {
+        final EbnfGrammarCharPredicateBytecode predicate = EbnfGrammarCharPredicateBytecodeGenerator.generate(ranges);
+
+        assertTrue(predicate.getClass().isHidden(), () -> predicate.getClass() + " is hidden");
+        assertEquals(ranges.toString(), predicate.toString());
+        checkAllCharacters(ranges, predicate);
+    }
+
+    static void checkAllCharacters(final CharPredicate expected,
+                                   final CharPredicate predicate) {
+        for (int i = 0; i < 65536; i++) {
+            final char c = (char) i;
+            if (expected.test(c) != predicate.test(c)) {
+                assertEquals(expected.test(c), predicate.test(c), () -> predicate + " " + Integer.toHexString(c));
+            }
+        }
+    }
+}
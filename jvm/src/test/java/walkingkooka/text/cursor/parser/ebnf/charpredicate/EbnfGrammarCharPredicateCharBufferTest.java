@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateCharBufferTest {
+
+    @Test
+    public void testWithOddLengthFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateCharBuffer.with(CharBuffer.wrap("ACx"), "odd"));
+    }
+
+    @Test
+    public void testWithOverlappingFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateCharBuffer.with(CharBuffer.wrap("AFCZ"), "overlapping"));
+    }
+
+    @Test
+    public void testWithBeginAfterEndFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateCharBuffer.with(CharBuffer.wrap("ZA"), "reversed"));
+    }
+
+    @Test
+    public void testAllCharacters() {
+        final EbnfGrammarCharPredicateRanges ranges = EbnfGrammarCharPredicateRanges.range('0', '9', "digits")
+                .union(EbnfGrammarCharPredicateRanges.range('a', '\u00ff', "letters"), "mixed")
+                .union(EbnfGrammarCharPredicateRanges.range('\u8000', '\uffff', "high"), "mixed");
+
+        EbnfGrammarCharPredicateBytecodeGeneratorTest.checkAllCharacters(
+                ranges,
+                EbnfGrammarCharPredicateCharBuffer.with(CharBuffer.wrap(ranges.ranges), "mixed")
+        );
+    }
+
+    @Test
+    public void testSetToString() {
+        final EbnfGrammarCharPredicateCharBuffer predicate = EbnfGrammarCharPredicateCharBuffer.with(CharBuffer.wrap("AZ"), "before");
+        final EbnfGrammarCharPredicateCharBuffer different = predicate.setToString("after");
+
+        assertEquals("after", different.toString());
+        assertEquals(true, different.test('Q'));
+        assertSame(predicate, predicate.setToString("before"));
+    }
+}
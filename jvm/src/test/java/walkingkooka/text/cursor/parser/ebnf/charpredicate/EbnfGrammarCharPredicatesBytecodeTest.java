@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class EbnfGrammarCharPredicatesBytecodeTest {
+
+    @Test
+    public void testCompileNullFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesBytecode.compile(null));
+    }
+
+    @Test
+    public void testCompile() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(
+                        "IDENTIFIER = LETTER | DIGIT | \"_\";\n" +
+                                "DIGIT = \"0\"..\"9\";\n" +
+                                "NOT_DIGIT = LETTER - DIGIT;"
+                ),
+                Maps.of(EbnfIdentifierName.with("LETTER"), Character::isLetter)
+        );
+        final Map<EbnfIdentifierName, CharPredicate> compiled = EbnfGrammarCharPredicatesBytecode.compile(predicates);
+
+        assertEquals(
+                new ArrayList<>(predicates.keySet()),
+                new ArrayList<>(compiled.keySet())
+        );
+
+        for (final EbnfIdentifierName name : predicates.keySet()) {
+            final CharPredicate expected = predicates.get(name);
+            final CharPredicate predicate = compiled.get(name);
+
+            assertEquals(expected.toString(), predicate.toString(), name::toString);
+            EbnfGrammarCharPredicateBytecodeGeneratorTest.checkAllCharacters(expected, predicate);
+        }
+    }
+
+    @Test
+    public void testCompileHiddenClass() {
+        final CharPredicate predicate = EbnfGrammarCharPredicatesBytecode.compile(
+                Maps.of(EbnfIdentifierName.with("DIGIT"), EbnfGrammarCharPredicateRanges.range('0', '9', "DIGIT"))
+        ).get(EbnfIdentifierName.with("DIGIT"));
+
+        assertTrue(predicate.getClass().isHidden(), () -> predicate.getClass() + " is hidden");
+    }
+
+    @Test
+    public void testCompileTooManyRangesTable() {
+        final StringBuilder characters = new StringBuilder();
+        for (int i = 0; i <= EbnfGrammarCharPredicateBytecodeGenerator.MAX_RANGES; i++) {
+            characters.append((char) (256 + i * 2));
+        }
+        final EbnfGrammarCharPredicateRanges ranges = EbnfGrammarCharPredicateRanges.characters(characters, "MANY");
+
+        final CharPredicate predicate = EbnfGrammarCharPredicatesBytecode.compile(
+                Maps.of(EbnfIdentifierName.with("MANY"), ranges)
+        ).get(EbnfIdentifierName.with("MANY"));
+
+        assertEquals(EbnfGrammarCharPredicateTable.class, predicate.getClass());
+        EbnfGrammarCharPredicateBytecodeGeneratorTest.checkAllCharacters(ranges, predicate);
+    }
+}
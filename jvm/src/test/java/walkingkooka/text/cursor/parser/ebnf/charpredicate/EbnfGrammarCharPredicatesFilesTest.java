@@ -0,0 +1,268 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicatesFilesTest {
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    private final static EbnfIdentifierName IDENTIFIER = EbnfIdentifierName.with("IDENTIFIER");
+
+    private final static String TEXT = "abc_123 \u00e9t\u00e9 \u0416\u0438\u0437\u043d\u044c \u4e2d\u6587\u3042 " +
+            "\ud83d\ude00\ud801\udc00\ud801\udc01 x y z\uffef\uffff!";
+
+    private final static String LATIN1 = "abc_123 \u00e9t\u00e9 d\u00e9j\u00e0 vu, \u00ff\u00c0 !";
+
+    private final static int[] CHUNKS = {8, 9, 10, 13, 64, EbnfGrammarCharPredicatesFiles.CHUNK};
+
+    @TempDir
+    Path temp;
+
+    @Test
+    public void testUtf8() throws IOException {
+        this.scanAndCheck(TEXT, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testUtf16BigEndian() throws IOException {
+        this.scanAndCheck(TEXT, StandardCharsets.UTF_16BE);
+    }
+
+    @Test
+    public void testUtf16LittleEndian() throws IOException {
+        this.scanAndCheck(TEXT, StandardCharsets.UTF_16LE);
+    }
+
+    @Test
+    public void testIsoLatin1() throws IOException {
+        this.scanAndCheck(LATIN1, StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void testAllMatch() throws IOException {
+        this.scanAndCheck("abc\u00e9", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testNoneMatch() throws IOException {
+        this.scanAndCheck("  ,  ", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        this.scanAndCheck("", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testUnsupportedCharsetFails() throws IOException {
+        final Path file = this.write("abc", StandardCharsets.UTF_8);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicatesFiles.count(file, StandardCharsets.UTF_16, identifier())
+        );
+    }
+
+    @Test
+    public void testInvalidChunkFails() throws IOException {
+        final Path file = this.write("abc", StandardCharsets.UTF_8);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicatesFiles.count(file, StandardCharsets.UTF_8, identifier(), 6)
+        );
+    }
+
+    @Test
+    public void testInvalidUtf8NeverMatches() throws IOException {
+        final Path file = this.temp.resolve("invalid.txt");
+        Files.write(file, new byte[]{'a', (byte) 0x80, 'b', (byte) 0xc3});
+
+        assertEquals(2L, EbnfGrammarCharPredicatesFiles.count(file, StandardCharsets.UTF_8, identifier()));
+        assertEquals(1L, EbnfGrammarCharPredicatesFiles.indexOfFirstMismatch(file, StandardCharsets.UTF_8, identifier()));
+    }
+
+    @Test
+    public void testUtf16BigEndianOddLength() throws IOException {
+        this.oddLengthAndCheck(StandardCharsets.UTF_16BE);
+    }
+
+    @Test
+    public void testUtf16LittleEndianOddLength() throws IOException {
+        this.oddLengthAndCheck(StandardCharsets.UTF_16LE);
+    }
+
+    @Test
+    public void testUtf16SingleByte() throws IOException {
+        final Path file = this.temp.resolve("single.txt");
+        Files.write(file, new byte[]{'a'});
+
+        for (final int chunk : CHUNKS) {
+            assertEquals(0L, EbnfGrammarCharPredicatesFiles.count(file, StandardCharsets.UTF_16BE, identifier(), chunk));
+            assertEquals(-1L, EbnfGrammarCharPredicatesFiles.indexOf(file, StandardCharsets.UTF_16BE, identifier(), chunk));
+        }
+    }
+
+    private void oddLengthAndCheck(final Charset charset) throws IOException {
+        // the trailing odd byte is a character that never matches
+        final byte[] text = "ab c".repeat(8).getBytes(charset);
+        final byte[] bytes = Arrays.copyOf(text, text.length + 1);
+        bytes[text.length] = 'z';
+
+        final Path file = this.temp.resolve(charset.name() + "-odd.txt");
+        Files.write(file, bytes);
+
+        final CharPredicate predicate = identifier();
+        final List<String> spans = new ArrayList<>();
+        spans.add("0+4");
+        for (int i = 0; i < 7; i++) {
+            spans.add(i * 8 + 6 + "+6");
+        }
+        spans.add("62+2");
+
+        for (final int chunk : CHUNKS) {
+            final String message = charset + " chunk " + chunk;
+
+            assertEquals(
+                    24L,
+                    EbnfGrammarCharPredicatesFiles.count(file, charset, predicate, chunk),
+                    () -> "count " + message
+            );
+            assertEquals(
+                    0L,
+                    EbnfGrammarCharPredicatesFiles.indexOf(file, charset, predicate, chunk),
+                    () -> "indexOf " + message
+            );
+            assertEquals(
+                    4L,
+                    EbnfGrammarCharPredicatesFiles.indexOfFirstMismatch(file, charset, predicate, chunk),
+                    () -> "indexOfFirstMismatch " + message
+            );
+
+            final List<String> actualSpans = new ArrayList<>();
+            EbnfGrammarCharPredicatesFiles.spans(file, charset, predicate, (o, l) -> actualSpans.add(o + "+" + l), chunk);
+            assertEquals(spans, actualSpans, () -> "spans " + message);
+        }
+    }
+
+    private void scanAndCheck(final String text,
+                              final Charset charset) throws IOException {
+        final Path file = this.write(text, charset);
+        final CharPredicate predicate = identifier();
+
+        // decode each code point to find the offset of every match and every run
+        final List<Long> matches = new ArrayList<>();
+        final List<String> spans = new ArrayList<>();
+        long count = 0;
+        long mismatch = -1;
+        long runStart = -1;
+        long offset = 0;
+
+        for (int i = 0; i < text.length(); ) {
+            final char[] chars = Character.toChars(text.codePointAt(i));
+
+            boolean match = true;
+            for (final char c : chars) {
+                match &= predicate.test(c);
+            }
+
+            if (match) {
+                count++;
+                matches.add(offset);
+                if (-1 == runStart) {
+                    runStart = offset;
+                }
+            } else {
+                if (-1 == mismatch) {
+                    mismatch = offset;
+                }
+                if (-1 != runStart) {
+                    spans.add(runStart + "+" + (offset - runStart));
+                    runStart = -1;
+                }
+            }
+
+            offset += new String(chars).getBytes(charset).length;
+            i += chars.length;
+        }
+        if (-1 != runStart) {
+            spans.add(runStart + "+" + (offset - runStart));
+        }
+
+        for (final int chunk : CHUNKS) {
+            final String message = charset + " chunk " + chunk;
+
+            assertEquals(
+                    count,
+                    EbnfGrammarCharPredicatesFiles.count(file, charset, predicate, chunk),
+                    () -> "count " + message
+            );
+            assertEquals(
+                    matches.isEmpty() ? -1 : matches.get(0),
+                    EbnfGrammarCharPredicatesFiles.indexOf(file, charset, predicate, chunk),
+                    () -> "indexOf " + message
+            );
+            assertEquals(
+                    mismatch,
+                    EbnfGrammarCharPredicatesFiles.indexOfFirstMismatch(file, charset, predicate, chunk),
+                    () -> "indexOfFirstMismatch " + message
+            );
+
+            final List<Long> actualMatches = new ArrayList<>();
+            EbnfGrammarCharPredicatesFiles.matches(file, charset, predicate, actualMatches::add, chunk);
+            assertEquals(matches, actualMatches, () -> "matches " + message);
+
+            final List<String> actualSpans = new ArrayList<>();
+            EbnfGrammarCharPredicatesFiles.spans(file, charset, predicate, (o, l) -> actualSpans.add(o + "+" + l), chunk);
+            assertEquals(spans, actualSpans, () -> "spans " + message);
+        }
+    }
+
+    private Path write(final String text,
+                       final Charset charset) throws IOException {
+        final Path file = this.temp.resolve(charset.name() + ".txt");
+        Files.write(file, text.getBytes(charset));
+        return file;
+    }
+
+    private static CharPredicate identifier() {
+        return EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse("IDENTIFIER = LETTER | \"0\" .. \"9\" | \"_\" | \"\ud800\" .. \"\udfff\";"),
+                Map.of(LETTER, Character::isLetter)
+        ).get(IDENTIFIER);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicatesMappedTest {
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    private final static CharPredicate LETTER_PREDICATE = Character::isLetter;
+
+    @TempDir
+    Path temp;
+
+    @Test
+    public void testLoad() throws IOException {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = predicates();
+        final Path file = this.write(predicates);
+
+        final Map<EbnfIdentifierName, CharPredicate> loaded = EbnfGrammarCharPredicatesMapped.load(file, predefined());
+        this.checkPredicates(predicates, loaded);
+        assertSame(LETTER_PREDICATE, loaded.get(LETTER));
+        assertEquals(
+                EbnfGrammarCharPredicateCharBuffer.class,
+                loaded.get(EbnfIdentifierName.with("IDENTIFIER")).getClass()
+        );
+    }
+
+    @Test
+    public void testLoadDifferentPredefinedFails() throws IOException {
+        final Path file = this.write(predicates());
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicatesMapped.load(file, Maps.empty())
+        );
+    }
+
+    @Test
+    public void testLoadTruncatedFails() throws IOException {
+        final Path file = this.write(predicates());
+        final byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicatesMapped.load(file, predefined())
+        );
+    }
+
+    @Test
+    public void testLoadByteBufferPositionUnchanged() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = predicates();
+        final byte[] bytes = EbnfGrammarCharPredicates.toBinary(predicates, predefined());
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+        buffer.put((byte) 0);
+        buffer.put((byte) 0);
+        buffer.put(bytes);
+        buffer.position(2);
+
+        this.checkPredicates(predicates, EbnfGrammarCharPredicatesMapped.load(buffer, predefined()));
+        assertEquals(2, buffer.position());
+    }
+
+    private Path write(final Map<EbnfIdentifierName, CharPredicate> predicates) throws IOException {
+        final Path file = this.temp.resolve("predicates.bin");
+        Files.write(file, EbnfGrammarCharPredicates.toBinary(predicates, predefined()));
+        return file;
+    }
+
+    private void checkPredicates(final Map<EbnfIdentifierName, CharPredicate> expected,
+                                 final Map<EbnfIdentifierName, CharPredicate> loaded) {
+        assertEquals(
+                new ArrayList<>(expected.keySet()),
+                new ArrayList<>(loaded.keySet())
+        );
+
+        for (final EbnfIdentifierName name : expected.keySet()) {
+            final CharPredicate predicate = loaded.get(name);
+            assertEquals(expected.get(name).toString(), predicate.toString(), name::toString);
+            EbnfGrammarCharPredicateBytecodeGeneratorTest.checkAllCharacters(expected.get(name), predicate);
+        }
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predicates() {
+        return EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(
+                        "IDENTIFIER = LETTER | DIGIT | \"_\";\n" +
+                                "DIGIT = \"0\"..\"9\";"
+                ),
+                predefined()
+        );
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predefined() {
+        return Maps.of(LETTER, LETTER_PREDICATE);
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class EbnfGrammarCharPredicatesMetricsTest {
+
+    private final static EbnfIdentifierName DIGIT = EbnfIdentifierName.with("DIGIT");
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    private final static EbnfIdentifierName IDENTIFIER = EbnfIdentifierName.with("IDENTIFIER");
+
+    private final static String GRAMMAR = "DIGIT = \"0\"..\"9\";\n" +
+            "IDENTIFIER = LETTER | DIGIT | \"_\";";
+
+    @Test
+    public void testFromGrammarNullGrammarFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesMetrics.fromGrammar(null, predefined(), true));
+    }
+
+    @Test
+    public void testFromGrammarNullPredefinedFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesMetrics.fromGrammar(EbnfParserToken.parse(GRAMMAR), null, true));
+    }
+
+    @Test
+    public void testFromGrammarDisabledNullGrammarFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesMetrics.fromGrammar(null, predefined(), false));
+    }
+
+    @Test
+    public void testSnapshotNullFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesMetrics.snapshot(null));
+    }
+
+    @Test
+    public void testFromGrammarDisabled() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = fromGrammar(false);
+
+        assertTrue(predicates.get(DIGIT) instanceof EbnfGrammarCharPredicate, () -> predicates.get(DIGIT).getClass().getName());
+        assertEquals(Maps.empty(), EbnfGrammarCharPredicatesMetrics.snapshot(predicates));
+    }
+
+    @Test
+    public void testFromGrammar() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = fromGrammar(false);
+        final Map<EbnfIdentifierName, CharPredicate> instrumented = fromGrammar(true);
+
+        assertEquals(
+                new ArrayList<>(predicates.keySet()),
+                new ArrayList<>(instrumented.keySet())
+        );
+
+        for (final EbnfIdentifierName name : predicates.keySet()) {
+            final CharPredicate expected = predicates.get(name);
+            final CharPredicate predicate = instrumented.get(name);
+
+            assertEquals(expected.toString(), predicate.toString(), name::toString);
+            for (char c = 0; c < 512; c++) {
+                assertEquals(expected.test(c), predicate.test(c), name + " " + c);
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshot() {
+        final Map<EbnfIdentifierName, CharPredicate> instrumented = fromGrammar(true);
+
+        // ASCII characters are answered by the mask of IDENTIFIER without testing its branches
+        final CharPredicate identifier = instrumented.get(IDENTIFIER);
+        identifier.test('a');
+        identifier.test('1');
+        identifier.test('!');
+        identifier.test('\u00e9');
+        identifier.test('\u2000');
+
+        instrumented.get(DIGIT).test('!');
+
+        assertEquals(
+                Map.of(
+                        DIGIT, stats(0, 1),
+                        IDENTIFIER, stats(
+                                3,
+                                2,
+                                stats(1, 1),
+                                stats(0, 1)
+                        )
+                ),
+                EbnfGrammarCharPredicatesMetrics.snapshot(instrumented)
+        );
+    }
+
+    @Test
+    public void testSnapshotBranchRangesUnioned() {
+        final EbnfIdentifierName alnum = EbnfIdentifierName.with("ALNUM");
+        final Map<EbnfIdentifierName, CharPredicate> instrumented = EbnfGrammarCharPredicatesMetrics.fromGrammar(
+                EbnfParserToken.parse("ALNUM = \"a\"..\"z\" | \"0\"..\"9\";"),
+                Maps.empty(),
+                true
+        );
+
+        final CharPredicate predicate = instrumented.get(alnum);
+        predicate.test('a');
+        predicate.test('b');
+        predicate.test('5');
+
+        assertEquals(
+                stats(3, 0),
+                EbnfGrammarCharPredicatesMetrics.snapshot(instrumented)
+                        .get(alnum)
+        );
+    }
+
+    @Test
+    public void testFromGrammarLongChain() {
+        final int length = 5000;
+        final StringBuilder grammar = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            grammar.append("R").append(i).append(" = R").append(i + 1).append(" | \"").append((char) ('a' + i % 26)).append("\";\n");
+        }
+        grammar.append("R").append(length).append(" = LETTER;");
+
+        final Map<EbnfIdentifierName, CharPredicate> instrumented = EbnfGrammarCharPredicatesMetrics.fromGrammar(
+                EbnfParserToken.parse(grammar.toString()),
+                predefined(),
+                true
+        );
+
+        final EbnfIdentifierName r0 = EbnfIdentifierName.with("R0");
+        final CharPredicate predicate = instrumented.get(r0);
+        assertTrue(predicate.test('\u00e9'), "\u00e9");
+        assertTrue(predicate.test('z'), "z");
+        assertTrue(false == predicate.test('\u2000'), "\u2000");
+
+        final Map<EbnfIdentifierName, EbnfGrammarCharPredicateStats> snapshot = EbnfGrammarCharPredicatesMetrics.snapshot(instrumented);
+        assertEquals(length + 1, snapshot.size(), "rules");
+        assertEquals(stats(2, 1), snapshot.get(r0));
+    }
+
+    @Test
+    public void testSnapshotIgnoresOthers() {
+        final Map<EbnfIdentifierName, CharPredicate> instrumented = Maps.ordered();
+        instrumented.put(DIGIT, fromGrammar(true).get(DIGIT));
+        instrumented.put(LETTER, Character::isLetter);
+
+        assertEquals(
+                List.of(DIGIT),
+                new ArrayList<>(EbnfGrammarCharPredicatesMetrics.snapshot(instrumented).keySet())
+        );
+    }
+
+    @Test
+    public void testSnapshotManyThreads() throws Exception {
+        final CharPredicate digit = fromGrammar(true).get(DIGIT);
+        final int threads = 4;
+        final int tests = 10000;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(
+                        executor.submit(() -> {
+                            for (int j = 0; j < tests; j++) {
+                                digit.test((char) ('0' + j % 20));
+                            }
+                        })
+                );
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final EbnfGrammarCharPredicateStats stats = EbnfGrammarCharPredicatesMetrics.snapshot(Maps.of(DIGIT, digit))
+                .get(DIGIT);
+        assertEquals(threads * tests, stats.calls(), "calls");
+        assertEquals(threads * tests / 2, stats.trues(), "trues");
+        assertEquals(threads * tests / 2, stats.falses(), "falses");
+    }
+
+    @Test
+    public void testStatsToString() {
+        assertEquals(
+                "calls=3 true=2 false=1",
+                stats(2, 1).toString()
+        );
+    }
+
+    @Test
+    public void testStatsToStringBranches() {
+        assertEquals(
+                "calls=3 true=2 false=1 [calls=3 true=1 false=2, calls=2 true=1 false=1]",
+                stats(
+                        2,
+                        1,
+                        stats(1, 2),
+                        stats(1, 1)
+                ).toString()
+        );
+    }
+
+    @Test
+    public void testStatsEquals() {
+        assertEquals(
+                stats(2, 1),
+                stats(2, 1)
+        );
+        assertTrue(false == stats(2, 1).equals(stats(1, 2)));
+    }
+
+    @Test
+    public void testStatsEqualsDifferentBranches() {
+        assertTrue(false == stats(2, 1, stats(2, 1)).equals(stats(2, 1, stats(1, 2))));
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> fromGrammar(final boolean enabled) {
+        return EbnfGrammarCharPredicatesMetrics.fromGrammar(
+                EbnfParserToken.parse(GRAMMAR),
+                predefined(),
+                enabled
+        );
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predefined() {
+        return Maps.of(LETTER, Character::isLetter);
+    }
+
+    private static EbnfGrammarCharPredicateStats stats(final long trues,
+                                                       final long falses,
+                                                       final EbnfGrammarCharPredicateStats... branches) {
+        return EbnfGrammarCharPredicateStats.with(
+                trues,
+                falses,
+                List.of(branches)
+        );
+    }
+}
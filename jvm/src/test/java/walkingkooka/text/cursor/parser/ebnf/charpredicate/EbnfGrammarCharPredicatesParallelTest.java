@@ -0,0 +1,416 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicatesParallelTest {
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    private final static CharPredicate LETTER_PREDICATE = CharPredicates.range('0', '9');
+
+    @Test
+    public void testFromGrammarNullGrammarFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesParallel.fromGrammar(null, Maps.empty()));
+    }
+
+    @Test
+    public void testFromGrammarNullPredefinedFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesParallel.fromGrammar(EbnfParserToken.parse("A = \"a\";"), null));
+    }
+
+    @Test
+    public void testFromGrammarNullPoolFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesParallel.fromGrammar(EbnfParserToken.parse("A = \"a\";"), Maps.empty(), null));
+    }
+
+    @Test
+    public void testFromGrammarSmall() {
+        this.fromGrammarAndCheck(grammar(10));
+    }
+
+    @Test
+    public void testFromGrammarLarge() {
+        this.fromGrammarAndCheck(grammar(EbnfGrammarCharPredicatesParallel.MIN_RULES * 4));
+    }
+
+    @Test
+    public void testFromGrammarLargeSingleThread() {
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            this.fromGrammarAndCheck(
+                    grammar(EbnfGrammarCharPredicatesParallel.MIN_RULES * 2),
+                    pool
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFromGrammarLargeTwoThreads() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            this.fromGrammarAndCheck(
+                    grammar(EbnfGrammarCharPredicatesParallel.MIN_RULES * 2),
+                    pool
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFromGrammarLargeFailure() {
+        final String grammar = grammar(EbnfGrammarCharPredicatesParallel.MIN_RULES * 2) +
+                "\nINVALID = \"z\" .. \"a\";";
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicatesParallel.fromGrammar(EbnfParserToken.parse(grammar), predefined())
+        );
+    }
+
+    @Test
+    public void testParallelism() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(
+                    Math.min(2, Runtime.getRuntime().availableProcessors()),
+                    EbnfGrammarCharPredicatesParallel.parallelism(pool)
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelismMoreThreadsThanProcessors() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final ForkJoinPool pool = new ForkJoinPool(processors + 1);
+        try {
+            assertEquals(
+                    processors,
+                    EbnfGrammarCharPredicatesParallel.parallelism(pool)
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testLevels() {
+        assertEquals(
+                List.of(
+                        List.of(name("A"), name("B")),
+                        List.of(name("C")),
+                        List.of(name("E")),
+                        List.of(name("D"))
+                ),
+                levels(
+                        "A = \"a\";\n" +
+                                "B = \"b\" | LETTER;\n" +
+                                "C = A | B;\n" +
+                                "D = C | E;\n" +
+                                "E = \"e\" | C;"
+                )
+        );
+    }
+
+    @Test
+    public void testLevelsCycleFails() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> levels(
+                        "A = \"a\";\n" +
+                                "D = A | E;\n" +
+                                "E = \"e\" | D;"
+                )
+        );
+        assertEquals("Rule D references itself [D, E]", thrown.getMessage());
+    }
+
+    // text.............................................................................................................
+
+    private final static CharPredicate DIGIT = EbnfGrammarCharPredicates.fromGrammar(
+            EbnfParserToken.parse("DIGIT = \"0\" .. \"9\";"),
+            Maps.empty()
+    ).get(EbnfIdentifierName.with("DIGIT"));
+
+    @Test
+    public void testCountNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesParallel.count(null, "abc", 0));
+    }
+
+    @Test
+    public void testCountNullTextFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesParallel.count(DIGIT, (char[]) null, 0, 0));
+    }
+
+    @Test
+    public void testCountNullPoolFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesParallel.count(DIGIT, "abc", 0, null));
+    }
+
+    @Test
+    public void testIndexOfInvalidFromFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicatesParallel.indexOf(DIGIT, "abc", 4));
+    }
+
+    @Test
+    public void testIndexOfInvalidToFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicatesParallel.indexOf(DIGIT, new char[3], 1, 4));
+    }
+
+    @Test
+    public void testScanShort() {
+        this.scanAndCheck(
+                text(100, 5, 50, 99),
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    @Test
+    public void testScanLongNoMatches() {
+        this.scanAndCheckPools(text(EbnfGrammarCharPredicatesParallel.MIN_TEXT_LENGTH * 2));
+    }
+
+    @Test
+    public void testScanLongMatchesAtTaskBorders() {
+        final int perTask = EbnfGrammarCharPredicatesParallel.CHARS_PER_TASK;
+
+        this.scanAndCheckPools(
+                text(
+                        EbnfGrammarCharPredicatesParallel.MIN_TEXT_LENGTH * 2 + 3,
+                        perTask - 1,
+                        perTask,
+                        perTask * 5 + 1,
+                        EbnfGrammarCharPredicatesParallel.MIN_TEXT_LENGTH * 2 + 2
+                )
+        );
+    }
+
+    @Test
+    public void testScanLongMostlyMatches() {
+        final int length = EbnfGrammarCharPredicatesParallel.MIN_TEXT_LENGTH * 3;
+        final char[] text = text(length, length / 2, length - 1);
+        for (int i = 0; i < length; i++) {
+            text[i] = 'a' == text[i] ? '1' : 'a';
+        }
+
+        this.scanAndCheckPools(text);
+    }
+
+    @Test
+    public void testScanLongLambdaPredicate() {
+        final int length = EbnfGrammarCharPredicatesParallel.MIN_TEXT_LENGTH * 2;
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            this.scanAndCheck(
+                    text(length, 1, length / 3, length - 2),
+                    (c) -> c >= '0' && c <= '9',
+                    pool
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void scanAndCheckPools(final char[] text) {
+        this.scanAndCheck(text, ForkJoinPool.commonPool());
+
+        for (final int parallelism : new int[]{1, 2, 4, 7}) {
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                this.scanAndCheck(text, pool);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private void scanAndCheck(final char[] text,
+                              final ForkJoinPool pool) {
+        this.scanAndCheck(text, DIGIT, pool);
+    }
+
+    /**
+     * Scans the text from several positions, comparing each result with the serial bulk methods.
+     */
+    private void scanAndCheck(final char[] text,
+                              final CharPredicate predicate,
+                              final ForkJoinPool pool) {
+        final int length = text.length;
+        final String string = new String(text);
+
+        for (final int from : new int[]{0, 1, length / 3, length - 1, length}) {
+            final int to = Math.max(from, length - 1);
+            final String message = "from " + from + " to " + to;
+
+            assertEquals(
+                    EbnfGrammarCharPredicates.count(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesParallel.count(predicate, text, from, to, pool),
+                    message
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.indexOf(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesParallel.indexOf(predicate, text, from, to, pool),
+                    message
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.indexOfFirstMismatch(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesParallel.indexOfFirstMismatch(predicate, text, from, to, pool),
+                    message
+            );
+            assertEquals(
+                    -1 == EbnfGrammarCharPredicates.indexOfFirstMismatch(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesParallel.allMatch(predicate, text, from, to, pool),
+                    message
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.span(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesParallel.span(predicate, text, from, to, pool),
+                    message
+            );
+
+            assertEquals(
+                    EbnfGrammarCharPredicates.count(predicate, string, from),
+                    EbnfGrammarCharPredicatesParallel.count(predicate, string, from, pool),
+                    message
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.indexOf(predicate, string, from),
+                    EbnfGrammarCharPredicatesParallel.indexOf(predicate, string, from, pool),
+                    message
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.indexOfFirstMismatch(predicate, string, from),
+                    EbnfGrammarCharPredicatesParallel.indexOfFirstMismatch(predicate, string, from, pool),
+                    message
+            );
+            assertEquals(
+                    -1 == EbnfGrammarCharPredicates.indexOfFirstMismatch(predicate, string, from),
+                    EbnfGrammarCharPredicatesParallel.allMatch(predicate, string, from, pool),
+                    message
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.span(predicate, string, from),
+                    EbnfGrammarCharPredicatesParallel.span(predicate, string, from, pool),
+                    message
+            );
+        }
+    }
+
+    /**
+     * Letters with a digit at each of the given indices.
+     */
+    private static char[] text(final int length,
+                               final int... digits) {
+        final char[] text = new char[length];
+        Arrays.fill(text, 'a');
+        for (final int digit : digits) {
+            text[digit] = '1';
+        }
+        return text;
+    }
+
+    private static List<List<EbnfIdentifierName>> levels(final String grammar) {
+        return EbnfGrammarCharPredicatesParallel.levels(
+                EbnfGrammarCharPredicateRuleGraph.with(
+                        CharPredicateGrammarEbnfParserTokenVisitor.rules(
+                                EbnfParserToken.parse(grammar)
+                        )
+                )
+        );
+    }
+
+    private void fromGrammarAndCheck(final String grammar) {
+        this.fromGrammarAndCheck(grammar, ForkJoinPool.commonPool());
+    }
+
+    private void fromGrammarAndCheck(final String text,
+                                     final ForkJoinPool pool) {
+        final GrammarEbnfParserToken grammar = EbnfParserToken.parse(text);
+        final Map<EbnfIdentifierName, CharPredicate> serial = EbnfGrammarCharPredicates.fromGrammar(grammar, predefined());
+        final Map<EbnfIdentifierName, CharPredicate> parallel = EbnfGrammarCharPredicatesParallel.fromGrammar(grammar, predefined(), pool);
+
+        assertEquals(
+                new ArrayList<>(serial.keySet()),
+                new ArrayList<>(parallel.keySet())
+        );
+
+        for (final EbnfIdentifierName name : serial.keySet()) {
+            final CharPredicate expected = serial.get(name);
+            final CharPredicate predicate = parallel.get(name);
+
+            assertEquals(expected.toString(), predicate.toString(), name::toString);
+            for (char c = 0; c < 256; c++) {
+                if (expected.test(c) != predicate.test(c)) {
+                    assertEquals(expected.test(c), predicate.test(c), name + " " + c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Each rule references two earlier rules, and every seventh rule also references the predefined LETTER.
+     */
+    static String grammar(final int count) {
+        final StringBuilder grammar = new StringBuilder();
+
+        for (int i = 0; i < count; i++) {
+            final char c = (char) ('a' + i % 26);
+            grammar.append("R").append(i).append(" = \"").append(c).append("\" .. \"z\"");
+
+            if (i > 0) {
+                grammar.append(" | R").append(i / 2)
+                        .append(" | R").append(i / 3);
+            }
+            if (i % 7 == 0) {
+                grammar.append(" | LETTER");
+            }
+            grammar.append(";\n");
+        }
+
+        return grammar.toString();
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predefined() {
+        return Maps.of(LETTER, LETTER_PREDICATE);
+    }
+
+    private static EbnfIdentifierName name(final String name) {
+        return EbnfIdentifierName.with(name);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicatesUtf8Test {
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    private final static CharPredicate LETTER_PREDICATE = Character::isLetter;
+
+    private final static EbnfIdentifierName IDENTIFIER = EbnfIdentifierName.with("IDENTIFIER");
+
+    private final static EbnfIdentifierName SURROGATES = EbnfIdentifierName.with("SURROGATES");
+
+    private final static String TEXT = "abc_123 \u00e9t\u00e9 \u0416\u0438\u0437\u043d\u044c \u4e2d\u6587\u3042 " +
+            "\ud83d\ude00\ud801\udc00 x\u00a0y\u2028z\uffef\uffff";
+
+    @Test
+    public void testCompileNullFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesUtf8.compile((Map<EbnfIdentifierName, CharPredicate>) null));
+    }
+
+    @Test
+    public void testCompileNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesUtf8.compile((CharPredicate) null));
+    }
+
+    @Test
+    public void testCompileToString() {
+        final Map<EbnfIdentifierName, EbnfGrammarCharPredicateUtf8> compiled = EbnfGrammarCharPredicatesUtf8.compile(predicates());
+
+        assertEquals(IDENTIFIER.toString(), compiled.get(IDENTIFIER).toString());
+        assertEquals(predicates().keySet(), compiled.keySet());
+    }
+
+    @Test
+    public void testAllRulesEveryOffset() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = predicates();
+        final Map<EbnfIdentifierName, EbnfGrammarCharPredicateUtf8> compiled = EbnfGrammarCharPredicatesUtf8.compile(predicates);
+
+        final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer heap = ByteBuffer.wrap(bytes);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+
+        for (final EbnfIdentifierName rule : predicates.keySet()) {
+            final CharPredicate predicate = predicates.get(rule);
+            final EbnfGrammarCharPredicateUtf8 utf8 = compiled.get(rule);
+
+            int byteIndex = 0;
+            for (int i = 0; i < TEXT.length(); i = TEXT.offsetByCodePoints(i, 1)) {
+                this.scanAndCheck(rule, predicate, utf8, heap, i, byteIndex);
+                this.scanAndCheck(rule, predicate, utf8, direct, i, byteIndex);
+
+                byteIndex += new String(Character.toChars(TEXT.codePointAt(i))).getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+    }
+
+    private void scanAndCheck(final EbnfIdentifierName rule,
+                              final CharPredicate predicate,
+                              final EbnfGrammarCharPredicateUtf8 utf8,
+                              final ByteBuffer bytes,
+                              final int from,
+                              final int fromByte) {
+        final int to = bytes.limit();
+        final String message = rule + " from " + from + " " + bytes;
+
+        assertEquals(
+                this.expectedIndexOf(predicate, from, true),
+                utf8.indexOf(bytes, fromByte, to),
+                () -> "indexOf " + message
+        );
+
+        final int mismatch = this.expectedIndexOf(predicate, from, false);
+        assertEquals(
+                mismatch,
+                utf8.indexOfFirstMismatch(bytes, fromByte, to),
+                () -> "indexOfFirstMismatch " + message
+        );
+        assertEquals(
+                (-1 == mismatch ? to : mismatch) - fromByte,
+                utf8.span(bytes, fromByte, to),
+                () -> "span " + message
+        );
+        assertEquals(0, bytes.position(), "position");
+    }
+
+    /**
+     * Decodes and tests each code point, returning the byte index of the first whose result equals test.
+     */
+    private int expectedIndexOf(final CharPredicate predicate,
+                                final int from,
+                                final boolean test) {
+        int byteIndex = TEXT.substring(0, from).getBytes(StandardCharsets.UTF_8).length;
+
+        for (int i = from; i < TEXT.length(); ) {
+            final int codePoint = TEXT.codePointAt(i);
+            final char[] chars = Character.toChars(codePoint);
+
+            boolean match = true;
+            for (final char c : chars) {
+                match &= predicate.test(c);
+            }
+            if (test == match) {
+                return byteIndex;
+            }
+
+            byteIndex += new String(chars).getBytes(StandardCharsets.UTF_8).length;
+            i += chars.length;
+        }
+        return -1;
+    }
+
+    @Test
+    public void testInvalidSequencesNeverMatch() {
+        final EbnfGrammarCharPredicateUtf8 any = EbnfGrammarCharPredicatesUtf8.compile(c -> true);
+
+        this.mismatchAndCheck(any, 1, 'a', 0x80, 'b'); // stray continuation
+        this.mismatchAndCheck(any, 1, 'a', 0xc0, 0x80); // overlong
+        this.mismatchAndCheck(any, 1, 'a', 0xe0, 0x80, 0x80); // overlong
+        this.mismatchAndCheck(any, 1, 'a', 0xf0, 0x80, 0x80, 0x80); // overlong
+        this.mismatchAndCheck(any, 1, 'a', 0xed, 0xa0, 0x80); // encoded surrogate
+        this.mismatchAndCheck(any, 1, 'a', 0xf4, 0x90, 0x80, 0x80); // beyond max code point
+        this.mismatchAndCheck(any, 1, 'a', 0xf5, 0x80, 0x80, 0x80);
+        this.mismatchAndCheck(any, 1, 'a', 0xc3, 'b'); // missing continuation
+        this.mismatchAndCheck(any, 1, 'a', 0xe4, 0xb8); // cut short
+        this.mismatchAndCheck(any, -1, 'a', 0xc3, 0xa9, 0xe4, 0xb8, 0xad, 0xf0, 0x9f, 0x98, 0x80);
+    }
+
+    private void mismatchAndCheck(final EbnfGrammarCharPredicateUtf8 utf8,
+                                  final int expected,
+                                  final int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+
+        assertEquals(
+                expected,
+                utf8.indexOfFirstMismatch(ByteBuffer.wrap(bytes), 0, bytes.length)
+        );
+    }
+
+    @Test
+    public void testToBeforeEnd() {
+        final EbnfGrammarCharPredicateUtf8 utf8 = EbnfGrammarCharPredicatesUtf8.compile(predicates().get(IDENTIFIER));
+        final ByteBuffer bytes = ByteBuffer.wrap("ab\u00e9 cd".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(4, utf8.span(bytes, 0, 4));
+        assertEquals(2, utf8.span(bytes, 0, 3), "cut short");
+        assertEquals(-1, utf8.indexOfFirstMismatch(bytes, 0, 2));
+    }
+
+    @Test
+    public void testInvalidFromFails() {
+        final EbnfGrammarCharPredicateUtf8 utf8 = EbnfGrammarCharPredicatesUtf8.compile(predicates().get(IDENTIFIER));
+        assertThrows(IndexOutOfBoundsException.class, () -> utf8.span(ByteBuffer.wrap(new byte[2]), -1, 2));
+    }
+
+    @Test
+    public void testInvalidToFails() {
+        final EbnfGrammarCharPredicateUtf8 utf8 = EbnfGrammarCharPredicatesUtf8.compile(predicates().get(IDENTIFIER));
+        assertThrows(IndexOutOfBoundsException.class, () -> utf8.span(ByteBuffer.wrap(new byte[2]), 0, 3));
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predicates() {
+        return EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(
+                        "IDENTIFIER = LETTER | \"0\" .. \"9\" | \"_\";\n" +
+                                "WHITESPACE = \" \u00a0\u2028\";\n" +
+                                "SURROGATES = \"\ud800\" .. \"\udfff\" | \"a\";\n" +
+                                "CJK = \"\u4e00\" .. \"\u9fff\";\n" +
+                                "HIGH = \"\uff00\" .. \"\uffff\";"
+                ),
+                Map.of(LETTER, LETTER_PREDICATE)
+        );
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates a class for every <code>.grammar</code> file under {@link #grammarDirectory}, using
+ * {@link EbnfGrammarCharPredicates#javaSource}. The directory of each grammar relative to {@link #grammarDirectory}
+ * becomes the package, and the file name followed by <code>CharPredicates</code> the class name, so
+ * <code>walkingkooka/json/Json.grammar</code> becomes <code>walkingkooka.json.JsonCharPredicates</code>.
+ * Grammars may only reference their own rules, as there are no predefined predicates at build time.
+ * <br>
+ * Every grammar is generated again on each run, as the source also depends on the version of this plugin, but a class
+ * is only written when its source changed, leaving unchanged classes for incremental compilation. Classes generated
+ * earlier whose grammar was since removed are deleted from {@link #outputDirectory}.
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public final class EbnfGrammarCharPredicatesGenerateMojo extends AbstractMojo {
+
+    private final static String GRAMMAR = ".grammar";
+
+    private final static String CLASS_NAME_SUFFIX = "CharPredicates";
+
+    /**
+     * The first line of every generated class, so only generated classes are deleted from {@link #outputDirectory}.
+     */
+    private final static String GENERATED = "// Generated by EbnfGrammarCharPredicates.javaSource";
+
+    @Parameter(defaultValue = "${project.basedir}/src/main/grammar", required = true)
+    File grammarDirectory;
+
+    @Parameter(defaultValue = "${project.build.directory}/generated-sources/ebnf-charpredicate", required = true)
+    File outputDirectory;
+
+    @Parameter(defaultValue = "${project}", readonly = true)
+    MavenProject project;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        final Path grammars = this.grammarDirectory.toPath();
+        final Path output = this.outputDirectory.toPath();
+        final Set<Path> generated = Sets.hash();
+
+        if (Files.isDirectory(grammars)) {
+            for (final Path grammar : grammarFiles(grammars)) {
+                generated.add(this.generate(grammars.relativize(grammar), grammar, output));
+            }
+        } else {
+            this.getLog().info("Grammar directory " + grammars + " missing");
+        }
+
+        if (Files.isDirectory(output)) {
+            this.deleteOrphans(output, generated);
+        }
+
+        if (null != this.project) {
+            this.project.addCompileSourceRoot(output.toString());
+        }
+    }
+
+    private static List<Path> grammarFiles(final Path grammars) throws MojoExecutionException {
+        try (final Stream<Path> files = Files.walk(grammars)) {
+            return files.filter(f -> Files.isRegularFile(f) && f.getFileName().toString().endsWith(GRAMMAR))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (final IOException cause) {
+            throw new MojoExecutionException("Unable to list grammars in " + grammars, cause);
+        }
+    }
+
+    /**
+     * Generates the class for the grammar, returning its file.
+     */
+    private Path generate(final Path relative,
+                          final Path grammar,
+                          final Path output) throws MojoExecutionException {
+        final Path parent = relative.getParent();
+        if (null == parent) {
+            throw new MojoExecutionException("Grammar " + grammar + " must be in a package directory");
+        }
+
+        final String packageName = parent.toString()
+                .replace(File.separatorChar, '.');
+        final String fileName = relative.getFileName().toString();
+        final String className = fileName.substring(0, fileName.length() - GRAMMAR.length()) + CLASS_NAME_SUFFIX;
+
+        final Path java = output.resolve(parent)
+                .resolve(className + ".java");
+
+        try {
+            final String source;
+            try {
+                source = EbnfGrammarCharPredicates.javaSource(
+                        packageName,
+                        className,
+                        EbnfGrammarCharPredicates.fromGrammar(
+                                EbnfParserToken.parse(new String(Files.readAllBytes(grammar), StandardCharsets.UTF_8)),
+                                Maps.empty()
+                        )
+                );
+            } catch (final RuntimeException cause) {
+                throw new MojoExecutionException("Invalid grammar " + grammar + ", " + cause.getMessage(), cause);
+            }
+
+            final byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+            if (Files.exists(java) && Arrays.equals(bytes, Files.readAllBytes(java))) {
+                this.getLog().debug("Skipping " + grammar + " unchanged");
+            } else {
+                Files.createDirectories(java.getParent());
+                Files.write(java, bytes);
+                this.getLog().info("Generated " + packageName + "." + className + " from " + grammar);
+            }
+        } catch (final IOException cause) {
+            throw new MojoExecutionException("Unable to generate " + java + " from " + grammar, cause);
+        }
+
+        return java;
+    }
+
+    /**
+     * Deletes the generated classes under the output directory that were not generated by this run, along with any
+     * directories left empty.
+     */
+    private void deleteOrphans(final Path output,
+                               final Set<Path> generated) throws MojoExecutionException {
+        final List<Path> files;
+        try (final Stream<Path> walk = Files.walk(output)) {
+            files = walk.sorted(Comparator.reverseOrder()) // children before their directory
+                    .collect(Collectors.toList());
+        } catch (final IOException cause) {
+            throw new MojoExecutionException("Unable to list generated classes in " + output, cause);
+        }
+
+        for (final Path file : files) {
+            try {
+                if (Files.isDirectory(file)) {
+                    if (false == file.equals(output) && isEmpty(file)) {
+                        Files.delete(file);
+                    }
+                } else {
+                    if (false == generated.contains(file) && isGenerated(file)) {
+                        Files.delete(file);
+                        this.getLog().info("Deleted " + file + " as its grammar was removed");
+                    }
+                }
+            } catch (final IOException cause) {
+                throw new MojoExecutionException("Unable to delete " + file, cause);
+            }
+        }
+    }
+
+    private static boolean isEmpty(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return false == files.findAny().isPresent();
+        }
+    }
+
+    private static boolean isGenerated(final Path file) throws IOException {
+        boolean generated = false;
+
+        if (file.getFileName().toString().endsWith(CLASS_NAME_SUFFIX + ".java")) {
+            try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                final String first = reader.readLine();
+                generated = null != first && first.startsWith(GENERATED);
+            }
+        }
+
+        return generated;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate.maven;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicatesGenerateMojoTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    public void testExecute() throws Exception {
+        this.grammar("walkingkooka/sample/Sample.grammar", "TEST = \"A\" | \"B\" | \"C\";");
+
+        this.execute();
+
+        final String source = this.generated("walkingkooka/sample/SampleCharPredicates.java");
+        assertEquals(true, source.contains("package walkingkooka.sample;"), source);
+        assertEquals(true, source.contains("public final class SampleCharPredicates {"), source);
+        assertEquals(true, source.contains("public final static CharPredicate TEST = EbnfGrammarCharPredicates.ranges("), source);
+    }
+
+    @Test
+    public void testExecuteUnchangedNotWritten() throws Exception {
+        this.grammar("walkingkooka/sample/Sample.grammar", "TEST = \"A\";");
+        this.execute();
+
+        final Path java = this.temp.resolve("output/walkingkooka/sample/SampleCharPredicates.java");
+        final FileTime time = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(java, time);
+
+        this.execute();
+        assertEquals(time, Files.getLastModifiedTime(java));
+    }
+
+    @Test
+    public void testExecuteNewerStaleOutputRegenerated() throws Exception {
+        this.grammar("walkingkooka/sample/Sample.grammar", "TEST = \"A\";");
+        this.execute();
+
+        // generated by an older plugin, after the grammar was last changed
+        final Path java = this.temp.resolve("output/walkingkooka/sample/SampleCharPredicates.java");
+        Files.write(java, "// Generated by EbnfGrammarCharPredicates.javaSource, do not edit.\n// old\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(java, FileTime.fromMillis(System.currentTimeMillis() + 60 * 1000));
+
+        this.execute();
+
+        final String source = this.generated("walkingkooka/sample/SampleCharPredicates.java");
+        assertEquals(true, source.contains("public final class SampleCharPredicates {"), source);
+    }
+
+    @Test
+    public void testExecuteGrammarRemovedDeletesOrphan() throws Exception {
+        this.grammar("walkingkooka/sample/Sample.grammar", "TEST = \"A\";");
+        this.grammar("walkingkooka/sample2/Sample2.grammar", "TEST = \"B\";");
+        this.grammar("walkingkooka/sample/Removed.grammar", "TEST = \"C\";");
+        this.execute();
+
+        Files.delete(this.temp.resolve("grammar/walkingkooka/sample2/Sample2.grammar"));
+        Files.delete(this.temp.resolve("grammar/walkingkooka/sample/Removed.grammar"));
+        this.execute();
+
+        assertEquals(true, Files.exists(this.temp.resolve("output/walkingkooka/sample/SampleCharPredicates.java")));
+        assertEquals(false, Files.exists(this.temp.resolve("output/walkingkooka/sample/RemovedCharPredicates.java")));
+        assertEquals(false, Files.exists(this.temp.resolve("output/walkingkooka/sample2")));
+    }
+
+    @Test
+    public void testExecuteOtherFilesKept() throws Exception {
+        final Path other = this.temp.resolve("output/walkingkooka/other/OtherCharPredicates.java");
+        Files.createDirectories(other.getParent());
+        Files.write(other, "package walkingkooka.other;\n".getBytes(StandardCharsets.UTF_8));
+
+        this.grammar("walkingkooka/sample/Sample.grammar", "TEST = \"A\";");
+        this.execute();
+
+        assertEquals(true, Files.exists(other));
+    }
+
+    @Test
+    public void testExecuteMissingGrammarDirectory() throws Exception {
+        this.execute();
+
+        assertEquals(false, Files.exists(this.temp.resolve("output")));
+    }
+
+    @Test
+    public void testExecuteDefaultPackageFails() throws Exception {
+        this.grammar("Sample.grammar", "TEST = \"A\";");
+
+        assertThrows(MojoExecutionException.class, this::execute);
+    }
+
+    @Test
+    public void testExecuteInvalidGrammarFails() throws Exception {
+        this.grammar("walkingkooka/sample/Sample.grammar", "TEST = UNKNOWN;");
+
+        assertThrows(MojoExecutionException.class, this::execute);
+    }
+
+    private void grammar(final String path,
+                         final String grammar) throws IOException {
+        final Path file = this.temp.resolve("grammar").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, grammar.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void execute() throws MojoExecutionException {
+        final EbnfGrammarCharPredicatesGenerateMojo mojo = new EbnfGrammarCharPredicatesGenerateMojo();
+        mojo.grammarDirectory = this.temp.resolve("grammar").toFile();
+        mojo.outputDirectory = this.temp.resolve("output").toFile();
+        mojo.execute();
+    }
+
+    private String generated(final String path) throws IOException {
+        return new String(
+                Files.readAllBytes(this.temp.resolve("output").resolve(path)),
+                StandardCharsets.UTF_8
+        );
+    }
+}
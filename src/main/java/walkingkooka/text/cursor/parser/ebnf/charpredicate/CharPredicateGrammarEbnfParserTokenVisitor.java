@@ -17,9 +17,9 @@
 
 package walkingkooka.text.cursor.parser.ebnf.charpredicate;
 
-import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.collect.stack.Stack;
 import walkingkooka.collect.stack.Stacks;
 import walkingkooka.predicate.character.CharPredicate;
@@ -42,12 +42,16 @@ import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
 import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
 import walkingkooka.visit.Visiting;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * A visitor that accepts a grammar and transforms all tokens in {@link CharPredicate predicates} placing each rule into a map.
+ * Rules are built in an order where every rule follows the rules it references, so references are resolved without
+ * recursion, and a grammar where a rule directly or indirectly references itself fails before anything is built.
  */
 final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVisitor {
 
@@ -56,33 +60,241 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
         Objects.requireNonNull(grammar, "grammar");
         Objects.requireNonNull(predefined, "predefined");
 
+        return fromGrammar0(
+                grammar,
+                predefined,
+                Maps.empty(),
+                Sets.empty(),
+                false,
+                null
+        );
+    }
+
+    /**
+     * Builds every rule like {@link #fromGrammar(GrammarEbnfParserToken, Map)}, except alternatives that cannot be
+     * turned into ranges become {@link EbnfGrammarCharPredicateAdaptive}, which test the most frequently matching
+     * branches first.
+     */
+    static Map<EbnfIdentifierName, CharPredicate> fromGrammarAdaptive(final GrammarEbnfParserToken grammar,
+                                                                      final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(predefined, "predefined");
+
+        return fromGrammar0(
+                grammar,
+                predefined,
+                Maps.empty(),
+                Sets.empty(),
+                true,
+                null
+        );
+    }
+
+    /**
+     * Builds every rule like {@link #fromGrammar(GrammarEbnfParserToken, Map)}, passing every rule and each branch of the
+     * alternative forming a rule to the {@link EbnfGrammarCharPredicateInstrument}. Rules are wrapped once the whole
+     * grammar is built, after they were given ASCII masks or turned into ranges, and branches once ranges were unioned,
+     * so instrumented rules nest no deeper than others. References to a rule use the rule that is not wrapped.
+     */
+    static Map<EbnfIdentifierName, CharPredicate> fromGrammarInstrumented(final GrammarEbnfParserToken grammar,
+                                                                          final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                                          final EbnfGrammarCharPredicateInstrument instrument) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(predefined, "predefined");
+        Objects.requireNonNull(instrument, "instrument");
+
+        return fromGrammar0(
+                grammar,
+                predefined,
+                Maps.empty(),
+                Sets.empty(),
+                false,
+                instrument
+        );
+    }
+
+    /**
+     * Builds only the given root rules and the rules they reference directly or indirectly, returning only the roots,
+     * in the order given. Rules that are not reachable are never built, so they are not checked for cycles or invalid
+     * range bounds. A root may also name a predefined predicate, which is returned unchanged.
+     */
+    static Map<EbnfIdentifierName, CharPredicate> fromGrammar(final GrammarEbnfParserToken grammar,
+                                                              final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                              final Set<EbnfIdentifierName> roots) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(predefined, "predefined");
+        Objects.requireNonNull(roots, "roots");
+
+        grammar.checkIdentifiers(predefined.keySet());
+
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule = rules(grammar);
+        for (final EbnfIdentifierName root : roots) {
+            if (false == identifierToRule.containsKey(root) && false == predefined.containsKey(root)) {
+                throw new IllegalArgumentException("Unknown root " + root);
+            }
+        }
+
+        final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate = Maps.hash();
+        identifierToCharPredicate.putAll(predefined);
+        identifierToCharPredicate.keySet()
+                .removeAll(identifierToRule.keySet()); // rules replace any predefined with the same name
+
+        buildRules(
+                identifierToRule,
+                identifierToCharPredicate,
+                EbnfGrammarCharPredicateRuleGraph.reachable(identifierToRule, roots)
+                        .order()
+        );
+
+        final Map<EbnfIdentifierName, CharPredicate> rootToCharPredicate = Maps.ordered();
+        for (final EbnfIdentifierName root : roots) {
+            rootToCharPredicate.put(
+                    root,
+                    identifierToCharPredicate.get(root)
+            );
+        }
+        return Maps.immutable(rootToCharPredicate);
+    }
+
+    /**
+     * Builds only the changed rules, the rules that reference them directly or indirectly and rules missing from
+     * previous, reusing the previous predicate of every other rule. Changed may also name predefined predicates that
+     * are different from those given when previous was built.
+     */
+    static Map<EbnfIdentifierName, CharPredicate> recompile(final GrammarEbnfParserToken grammar,
+                                                            final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                            final Map<EbnfIdentifierName, CharPredicate> previous,
+                                                            final Set<EbnfIdentifierName> changed) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(predefined, "predefined");
+        Objects.requireNonNull(previous, "previous");
+        Objects.requireNonNull(changed, "changed");
+
+        return fromGrammar0(
+                grammar,
+                predefined,
+                previous,
+                changed,
+                false,
+                null
+        );
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> fromGrammar0(final GrammarEbnfParserToken grammar,
+                                                                       final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                                       final Map<EbnfIdentifierName, CharPredicate> previous,
+                                                                       final Set<EbnfIdentifierName> changed,
+                                                                       final boolean adaptive,
+                                                                       final EbnfGrammarCharPredicateInstrument instrument) {
         grammar.checkIdentifiers(predefined.keySet());
 
         final Map<EbnfIdentifierName, CharPredicate> copy = Maps.ordered();
         copy.putAll(predefined);
 
-        new CharPredicateGrammarEbnfParserTokenVisitor(copy).accept(grammar);
+        final CharPredicateGrammarEbnfParserTokenVisitor visitor = new CharPredicateGrammarEbnfParserTokenVisitor(
+                Maps.ordered(),
+                copy,
+                previous,
+                changed,
+                adaptive,
+                instrument
+        );
+        visitor.accept(grammar);
+
+        // rules were built in dependency order, add them again in grammar order.
+        for (final EbnfIdentifierName identifier : visitor.identifierToRule.keySet()) {
+            final CharPredicate predicate = copy.remove(identifier);
+            copy.put(
+                    identifier,
+                    null != instrument ?
+                            instrument.rule(identifier, predicate) :
+                            predicate
+            );
+        }
 
         return Maps.immutable(copy);
     }
 
-    private CharPredicateGrammarEbnfParserTokenVisitor(final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate) {
-        this.identifierToCharPredicate = identifierToCharPredicate;
+    /**
+     * Builds the given rules in order into identifierToCharPredicate, which must already hold every predefined
+     * predicate and rule they reference that is not before them in rules. Any number of callers may build different
+     * rules at the same time, if the given identifierToCharPredicate may be updated concurrently.
+     */
+    static void buildRules(final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule,
+                           final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate,
+                           final Collection<EbnfIdentifierName> rules) {
+        final CharPredicateGrammarEbnfParserTokenVisitor visitor = new CharPredicateGrammarEbnfParserTokenVisitor(
+                identifierToRule,
+                identifierToCharPredicate,
+                Maps.empty(),
+                Sets.empty(),
+                false,
+                null
+        );
+
+        for (final EbnfIdentifierName identifier : rules) {
+            visitor.buildRule(identifier);
+        }
     }
 
-    // GRAMMAR ........................................................................................................
+    /**
+     * Returns every rule in the grammar by identifier, in grammar order.
+     */
+    static Map<EbnfIdentifierName, RuleEbnfParserToken> rules(final GrammarEbnfParserToken grammar) {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule = Maps.ordered();
 
-    @Override
-    protected Visiting startVisit(final GrammarEbnfParserToken token) {
-        // need this mapping to fetch tokens for a rule by identifier at any stage or walking...
-        token.value()
+        grammar.value()
                 .stream()
                 .filter(t -> t instanceof EbnfParserToken)
                 .map(CharPredicateGrammarEbnfParserTokenVisitor::toEbnfParserToken)
                 .filter(EbnfParserToken::isRule)
                 .map(CharPredicateGrammarEbnfParserTokenVisitor::toRuleEbnfParserToken)
-                .forEach(this::ruleIdentifier);
-        return Visiting.CONTINUE;
+                .forEach(r -> identifierToRule.put(r.identifier().value(), r));
+
+        return identifierToRule;
+    }
+
+    private CharPredicateGrammarEbnfParserTokenVisitor(final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule,
+                                                       final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate,
+                                                       final Map<EbnfIdentifierName, CharPredicate> previous,
+                                                       final Set<EbnfIdentifierName> changed,
+                                                       final boolean adaptive,
+                                                       final EbnfGrammarCharPredicateInstrument instrument) {
+        this.identifierToRule = identifierToRule;
+        this.identifierToCharPredicate = identifierToCharPredicate;
+        this.previous = previous;
+        this.changed = changed;
+        this.adaptive = adaptive;
+        this.instrument = instrument;
+    }
+
+    // GRAMMAR ........................................................................................................
+
+    @Override
+    protected Visiting startVisit(final GrammarEbnfParserToken token) {
+        // need this mapping to fetch tokens for a rule by identifier at any stage or walking...
+        this.identifierToRule.putAll(rules(token));
+
+        // rules replace any predefined with the same name
+        for (final EbnfIdentifierName identifier : this.identifierToRule.keySet()) {
+            this.identifierToCharPredicate.remove(identifier);
+        }
+
+        // fails if there are any cycles before building any rule
+        final EbnfGrammarCharPredicateRuleGraph graph = EbnfGrammarCharPredicateRuleGraph.with(this.identifierToRule);
+        final List<EbnfIdentifierName> order = graph.order();
+
+        if (false == this.previous.isEmpty()) {
+            this.reusePrevious(graph);
+        }
+
+        for (final EbnfIdentifierName identifier : order) {
+            if (false == this.identifierToCharPredicate.containsKey(identifier)) {
+                this.buildRule(identifier);
+            }
+        }
+
+        return Visiting.SKIP; // rules have already been visited in order.
     }
 
     private static EbnfParserToken toEbnfParserToken(final ParserToken token) {
@@ -93,27 +305,90 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
         return token.cast(RuleEbnfParserToken.class);
     }
 
-    private void ruleIdentifier(final RuleEbnfParserToken rule) {
-        final EbnfIdentifierName identifier = rule.identifier().value();
-        this.identifierToRule.put(identifier, rule);
-        this.identifierToCharPredicate.put(identifier, CharPredicateGrammarEbnfParserTokenVisitorProxy.with(identifier));
+    /**
+     * Adds the previous predicate of every rule that is not changed and does not depend on a changed identifier, so
+     * only the remaining rules are built.
+     */
+    private void reusePrevious(final EbnfGrammarCharPredicateRuleGraph graph) {
+        final Set<EbnfIdentifierName> rebuild = graph.dependents(this.changed);
+
+        for (final EbnfIdentifierName identifier : this.identifierToRule.keySet()) {
+            if (false == rebuild.contains(identifier)) {
+                final CharPredicate predicate = this.previous.get(identifier);
+                if (null != predicate) {
+                    this.identifierToCharPredicate.put(identifier, predicate);
+                }
+            }
+        }
     }
 
+    /**
+     * The result of an earlier build, with the identifiers that changed since, both empty unless recompiling.
+     */
+    private final Map<EbnfIdentifierName, CharPredicate> previous;
+
+    private final Set<EbnfIdentifierName> changed;
+
+    /**
+     * When true alternatives that are not all ranges are built as {@link EbnfGrammarCharPredicateAdaptive}.
+     */
+    private final boolean adaptive;
+
+    /**
+     * When not null wraps every rule and each branch of the alternative forming a rule.
+     */
+    private final EbnfGrammarCharPredicateInstrument instrument;
+
     // RULE ........................................................................................................
 
-    @Override
-    protected Visiting startVisit(final RuleEbnfParserToken rule) {
-        this.enter();
-        this.accept(rule.assignment()); // RHS
+    /**
+     * Builds the given rule, whose references must all be built. Predicates wrapping predicates that could not be turned
+     * into ranges nest one level deeper for every rule, so once a chain of rules nests more than {@link #MAX_DEPTH}
+     * the rule is turned into ranges, keeping the depth of {@link CharPredicate#test(char)} bounded.
+     */
+    private void buildRule(final EbnfIdentifierName identifier) {
+        final EbnfParserToken assignment = this.identifierToRule.get(identifier).assignment();
+        this.depth = 0;
+        this.rule = identifier;
+        this.assignment = assignment;
 
-        // update the proxy holding all references to this rule...
-        final CharPredicateGrammarEbnfParserTokenVisitorProxy proxy = Cast.to(this.identifierToCharPredicate.get(rule.identifier().value()));
-        proxy.predicate = this.children.get(0);
+        this.enter();
+        this.accept(assignment); // RHS, skipping the LHS of the rule.
+        final CharPredicate built = this.children.get(0);
+        this.exit();
 
-        return Visiting.SKIP; // skip because we dont want to visit LHS of rule.
+        final int depth = this.depth + 1;
+        this.identifierToCharPredicate.put(
+                identifier,
+                depth > MAX_DEPTH ?
+                        EbnfGrammarCharPredicateRanges.with(built)
+                                .setToString(identifier.toString()) :
+                        EbnfGrammarCharPredicateAscii.with(
+                                built,
+                                depth,
+                                identifier.toString()
+                        )
+        );
     }
 
-    private final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule = Maps.ordered();
+    /**
+     * The most {@link EbnfGrammarCharPredicateAscii} that may be nested within each other.
+     */
+    final static int MAX_DEPTH = 64;
+
+    /**
+     * The deepest {@link EbnfGrammarCharPredicateAscii} referenced by the rule being built.
+     */
+    private int depth;
+
+    /**
+     * The rule being built and its RHS, whose branches are instrumented if it is an alternative.
+     */
+    private EbnfIdentifierName rule;
+
+    private EbnfParserToken assignment;
+
+    private final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule;
 
     // ALT .......................................................................................................
 
@@ -125,16 +400,99 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
 
     @Override
     protected void endVisit(final AlternativeEbnfParserToken token) {
-        final CharPredicateBuilder b = CharPredicates.builder();
-        for (CharPredicate p : this.children) {
-            b.or(p);
+        final String toString = token.toString();
+        final List<CharPredicate> branches = this.alternativeBranches(toString);
+
+        final EbnfGrammarCharPredicateInstrument instrument = this.instrument;
+        if (null != instrument && this.assignment == token && branches.size() > 1) {
+            for (int i = 0; i < branches.size(); i++) {
+                branches.set(
+                        i,
+                        instrument.branch(this.rule, branches.get(i))
+                );
+            }
         }
+
+        final CharPredicate predicate = branches.size() == 1 ?
+                branches.get(0)
+                        .setToString(toString) :
+                this.adaptive ?
+                        EbnfGrammarCharPredicateAdaptive.with(
+                                branches,
+                                toString
+                        ) :
+                        alternativeBuilder(branches, toString);
+
         this.exit();
         this.add(
-                b.build().setToString(token.toString()),
+                predicate,
                 token);
     }
 
+    /**
+     * Simplifies the alternatives, unioning all that are ranges into a single branch in place of the first, and
+     * removing repeated references to the same predicate. Once the ranges hold every character the other branches can
+     * never change the result and are removed, while empty ranges are removed unless nothing else remains.
+     */
+    private List<CharPredicate> alternativeBranches(final String toString) {
+        final List<CharPredicate> branches = Lists.array();
+        EbnfGrammarCharPredicateRanges ranges = null;
+        int rangesIndex = -1;
+
+        for (final CharPredicate p : this.children) {
+            if (p instanceof EbnfGrammarCharPredicateRanges) {
+                final EbnfGrammarCharPredicateRanges r = (EbnfGrammarCharPredicateRanges) p;
+                if (null == ranges) {
+                    ranges = r;
+                    rangesIndex = branches.size();
+                    branches.add(r);
+                } else {
+                    ranges = ranges.union(r, toString);
+                    branches.set(rangesIndex, ranges);
+                }
+            } else {
+                if (false == containsSame(branches, p)) {
+                    branches.add(p);
+                }
+            }
+        }
+
+        if (null != ranges && branches.size() > 1) {
+            if (ranges.isAll()) {
+                branches.clear();
+                branches.add(ranges);
+            } else {
+                if (ranges.isEmpty()) {
+                    branches.remove(rangesIndex);
+                }
+            }
+        }
+
+        return branches;
+    }
+
+    private static boolean containsSame(final List<CharPredicate> predicates,
+                                        final CharPredicate predicate) {
+        boolean contains = false;
+        for (final CharPredicate p : predicates) {
+            if (p == predicate) {
+                contains = true;
+                break;
+            }
+        }
+        return contains;
+    }
+
+    private static CharPredicate alternativeBuilder(final List<CharPredicate> branches,
+                                                    final String toString) {
+        final CharPredicateBuilder b = CharPredicates.builder();
+        for (CharPredicate p : branches) {
+            b.or(p);
+        }
+        return b.build()
+                .setToString(toString);
+    }
+
     // CONCAT .......................................................................................................
 
     @Override
@@ -152,14 +510,51 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
 
     @Override
     protected void endVisit(final ExceptionEbnfParserToken token) {
-        final CharPredicate predicate = this.children.get(0)
-                .andNot(this.children.get(1))
-                .setToString(token.toString());
+        final CharPredicate left = this.children.get(0);
+        final CharPredicate right = this.children.get(1);
+        final String toString = token.toString();
+
+        final CharPredicate predicate = allRanges(this.children) ?
+                ((EbnfGrammarCharPredicateRanges) left).difference(
+                        (EbnfGrammarCharPredicateRanges) right,
+                        toString
+                ) :
+                exception(left, right, toString);
 
         this.exit();
         this.add(predicate, token);
     }
 
+    /**
+     * Folds exceptions that always or never match into ranges, where one side is not ranges.
+     */
+    private static CharPredicate exception(final CharPredicate left,
+                                           final CharPredicate right,
+                                           final String toString) {
+        final CharPredicate predicate;
+
+        if (left == right || isAll(right) || isEmpty(left)) {
+            predicate = EbnfGrammarCharPredicateRanges.NONE.setToString(toString);
+        } else {
+            predicate = isEmpty(right) ?
+                    left.setToString(toString) :
+                    left.andNot(right)
+                            .setToString(toString);
+        }
+
+        return predicate;
+    }
+
+    private static boolean isAll(final CharPredicate predicate) {
+        return predicate instanceof EbnfGrammarCharPredicateRanges &&
+                ((EbnfGrammarCharPredicateRanges) predicate).isAll();
+    }
+
+    private static boolean isEmpty(final CharPredicate predicate) {
+        return predicate instanceof EbnfGrammarCharPredicateRanges &&
+                ((EbnfGrammarCharPredicateRanges) predicate).isEmpty();
+    }
+
     // OPTIONAL .......................................................................................................
 
     @Override
@@ -180,8 +575,11 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
         final char begin = this.characterForIdentifierOrTerminal(token.begin());
         final char end = this.characterForIdentifierOrTerminal(token.end());
 
-        final CharPredicate predicate = CharPredicates.range(begin, end)
-                .setToString(token.toString());
+        final CharPredicate predicate = EbnfGrammarCharPredicateRanges.range(
+                begin,
+                end,
+                token.toString()
+        );
         this.exit();
         this.add(
                 predicate,
@@ -196,11 +594,41 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
                         failInvalidRangeBound("Invalid range bound, expected terminal or identifier indirectly pointing to a terminal but got " + token);
     }
 
+    /**
+     * Follows the chain of rules that are only another identifier to the terminal at its end, remembering the character
+     * for every rule along the way so each chain is only followed once.
+     */
     private char characterFromIdentifierReference(final IdentifierEbnfParserToken identifier) {
-        final RuleEbnfParserToken rule = this.identifierToRule.get(identifier.value());
-        return this.characterForIdentifierOrTerminal(rule.assignment());
+        final List<EbnfIdentifierName> chain = Lists.array();
+        EbnfParserToken token = identifier;
+        Character c = null;
+
+        while (null == c) {
+            final EbnfIdentifierName name = token.cast(IdentifierEbnfParserToken.class)
+                    .value();
+            c = this.identifierToCharacter.get(name);
+            if (null == c) {
+                final RuleEbnfParserToken rule = this.identifierToRule.get(name);
+                if (null == rule) {
+                    failInvalidRangeBound("Invalid range bound, predefined " + name + " is not a terminal");
+                }
+                chain.add(name);
+
+                token = rule.assignment();
+                if (false == token.isIdentifier()) {
+                    c = this.characterForIdentifierOrTerminal(token);
+                }
+            }
+        }
+
+        for (final EbnfIdentifierName name : chain) {
+            this.identifierToCharacter.put(name, c);
+        }
+        return c;
     }
 
+    private final Map<EbnfIdentifierName, Character> identifierToCharacter = Maps.hash();
+
     private char characterFromTerminal(final TerminalEbnfParserToken terminal) {
         final String value = terminal.value();
         final CharSequence unescaped = CharSequences.unescape(value);
@@ -225,8 +653,19 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
 
     @Override
     protected void visit(final IdentifierEbnfParserToken token) {
+        final CharPredicate predicate = this.identifierToCharPredicate.get(token.value());
+        if (predicate instanceof EbnfGrammarCharPredicateAscii) {
+            this.depth = Math.max(
+                    this.depth,
+                    ((EbnfGrammarCharPredicateAscii) predicate).depth
+            );
+        }
+
+        // unicode tables are read on first reference, and then combined like any other ranges
         this.add(
-                this.identifierToCharPredicate.get(token.value()),
+                predicate instanceof EbnfGrammarCharPredicateUnicode ?
+                        ((EbnfGrammarCharPredicateUnicode) predicate).ranges() :
+                        predicate,
                 token);
     }
 
@@ -235,13 +674,16 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
     @Override
     protected void visit(final TerminalEbnfParserToken token) {
         this.add(
-                CharPredicates.any(token.value()).setToString(token.toString()),
+                EbnfGrammarCharPredicateRanges.characters(
+                        token.value(),
+                        token.toString()
+                ),
                 token);
     }
 
     // GENERAL PURPOSE .................................................................................................
 
-    final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate;
+    private final Map<EbnfIdentifierName, CharPredicate> identifierToCharPredicate;
 
     private void enter() {
         this.previousChildren = this.previousChildren.push(this.children);
@@ -264,6 +706,20 @@ final class CharPredicateGrammarEbnfParserTokenVisitor extends EbnfParserTokenVi
         this.children.add(predicate);
     }
 
+    /**
+     * Tests if all predicates are {@link EbnfGrammarCharPredicateRanges}, which means they may be combined using set operations.
+     */
+    private static boolean allRanges(final List<CharPredicate> predicates) {
+        boolean all = true;
+        for (final CharPredicate predicate : predicates) {
+            if (false == predicate instanceof EbnfGrammarCharPredicateRanges) {
+                all = false;
+                break;
+            }
+        }
+        return all;
+    }
+
     private Visiting fail(final String label, final EbnfParserToken token) {
         throw new UnsupportedOperationException(label + " tokens not supported in CharPredicate grammar=" + token);
     }
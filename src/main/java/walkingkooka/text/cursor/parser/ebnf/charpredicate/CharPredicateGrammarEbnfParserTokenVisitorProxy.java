@@ -1,49 +0,0 @@
-/*
- * Copyright 2019 Miroslav Pokorny (github.com/mP1)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-
-package walkingkooka.text.cursor.parser.ebnf.charpredicate;
-
-import walkingkooka.predicate.character.CharPredicate;
-import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
-
-/**
- * A proxy {@link CharPredicate} that is necessary for forward references in the grammar.
- */
-final class CharPredicateGrammarEbnfParserTokenVisitorProxy implements CharPredicate {
-
-    static CharPredicateGrammarEbnfParserTokenVisitorProxy with(final EbnfIdentifierName name) {
-        return new CharPredicateGrammarEbnfParserTokenVisitorProxy(name);
-    }
-
-    private CharPredicateGrammarEbnfParserTokenVisitorProxy(final EbnfIdentifierName name) {
-        this.name = name;
-    }
-
-    @Override
-    public boolean test(final char c) {
-        return this.predicate.test(c);
-    }
-
-    CharPredicate predicate;
-
-    @Override
-    public String toString() {
-        return this.name.toString();
-    }
-
-    final EbnfIdentifierName name;
-}
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.stack.Stack;
+import walkingkooka.collect.stack.Stacks;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.AlternativeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.ConcatenationEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserTokenVisitor;
+import walkingkooka.text.cursor.parser.ebnf.ExceptionEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.OptionalEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RepeatedEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+import walkingkooka.visit.Visiting;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * The code point equivalent of {@link CharPredicateGrammarEbnfParserTokenVisitor}, where terminals and range bounds
+ * may hold supplementary characters written as surrogate pairs. Every rule is built as {@link EbnfGrammarCodePointRanges}
+ * so alternatives and exceptions are always set operations, and each rule is then compiled into a
+ * {@link EbnfGrammarCodePointTrie}. Predefined predicates are tested once for every code point when first referenced,
+ * and returned unchanged. Rules are built in an order where every rule follows the rules it references, and a rule that
+ * references itself cannot be expressed as ranges and fails before anything is built.
+ */
+final class CodePointGrammarEbnfParserTokenVisitor extends EbnfParserTokenVisitor {
+
+    static Map<EbnfIdentifierName, IntPredicate> fromGrammar(final GrammarEbnfParserToken grammar,
+                                                             final Map<EbnfIdentifierName, IntPredicate> predefined) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(predefined, "predefined");
+
+        grammar.checkIdentifiers(predefined.keySet());
+
+        final Map<EbnfIdentifierName, IntPredicate> copy = Maps.ordered();
+        copy.putAll(predefined);
+
+        final CodePointGrammarEbnfParserTokenVisitor visitor = new CodePointGrammarEbnfParserTokenVisitor(copy);
+        visitor.accept(grammar);
+
+        for (final EbnfIdentifierName identifier : visitor.identifierToRule.keySet()) {
+            copy.remove(identifier); // rules replace any predefined with the same name
+            copy.put(
+                    identifier,
+                    EbnfGrammarCodePointTrie.with(visitor.identifierToRanges.get(identifier))
+            );
+        }
+
+        return Maps.immutable(copy);
+    }
+
+    private CodePointGrammarEbnfParserTokenVisitor(final Map<EbnfIdentifierName, IntPredicate> predefined) {
+        this.predefined = predefined;
+    }
+
+    // GRAMMAR ........................................................................................................
+
+    @Override
+    protected Visiting startVisit(final GrammarEbnfParserToken token) {
+        token.value()
+                .stream()
+                .filter(t -> t instanceof EbnfParserToken)
+                .map(CodePointGrammarEbnfParserTokenVisitor::toEbnfParserToken)
+                .filter(EbnfParserToken::isRule)
+                .map(CodePointGrammarEbnfParserTokenVisitor::toRuleEbnfParserToken)
+                .forEach(this::ruleIdentifier);
+
+        for (final EbnfIdentifierName identifier : EbnfGrammarCharPredicateRuleGraph.with(this.identifierToRule).order()) {
+            this.buildRule(identifier);
+        }
+
+        return Visiting.SKIP; // rules have already been visited in order.
+    }
+
+    private static EbnfParserToken toEbnfParserToken(final ParserToken token) {
+        return token.cast(EbnfParserToken.class);
+    }
+
+    private static RuleEbnfParserToken toRuleEbnfParserToken(final ParserToken token) {
+        return token.cast(RuleEbnfParserToken.class);
+    }
+
+    private void ruleIdentifier(final RuleEbnfParserToken rule) {
+        this.identifierToRule.put(
+                rule.identifier().value(),
+                rule
+        );
+    }
+
+    // RULE ........................................................................................................
+
+    /**
+     * Returns the ranges for the given rule, which has already been built, or predefined identifier.
+     */
+    private EbnfGrammarCodePointRanges rule(final EbnfIdentifierName identifier) {
+        final EbnfGrammarCodePointRanges ranges = this.identifierToRanges.get(identifier);
+        return null != ranges ?
+                ranges :
+                this.predefined(identifier);
+    }
+
+    private void buildRule(final EbnfIdentifierName identifier) {
+        this.enter();
+        this.accept(this.identifierToRule.get(identifier).assignment()); // RHS, skipping the LHS of the rule.
+        final EbnfGrammarCodePointRanges ranges = this.children.get(0)
+                .setToString(identifier.toString());
+        this.exit();
+
+        this.identifierToRanges.put(identifier, ranges);
+    }
+
+    private EbnfGrammarCodePointRanges predefined(final EbnfIdentifierName identifier) {
+        final EbnfGrammarCodePointRanges ranges = EbnfGrammarCodePointRanges.with(this.predefined.get(identifier));
+        this.identifierToRanges.put(identifier, ranges);
+        return ranges;
+    }
+
+    private final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule = Maps.ordered();
+
+    /**
+     * Built rules and referenced predefined predicates.
+     */
+    private final Map<EbnfIdentifierName, EbnfGrammarCodePointRanges> identifierToRanges = Maps.hash();
+
+    // ALT .......................................................................................................
+
+    @Override
+    protected Visiting startVisit(final AlternativeEbnfParserToken token) {
+        this.enter();
+        return super.startVisit(token);
+    }
+
+    @Override
+    protected void endVisit(final AlternativeEbnfParserToken token) {
+        final String toString = token.toString();
+
+        EbnfGrammarCodePointRanges ranges = null;
+        for (final EbnfGrammarCodePointRanges r : this.children) {
+            ranges = null == ranges ?
+                    r :
+                    ranges.union(r, toString);
+        }
+
+        this.exit();
+        this.add(
+                ranges.setToString(toString),
+                token
+        );
+    }
+
+    // CONCAT .......................................................................................................
+
+    @Override
+    protected Visiting startVisit(final ConcatenationEbnfParserToken token) {
+        return this.fail("Concatenation", token);
+    }
+
+    // EXCEPTION .......................................................................................................
+
+    @Override
+    protected Visiting startVisit(final ExceptionEbnfParserToken token) {
+        this.enter();
+        return super.startVisit(token);
+    }
+
+    @Override
+    protected void endVisit(final ExceptionEbnfParserToken token) {
+        final EbnfGrammarCodePointRanges ranges = this.children.get(0)
+                .difference(
+                        this.children.get(1),
+                        token.toString()
+                );
+
+        this.exit();
+        this.add(ranges, token);
+    }
+
+    // OPTIONAL .......................................................................................................
+
+    @Override
+    protected Visiting startVisit(final OptionalEbnfParserToken token) {
+        return this.fail("Optional", token);
+    }
+
+    // RANGE ...................................................................................................................
+
+    @Override
+    protected Visiting startVisit(final RangeEbnfParserToken token) {
+        this.enter();
+        return super.startVisit(token);
+    }
+
+    @Override
+    protected void endVisit(final RangeEbnfParserToken token) {
+        final int begin = this.codePointForIdentifierOrTerminal(token.begin());
+        final int end = this.codePointForIdentifierOrTerminal(token.end());
+
+        final EbnfGrammarCodePointRanges ranges = EbnfGrammarCodePointRanges.range(
+                begin,
+                end,
+                token.toString()
+        );
+        this.exit();
+        this.add(
+                ranges,
+                token
+        );
+    }
+
+    private int codePointForIdentifierOrTerminal(final EbnfParserToken token) {
+        return token.isTerminal() ?
+                this.codePointFromTerminal(token.cast(TerminalEbnfParserToken.class)) :
+                token.isIdentifier() ?
+                        this.codePointFromIdentifierReference(token.cast(IdentifierEbnfParserToken.class)) :
+                        failInvalidRangeBound("Invalid range bound, expected terminal or identifier indirectly pointing to a terminal but got " + token);
+    }
+
+    /**
+     * Follows the chain of rules that are only another identifier to the terminal at its end, remembering the code point
+     * for every rule along the way so each chain is only followed once.
+     */
+    private int codePointFromIdentifierReference(final IdentifierEbnfParserToken identifier) {
+        final List<EbnfIdentifierName> chain = Lists.array();
+        EbnfParserToken token = identifier;
+        Integer codePoint = null;
+
+        while (null == codePoint) {
+            final EbnfIdentifierName name = token.cast(IdentifierEbnfParserToken.class)
+                    .value();
+            codePoint = this.identifierToCodePoint.get(name);
+            if (null == codePoint) {
+                final RuleEbnfParserToken rule = this.identifierToRule.get(name);
+                if (null == rule) {
+                    failInvalidRangeBound("Invalid range bound, predefined " + name + " is not a terminal");
+                }
+                chain.add(name);
+
+                token = rule.assignment();
+                if (false == token.isIdentifier()) {
+                    codePoint = this.codePointForIdentifierOrTerminal(token);
+                }
+            }
+        }
+
+        for (final EbnfIdentifierName name : chain) {
+            this.identifierToCodePoint.put(name, codePoint);
+        }
+        return codePoint;
+    }
+
+    private final Map<EbnfIdentifierName, Integer> identifierToCodePoint = Maps.hash();
+
+    private int codePointFromTerminal(final TerminalEbnfParserToken terminal) {
+        final CharSequence unescaped = CharSequences.unescape(terminal.value());
+        final int length = unescaped.length();
+        final int codePoint = length > 0 ?
+                EbnfGrammarCodePointRanges.codePointAt(unescaped, 0, length) :
+                -1;
+        if (-1 == codePoint || Character.charCount(codePoint) != length) {
+            failInvalidRangeBound("The range terminal does not contain a single code point=" + terminal);
+        }
+        return codePoint;
+    }
+
+    private static int failInvalidRangeBound(final String message) {
+        throw new IllegalArgumentException(message);
+    }
+
+    // REPEATED .......................................................................................................
+
+    @Override
+    protected Visiting startVisit(final RepeatedEbnfParserToken token) {
+        return this.fail("Repeated", token);
+    }
+
+    // IDENTIFIER .......................................................................................................
+
+    @Override
+    protected void visit(final IdentifierEbnfParserToken token) {
+        this.add(
+                this.rule(token.value()),
+                token
+        );
+    }
+
+    // TERMINAL .......................................................................................................
+
+    @Override
+    protected void visit(final TerminalEbnfParserToken token) {
+        this.add(
+                EbnfGrammarCodePointRanges.codePoints(
+                        token.value(),
+                        token.toString()
+                ),
+                token
+        );
+    }
+
+    // GENERAL PURPOSE .................................................................................................
+
+    private final Map<EbnfIdentifierName, IntPredicate> predefined;
+
+    private void enter() {
+        this.previousChildren = this.previousChildren.push(this.children);
+        this.children = Lists.array();
+    }
+
+    private void exit() {
+        this.children = this.previousChildren.peek();
+        this.previousChildren = this.previousChildren.pop();
+    }
+
+    private Stack<List<EbnfGrammarCodePointRanges>> previousChildren = Stacks.arrayList();
+
+    private List<EbnfGrammarCodePointRanges> children;
+
+    private void add(final EbnfGrammarCodePointRanges ranges, final EbnfParserToken token) {
+        if (null == ranges) {
+            throw new NullPointerException("Null ranges returned for " + token);
+        }
+        this.children.add(ranges);
+    }
+
+    private Visiting fail(final String label, final EbnfParserToken token) {
+        throw new UnsupportedOperationException(label + " tokens not supported in code point grammar=" + token);
+    }
+
+    public String toString() {
+        return this.children.toString();
+    }
+}
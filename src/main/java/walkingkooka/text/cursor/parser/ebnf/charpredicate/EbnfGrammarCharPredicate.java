@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+/**
+ * Base class for all {@link CharPredicate} produced by this package. The result for every ASCII character is held in
+ * two longs, so ASCII characters are answered with a shift and mask, and only other characters are passed to
+ * {@link #testNonAscii(char)}. The bulk methods repeat the mask test inside their loops, so scanning ASCII text never
+ * leaves the loop.
+ */
+abstract class EbnfGrammarCharPredicate implements CharPredicate {
+
+    /**
+     * Computes the bits of the ASCII mask for characters 0 to 63 or 64 to 127 by testing each character.
+     */
+    static long asciiMask(final CharPredicate predicate,
+                          final int first) {
+        long mask = 0;
+        for (int i = 0; i < 64; i++) {
+            if (predicate.test((char) (first + i))) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    EbnfGrammarCharPredicate(final long ascii0,
+                             final long ascii1,
+                             final String toString) {
+        this.ascii0 = ascii0;
+        this.ascii1 = ascii1;
+        this.toString = toString;
+    }
+
+    @Override
+    public final boolean test(final char c) {
+        return c < 128 ?
+                ((c < 64 ? this.ascii0 : this.ascii1) >>> c & 1) != 0 :
+                this.testNonAscii(c);
+    }
+
+    /**
+     * Sub classes only need to test characters that are not ASCII.
+     */
+    abstract boolean testNonAscii(final char c);
+
+    // bulk.............................................................................................................
+
+    /**
+     * Returns the index of the first character between from and to whose test result equals the given test, or -1.
+     */
+    final int indexOf(final CharSequence text,
+                      final int from,
+                      final int to,
+                      final boolean test) {
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+
+        for (int i = from; i < to; i++) {
+            final char c = text.charAt(i);
+            final boolean result = c < 128 ?
+                    ((c < 64 ? ascii0 : ascii1) >>> c & 1) != 0 :
+                    this.testNonAscii(c);
+            if (test == result) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@see #indexOf(CharSequence, int, int, boolean)}
+     */
+    final int indexOf(final char[] text,
+                      final int from,
+                      final int to,
+                      final boolean test) {
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+
+        for (int i = from; i < to; i++) {
+            final char c = text[i];
+            final boolean result = c < 128 ?
+                    ((c < 64 ? ascii0 : ascii1) >>> c & 1) != 0 :
+                    this.testNonAscii(c);
+            if (test == result) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the matching characters between from and to.
+     */
+    final int count(final CharSequence text,
+                    final int from,
+                    final int to) {
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+        int count = 0;
+
+        for (int i = from; i < to; i++) {
+            final char c = text.charAt(i);
+            if (c < 128) {
+                count += (int) ((c < 64 ? ascii0 : ascii1) >>> c & 1);
+            } else {
+                if (this.testNonAscii(c)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@see #count(CharSequence, int, int)}
+     */
+    final int count(final char[] text,
+                    final int from,
+                    final int to) {
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+        int count = 0;
+
+        for (int i = from; i < to; i++) {
+            final char c = text[i];
+            if (c < 128) {
+                count += (int) ((c < 64 ? ascii0 : ascii1) >>> c & 1);
+            } else {
+                if (this.testNonAscii(c)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Characters 0 to 63 inclusive.
+     */
+    final long ascii0;
+
+    /**
+     * Characters 64 to 127 inclusive.
+     */
+    final long ascii1;
+
+    /**
+     * Sub classes should return an instance of themselves sharing everything but the new {@link #toString()}, avoiding a wrapper.
+     */
+    @Override
+    public abstract EbnfGrammarCharPredicate setToString(final String toString);
+
+    @Override
+    public final String toString() {
+        return this.toString;
+    }
+
+    final String toString;
+}
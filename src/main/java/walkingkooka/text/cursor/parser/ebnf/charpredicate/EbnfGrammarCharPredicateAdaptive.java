@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The alternatives of a rule that could not be turned into ranges, typically because they reference predefined
+ * predicates. The matching branch of about one in {@link #SAMPLE_EVERY} characters is counted, and after
+ * {@link #SAMPLES} counts the branches are reordered so the most frequent matches are tested first.
+ * <br>
+ * Whether a character is counted is decided by hashing it with the salt of the current order, so testing a character
+ * that is not counted writes nothing, and an instance may be shared by many threads. Each order is held by a
+ * {@link Branches} whose predicates are never modified, and replaced with a single volatile write, so a test always
+ * sees a complete order. Counters are updated without locks, and a lost update only makes a sample slightly less
+ * accurate. Every order has a different salt, so characters not counted in one order may be counted in the next.
+ * <br>
+ * ASCII characters are never counted, as every rule answers them from its {@link EbnfGrammarCharPredicateAscii} mask,
+ * so only the probing of that mask when the rule is built would count them.
+ */
+final class EbnfGrammarCharPredicateAdaptive implements CharPredicate {
+
+    /**
+     * The number of bits of the hash of a character that must be zero for it to be counted.
+     */
+    private final static int SAMPLE_BITS = 4;
+
+    /**
+     * About one in this many characters is counted.
+     */
+    final static int SAMPLE_EVERY = 1 << SAMPLE_BITS;
+
+    /**
+     * The branches are reordered after this many matches were counted.
+     */
+    final static int SAMPLES = 256;
+
+    static EbnfGrammarCharPredicateAdaptive with(final List<CharPredicate> branches,
+                                                 final String toString) {
+        Objects.requireNonNull(branches, "branches");
+        if (branches.size() < 2) {
+            throw new IllegalArgumentException("Expected at least 2 branches but got " + branches.size());
+        }
+        Objects.requireNonNull(toString, "toString");
+
+        return new EbnfGrammarCharPredicateAdaptive(
+                new Branches(
+                        branches.toArray(new CharPredicate[0]),
+                        0
+                ),
+                toString
+        );
+    }
+
+    private EbnfGrammarCharPredicateAdaptive(final Branches branches,
+                                             final String toString) {
+        super();
+        this.branches = branches;
+        this.toString = toString;
+    }
+
+    @Override
+    public boolean test(final char c) {
+        final Branches branches = this.branches;
+        final CharPredicate[] predicates = branches.predicates;
+
+        boolean result = false;
+        for (int i = 0; i < predicates.length; i++) {
+            if (predicates[i].test(c)) {
+                if (branches.isSample(c)) {
+                    this.sample(branches, i);
+                }
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void sample(final Branches branches,
+                        final int i) {
+        branches.matches[i]++;
+
+        if (++branches.samples >= SAMPLES) {
+            this.branches = branches.reorder();
+        }
+    }
+
+    /**
+     * The current order, which is replaced but never modified.
+     */
+    private volatile Branches branches;
+
+    /**
+     * Returns the branches in the order they are currently tested.
+     */
+    List<CharPredicate> branches() {
+        return Lists.of(this.branches.predicates);
+    }
+
+    @Override
+    public CharPredicate setToString(final String toString) {
+        Objects.requireNonNull(toString, "toString");
+
+        return this.toString.equals(toString) ?
+                this :
+                new EbnfGrammarCharPredicateAdaptive(
+                        this.branches.reorder(),
+                        toString
+                );
+    }
+
+    @Override
+    public String toString() {
+        return this.toString;
+    }
+
+    private final String toString;
+
+    /**
+     * An order of the branches, which is never modified, along with the salt selecting the characters that are counted
+     * and the counters updated while testing them in that order.
+     */
+    private final static class Branches {
+
+        /**
+         * Added to the salt of each new order, so it counts a different selection of characters.
+         */
+        private final static int SALT_STEP = 0x7f4a7c15;
+
+        Branches(final CharPredicate[] predicates,
+                 final int salt) {
+            super();
+            this.predicates = predicates;
+            this.salt = salt;
+            this.matches = new int[predicates.length];
+        }
+
+        /**
+         * Returns true if the matching branch of this character should be counted, mixing it with the salt and taking
+         * the top bits of the product with the golden ratio.
+         */
+        boolean isSample(final char c) {
+            return c >= 128 && ((c ^ this.salt) * 0x9e3779b1) >>> (32 - SAMPLE_BITS) == 0;
+        }
+
+        /**
+         * Returns new branches sorted by their matches, most first, keeping the current order of equal counts.
+         */
+        Branches reorder() {
+            final CharPredicate[] predicates = this.predicates.clone();
+            final int[] matches = this.matches.clone();
+
+            for (int i = 1; i < predicates.length; i++) {
+                final CharPredicate predicate = predicates[i];
+                final int match = matches[i];
+
+                int j = i - 1;
+                while (j >= 0 && matches[j] < match) {
+                    predicates[j + 1] = predicates[j];
+                    matches[j + 1] = matches[j];
+                    j--;
+                }
+                predicates[j + 1] = predicate;
+                matches[j + 1] = match;
+            }
+
+            return new Branches(
+                    predicates,
+                    this.salt + SALT_STEP
+            );
+        }
+
+        final CharPredicate[] predicates;
+
+        private final int salt;
+
+        final int[] matches;
+
+        int samples;
+
+        @Override
+        public String toString() {
+            return Lists.of(this.predicates).toString();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.util.Objects;
+
+/**
+ * Wraps a rule {@link CharPredicate} that could not be turned into ranges, typically because it references a predefined
+ * predicate, answering ASCII characters from a precomputed mask and passing all others to the wrapped predicate.
+ * The depth counts this and any other {@link EbnfGrammarCharPredicateAscii} nested within the wrapped predicate.
+ */
+final class EbnfGrammarCharPredicateAscii extends EbnfGrammarCharPredicate {
+
+    static EbnfGrammarCharPredicate with(final CharPredicate predicate,
+                                         final int depth,
+                                         final String toString) {
+        Objects.requireNonNull(predicate, "predicate");
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Invalid depth " + depth + " <= 0");
+        }
+        Objects.requireNonNull(toString, "toString");
+
+        return predicate instanceof EbnfGrammarCharPredicate ?
+                ((EbnfGrammarCharPredicate) predicate).setToString(toString) :
+                new EbnfGrammarCharPredicateAscii(
+                        asciiMask(predicate, 0),
+                        asciiMask(predicate, 64),
+                        predicate,
+                        depth,
+                        toString
+                );
+    }
+
+    private EbnfGrammarCharPredicateAscii(final long ascii0,
+                                          final long ascii1,
+                                          final CharPredicate predicate,
+                                          final int depth,
+                                          final String toString) {
+        super(ascii0, ascii1, toString);
+        this.predicate = predicate;
+        this.depth = depth;
+    }
+
+    @Override
+    boolean testNonAscii(final char c) {
+        return this.predicate.test(c);
+    }
+
+    private final CharPredicate predicate;
+
+    final int depth;
+
+    @Override
+    public EbnfGrammarCharPredicateAscii setToString(final String toString) {
+        Objects.requireNonNull(toString, "toString");
+
+        return this.toString.equals(toString) ?
+                this :
+                new EbnfGrammarCharPredicateAscii(
+                        this.ascii0,
+                        this.ascii1,
+                        this.predicate,
+                        this.depth,
+                        toString
+                );
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reads predicates written by {@link EbnfGrammarCharPredicateBinaryWriter}. Sub classes read from different sources,
+ * and decide whether ranges are copied or read in place.
+ */
+abstract class EbnfGrammarCharPredicateBinaryReader {
+
+    EbnfGrammarCharPredicateBinaryReader() {
+        super();
+    }
+
+    /**
+     * Reads all the predicates, replacing predefined entries with the given predicates. Files written with different
+     * predefined names are rejected.
+     */
+    final Map<EbnfIdentifierName, CharPredicate> read(final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        Objects.requireNonNull(predefined, "predefined");
+
+        final int magic = this.readInt();
+        if (EbnfGrammarCharPredicateBinaryWriter.MAGIC != magic) {
+            throw new IllegalArgumentException("Invalid magic 0x" + Integer.toHexString(magic));
+        }
+        final int version = this.readInt();
+        if (EbnfGrammarCharPredicateBinaryWriter.VERSION != version) {
+            throw new IllegalArgumentException("Unsupported version " + version + " expected " + EbnfGrammarCharPredicateBinaryWriter.VERSION);
+        }
+
+        final Set<EbnfIdentifierName> predefinedNames = Sets.ordered();
+        for (int i = this.readCount(4); i > 0; i--) {
+            predefinedNames.add(this.readName());
+        }
+        if (false == predefinedNames.equals(predefined.keySet())) {
+            throw new IllegalArgumentException("Predefined " + predefined.keySet() + " different from " + predefinedNames);
+        }
+
+        final Map<EbnfIdentifierName, CharPredicate> predicates = Maps.ordered();
+        for (int i = this.readCount(8); i > 0; i--) {
+            final EbnfIdentifierName name = this.readName();
+            final int kind = this.readInt();
+
+            final CharPredicate predicate;
+            switch (kind) {
+                case EbnfGrammarCharPredicateBinaryWriter.PREDEFINED:
+                    predicate = predefined.get(name);
+                    if (null == predicate) {
+                        throw new IllegalArgumentException("Unknown predefined " + name);
+                    }
+                    break;
+                case EbnfGrammarCharPredicateBinaryWriter.RANGES:
+                    final String toString = this.readString();
+                    predicate = this.readRanges(
+                            this.readCount(4),
+                            toString
+                    );
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid kind " + kind + " for " + name);
+            }
+            predicates.put(name, predicate);
+        }
+
+        final int remaining = this.remaining();
+        if (0 != remaining) {
+            throw new IllegalArgumentException("Invalid " + remaining + " bytes after last predicate");
+        }
+
+        return Maps.immutable(predicates);
+    }
+
+    private EbnfIdentifierName readName() {
+        return EbnfIdentifierName.with(this.readString());
+    }
+
+    private String readString() {
+        final int length = this.readCount(2);
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = this.readChar();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Reads a count, failing if there are fewer bytes remaining than needed by that many items.
+     */
+    private int readCount(final int itemLength) {
+        final int count = this.readInt();
+        if (count < 0 || count > this.remaining() / itemLength) {
+            throw new IllegalArgumentException("Invalid count " + count + " with " + this.remaining() + " bytes remaining");
+        }
+        return count;
+    }
+
+    /**
+     * Sub classes should fail with an {@link IllegalArgumentException} if there are not enough bytes.
+     */
+    abstract int readInt();
+
+    /**
+     * Sub classes should fail with an {@link IllegalArgumentException} if there are not enough bytes.
+     */
+    abstract char readChar();
+
+    /**
+     * Reads the given number of ranges, failing with an {@link IllegalArgumentException} if they are not ascending
+     * or overlap.
+     */
+    abstract EbnfGrammarCharPredicate readRanges(final int count,
+                                                 final String toString);
+
+    /**
+     * The number of bytes not yet read.
+     */
+    abstract int remaining();
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+/**
+ * A {@link EbnfGrammarCharPredicateBinaryReader} that reads a byte array, copying ranges into new arrays.
+ */
+final class EbnfGrammarCharPredicateBinaryReaderByteArray extends EbnfGrammarCharPredicateBinaryReader {
+
+    static EbnfGrammarCharPredicateBinaryReaderByteArray with(final byte[] bytes) {
+        return new EbnfGrammarCharPredicateBinaryReaderByteArray(bytes);
+    }
+
+    private EbnfGrammarCharPredicateBinaryReaderByteArray(final byte[] bytes) {
+        super();
+        this.bytes = bytes;
+    }
+
+    @Override
+    int readInt() {
+        return this.readChar() << 16 | this.readChar();
+    }
+
+    @Override
+    char readChar() {
+        final int position = this.position;
+        if (position + 2 > this.bytes.length) {
+            throw new IllegalArgumentException("Truncated at " + position);
+        }
+        this.position = position + 2;
+
+        return (char) ((this.bytes[position] & 0xff) << 8 | (this.bytes[position + 1] & 0xff));
+    }
+
+    @Override
+    EbnfGrammarCharPredicate readRanges(final int count,
+                                        final String toString) {
+        final char[] pairs = new char[count * 2];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = this.readChar();
+        }
+        return EbnfGrammarCharPredicateRanges.pairs(pairs, toString);
+    }
+
+    @Override
+    int remaining() {
+        return this.bytes.length - this.position;
+    }
+
+    private final byte[] bytes;
+
+    private int position;
+
+    @Override
+    public String toString() {
+        return this.position + "/" + this.bytes.length;
+    }
+}
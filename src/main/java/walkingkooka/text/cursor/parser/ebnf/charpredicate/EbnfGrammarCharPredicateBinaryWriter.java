@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes predicates in a compact big endian binary format, read back by {@link EbnfGrammarCharPredicateBinaryReader}.
+ * Every value is a multiple of two bytes long, so the range pairs are always aligned for a char view.
+ * <pre>
+ * int magic
+ * int version
+ * int predefined count, followed by each predefined name
+ * int entry count, followed by each entry
+ *
+ * entry:
+ * string name
+ * int kind, 0 for predefined or 1 for ranges
+ * ranges only:
+ *     string toString
+ *     int range count
+ *     char begin, char end for each range
+ *
+ * string:
+ * int length
+ * char for each character
+ * </pre>
+ * Predefined entries hold only their name, and are replaced by the predicates given to the reader.
+ */
+final class EbnfGrammarCharPredicateBinaryWriter {
+
+    /**
+     * The characters <code>EBNF</code>.
+     */
+    final static int MAGIC = 0x45424e46;
+
+    /**
+     * Increased whenever the format changes, as older readers must reject files they cannot read.
+     */
+    final static int VERSION = 1;
+
+    final static int PREDEFINED = 0;
+
+    final static int RANGES = 1;
+
+    static byte[] write(final Map<EbnfIdentifierName, CharPredicate> predicates,
+                        final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        Objects.requireNonNull(predicates, "predicates");
+        Objects.requireNonNull(predefined, "predefined");
+
+        final EbnfGrammarCharPredicateBinaryWriter writer = new EbnfGrammarCharPredicateBinaryWriter();
+        writer.writeInt(MAGIC);
+        writer.writeInt(VERSION);
+
+        writer.writeInt(predefined.size());
+        for (final EbnfIdentifierName name : predefined.keySet()) {
+            writer.writeString(name.value());
+        }
+
+        writer.writeInt(predicates.size());
+        for (final Map.Entry<EbnfIdentifierName, CharPredicate> nameAndPredicate : predicates.entrySet()) {
+            final EbnfIdentifierName name = nameAndPredicate.getKey();
+            final CharPredicate predicate = nameAndPredicate.getValue();
+            Objects.requireNonNull(predicate, "predicate " + name);
+
+            writer.writeString(name.value());
+
+            // fromGrammar returns the predefined predicates unchanged unless a rule replaced them
+            if (predefined.get(name) == predicate) {
+                writer.writeInt(PREDEFINED);
+            } else {
+                writer.writeInt(RANGES);
+                writer.writeRanges(EbnfGrammarCharPredicateRanges.with(predicate));
+            }
+        }
+
+        return Arrays.copyOf(writer.bytes, writer.length);
+    }
+
+    private EbnfGrammarCharPredicateBinaryWriter() {
+        super();
+    }
+
+    private void writeRanges(final EbnfGrammarCharPredicateRanges ranges) {
+        final char[] pairs = ranges.ranges;
+
+        this.writeString(ranges.toString());
+        this.writeInt(pairs.length / 2);
+        for (final char c : pairs) {
+            this.writeChar(c);
+        }
+    }
+
+    private void writeString(final String string) {
+        this.writeInt(string.length());
+        for (int i = 0; i < string.length(); i++) {
+            this.writeChar(string.charAt(i));
+        }
+    }
+
+    private void writeInt(final int value) {
+        this.writeChar((char) (value >>> 16));
+        this.writeChar((char) value);
+    }
+
+    private void writeChar(final char c) {
+        final int length = this.length;
+        if (length + 2 > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+        }
+        this.bytes[length] = (byte) (c >>> 8);
+        this.bytes[length + 1] = (byte) c;
+        this.length = length + 2;
+    }
+
+    private byte[] bytes = new byte[256];
+
+    private int length;
+
+    @Override
+    public String toString() {
+        return this.length + " bytes";
+    }
+}
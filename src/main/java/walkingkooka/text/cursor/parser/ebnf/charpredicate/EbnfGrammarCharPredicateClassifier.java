@@ -0,0 +1,284 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Classifies characters against up to 64 rules at once, typically the token rules of a lexer. Each rule is assigned a
+ * bit in the order given, and every character holds a precomputed mask of the rules it matches, so a single lookup
+ * replaces testing each rule in turn. ASCII characters read their mask directly from an array, while other characters
+ * select one of the distinct masks through a two level table, where blocks of 256 characters with the same masks are
+ * shared.
+ * <br>
+ * {@link #ruleIndex(char)} returns the first matching rule directly, which for mutually exclusive rules is the only
+ * matching rule.
+ */
+public final class EbnfGrammarCharPredicateClassifier {
+
+    /**
+     * The most rules that may be classified, one for each bit of a long.
+     */
+    public final static int MAX_RULES = 64;
+
+    static EbnfGrammarCharPredicateClassifier with(final Map<EbnfIdentifierName, CharPredicate> predicates,
+                                                   final List<EbnfIdentifierName> rules) {
+        Objects.requireNonNull(predicates, "predicates");
+        Objects.requireNonNull(rules, "rules");
+
+        final int count = rules.size();
+        if (0 == count) {
+            throw new IllegalArgumentException("Missing rules");
+        }
+        if (count > MAX_RULES) {
+            throw new IllegalArgumentException("Too many rules " + count + " > " + MAX_RULES);
+        }
+
+        final List<EbnfIdentifierName> copy = Lists.array();
+        final EbnfGrammarCharPredicateRanges[] ranges = new EbnfGrammarCharPredicateRanges[count];
+
+        for (final EbnfIdentifierName rule : rules) {
+            Objects.requireNonNull(rule, "rule");
+            if (copy.contains(rule)) {
+                throw new IllegalArgumentException("Duplicate rule " + rule);
+            }
+
+            final CharPredicate predicate = predicates.get(rule);
+            if (null == predicate) {
+                throw new IllegalArgumentException("Unknown rule " + rule);
+            }
+            ranges[copy.size()] = EbnfGrammarCharPredicateRanges.with(predicate);
+            copy.add(rule);
+        }
+
+        return new EbnfGrammarCharPredicateClassifier(
+                Lists.immutable(copy),
+                ranges
+        );
+    }
+
+    private EbnfGrammarCharPredicateClassifier(final List<EbnfIdentifierName> rules,
+                                               final EbnfGrammarCharPredicateRanges[] ranges) {
+        super();
+        this.rules = rules;
+
+        // the mask only changes where a range of any rule begins or ends, so compute it once for each segment
+        final int[] boundaries = boundaries(ranges);
+
+        final List<Long> masks = Lists.array();
+        final Map<Long, Character> maskToClass = Maps.hash();
+        final char[] classes = new char[Character.MAX_VALUE + 1];
+
+        for (int i = 0; i < boundaries.length - 1; i++) {
+            final int begin = boundaries[i];
+            final int end = boundaries[i + 1];
+
+            long mask = 0;
+            for (int r = 0; r < ranges.length; r++) {
+                if (ranges[r].test((char) begin)) {
+                    mask |= 1L << r;
+                }
+            }
+
+            Character c = maskToClass.get(mask);
+            if (null == c) {
+                c = (char) masks.size();
+                maskToClass.put(mask, c);
+                masks.add(mask);
+            }
+            Arrays.fill(classes, begin, end, c);
+        }
+
+        final long[] classMasks = new long[masks.size()];
+        final int[] classRules = new int[classMasks.length];
+        boolean exclusive = true;
+
+        for (int i = 0; i < classMasks.length; i++) {
+            final long mask = masks.get(i);
+            classMasks[i] = mask;
+            classRules[i] = 0 == mask ?
+                    -1 :
+                    Long.numberOfTrailingZeros(mask);
+            exclusive &= Long.bitCount(mask) <= 1;
+        }
+
+        final long[] ascii = new long[128];
+        for (int c = 0; c < 128; c++) {
+            ascii[c] = classMasks[classes[c]];
+        }
+
+        this.ascii = ascii;
+        this.blocks = blocks(classes);
+        this.masks = classMasks;
+        this.classRules = classRules;
+        this.exclusive = exclusive;
+    }
+
+    /**
+     * Returns every character where a range of any rule begins or ends, sorted, beginning with 0 and ending with
+     * 65536, so each pair of neighbours is a segment where the matching rules do not change.
+     */
+    private static int[] boundaries(final EbnfGrammarCharPredicateRanges[] ranges) {
+        int length = 2;
+        for (final EbnfGrammarCharPredicateRanges r : ranges) {
+            length += r.ranges.length;
+        }
+
+        final int[] boundaries = new int[length];
+        int i = 0;
+        boundaries[i++] = 0;
+        boundaries[i++] = Character.MAX_VALUE + 1;
+
+        for (final EbnfGrammarCharPredicateRanges r : ranges) {
+            final char[] pairs = r.ranges;
+            for (int p = 0; p < pairs.length; p += 2) {
+                boundaries[i++] = pairs[p];
+                boundaries[i++] = pairs[p + 1] + 1;
+            }
+        }
+
+        Arrays.sort(boundaries);
+
+        // remove duplicates
+        int unique = 0;
+        for (int b = 0; b < boundaries.length; b++) {
+            if (0 == b || boundaries[b] != boundaries[unique - 1]) {
+                boundaries[unique++] = boundaries[b];
+            }
+        }
+        return Arrays.copyOf(boundaries, unique);
+    }
+
+    /**
+     * Splits the class of every character into blocks of 256, sharing blocks with the same classes.
+     */
+    private static char[][] blocks(final char[] classes) {
+        final char[][] blocks = new char[BLOCK_COUNT][];
+        final Map<String, char[]> shared = Maps.hash();
+
+        for (int b = 0; b < BLOCK_COUNT; b++) {
+            final char[] block = Arrays.copyOfRange(
+                    classes,
+                    b * BLOCK_LENGTH,
+                    (b + 1) * BLOCK_LENGTH
+            );
+
+            final String key = new String(block);
+            char[] existing = shared.get(key);
+            if (null == existing) {
+                existing = block;
+                shared.put(key, block);
+            }
+            blocks[b] = existing;
+        }
+
+        return blocks;
+    }
+
+    private final static int BLOCK_COUNT = 256;
+
+    private final static int BLOCK_LENGTH = 256;
+
+    /**
+     * Returns the mask of every rule matching the given character, where bit n is set if the rule at index n of
+     * {@link #rules()} matches.
+     */
+    public long classify(final char c) {
+        return c < 128 ?
+                this.ascii[c] :
+                this.masks[this.blocks[c >> 8][c & 0xff]];
+    }
+
+    /**
+     * Returns the index within {@link #rules()} of the first rule matching the given character, or -1 if none match.
+     */
+    public int ruleIndex(final char c) {
+        return this.classRules[this.blocks[c >> 8][c & 0xff]];
+    }
+
+    /**
+     * Returns the mask holding only the bit of the given rule, for testing the result of {@link #classify(char)}.
+     */
+    public long mask(final EbnfIdentifierName rule) {
+        Objects.requireNonNull(rule, "rule");
+
+        final int index = this.rules.indexOf(rule);
+        if (-1 == index) {
+            throw new IllegalArgumentException("Unknown rule " + rule);
+        }
+        return 1L << index;
+    }
+
+    /**
+     * The classified rules, in the order of their bits.
+     */
+    public List<EbnfIdentifierName> rules() {
+        return this.rules;
+    }
+
+    private final List<EbnfIdentifierName> rules;
+
+    /**
+     * Returns true if no character matches more than one rule.
+     */
+    public boolean isExclusive() {
+        return this.exclusive;
+    }
+
+    private final boolean exclusive;
+
+    /**
+     * The number of distinct masks.
+     */
+    int classCount() {
+        return this.masks.length;
+    }
+
+    /**
+     * The mask of each ASCII character.
+     */
+    private final long[] ascii;
+
+    /**
+     * The class of every character, selected by the high byte and then the low byte.
+     */
+    private final char[][] blocks;
+
+    /**
+     * The mask of each class.
+     */
+    private final long[] masks;
+
+    /**
+     * The index of the first rule of each class or -1.
+     */
+    private final int[] classRules;
+
+    @Override
+    public String toString() {
+        return this.rules.toString();
+    }
+}
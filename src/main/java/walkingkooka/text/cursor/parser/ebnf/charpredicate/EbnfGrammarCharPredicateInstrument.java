@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+/**
+ * Wraps predicates while a grammar is built, so JVM only modules sharing this package may count how often each rule
+ * and each branch of the alternative forming a rule are tested. Branches are wrapped once ranges were unioned, and
+ * only if more than one remains, and rules once the whole grammar is built, after they were given ASCII masks or turned
+ * into ranges, so instrumenting never changes how deeply predicates nest. References to a rule use the rule that is not
+ * wrapped, so only tests of the returned rule are seen.
+ */
+interface EbnfGrammarCharPredicateInstrument {
+
+    /**
+     * Wraps a branch of the alternative forming the given rule, called for each branch in order while the rule is built.
+     * Building may test the branch, such as to fill the ASCII mask of the rule, before the rule is wrapped.
+     */
+    CharPredicate branch(final EbnfIdentifierName rule,
+                         final CharPredicate branch);
+
+    /**
+     * Wraps the predicate built for the rule once every rule is built, in grammar order. The returned predicate must
+     * return the rule name from {@link CharPredicate#toString()}.
+     */
+    CharPredicate rule(final EbnfIdentifierName rule,
+                       final CharPredicate predicate);
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.set.Sets;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes the source of a class holding a constant for each {@link CharPredicate}, created from a string literal of
+ * range pairs by {@link EbnfGrammarCharPredicates#ranges(String, String)}. Predicates that are not already ranges,
+ * such as predefined predicates, are probed once here, so the generated class never calls them.
+ */
+final class EbnfGrammarCharPredicateJavaSourceGenerator {
+
+    /**
+     * A class file constant is limited to 65535 bytes, and each character may need 3.
+     */
+    final static int MAX_PAIRS_LENGTH = 20000;
+
+    /**
+     * The number of range pairs written on each line of a string literal.
+     */
+    private final static int PAIRS_PER_LINE = 16;
+
+    static String generate(final String packageName,
+                           final String className,
+                           final Map<EbnfIdentifierName, CharPredicate> predicates) {
+        Objects.requireNonNull(packageName, "packageName");
+        checkClassName(className);
+        Objects.requireNonNull(predicates, "predicates");
+
+        return new EbnfGrammarCharPredicateJavaSourceGenerator()
+                .generate0(packageName, className, predicates);
+    }
+
+    private static void checkClassName(final String className) {
+        Objects.requireNonNull(className, "className");
+
+        if (false == className.equals(javaIdentifier(className))) {
+            throw new IllegalArgumentException("Invalid class name " + className);
+        }
+    }
+
+    private EbnfGrammarCharPredicateJavaSourceGenerator() {
+        super();
+    }
+
+    private String generate0(final String packageName,
+                             final String className,
+                             final Map<EbnfIdentifierName, CharPredicate> predicates) {
+        final Set<String> constants = Sets.hash();
+        final String[] constantNames = new String[predicates.size()];
+
+        int i = 0;
+        for (final EbnfIdentifierName name : predicates.keySet()) {
+            final String constant = javaIdentifier(name.value());
+            if (false == constants.add(constant)) {
+                throw new IllegalArgumentException("Rule " + name + " clashes with another rule as constant " + constant);
+            }
+            constantNames[i] = constant;
+            i++;
+        }
+
+        String all = "PREDICATES";
+        while (constants.contains(all)) {
+            all = all + "_";
+        }
+
+        this.line("// Generated by EbnfGrammarCharPredicates.javaSource, do not edit.");
+        if (false == packageName.isEmpty()) {
+            this.line("package " + packageName + ";");
+        }
+        this.line("");
+        this.line("import walkingkooka.collect.map.Maps;");
+        this.line("import walkingkooka.predicate.character.CharPredicate;");
+        this.line("import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;");
+        this.line("import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;");
+        this.line("");
+        this.line("import java.util.Map;");
+        this.line("");
+        this.line("public final class " + className + " {");
+
+        i = 0;
+        for (final Map.Entry<EbnfIdentifierName, CharPredicate> nameAndPredicate : predicates.entrySet()) {
+            final CharPredicate predicate = nameAndPredicate.getValue();
+            Objects.requireNonNull(predicate, "predicate " + nameAndPredicate.getKey());
+
+            this.constant(
+                    constantNames[i],
+                    EbnfGrammarCharPredicateRanges.with(predicate)
+            );
+            i++;
+        }
+
+        this.line("");
+        this.line("    /**");
+        this.line("     * All predicates in the order of their grammar.");
+        this.line("     */");
+        this.line("    public static Map<EbnfIdentifierName, CharPredicate> predicates() {");
+        this.line("        return " + all + ";");
+        this.line("    }");
+        this.line("");
+        this.line("    private final static Map<EbnfIdentifierName, CharPredicate> " + all + ";");
+        this.line("");
+        this.line("    static {");
+        this.line("        final Map<EbnfIdentifierName, CharPredicate> predicates = Maps.ordered();");
+
+        i = 0;
+        for (final EbnfIdentifierName name : predicates.keySet()) {
+            this.line("        predicates.put(EbnfIdentifierName.with(" + literal(name.value()) + "), " + constantNames[i] + ");");
+            i++;
+        }
+
+        this.line("        " + all + " = Maps.immutable(predicates);");
+        this.line("    }");
+        this.line("");
+        this.line("    private " + className + "() {");
+        this.line("        throw new UnsupportedOperationException();");
+        this.line("    }");
+        this.line("}");
+
+        return this.source.toString();
+    }
+
+    private void constant(final String name,
+                          final EbnfGrammarCharPredicateRanges ranges) {
+        final char[] pairs = ranges.ranges;
+        if (pairs.length > MAX_PAIRS_LENGTH) {
+            throw new IllegalArgumentException("Predicate " + name + " has too many ranges " + pairs.length / 2 + " > " + MAX_PAIRS_LENGTH / 2);
+        }
+
+        this.line("");
+        this.line("    public final static CharPredicate " + name + " = EbnfGrammarCharPredicates.ranges(");
+
+        if (0 == pairs.length) {
+            this.line("            \"\",");
+        } else {
+            final int perLine = PAIRS_PER_LINE * 2;
+            for (int i = 0; i < pairs.length; i += perLine) {
+                final int end = Math.min(i + perLine, pairs.length);
+                this.line(
+                        "            " +
+                                literal(new String(pairs, i, end - i)) +
+                                (end < pairs.length ? " +" : ",")
+                );
+            }
+        }
+
+        this.line("            " + literal(ranges.toString()));
+        this.line("    );");
+    }
+
+    private void line(final String line) {
+        this.source.append(line)
+                .append('\n');
+    }
+
+    private final StringBuilder source = new StringBuilder();
+
+    /**
+     * Returns the text as a java string literal. Characters other than printable ASCII are written as unicode escapes,
+     * except for CR and NL which would end the literal if escaped that way.
+     */
+    static String literal(final String text) {
+        final StringBuilder b = new StringBuilder();
+        b.append('"');
+
+        for (final char c : text.toCharArray()) {
+            switch (c) {
+                case '\n':
+                    b.append("\\n");
+                    break;
+                case '\r':
+                    b.append("\\r");
+                    break;
+                case '"':
+                    b.append("\\\"");
+                    break;
+                case '\\':
+                    b.append("\\\\");
+                    break;
+                default:
+                    if (c >= ' ' && c <= '~') {
+                        b.append(c);
+                    } else {
+                        final String hex = Integer.toHexString(c);
+                        b.append("\\u");
+                        for (int i = hex.length(); i < 4; i++) {
+                            b.append('0');
+                        }
+                        b.append(hex);
+                    }
+                    break;
+            }
+        }
+
+        return b.append('"')
+                .toString();
+    }
+
+    /**
+     * Replaces any character that is not an ASCII letter, digit or underscore with an underscore, and adds an
+     * underscore before a leading digit or after a java keyword.
+     */
+    static String javaIdentifier(final String name) {
+        final StringBuilder b = new StringBuilder();
+
+        for (final char c : name.toCharArray()) {
+            b.append(
+                    (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') ?
+                            c :
+                            '_'
+            );
+        }
+
+        if (b.length() == 0 || (b.charAt(0) >= '0' && b.charAt(0) <= '9')) {
+            b.insert(0, '_');
+        }
+        if (KEYWORDS.contains(b.toString())) {
+            b.append('_');
+        }
+
+        return b.toString();
+    }
+
+    private final static Set<String> KEYWORDS = Sets.of(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "false", "final", "finally", "float", "for", "goto",
+            "if", "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "null", "package",
+            "private", "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized",
+            "this", "throw", "throws", "transient", "true", "try", "void", "volatile", "while", "_"
+    );
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@link CharPredicate} holding a set of characters as sorted, disjoint and non adjacent ranges. Each range is a
+ * pair of begin and end characters, both inclusive, stored one after the other in a single char array. Union,
+ * difference and complement are linear merges over the ranges.
+ * <br>
+ * Non ASCII characters outside the lowest and highest non ASCII character are rejected with two compares, and the 64
+ * characters starting at the lowest are answered from a mask, which covers small terminals such as non ASCII
+ * whitespace or delimiters. Only other characters need a binary search of the non ASCII ranges.
+ */
+final class EbnfGrammarCharPredicateRanges extends EbnfGrammarCharPredicate {
+
+    /**
+     * Ranges holding no characters.
+     */
+    final static EbnfGrammarCharPredicateRanges NONE = new EbnfGrammarCharPredicateRanges(
+            new char[0],
+            "NONE"
+    );
+
+    /**
+     * Returns the given {@link CharPredicate} as ranges, testing every BMP character if it is not already ranges or a
+     * Unicode table.
+     */
+    static EbnfGrammarCharPredicateRanges with(final CharPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+
+        return predicate instanceof EbnfGrammarCharPredicateRanges ?
+                (EbnfGrammarCharPredicateRanges) predicate :
+                predicate instanceof EbnfGrammarCharPredicateUnicode ?
+                        ((EbnfGrammarCharPredicateUnicode) predicate).ranges() :
+                        probe(predicate);
+    }
+
+    private static EbnfGrammarCharPredicateRanges probe(final CharPredicate predicate) {
+        final Builder builder = new Builder(16);
+
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (predicate.test((char) c)) {
+                builder.add(c, c);
+            }
+        }
+
+        return builder.build(predicate.toString());
+    }
+
+    /**
+     * Creates ranges holding all the given characters, which may be in any order and contain duplicates.
+     */
+    static EbnfGrammarCharPredicateRanges characters(final CharSequence characters,
+                                                     final String toString) {
+        final char[] sorted = characters.toString().toCharArray();
+        Arrays.sort(sorted);
+
+        final Builder builder = new Builder(sorted.length * 2);
+        for (final char c : sorted) {
+            builder.add(c, c);
+        }
+        return builder.build(toString);
+    }
+
+    /**
+     * Creates a single range, failing if begin is after end.
+     */
+    static EbnfGrammarCharPredicateRanges range(final char begin,
+                                                final char end,
+                                                final String toString) {
+        if (begin > end) {
+            throw new IllegalArgumentException("Invalid range begin " + (int) begin + " > end " + (int) end + " in " + toString);
+        }
+        return new EbnfGrammarCharPredicateRanges(
+                new char[]{begin, end},
+                toString
+        );
+    }
+
+    /**
+     * Creates ranges from pairs of begin and end characters, such as those written by
+     * {@link EbnfGrammarCharPredicateJavaSourceGenerator}. The pairs must be in ascending order and must not overlap.
+     */
+    static EbnfGrammarCharPredicateRanges pairs(final String pairs,
+                                                final String toString) {
+        Objects.requireNonNull(pairs, "pairs");
+
+        return pairs(pairs.toCharArray(), toString);
+    }
+
+    /**
+     * {@see #pairs(String, String)}
+     */
+    static EbnfGrammarCharPredicateRanges pairs(final char[] pairs,
+                                                final String toString) {
+        Objects.requireNonNull(toString, "toString");
+
+        final int length = pairs.length;
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("Invalid ranges odd length " + length + " in " + toString);
+        }
+
+        final Builder builder = new Builder(length);
+        int previous = -1;
+        for (int i = 0; i < length; i += 2) {
+            final char begin = pairs[i];
+            final char end = pairs[i + 1];
+            if (begin <= previous || begin > end) {
+                throw new IllegalArgumentException("Invalid range " + (int) begin + ".." + (int) end + " at " + i + " in " + toString);
+            }
+            builder.add(begin, end);
+            previous = end;
+        }
+
+        return builder.build(toString);
+    }
+
+    private EbnfGrammarCharPredicateRanges(final char[] ranges,
+                                           final String toString) {
+        this(
+                asciiMask(ranges, 0),
+                asciiMask(ranges, 64),
+                ranges,
+                toString
+        );
+    }
+
+    private EbnfGrammarCharPredicateRanges(final long ascii0,
+                                           final long ascii1,
+                                           final char[] ranges,
+                                           final String toString) {
+        super(ascii0, ascii1, toString);
+        this.ranges = ranges;
+
+        int first = 0;
+        while (first < ranges.length && ranges[first + 1] < 128) {
+            first += 2;
+        }
+        this.first = first;
+
+        if (first < ranges.length) {
+            final int low = Math.max(ranges[first], 128);
+            this.low = low;
+            this.high = ranges[ranges.length - 1];
+            this.window = asciiMask(ranges, low);
+        } else {
+            this.low = Character.MAX_VALUE + 1;
+            this.high = 0;
+            this.window = 0;
+        }
+    }
+
+    /**
+     * Computes the bits of the mask for characters first to first + 63 from the ranges.
+     */
+    static long asciiMask(final char[] ranges,
+                          final int first) {
+        final int last = first + 63;
+        long mask = 0;
+
+        for (int i = 0; i < ranges.length && ranges[i] <= last; i += 2) {
+            final int begin = Math.max(ranges[i], first);
+            final int end = Math.min(ranges[i + 1], last);
+
+            for (int c = begin; c <= end; c++) {
+                mask |= 1L << (c - first);
+            }
+        }
+
+        return mask;
+    }
+
+    // CharPredicate....................................................................................................
+
+    @Override
+    boolean testNonAscii(final char c) {
+        final int offset = c - this.low;
+
+        return offset >= 0 &&
+                c <= this.high &&
+                (offset < 64 ?
+                        (this.window >>> offset & 1) != 0 :
+                        this.search(c));
+    }
+
+    /**
+     * Binary searches the ranges that end after ASCII.
+     */
+    private boolean search(final char c) {
+        final char[] ranges = this.ranges;
+
+        int low = this.first >> 1;
+        int high = (ranges.length >> 1) - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int begin = mid << 1;
+
+            if (c < ranges[begin]) {
+                high = mid - 1;
+            } else {
+                if (c <= ranges[begin + 1]) {
+                    return true;
+                }
+                low = mid + 1;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns ranges sharing the same characters with a new {@link #toString()}, avoiding a wrapper.
+     */
+    @Override
+    public EbnfGrammarCharPredicateRanges setToString(final String toString) {
+        Objects.requireNonNull(toString, "toString");
+
+        return this.toString.equals(toString) ?
+                this :
+                new EbnfGrammarCharPredicateRanges(
+                        this.ascii0,
+                        this.ascii1,
+                        this.ranges,
+                        toString
+                );
+    }
+
+    // set operations...................................................................................................
+
+    /**
+     * Returns the union of these and the other ranges.
+     */
+    EbnfGrammarCharPredicateRanges union(final EbnfGrammarCharPredicateRanges other,
+                                         final String toString) {
+        final char[] left = this.ranges;
+        final char[] right = other.ranges;
+        final Builder builder = new Builder(left.length + right.length);
+
+        int l = 0;
+        int r = 0;
+        while (l < left.length || r < right.length) {
+            if (r == right.length || (l < left.length && left[l] <= right[r])) {
+                builder.add(left[l], left[l + 1]);
+                l += 2;
+            } else {
+                builder.add(right[r], right[r + 1]);
+                r += 2;
+            }
+        }
+
+        return builder.build(toString);
+    }
+
+    /**
+     * Returns the characters in these ranges that are not in the other ranges.
+     */
+    EbnfGrammarCharPredicateRanges difference(final EbnfGrammarCharPredicateRanges other,
+                                              final String toString) {
+        final char[] left = this.ranges;
+        final char[] right = other.ranges;
+        final Builder builder = new Builder(left.length + right.length);
+
+        int r = 0;
+        for (int l = 0; l < left.length; l += 2) {
+            int begin = left[l];
+            final int end = left[l + 1];
+
+            // skip ranges that end before this range
+            while (r < right.length && right[r + 1] < begin) {
+                r += 2;
+            }
+
+            for (int i = r; i < right.length && right[i] <= end && begin <= end; i += 2) {
+                if (right[i] > begin) {
+                    builder.add(begin, right[i] - 1);
+                }
+                begin = Math.max(begin, right[i + 1] + 1);
+            }
+
+            if (begin <= end) {
+                builder.add(begin, end);
+            }
+        }
+
+        return builder.build(toString);
+    }
+
+    /**
+     * Returns all the characters not in these ranges.
+     */
+    EbnfGrammarCharPredicateRanges complement(final String toString) {
+        final char[] ranges = this.ranges;
+        final Builder builder = new Builder(ranges.length + 2);
+
+        int begin = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > begin) {
+                builder.add(begin, ranges[i] - 1);
+            }
+            begin = ranges[i + 1] + 1;
+        }
+        if (begin <= Character.MAX_VALUE) {
+            builder.add(begin, Character.MAX_VALUE);
+        }
+
+        return builder.build(toString);
+    }
+
+    /**
+     * Returns true if these ranges hold no characters.
+     */
+    boolean isEmpty() {
+        return this.ranges.length == 0;
+    }
+
+    /**
+     * Returns true if these ranges hold every character.
+     */
+    boolean isAll() {
+        final char[] ranges = this.ranges;
+        return ranges.length == 2 &&
+                ranges[0] == 0 &&
+                ranges[1] == Character.MAX_VALUE;
+    }
+
+    /**
+     * The begin and end of each range, one after the other. This array must never be modified.
+     */
+    final char[] ranges;
+
+    /**
+     * The index in {@link #ranges} of the first range ending after ASCII.
+     */
+    private final int first;
+
+    /**
+     * The lowest and highest non ASCII character, with low greater than high when there are none.
+     */
+    private final int low;
+
+    private final int high;
+
+    /**
+     * The characters from {@link #low} to low + 63.
+     */
+    private final long window;
+
+    /**
+     * Accumulates ranges which must be added in ascending begin order, merging those that overlap or touch.
+     */
+    private final static class Builder {
+
+        Builder(final int capacity) {
+            this.ranges = new char[Math.max(2, capacity)];
+        }
+
+        void add(final int begin,
+                 final int end) {
+            final int length = this.length;
+
+            if (length > 0 && begin <= this.ranges[length - 1] + 1) {
+                if (end > this.ranges[length - 1]) {
+                    this.ranges[length - 1] = (char) end;
+                }
+            } else {
+                if (length == this.ranges.length) {
+                    this.ranges = Arrays.copyOf(this.ranges, length * 2);
+                }
+                this.ranges[length] = (char) begin;
+                this.ranges[length + 1] = (char) end;
+                this.length = length + 2;
+            }
+        }
+
+        EbnfGrammarCharPredicateRanges build(final String toString) {
+            return new EbnfGrammarCharPredicateRanges(
+                    Arrays.copyOf(this.ranges, this.length),
+                    toString
+            );
+        }
+
+        private char[] ranges;
+
+        private int length;
+    }
+}
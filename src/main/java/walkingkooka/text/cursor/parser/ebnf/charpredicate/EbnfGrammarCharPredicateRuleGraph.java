@@ -0,0 +1,286 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserTokenVisitor;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The identifiers referenced by each rule of a grammar, including range bounds, with the reverse mapping of the rules
+ * referencing each identifier. Predefined identifiers appear only as references. All walks are iterative, so very
+ * long chains of rules do not overflow the stack.
+ */
+final class EbnfGrammarCharPredicateRuleGraph {
+
+    static EbnfGrammarCharPredicateRuleGraph with(final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule) {
+        final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> references = Maps.ordered();
+
+        for (final Map.Entry<EbnfIdentifierName, RuleEbnfParserToken> identifierAndRule : identifierToRule.entrySet()) {
+            references.put(
+                    identifierAndRule.getKey(),
+                    References.collect(identifierAndRule.getValue())
+            );
+        }
+
+        return with0(references);
+    }
+
+    /**
+     * Returns a graph holding only the given root rules and the rules they directly or indirectly reference, in
+     * grammar order. Rules that are not reachable are never visited. Roots that are not rules are ignored.
+     */
+    static EbnfGrammarCharPredicateRuleGraph reachable(final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule,
+                                                       final Set<EbnfIdentifierName> roots) {
+        final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> found = Maps.hash();
+        final List<EbnfIdentifierName> pending = Lists.array();
+        pending.addAll(roots);
+
+        while (false == pending.isEmpty()) {
+            final EbnfIdentifierName identifier = pending.remove(pending.size() - 1);
+            final RuleEbnfParserToken rule = identifierToRule.get(identifier);
+
+            if (null != rule && false == found.containsKey(identifier)) {
+                final Set<EbnfIdentifierName> ruleReferences = References.collect(rule);
+                found.put(identifier, ruleReferences);
+                pending.addAll(ruleReferences);
+            }
+        }
+
+        final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> references = Maps.ordered();
+        for (final EbnfIdentifierName identifier : identifierToRule.keySet()) {
+            final Set<EbnfIdentifierName> ruleReferences = found.get(identifier);
+            if (null != ruleReferences) {
+                references.put(identifier, ruleReferences);
+            }
+        }
+
+        return with0(references);
+    }
+
+    private static EbnfGrammarCharPredicateRuleGraph with0(final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> references) {
+        final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> referencedBy = Maps.hash();
+
+        for (final Map.Entry<EbnfIdentifierName, Set<EbnfIdentifierName>> identifierAndReferences : references.entrySet()) {
+            final EbnfIdentifierName identifier = identifierAndReferences.getKey();
+
+            for (final EbnfIdentifierName reference : identifierAndReferences.getValue()) {
+                Set<EbnfIdentifierName> by = referencedBy.get(reference);
+                if (null == by) {
+                    by = Sets.ordered();
+                    referencedBy.put(reference, by);
+                }
+                by.add(identifier);
+            }
+        }
+
+        return new EbnfGrammarCharPredicateRuleGraph(references, referencedBy);
+    }
+
+    private EbnfGrammarCharPredicateRuleGraph(final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> references,
+                                              final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> referencedBy) {
+        super();
+        this.references = references;
+        this.referencedBy = referencedBy;
+    }
+
+    /**
+     * Returns the given identifiers and every rule that directly or indirectly references any of them.
+     */
+    Set<EbnfIdentifierName> dependents(final Set<EbnfIdentifierName> identifiers) {
+        final Set<EbnfIdentifierName> dependents = Sets.hash();
+        final List<EbnfIdentifierName> pending = Lists.array();
+
+        for (final EbnfIdentifierName identifier : identifiers) {
+            if (dependents.add(identifier)) {
+                pending.add(identifier);
+            }
+        }
+
+        while (false == pending.isEmpty()) {
+            final Set<EbnfIdentifierName> by = this.referencedBy.get(pending.remove(pending.size() - 1));
+            if (null != by) {
+                for (final EbnfIdentifierName dependent : by) {
+                    if (dependents.add(dependent)) {
+                        pending.add(dependent);
+                    }
+                }
+            }
+        }
+
+        return dependents;
+    }
+
+    /**
+     * Returns the strongly connected components of the rules, so that rules referencing each other directly or
+     * indirectly are in the same component. A component only references components before it, so building them in
+     * order always finds the rules they reference already built. References to predefined identifiers are ignored.
+     * This is an iterative form of Tarjan's algorithm.
+     */
+    List<Set<EbnfIdentifierName>> components() {
+        final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> references = this.references;
+        final Map<EbnfIdentifierName, Integer> index = Maps.hash();
+        final Map<EbnfIdentifierName, Integer> lowLink = Maps.hash();
+        final List<EbnfIdentifierName> stack = Lists.array();
+        final Set<EbnfIdentifierName> onStack = Sets.hash();
+        final List<Set<EbnfIdentifierName>> components = Lists.array();
+
+        // the rule and the iterator over its references, of each rule being visited
+        final List<EbnfIdentifierName> visiting = Lists.array();
+        final List<Iterator<EbnfIdentifierName>> visitingReferences = Lists.array();
+
+        for (final EbnfIdentifierName root : references.keySet()) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+
+            EbnfIdentifierName next = root;
+            do {
+                if (null != next) {
+                    final Integer nextIndex = index.size();
+                    index.put(next, nextIndex);
+                    lowLink.put(next, nextIndex);
+                    stack.add(next);
+                    onStack.add(next);
+                    visiting.add(next);
+                    visitingReferences.add(references.get(next).iterator());
+                    next = null;
+                }
+
+                final int top = visiting.size() - 1;
+                final EbnfIdentifierName rule = visiting.get(top);
+                final Iterator<EbnfIdentifierName> ruleReferences = visitingReferences.get(top);
+
+                if (ruleReferences.hasNext()) {
+                    final EbnfIdentifierName reference = ruleReferences.next();
+                    if (references.containsKey(reference)) {
+                        if (false == index.containsKey(reference)) {
+                            next = reference;
+                        } else {
+                            if (onStack.contains(reference)) {
+                                lowLink.put(rule, Math.min(lowLink.get(rule), index.get(reference)));
+                            }
+                        }
+                    }
+                } else {
+                    visiting.remove(top);
+                    visitingReferences.remove(top);
+
+                    final int ruleLowLink = lowLink.get(rule);
+                    if (ruleLowLink == index.get(rule)) {
+                        final Set<EbnfIdentifierName> component = Sets.ordered();
+                        EbnfIdentifierName member;
+                        do {
+                            member = stack.remove(stack.size() - 1);
+                            onStack.remove(member);
+                            component.add(member);
+                        } while (false == member.equals(rule));
+                        components.add(component);
+                    }
+
+                    if (top > 0) {
+                        final EbnfIdentifierName parent = visiting.get(top - 1);
+                        lowLink.put(parent, Math.min(lowLink.get(parent), ruleLowLink));
+                    }
+                }
+            } while (false == visiting.isEmpty() || null != next);
+        }
+
+        return components;
+    }
+
+    /**
+     * Returns every rule ordered so that each follows the rules it references, failing if any rule directly or
+     * indirectly references itself. Building rules in this order never needs a rule that is not yet built.
+     */
+    List<EbnfIdentifierName> order() {
+        final List<EbnfIdentifierName> order = Lists.array();
+
+        for (final Set<EbnfIdentifierName> component : this.components()) {
+            final EbnfIdentifierName rule = component.iterator().next();
+            if (component.size() > 1 || this.references.get(rule).contains(rule)) {
+                this.failCycle(component);
+            }
+            order.add(rule);
+        }
+
+        return order;
+    }
+
+    /**
+     * Reports the rules of the cycle in grammar order, so the message does not depend on where the walk started.
+     */
+    private void failCycle(final Set<EbnfIdentifierName> component) {
+        final List<EbnfIdentifierName> cycle = Lists.array();
+        for (final EbnfIdentifierName rule : this.references.keySet()) {
+            if (component.contains(rule)) {
+                cycle.add(rule);
+            }
+        }
+
+        throw new IllegalArgumentException("Rule " + cycle.get(0) + " references itself " + cycle);
+    }
+
+    /**
+     * The identifiers referenced by each rule, in grammar order.
+     */
+    final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> references;
+
+    /**
+     * The rules referencing each rule or predefined identifier.
+     */
+    private final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> referencedBy;
+
+    @Override
+    public String toString() {
+        return this.references.toString();
+    }
+
+    /**
+     * Collects every identifier within a single rule.
+     */
+    private final static class References extends EbnfParserTokenVisitor {
+
+        static Set<EbnfIdentifierName> collect(final RuleEbnfParserToken rule) {
+            final References visitor = new References();
+            visitor.accept(rule.assignment());
+            return visitor.references;
+        }
+
+        @Override
+        protected void visit(final IdentifierEbnfParserToken token) {
+            this.references.add(token.value());
+        }
+
+        private final Set<EbnfIdentifierName> references = Sets.ordered();
+
+        @Override
+        public String toString() {
+            return this.references.toString();
+        }
+    }
+}
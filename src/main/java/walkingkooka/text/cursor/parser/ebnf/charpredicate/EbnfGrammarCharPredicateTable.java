@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@link CharPredicate} that holds the membership of every BMP character in a two level bit table, so {@link #test(char)}
+ * is a constant time lookup no matter how deep the original predicate was. The table is filled from the
+ * {@link EbnfGrammarCharPredicateRanges} form of the predicate. The high byte of a character selects a block of 256 bits,
+ * the low byte the bit within. Blocks that are entirely clear or set, or equal to the previous block, are shared.
+ * ASCII characters are answered by the mask held by {@link EbnfGrammarCharPredicate}.
+ */
+final class EbnfGrammarCharPredicateTable extends EbnfGrammarCharPredicate {
+
+    static EbnfGrammarCharPredicateTable with(final CharPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+
+        return predicate instanceof EbnfGrammarCharPredicateTable ?
+                (EbnfGrammarCharPredicateTable) predicate :
+                fromRanges(EbnfGrammarCharPredicateRanges.with(predicate));
+    }
+
+    private static EbnfGrammarCharPredicateTable fromRanges(final EbnfGrammarCharPredicateRanges ranges) {
+        return new EbnfGrammarCharPredicateTable(
+                ranges.ascii0,
+                ranges.ascii1,
+                blocks(ranges.ranges),
+                ranges.toString()
+        );
+    }
+
+    private static int[][] blocks(final char[] ranges) {
+        final int[] bits = new int[BLOCK_COUNT * BLOCK_LENGTH];
+        for (int i = 0; i < ranges.length; i += 2) {
+            final int end = ranges[i + 1];
+            for (int c = ranges[i]; c <= end; c++) {
+                bits[c >> 5] |= 1 << c;
+            }
+        }
+
+        final int[][] blocks = new int[BLOCK_COUNT][];
+        int[] previous = null;
+
+        for (int b = 0; b < BLOCK_COUNT; b++) {
+            final int[] block = Arrays.copyOfRange(
+                    bits,
+                    b * BLOCK_LENGTH,
+                    (b + 1) * BLOCK_LENGTH
+            );
+
+            previous = Arrays.equals(block, EMPTY) ?
+                    EMPTY :
+                    Arrays.equals(block, FULL) ?
+                            FULL :
+                            Arrays.equals(block, previous) ?
+                                    previous :
+                                    block;
+            blocks[b] = previous;
+        }
+
+        return blocks;
+    }
+
+    private final static int BLOCK_COUNT = 256;
+
+    private final static int BLOCK_LENGTH = 256 / 32;
+
+    private final static int[] EMPTY = new int[BLOCK_LENGTH];
+
+    private final static int[] FULL = new int[]{-1, -1, -1, -1, -1, -1, -1, -1};
+
+    private EbnfGrammarCharPredicateTable(final long ascii0,
+                                          final long ascii1,
+                                          final int[][] blocks,
+                                          final String toString) {
+        super(ascii0, ascii1, toString);
+        this.blocks = blocks;
+    }
+
+    @Override
+    boolean testNonAscii(final char c) {
+        return (this.blocks[c >> 8][(c >> 5) & 7] >>> c & 1) != 0;
+    }
+
+    private final int[][] blocks;
+
+    @Override
+    public EbnfGrammarCharPredicateTable setToString(final String toString) {
+        Objects.requireNonNull(toString, "toString");
+
+        return this.toString.equals(toString) ?
+                this :
+                new EbnfGrammarCharPredicateTable(
+                        this.ascii0,
+                        this.ascii1,
+                        this.blocks,
+                        toString
+                );
+    }
+}
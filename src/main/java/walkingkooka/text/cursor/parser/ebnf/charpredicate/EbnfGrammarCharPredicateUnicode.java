@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Map;
+
+/**
+ * A {@link CharPredicate} for a Unicode general category or script, whose {@link EbnfGrammarCharPredicateRanges} are
+ * only read from {@link EbnfGrammarCharPredicateUnicodeTables} when first needed, so tables that are never referenced
+ * cost only this small object. Grammars referencing this predicate are given the ranges, so alternatives and
+ * exceptions combine them with set operations.
+ */
+final class EbnfGrammarCharPredicateUnicode implements CharPredicate {
+
+    /**
+     * Returns an immutable map holding a predicate for every table, created once.
+     */
+    static Map<EbnfIdentifierName, CharPredicate> predefined() {
+        if (null == predefined) {
+            final Map<EbnfIdentifierName, CharPredicate> map = Maps.ordered();
+            for (final String name : EbnfGrammarCharPredicateUnicodeTables.NAMES) {
+                map.put(
+                        EbnfIdentifierName.with(name),
+                        new EbnfGrammarCharPredicateUnicode(name)
+                );
+            }
+            predefined = Maps.immutable(map);
+        }
+        return predefined;
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predefined;
+
+    private EbnfGrammarCharPredicateUnicode(final String name) {
+        super();
+        this.name = name;
+    }
+
+    @Override
+    public boolean test(final char c) {
+        return this.ranges().test(c);
+    }
+
+    /**
+     * Returns ranges sharing the same characters with a new {@link #toString()}.
+     */
+    @Override
+    public EbnfGrammarCharPredicateRanges setToString(final String toString) {
+        return this.ranges()
+                .setToString(toString);
+    }
+
+    /**
+     * Reads the ranges on first use. Reading twice by concurrent callers is harmless as the ranges are immutable.
+     */
+    EbnfGrammarCharPredicateRanges ranges() {
+        EbnfGrammarCharPredicateRanges ranges = this.ranges;
+        if (null == ranges) {
+            ranges = EbnfGrammarCharPredicateRanges.pairs(
+                    EbnfGrammarCharPredicateUnicodeTables.pairs(this.name),
+                    this.name
+            );
+            this.ranges = ranges;
+        }
+        return ranges;
+    }
+
+    private EbnfGrammarCharPredicateRanges ranges;
+
+    /**
+     * Tests if the ranges have been read, only used by tests.
+     */
+    boolean isLoaded() {
+        return null != this.ranges;
+    }
+
+    private final String name;
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -17,12 +17,18 @@
 
 package walkingkooka.text.cursor.parser.ebnf.charpredicate;
 
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.predicate.character.CharPredicate;
 import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
 import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
 
 final public class EbnfGrammarCharPredicates implements PublicStaticHelper {
 
@@ -34,6 +40,537 @@ final public class EbnfGrammarCharPredicates implements PublicStaticHelper {
         return CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(grammar, predefined);
     }
 
+    /**
+     * Builds only the given root rules and the rules they reference, returning only the roots. This is cheaper than
+     * {@link #fromGrammar(GrammarEbnfParserToken, Map)} for large grammars where only a few rules are needed, as other
+     * rules are never built or kept. Each root must be a rule or predefined predicate.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> fromGrammar(final GrammarEbnfParserToken grammar,
+                                                                     final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                                     final Set<EbnfIdentifierName> roots) {
+        return CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(grammar, predefined, roots);
+    }
+
+    /**
+     * Builds every rule like {@link #fromGrammar(GrammarEbnfParserToken, Map)}, except alternatives that reference
+     * predefined predicates and so cannot be turned into ranges. Such alternatives sample which branch matches and
+     * periodically reorder their branches so the most frequent matches are tested first, which helps when the order in
+     * the grammar does not match the text being tested. Only a sample of characters updates the counters of such an
+     * alternative, so the predicates may be shared by many threads.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> fromGrammarAdaptive(final GrammarEbnfParserToken grammar,
+                                                                             final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        return CharPredicateGrammarEbnfParserTokenVisitor.fromGrammarAdaptive(grammar, predefined);
+    }
+
+    /**
+     * Rebuilds a grammar after some rules were edited, reusing the predicates in previous, typically returned by
+     * {@link #fromGrammar(GrammarEbnfParserToken, Map)} for an earlier version of the grammar. Only the changed rules,
+     * rules that reference them directly or indirectly, and new rules are built. The changed identifiers may also
+     * name predefined predicates that are different from those previously given.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> recompile(final GrammarEbnfParserToken grammar,
+                                                                   final Map<EbnfIdentifierName, CharPredicate> predefined,
+                                                                   final Map<EbnfIdentifierName, CharPredicate> previous,
+                                                                   final Set<EbnfIdentifierName> changed) {
+        return CharPredicateGrammarEbnfParserTokenVisitor.recompile(grammar, predefined, previous, changed);
+    }
+
+    /**
+     * Returns predefined predicates for every Unicode general category such as <code>UNICODE_Lu</code>, general
+     * category group such as <code>UNICODE_L</code>, and script such as <code>SCRIPT_Greek</code>, holding their BMP
+     * characters. Each is read from a precompiled table of ranges when a grammar first references it, so unused
+     * tables cost no time or memory. The returned map may be combined with other predefined predicates.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> unicode() {
+        return EbnfGrammarCharPredicateUnicode.predefined();
+    }
+
+    /**
+     * The code point equivalent of {@link #fromGrammar(GrammarEbnfParserToken, Map)}, where terminals and range bounds
+     * may hold supplementary characters such as emoji, written as surrogate pairs. Each rule is compiled into a
+     * multi-stage trie answering any code point with three array loads. Predefined predicates are returned unchanged,
+     * but are tested for every code point when a rule references them.
+     * {@see CodePointGrammarEbnfParserTokenVisitor}
+     */
+    public static Map<EbnfIdentifierName, IntPredicate> fromGrammarCodePoints(final GrammarEbnfParserToken grammar,
+                                                                              final Map<EbnfIdentifierName, IntPredicate> predefined) {
+        return CodePointGrammarEbnfParserTokenVisitor.fromGrammar(grammar, predefined);
+    }
+
+    /**
+     * Compiles each {@link CharPredicate} typically returned by {@link #fromGrammar(GrammarEbnfParserToken, Map)} into
+     * a lookup table holding the result for every BMP character. The original {@link CharPredicate#toString()} is kept.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> compile(final Map<EbnfIdentifierName, CharPredicate> predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+
+        final Map<EbnfIdentifierName, CharPredicate> compiled = Maps.ordered();
+        for (final Map.Entry<EbnfIdentifierName, CharPredicate> nameAndPredicate : predicates.entrySet()) {
+            compiled.put(
+                    nameAndPredicate.getKey(),
+                    EbnfGrammarCharPredicateTable.with(nameAndPredicate.getValue())
+            );
+        }
+        return Maps.immutable(compiled);
+    }
+
+    /**
+     * Creates a {@link EbnfGrammarCharPredicateClassifier} for every rule, in the order of the given predicates,
+     * typically returned by {@link #fromGrammar}.
+     */
+    public static EbnfGrammarCharPredicateClassifier classifier(final Map<EbnfIdentifierName, CharPredicate> predicates) {
+        Objects.requireNonNull(predicates, "predicates");
+
+        final List<EbnfIdentifierName> rules = Lists.array();
+        rules.addAll(predicates.keySet());
+        return classifier(predicates, rules);
+    }
+
+    /**
+     * Creates a {@link EbnfGrammarCharPredicateClassifier} for only the given rules, in the given order.
+     */
+    public static EbnfGrammarCharPredicateClassifier classifier(final Map<EbnfIdentifierName, CharPredicate> predicates,
+                                                                final List<EbnfIdentifierName> rules) {
+        return EbnfGrammarCharPredicateClassifier.with(predicates, rules);
+    }
+
+    /**
+     * Writes the predicates, typically returned by {@link #fromGrammar(GrammarEbnfParserToken, Map)}, in a versioned
+     * binary format, that is read back by {@link #fromBinary(byte[], Map)} without parsing or visiting the grammar.
+     * Entries holding a predicate from predefined only record their name, while all others are written as ranges.
+     */
+    public static byte[] toBinary(final Map<EbnfIdentifierName, CharPredicate> predicates,
+                                  final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        return EbnfGrammarCharPredicateBinaryWriter.write(predicates, predefined);
+    }
+
+    /**
+     * Reads predicates written by {@link #toBinary(Map, Map)}, failing if the predefined names are different to those
+     * given when writing.
+     */
+    public static Map<EbnfIdentifierName, CharPredicate> fromBinary(final byte[] binary,
+                                                                    final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        Objects.requireNonNull(binary, "binary");
+
+        return EbnfGrammarCharPredicateBinaryReaderByteArray.with(binary)
+                .read(predefined);
+    }
+
+    /**
+     * Creates a {@link CharPredicate} from pairs of inclusive begin and end characters in ascending order. This is
+     * the factory used by the source written by {@link #javaSource(String, String, Map)}.
+     */
+    public static CharPredicate ranges(final String pairs,
+                                       final String toString) {
+        return EbnfGrammarCharPredicateRanges.pairs(pairs, toString);
+    }
+
+    /**
+     * Returns the source of a final class with a constant holding a table of ranges for every {@link CharPredicate},
+     * and a <code>predicates()</code> method returning a {@link Map} equal to the given, without parsing or visiting a
+     * grammar at runtime. The generated source only uses J2CL compatible classes.
+     */
+    public static String javaSource(final String packageName,
+                                    final String className,
+                                    final Map<EbnfIdentifierName, CharPredicate> predicates) {
+        return EbnfGrammarCharPredicateJavaSourceGenerator.generate(packageName, className, predicates);
+    }
+
+    // bulk.............................................................................................................
+
+    /**
+     * Returns the index of the first character at or after from that matches the predicate, or -1 if none match.
+     * A {@link java.nio.CharBuffer} may be scanned as a {@link CharSequence}, with indices relative to its position.
+     */
+    public static int indexOf(final CharPredicate predicate,
+                              final CharSequence text,
+                              final int from) {
+        return indexOf(predicate, text, from, true);
+    }
+
+    /**
+     * Returns the index of the first character at or after from that does not match the predicate, or -1 if all match.
+     */
+    public static int indexOfFirstMismatch(final CharPredicate predicate,
+                                           final CharSequence text,
+                                           final int from) {
+        return indexOf(predicate, text, from, false);
+    }
+
+    /**
+     * Returns the length of the longest run of matching characters beginning at from.
+     */
+    public static int span(final CharPredicate predicate,
+                           final CharSequence text,
+                           final int from) {
+        final int mismatch = indexOf(predicate, text, from, false);
+        return (-1 == mismatch ? text.length() : mismatch) - from;
+    }
+
+    private static int indexOf(final CharPredicate predicate,
+                               final CharSequence text,
+                               final int from,
+                               final boolean test) {
+        checkPredicate(predicate);
+        checkText(text);
+        final int to = text.length();
+        checkFromTo(from, to, to);
+
+        return indexOf0(predicate, text, from, to, test);
+    }
+
+    /**
+     * Scans the characters between from and to without checking the parameters, also used by JVM only modules to scan
+     * slices of a {@link CharSequence}.
+     */
+    static int indexOf0(final CharPredicate predicate,
+                        final CharSequence text,
+                        final int from,
+                        final int to,
+                        final boolean test) {
+        if (predicate instanceof EbnfGrammarCharPredicate) {
+            return ((EbnfGrammarCharPredicate) predicate).indexOf(text, from, to, test);
+        }
+
+        for (int i = from; i < to; i++) {
+            if (test == predicate.test(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the characters at or after from that match the predicate.
+     */
+    public static int count(final CharPredicate predicate,
+                            final CharSequence text,
+                            final int from) {
+        checkPredicate(predicate);
+        checkText(text);
+        final int to = text.length();
+        checkFromTo(from, to, to);
+
+        return count0(predicate, text, from, to);
+    }
+
+    /**
+     * Counts the characters between from and to without checking the parameters.
+     */
+    static int count0(final CharPredicate predicate,
+                      final CharSequence text,
+                      final int from,
+                      final int to) {
+        if (predicate instanceof EbnfGrammarCharPredicate) {
+            return ((EbnfGrammarCharPredicate) predicate).count(text, from, to);
+        }
+
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (predicate.test(text.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first character between from and to that matches the predicate, or -1 if none match.
+     */
+    public static int indexOf(final CharPredicate predicate,
+                              final char[] text,
+                              final int from,
+                              final int to) {
+        return indexOf(predicate, text, from, to, true);
+    }
+
+    /**
+     * Returns the index of the first character between from and to that does not match the predicate, or -1 if all match.
+     */
+    public static int indexOfFirstMismatch(final CharPredicate predicate,
+                                           final char[] text,
+                                           final int from,
+                                           final int to) {
+        return indexOf(predicate, text, from, to, false);
+    }
+
+    /**
+     * Returns the length of the longest run of matching characters beginning at from and ending at or before to.
+     */
+    public static int span(final CharPredicate predicate,
+                           final char[] text,
+                           final int from,
+                           final int to) {
+        final int mismatch = indexOf(predicate, text, from, to, false);
+        return (-1 == mismatch ? to : mismatch) - from;
+    }
+
+    private static int indexOf(final CharPredicate predicate,
+                               final char[] text,
+                               final int from,
+                               final int to,
+                               final boolean test) {
+        checkPredicate(predicate);
+        checkText(text);
+        checkFromTo(from, to, text.length);
+
+        return indexOf0(predicate, text, from, to, test);
+    }
+
+    /**
+     * Scans the characters between from and to without checking the parameters.
+     */
+    static int indexOf0(final CharPredicate predicate,
+                        final char[] text,
+                        final int from,
+                        final int to,
+                        final boolean test) {
+        if (predicate instanceof EbnfGrammarCharPredicate) {
+            return ((EbnfGrammarCharPredicate) predicate).indexOf(text, from, to, test);
+        }
+
+        for (int i = from; i < to; i++) {
+            if (test == predicate.test(text[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the characters between from and to that match the predicate.
+     */
+    public static int count(final CharPredicate predicate,
+                            final char[] text,
+                            final int from,
+                            final int to) {
+        checkPredicate(predicate);
+        checkText(text);
+        checkFromTo(from, to, text.length);
+
+        return count0(predicate, text, from, to);
+    }
+
+    /**
+     * Counts the characters between from and to without checking the parameters.
+     */
+    static int count0(final CharPredicate predicate,
+                      final char[] text,
+                      final int from,
+                      final int to) {
+        if (predicate instanceof EbnfGrammarCharPredicate) {
+            return ((EbnfGrammarCharPredicate) predicate).count(text, from, to);
+        }
+
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (predicate.test(text[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // bulk code points.................................................................................................
+
+    /**
+     * Returns the index of the first code point at or after from that matches the predicate, or -1 if none match. A
+     * surrogate pair is tested as a single supplementary code point, and any other surrogate as itself.
+     */
+    public static int indexOfCodePoint(final IntPredicate predicate,
+                                       final CharSequence text,
+                                       final int from) {
+        return indexOfCodePoint(predicate, text, from, true);
+    }
+
+    /**
+     * Returns the index of the first code point at or after from that does not match the predicate, or -1 if all match.
+     */
+    public static int indexOfFirstCodePointMismatch(final IntPredicate predicate,
+                                                    final CharSequence text,
+                                                    final int from) {
+        return indexOfCodePoint(predicate, text, from, false);
+    }
+
+    /**
+     * Returns the number of chars in the longest run of matching code points beginning at from.
+     */
+    public static int spanCodePoints(final IntPredicate predicate,
+                                     final CharSequence text,
+                                     final int from) {
+        final int mismatch = indexOfCodePoint(predicate, text, from, false);
+        return (-1 == mismatch ? text.length() : mismatch) - from;
+    }
+
+    private static int indexOfCodePoint(final IntPredicate predicate,
+                                        final CharSequence text,
+                                        final int from,
+                                        final boolean test) {
+        checkPredicate(predicate);
+        checkText(text);
+        final int to = text.length();
+        checkFromTo(from, to, to);
+
+        if (predicate instanceof EbnfGrammarCodePointTrie) {
+            return ((EbnfGrammarCodePointTrie) predicate).indexOf(text, from, to, test);
+        }
+
+        int i = from;
+        while (i < to) {
+            final int codePoint = EbnfGrammarCodePointRanges.codePointAt(text, i, to);
+            if (test == predicate.test(codePoint)) {
+                return i;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the code points at or after from that match the predicate, where a surrogate pair counts once.
+     */
+    public static int countCodePoints(final IntPredicate predicate,
+                                      final CharSequence text,
+                                      final int from) {
+        checkPredicate(predicate);
+        checkText(text);
+        final int to = text.length();
+        checkFromTo(from, to, to);
+
+        if (predicate instanceof EbnfGrammarCodePointTrie) {
+            return ((EbnfGrammarCodePointTrie) predicate).count(text, from, to);
+        }
+
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            final int codePoint = EbnfGrammarCodePointRanges.codePointAt(text, i, to);
+            if (predicate.test(codePoint)) {
+                count++;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first code point between from and to that matches the predicate, or -1 if none match.
+     */
+    public static int indexOfCodePoint(final IntPredicate predicate,
+                                       final char[] text,
+                                       final int from,
+                                       final int to) {
+        return indexOfCodePoint(predicate, text, from, to, true);
+    }
+
+    /**
+     * Returns the index of the first code point between from and to that does not match the predicate, or -1 if all match.
+     */
+    public static int indexOfFirstCodePointMismatch(final IntPredicate predicate,
+                                                    final char[] text,
+                                                    final int from,
+                                                    final int to) {
+        return indexOfCodePoint(predicate, text, from, to, false);
+    }
+
+    /**
+     * Returns the number of chars in the longest run of matching code points beginning at from and ending at or before to.
+     */
+    public static int spanCodePoints(final IntPredicate predicate,
+                                     final char[] text,
+                                     final int from,
+                                     final int to) {
+        final int mismatch = indexOfCodePoint(predicate, text, from, to, false);
+        return (-1 == mismatch ? to : mismatch) - from;
+    }
+
+    private static int indexOfCodePoint(final IntPredicate predicate,
+                                        final char[] text,
+                                        final int from,
+                                        final int to,
+                                        final boolean test) {
+        checkPredicate(predicate);
+        checkText(text);
+        checkFromTo(from, to, text.length);
+
+        if (predicate instanceof EbnfGrammarCodePointTrie) {
+            return ((EbnfGrammarCodePointTrie) predicate).indexOf(text, from, to, test);
+        }
+
+        int i = from;
+        while (i < to) {
+            final int codePoint = codePointAt(text, i, to);
+            if (test == predicate.test(codePoint)) {
+                return i;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the code points between from and to that match the predicate, where a surrogate pair counts once.
+     */
+    public static int countCodePoints(final IntPredicate predicate,
+                                      final char[] text,
+                                      final int from,
+                                      final int to) {
+        checkPredicate(predicate);
+        checkText(text);
+        checkFromTo(from, to, text.length);
+
+        if (predicate instanceof EbnfGrammarCodePointTrie) {
+            return ((EbnfGrammarCodePointTrie) predicate).count(text, from, to);
+        }
+
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            final int codePoint = codePointAt(text, i, to);
+            if (predicate.test(codePoint)) {
+                count++;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the code point at index, combining a surrogate pair only if the low surrogate is before to.
+     */
+    private static int codePointAt(final char[] text,
+                                   final int index,
+                                   final int to) {
+        final char c = text[index];
+        if (Character.isHighSurrogate(c) && index + 1 < to) {
+            final char low = text[index + 1];
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(c, low);
+            }
+        }
+        return c;
+    }
+
+    static void checkPredicate(final Object predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+    }
+
+    static void checkText(final Object text) {
+        Objects.requireNonNull(text, "text");
+    }
+
+    static void checkFromTo(final int from,
+                            final int to,
+                            final int length) {
+        if (from < 0 || from > length) {
+            throw new IllegalArgumentException("Invalid from " + from + " not between 0 and " + length);
+        }
+        if (to < from || to > length) {
+            throw new IllegalArgumentException("Invalid to " + to + " not between " + from + " and " + length);
+        }
+    }
+
     /**
      * Stop creation
      */
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A thread safe, size bounded cache of {@link EbnfGrammarCharPredicates#fromGrammar(GrammarEbnfParserToken, Map)}
+ * results. Grammars are compared by their rules, ignoring whitespace and comments, while predefined {@link CharPredicate}
+ * are compared by identity, as most predicates do not implement equals. The least recently used grammar is evicted once
+ * the cache is full.
+ * <br>
+ * Grammars that only differ in whitespace or comments share the predicates built from the first of them, whose
+ * {@link Object#toString()} may show the text of that grammar.
+ * <br>
+ * Callers asking for the same grammar while it is being built wait for that result rather than building it again.
+ * The hit, miss and eviction counters may be read at any time for monitoring.
+ */
+public final class EbnfGrammarCharPredicatesCache {
+
+    /**
+     * Creates an empty cache holding at most the given number of grammars.
+     */
+    public static EbnfGrammarCharPredicatesCache with(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid max size " + maxSize + " <= 0");
+        }
+        return new EbnfGrammarCharPredicatesCache(maxSize);
+    }
+
+    private EbnfGrammarCharPredicatesCache(final int maxSize) {
+        super();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+            private final static long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, EbnfGrammarCharPredicatesCache.Entry> eldest) {
+                final boolean remove = this.size() > EbnfGrammarCharPredicatesCache.this.maxSize;
+                if (remove) {
+                    EbnfGrammarCharPredicatesCache.this.evictions++;
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached predicates for the grammar and predefined, building them once if absent.
+     */
+    public Map<EbnfIdentifierName, CharPredicate> fromGrammar(final GrammarEbnfParserToken grammar,
+                                                              final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        Objects.requireNonNull(grammar, "grammar");
+        Objects.requireNonNull(predefined, "predefined");
+
+        final Key key = new Key(grammar, predefined);
+        final Entry entry;
+
+        synchronized (this) {
+            Entry existing = this.entries.get(key);
+            if (null == existing) {
+                existing = new Entry();
+                this.entries.put(key, existing);
+                this.misses++;
+            } else {
+                this.hits++;
+            }
+            entry = existing;
+        }
+
+        try {
+            return entry.predicates(grammar, predefined);
+        } catch (final RuntimeException failed) {
+            synchronized (this) {
+                if (this.entries.get(key) == entry) {
+                    this.entries.remove(key);
+                }
+            }
+            throw failed;
+        }
+    }
+
+    /**
+     * The number of grammars currently cached.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * The number of calls that found their grammar already cached or being built.
+     */
+    public synchronized long hits() {
+        return this.hits;
+    }
+
+    private long hits;
+
+    /**
+     * The number of calls that had to build their grammar.
+     */
+    public synchronized long misses() {
+        return this.misses;
+    }
+
+    private long misses;
+
+    /**
+     * The number of grammars removed to make room for another.
+     */
+    public synchronized long evictions() {
+        return this.evictions;
+    }
+
+    private long evictions;
+
+    /**
+     * Removes all cached grammars, leaving the counters unchanged.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    private final int maxSize;
+
+    /**
+     * Guarded by this cache and kept in access order for eviction.
+     */
+    private final LinkedHashMap<Key, Entry> entries;
+
+    @Override
+    public synchronized String toString() {
+        return "size=" + this.entries.size() +
+                " maxSize=" + this.maxSize +
+                " hits=" + this.hits +
+                " misses=" + this.misses +
+                " evictions=" + this.evictions;
+    }
+
+    /**
+     * Identifies a grammar by its structure and the predefined predicates by identity.
+     */
+    private final static class Key {
+
+        Key(final GrammarEbnfParserToken grammar,
+            final Map<EbnfIdentifierName, CharPredicate> predefined) {
+            this.structure = StructureGrammarEbnfParserTokenVisitor.structure(grammar);
+
+            // copied so later changes to the given map do not change this key
+            final Map<EbnfIdentifierName, CharPredicate> copy = Maps.hash();
+            copy.putAll(predefined);
+            this.predefined = copy;
+
+            int hashCode = this.structure.hashCode();
+            for (final Map.Entry<EbnfIdentifierName, CharPredicate> nameAndPredicate : predefined.entrySet()) {
+                hashCode += nameAndPredicate.getKey().hashCode() ^ System.identityHashCode(nameAndPredicate.getValue());
+            }
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        private final int hashCode;
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other ||
+                    other instanceof Key && this.equals0((Key) other);
+        }
+
+        private boolean equals0(final Key other) {
+            return this.hashCode == other.hashCode &&
+                    this.structure.equals(other.structure) &&
+                    this.predefinedEquals(other.predefined);
+        }
+
+        private boolean predefinedEquals(final Map<EbnfIdentifierName, CharPredicate> other) {
+            boolean equals = this.predefined.size() == other.size();
+
+            if (equals) {
+                for (final Map.Entry<EbnfIdentifierName, CharPredicate> nameAndPredicate : this.predefined.entrySet()) {
+                    if (other.get(nameAndPredicate.getKey()) != nameAndPredicate.getValue()) {
+                        equals = false;
+                        break;
+                    }
+                }
+            }
+
+            return equals;
+        }
+
+        /**
+         * The rules of the grammar without whitespace and comments.
+         */
+        private final String structure;
+
+        private final Map<EbnfIdentifierName, CharPredicate> predefined;
+
+        @Override
+        public String toString() {
+            return this.structure;
+        }
+    }
+
+    /**
+     * Holds the predicates for a single grammar, which are built by the first caller while others wait.
+     */
+    private final static class Entry {
+
+        synchronized Map<EbnfIdentifierName, CharPredicate> predicates(final GrammarEbnfParserToken grammar,
+                                                                       final Map<EbnfIdentifierName, CharPredicate> predefined) {
+            Map<EbnfIdentifierName, CharPredicate> predicates = this.predicates;
+            if (null == predicates) {
+                predicates = EbnfGrammarCharPredicates.fromGrammar(grammar, predefined);
+                this.predicates = predicates;
+            }
+            return predicates;
+        }
+
+        private Map<EbnfIdentifierName, CharPredicate> predicates;
+
+        @Override
+        public String toString() {
+            return String.valueOf(this.predicates);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * An {@link IntPredicate} holding a set of code points as sorted, disjoint and non adjacent ranges, the code point
+ * equivalent of {@link EbnfGrammarCharPredicateRanges}. It is used while visiting a grammar to combine rules with set
+ * operations, before each rule is compiled into a {@link EbnfGrammarCodePointTrie}.
+ */
+final class EbnfGrammarCodePointRanges implements IntPredicate {
+
+    /**
+     * Returns the given {@link IntPredicate} as ranges, reading the bitmaps of a trie or otherwise testing every code
+     * point if it is not already ranges.
+     */
+    static EbnfGrammarCodePointRanges with(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+
+        return predicate instanceof EbnfGrammarCodePointRanges ?
+                (EbnfGrammarCodePointRanges) predicate :
+                predicate instanceof EbnfGrammarCodePointTrie ?
+                        trie((EbnfGrammarCodePointTrie) predicate) :
+                        probe(predicate);
+    }
+
+    /**
+     * Rebuilds the ranges of a trie from the runs of set bits in each of its bitmaps.
+     */
+    private static EbnfGrammarCodePointRanges trie(final EbnfGrammarCodePointTrie trie) {
+        final Builder builder = new Builder(16);
+        final int count = (Character.MAX_CODE_POINT + 1) >> 6;
+
+        for (int run = 0; run < count; run++) {
+            long bitmap = trie.bitmap(run);
+            final int base = run << 6;
+
+            while (0 != bitmap) {
+                final int begin = Long.numberOfTrailingZeros(bitmap);
+                final long clear = ~(bitmap >>> begin);
+                final int end = 0 == clear ?
+                        64 :
+                        begin + Long.numberOfTrailingZeros(clear);
+
+                builder.add(base + begin, base + end - 1);
+                bitmap = end == 64 ?
+                        0 :
+                        bitmap & (-1L << end);
+            }
+        }
+
+        return builder.build(trie.toString());
+    }
+
+    private static EbnfGrammarCodePointRanges probe(final IntPredicate predicate) {
+        final Builder builder = new Builder(16);
+
+        for (int c = 0; c <= Character.MAX_CODE_POINT; c++) {
+            if (predicate.test(c)) {
+                builder.add(c, c);
+            }
+        }
+
+        return builder.build(predicate.toString());
+    }
+
+    /**
+     * Creates ranges holding all the code points in the given text, where a high surrogate followed by a low surrogate
+     * is a single supplementary code point. Any other surrogate is taken as is.
+     */
+    static EbnfGrammarCodePointRanges codePoints(final CharSequence text,
+                                                 final String toString) {
+        final int length = text.length();
+        final int[] codePoints = new int[length];
+        int count = 0;
+
+        for (int i = 0; i < length; ) {
+            final int codePoint = codePointAt(text, i, length);
+            codePoints[count++] = codePoint;
+            i += Character.charCount(codePoint);
+        }
+
+        Arrays.sort(codePoints, 0, count);
+
+        final Builder builder = new Builder(count * 2);
+        for (int i = 0; i < count; i++) {
+            builder.add(codePoints[i], codePoints[i]);
+        }
+        return builder.build(toString);
+    }
+
+    /**
+     * Returns the code point at index, combining a surrogate pair only if the low surrogate is before to.
+     */
+    static int codePointAt(final CharSequence text,
+                           final int index,
+                           final int to) {
+        final char c = text.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < to) {
+            final char low = text.charAt(index + 1);
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(c, low);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Creates a single range, failing if either is not a code point or begin is after end.
+     */
+    static EbnfGrammarCodePointRanges range(final int begin,
+                                            final int end,
+                                            final String toString) {
+        if (begin < 0 || end > Character.MAX_CODE_POINT || begin > end) {
+            throw new IllegalArgumentException("Invalid range begin " + begin + " end " + end + " in " + toString);
+        }
+        return new EbnfGrammarCodePointRanges(
+                new int[]{begin, end},
+                toString
+        );
+    }
+
+    private EbnfGrammarCodePointRanges(final int[] ranges,
+                                       final String toString) {
+        super();
+        this.ranges = ranges;
+        this.toString = toString;
+    }
+
+    // IntPredicate.....................................................................................................
+
+    @Override
+    public boolean test(final int codePoint) {
+        final int[] ranges = this.ranges;
+
+        int low = 0;
+        int high = (ranges.length >> 1) - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int begin = mid << 1;
+
+            if (codePoint < ranges[begin]) {
+                high = mid - 1;
+            } else {
+                if (codePoint <= ranges[begin + 1]) {
+                    return true;
+                }
+                low = mid + 1;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns ranges sharing the same code points with a new {@link #toString()}.
+     */
+    EbnfGrammarCodePointRanges setToString(final String toString) {
+        Objects.requireNonNull(toString, "toString");
+
+        return this.toString.equals(toString) ?
+                this :
+                new EbnfGrammarCodePointRanges(
+                        this.ranges,
+                        toString
+                );
+    }
+
+    // set operations...................................................................................................
+
+    /**
+     * Returns the union of these and the other ranges.
+     */
+    EbnfGrammarCodePointRanges union(final EbnfGrammarCodePointRanges other,
+                                     final String toString) {
+        final int[] left = this.ranges;
+        final int[] right = other.ranges;
+        final Builder builder = new Builder(left.length + right.length);
+
+        int l = 0;
+        int r = 0;
+        while (l < left.length || r < right.length) {
+            if (r == right.length || (l < left.length && left[l] <= right[r])) {
+                builder.add(left[l], left[l + 1]);
+                l += 2;
+            } else {
+                builder.add(right[r], right[r + 1]);
+                r += 2;
+            }
+        }
+
+        return builder.build(toString);
+    }
+
+    /**
+     * Returns the code points in these ranges that are not in the other ranges.
+     */
+    EbnfGrammarCodePointRanges difference(final EbnfGrammarCodePointRanges other,
+                                          final String toString) {
+        final int[] left = this.ranges;
+        final int[] right = other.ranges;
+        final Builder builder = new Builder(left.length + right.length);
+
+        int r = 0;
+        for (int l = 0; l < left.length; l += 2) {
+            int begin = left[l];
+            final int end = left[l + 1];
+
+            // skip ranges that end before this range
+            while (r < right.length && right[r + 1] < begin) {
+                r += 2;
+            }
+
+            for (int i = r; i < right.length && right[i] <= end && begin <= end; i += 2) {
+                if (right[i] > begin) {
+                    builder.add(begin, right[i] - 1);
+                }
+                begin = Math.max(begin, right[i + 1] + 1);
+            }
+
+            if (begin <= end) {
+                builder.add(begin, end);
+            }
+        }
+
+        return builder.build(toString);
+    }
+
+    /**
+     * The begin and end of each range, one after the other. This array must never be modified.
+     */
+    final int[] ranges;
+
+    @Override
+    public String toString() {
+        return this.toString;
+    }
+
+    private final String toString;
+
+    /**
+     * Accumulates ranges which must be added in ascending begin order, merging those that overlap or touch.
+     */
+    private final static class Builder {
+
+        Builder(final int capacity) {
+            this.ranges = new int[Math.max(2, capacity)];
+        }
+
+        void add(final int begin,
+                 final int end) {
+            final int length = this.length;
+
+            if (length > 0 && begin <= this.ranges[length - 1] + 1) {
+                if (end > this.ranges[length - 1]) {
+                    this.ranges[length - 1] = end;
+                }
+            } else {
+                if (length == this.ranges.length) {
+                    this.ranges = Arrays.copyOf(this.ranges, length * 2);
+                }
+                this.ranges[length] = begin;
+                this.ranges[length + 1] = end;
+                this.length = length + 2;
+            }
+        }
+
+        EbnfGrammarCodePointRanges build(final String toString) {
+            return new EbnfGrammarCodePointRanges(
+                    Arrays.copyOf(this.ranges, this.length),
+                    toString
+            );
+        }
+
+        private int[] ranges;
+
+        private int length;
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.collect.map.Maps;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * An {@link IntPredicate} answering every code point up to {@link Character#MAX_CODE_POINT} with three array loads.
+ * <ol>
+ * <li>The top bits of the code point select one of 1088 blocks of 1024 code points.</li>
+ * <li>Each block holds 16 indices, one for each run of 64 code points.</li>
+ * <li>Each index selects a long holding a bit for each of those 64 code points.</li>
+ * </ol>
+ * Identical blocks and identical longs are stored once, so the unassigned planes and the long runs of all or nothing
+ * typical of grammars share a single entry, and most predicates need only a few kilobytes. ASCII is also held in two
+ * longs so the bulk scanners answer it without leaving their loop.
+ */
+final class EbnfGrammarCodePointTrie implements IntPredicate {
+
+    /**
+     * The number of code points in each bitmap, and the shift selecting a bitmap.
+     */
+    private final static int BITMAP_SHIFT = 6;
+
+    /**
+     * The shift selecting a block of bitmaps.
+     */
+    private final static int BLOCK_SHIFT = 10;
+
+    private final static int BITMAPS_PER_BLOCK = 1 << (BLOCK_SHIFT - BITMAP_SHIFT);
+
+    private final static int BLOCK_COUNT = (Character.MAX_CODE_POINT + 1) >> BLOCK_SHIFT;
+
+    /**
+     * Compiles the ranges into a trie, keeping their {@link #toString()}.
+     */
+    static EbnfGrammarCodePointTrie with(final EbnfGrammarCodePointRanges ranges) {
+        final long[] all = bitmaps(ranges.ranges);
+
+        // share identical bitmaps
+        final Map<Long, Integer> bitmapToIndex = Maps.hash();
+        long[] bitmaps = new long[16];
+        int bitmapCount = 0;
+
+        final char[] bitmapIndices = new char[all.length];
+        for (int i = 0; i < all.length; i++) {
+            final Long bitmap = all[i];
+            Integer index = bitmapToIndex.get(bitmap);
+            if (null == index) {
+                if (bitmapCount == bitmaps.length) {
+                    bitmaps = Arrays.copyOf(bitmaps, bitmapCount * 2);
+                }
+                bitmaps[bitmapCount] = bitmap;
+                index = bitmapCount;
+                bitmapToIndex.put(bitmap, index);
+                bitmapCount++;
+            }
+            bitmapIndices[i] = (char) index.intValue();
+        }
+
+        // share identical blocks, using the block as a String key
+        final Map<String, Integer> blockToOffset = Maps.hash();
+        char[] blocks = new char[BITMAPS_PER_BLOCK * 4];
+        int blocksLength = 0;
+
+        final char[] index = new char[BLOCK_COUNT];
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            final String block = new String(bitmapIndices, i * BITMAPS_PER_BLOCK, BITMAPS_PER_BLOCK);
+            Integer offset = blockToOffset.get(block);
+            if (null == offset) {
+                if (blocksLength == blocks.length) {
+                    blocks = Arrays.copyOf(blocks, blocksLength * 2);
+                }
+                block.getChars(0, BITMAPS_PER_BLOCK, blocks, blocksLength);
+                offset = blocksLength;
+                blockToOffset.put(block, offset);
+                blocksLength += BITMAPS_PER_BLOCK;
+            }
+            index[i] = (char) offset.intValue();
+        }
+
+        return new EbnfGrammarCodePointTrie(
+                ranges.toString(),
+                index,
+                Arrays.copyOf(blocks, blocksLength),
+                Arrays.copyOf(bitmaps, bitmapCount)
+        );
+    }
+
+    /**
+     * Returns a long for every 64 code points, with a bit set for each code point within the ranges.
+     */
+    private static long[] bitmaps(final int[] ranges) {
+        final long[] bitmaps = new long[(Character.MAX_CODE_POINT + 1) >> BITMAP_SHIFT];
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            final int begin = ranges[i];
+            final int end = ranges[i + 1];
+
+            for (int bitmap = begin >> BITMAP_SHIFT; bitmap <= end >> BITMAP_SHIFT; bitmap++) {
+                final int first = Math.max(begin, bitmap << BITMAP_SHIFT) & 63;
+                final int last = Math.min(end, (bitmap << BITMAP_SHIFT) + 63) & 63;
+                bitmaps[bitmap] |= (-1L << first) & (-1L >>> (63 - last));
+            }
+        }
+
+        return bitmaps;
+    }
+
+    private EbnfGrammarCodePointTrie(final String toString,
+                                     final char[] index,
+                                     final char[] blocks,
+                                     final long[] bitmaps) {
+        super();
+        this.toString = toString;
+        this.index = index;
+        this.blocks = blocks;
+        this.bitmaps = bitmaps;
+        this.ascii0 = bitmaps[blocks[index[0]]];
+        this.ascii1 = bitmaps[blocks[index[0] + 1]];
+    }
+
+    // IntPredicate.....................................................................................................
+
+    @Override
+    public boolean test(final int codePoint) {
+        return codePoint < 128 ?
+                codePoint >= 0 && ((codePoint < 64 ? this.ascii0 : this.ascii1) >>> codePoint & 1) != 0 :
+                codePoint <= Character.MAX_CODE_POINT && this.testNonAscii(codePoint);
+    }
+
+    /**
+     * Returns the bitmap of the given run of 64 code points, where 0 holds code points 0 to 63.
+     */
+    long bitmap(final int run) {
+        return this.bitmaps[this.blocks[this.index[run >> (BLOCK_SHIFT - BITMAP_SHIFT)] + (run & (BITMAPS_PER_BLOCK - 1))]];
+    }
+
+    /**
+     * The shift of a long only uses the bottom 6 bits of the code point, selecting its bit within the bitmap.
+     */
+    private boolean testNonAscii(final int codePoint) {
+        return (this.bitmaps[this.blocks[this.index[codePoint >> BLOCK_SHIFT] + (codePoint >> BITMAP_SHIFT & (BITMAPS_PER_BLOCK - 1))]] >>> codePoint & 1) != 0;
+    }
+
+    // bulk.............................................................................................................
+
+    /**
+     * Returns the index of the first code point between from and to whose test result equals the given test, or -1.
+     * A surrogate pair is tested as a single supplementary code point, and its index is that of the high surrogate.
+     */
+    int indexOf(final CharSequence text,
+                final int from,
+                final int to,
+                final boolean test) {
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+
+        int i = from;
+        while (i < to) {
+            final char c = text.charAt(i);
+            int next = i + 1;
+            final boolean result;
+
+            if (c < 128) {
+                result = ((c < 64 ? ascii0 : ascii1) >>> c & 1) != 0;
+            } else {
+                int codePoint = c;
+                if (Character.isHighSurrogate(c) && next < to) {
+                    final char low = text.charAt(next);
+                    if (Character.isLowSurrogate(low)) {
+                        codePoint = Character.toCodePoint(c, low);
+                        next++;
+                    }
+                }
+                result = this.testNonAscii(codePoint);
+            }
+
+            if (test == result) {
+                return i;
+            }
+            i = next;
+        }
+        return -1;
+    }
+
+    /**
+     * {@see #indexOf(CharSequence, int, int, boolean)}
+     */
+    int indexOf(final char[] text,
+                final int from,
+                final int to,
+                final boolean test) {
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+
+        int i = from;
+        while (i < to) {
+            final char c = text[i];
+            int next = i + 1;
+            final boolean result;
+
+            if (c < 128) {
+                result = ((c < 64 ? ascii0 : ascii1) >>> c & 1) != 0;
+            } else {
+                int codePoint = c;
+                if (Character.isHighSurrogate(c) && next < to) {
+                    final char low = text[next];
+                    if (Character.isLowSurrogate(low)) {
+                        codePoint = Character.toCodePoint(c, low);
+                        next++;
+                    }
+                }
+                result = this.testNonAscii(codePoint);
+            }
+
+            if (test == result) {
+                return i;
+            }
+            i = next;
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the matching code points between from and to, where a surrogate pair counts once.
+     */
+    int count(final CharSequence text,
+              final int from,
+              final int to) {
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+        int count = 0;
+
+        int i = from;
+        while (i < to) {
+            final char c = text.charAt(i);
+            i++;
+
+            if (c < 128) {
+                count += (int) ((c < 64 ? ascii0 : ascii1) >>> c & 1);
+            } else {
+                int codePoint = c;
+                if (Character.isHighSurrogate(c) && i < to) {
+                    final char low = text.charAt(i);
+                    if (Character.isLowSurrogate(low)) {
+                        codePoint = Character.toCodePoint(c, low);
+                        i++;
+                    }
+                }
+                if (this.testNonAscii(codePoint)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@see #count(CharSequence, int, int)}
+     */
+    int count(final char[] text,
+              final int from,
+              final int to) {
+        final long ascii0 = this.ascii0;
+        final long ascii1 = this.ascii1;
+        int count = 0;
+
+        int i = from;
+        while (i < to) {
+            final char c = text[i];
+            i++;
+
+            if (c < 128) {
+                count += (int) ((c < 64 ? ascii0 : ascii1) >>> c & 1);
+            } else {
+                int codePoint = c;
+                if (Character.isHighSurrogate(c) && i < to) {
+                    final char low = text[i];
+                    if (Character.isLowSurrogate(low)) {
+                        codePoint = Character.toCodePoint(c, low);
+                        i++;
+                    }
+                }
+                if (this.testNonAscii(codePoint)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The offset into {@link #blocks} for each block of 1024 code points.
+     */
+    private final char[] index;
+
+    /**
+     * Blocks of 16 indices into {@link #bitmaps}, one for each 64 code points.
+     */
+    private final char[] blocks;
+
+    /**
+     * The unique bitmaps.
+     */
+    private final long[] bitmaps;
+
+    /**
+     * Code points 0 to 63 inclusive.
+     */
+    private final long ascii0;
+
+    /**
+     * Code points 64 to 127 inclusive.
+     */
+    private final long ascii1;
+
+    /**
+     * The number of bytes used by the arrays of this trie, ignoring the ranges and object headers.
+     */
+    int size() {
+        return this.index.length * 2 + this.blocks.length * 2 + this.bitmaps.length * 8;
+    }
+
+    @Override
+    public String toString() {
+        return this.toString;
+    }
+
+    private final String toString;
+}
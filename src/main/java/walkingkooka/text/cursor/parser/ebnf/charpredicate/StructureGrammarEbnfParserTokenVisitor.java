@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.parser.ebnf.AlternativeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.ConcatenationEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserTokenVisitor;
+import walkingkooka.text.cursor.parser.ebnf.ExceptionEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.IdentifierEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.OptionalEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RangeEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RepeatedEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.TerminalEbnfParserToken;
+import walkingkooka.visit.Visiting;
+
+/**
+ * Writes the structure of a grammar as text, each rule name followed by its right hand side, leaving out whitespace,
+ * comments and groups, which never change the predicates built from it. Two grammars with the same structure build the
+ * same predicates, so {@link EbnfGrammarCharPredicatesCache} compares grammars by their structure.
+ */
+final class StructureGrammarEbnfParserTokenVisitor extends EbnfParserTokenVisitor {
+
+    static String structure(final GrammarEbnfParserToken grammar) {
+        final StructureGrammarEbnfParserTokenVisitor visitor = new StructureGrammarEbnfParserTokenVisitor();
+        visitor.accept(grammar);
+        return visitor.structure.toString();
+    }
+
+    private StructureGrammarEbnfParserTokenVisitor() {
+        super();
+    }
+
+    @Override
+    protected void endVisit(final RuleEbnfParserToken token) {
+        this.structure.append(";\n");
+    }
+
+    @Override
+    protected Visiting startVisit(final AlternativeEbnfParserToken token) {
+        return this.start("|");
+    }
+
+    @Override
+    protected void endVisit(final AlternativeEbnfParserToken token) {
+        this.end();
+    }
+
+    @Override
+    protected Visiting startVisit(final ConcatenationEbnfParserToken token) {
+        return this.start(",");
+    }
+
+    @Override
+    protected void endVisit(final ConcatenationEbnfParserToken token) {
+        this.end();
+    }
+
+    @Override
+    protected Visiting startVisit(final ExceptionEbnfParserToken token) {
+        return this.start("-");
+    }
+
+    @Override
+    protected void endVisit(final ExceptionEbnfParserToken token) {
+        this.end();
+    }
+
+    @Override
+    protected Visiting startVisit(final OptionalEbnfParserToken token) {
+        return this.start("[]");
+    }
+
+    @Override
+    protected void endVisit(final OptionalEbnfParserToken token) {
+        this.end();
+    }
+
+    @Override
+    protected Visiting startVisit(final RangeEbnfParserToken token) {
+        return this.start("..");
+    }
+
+    @Override
+    protected void endVisit(final RangeEbnfParserToken token) {
+        this.end();
+    }
+
+    @Override
+    protected Visiting startVisit(final RepeatedEbnfParserToken token) {
+        return this.start("{}");
+    }
+
+    @Override
+    protected void endVisit(final RepeatedEbnfParserToken token) {
+        this.end();
+    }
+
+    @Override
+    protected void visit(final IdentifierEbnfParserToken token) {
+        this.structure.append(token.value())
+                .append(' ');
+    }
+
+    @Override
+    protected void visit(final TerminalEbnfParserToken token) {
+        this.structure.append(CharSequences.quoteAndEscape(token.value()))
+                .append(' ');
+    }
+
+    private Visiting start(final String operator) {
+        this.structure.append(operator)
+                .append('(');
+        return Visiting.CONTINUE;
+    }
+
+    private void end() {
+        this.structure.append(") ");
+    }
+
+    private final StringBuilder structure = new StringBuilder();
+
+    @Override
+    public String toString() {
+        return this.structure.toString();
+    }
+}
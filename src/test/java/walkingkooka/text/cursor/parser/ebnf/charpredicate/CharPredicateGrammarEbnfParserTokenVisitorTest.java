@@ -20,6 +20,7 @@ package walkingkooka.text.cursor.parser.ebnf.charpredicate;
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.predicate.character.CharPredicate;
 import walkingkooka.predicate.character.CharPredicateTesting;
 import walkingkooka.predicate.character.CharPredicates;
@@ -37,11 +38,17 @@ import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
 import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public final class CharPredicateGrammarEbnfParserTokenVisitorTest implements CharPredicateTesting<CharPredicate>,
@@ -79,6 +86,115 @@ public final class CharPredicateGrammarEbnfParserTokenVisitorTest implements Cha
         this.readGrammarAndCheck();
     }
 
+    @Test
+    public void testIdentifierForwardReferenceResolved() {
+        final Map<EbnfIdentifierName, CharPredicate> all = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                this.grammar("testIdentifierForwardReference.grammar"),
+                Maps.empty()
+        );
+
+        for (final CharPredicate predicate : all.values()) {
+            assertTrue(
+                    predicate instanceof EbnfGrammarCharPredicateRanges,
+                    () -> "not ranges " + predicate
+            );
+        }
+    }
+
+    @Test
+    public void testIdentifierForwardReferenceGrammarOrder() {
+        final Map<EbnfIdentifierName, CharPredicate> all = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                this.grammar("testIdentifierForwardReference.grammar"),
+                Maps.empty()
+        );
+
+        this.checkEquals(
+                Lists.of(
+                        EbnfIdentifierName.with("ABC"),
+                        TEST,
+                        EbnfIdentifierName.with("DEF")
+                ),
+                new ArrayList<>(all.keySet())
+        );
+    }
+
+    @Test
+    public void testIdentifierCycleFails() {
+        this.fromGrammarFails(
+                "TEST = \"A\" | OTHER;\n" +
+                        "OTHER = \"B\" | TEST;",
+                "Rule TEST references itself [TEST, OTHER]"
+        );
+    }
+
+    @Test
+    public void testIdentifierSelfReferenceFails() {
+        this.fromGrammarFails(
+                "A = \"a\";\n" +
+                        "TEST = A | TEST;",
+                "Rule TEST references itself [TEST]"
+        );
+    }
+
+    @Test
+    public void testIdentifierCycleFailsBeforeBuilding() {
+        this.fromGrammarFails(
+                "TEST = \"z\" .. \"a\";\n" +
+                        "A = B;\n" +
+                        "B = A;",
+                "Rule A references itself [A, B]"
+        );
+    }
+
+    @Test
+    public void testIdentifierLongChain() {
+        final int length = 20000;
+        final StringBuilder grammar = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            grammar.append("R").append(i).append(" = R").append(i + 1).append(" | \"").append((char) ('a' + i % 26)).append("\";\n");
+        }
+        grammar.append("R").append(length).append(" = \"0\";");
+
+        final CharPredicate predicate = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(grammar.toString()),
+                Maps.empty()
+        ).get(EbnfIdentifierName.with("R0"));
+
+        this.testTrue(predicate, '0');
+        this.testTrue(predicate, 'z');
+        this.testFalse(predicate, 'A');
+    }
+
+    @Test
+    public void testIdentifierLongChainPredefined() {
+        final int length = 5000;
+        final StringBuilder grammar = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            grammar.append("R").append(i).append(" = R").append(i + 1).append(" | \"").append((char) ('a' + i % 26)).append("\";\n");
+        }
+        grammar.append("R").append(length).append(" = ATSIGN;");
+
+        final Map<EbnfIdentifierName, CharPredicate> all = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(grammar.toString()),
+                Maps.of(ATSIGN, CharPredicates.is('\u00e9'))
+        );
+
+        for (final CharPredicate predicate : all.values()) {
+            if (predicate instanceof EbnfGrammarCharPredicateAscii) {
+                assertTrue(
+                        ((EbnfGrammarCharPredicateAscii) predicate).depth <= CharPredicateGrammarEbnfParserTokenVisitor.MAX_DEPTH,
+                        () -> "depth " + predicate
+                );
+            }
+        }
+
+        final CharPredicate predicate = all.get(EbnfIdentifierName.with("R0"));
+        this.testTrue(predicate, '\u00e9');
+        this.testTrue(predicate, 'z');
+        this.testFalse(predicate, '\u00e8');
+        this.toStringAndCheck(predicate, "R0");
+    }
+
     @Test
     public void testIdentifierUnknownFail() {
         assertThrows(EbnfGrammarParserTokenInvalidReferencesException.class, this::createCharPredicate0);
@@ -94,6 +210,50 @@ public final class CharPredicateGrammarEbnfParserTokenVisitorTest implements Cha
         assertThrows(IllegalArgumentException.class, this::createCharPredicate0);
     }
 
+    @Test
+    public void testRangeBoundCycleFails() {
+        this.fromGrammarFails(
+                "TEST = A .. \"z\";\n" +
+                        "A = B;\n" +
+                        "B = A;",
+                "Rule A references itself [A, B]"
+        );
+    }
+
+    @Test
+    public void testRangeBoundPredefinedFails() {
+        this.fromGrammarFails(
+                "TEST = ATSIGN .. \"z\";",
+                "Invalid range bound, predefined ATSIGN is not a terminal"
+        );
+    }
+
+    @Test
+    public void testRangeBoundLongChain() {
+        final int length = 20000;
+        final StringBuilder grammar = new StringBuilder();
+        grammar.append("TEST = R0 .. \"z\";\n");
+        grammar.append("OTHER = \"0\" .. R0;\n");
+        for (int i = 0; i < length; i++) {
+            grammar.append("R").append(i).append(" = R").append(i + 1).append(";\n");
+        }
+        grammar.append("R").append(length).append(" = \"x\";");
+
+        final Map<EbnfIdentifierName, CharPredicate> all = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(grammar.toString()),
+                Maps.empty()
+        );
+
+        final CharPredicate test = all.get(TEST);
+        this.testTrue(test, 'x');
+        this.testTrue(test, 'z');
+        this.testFalse(test, 'w');
+
+        final CharPredicate other = all.get(EbnfIdentifierName.with("OTHER"));
+        this.testTrue(other, 'x');
+        this.testFalse(other, 'y');
+    }
+
     @Test
     public void testRange() {
         this.readGrammarAndCheck();
@@ -118,6 +278,20 @@ public final class CharPredicateGrammarEbnfParserTokenVisitorTest implements Cha
         this.readGrammarAndCheck();
     }
 
+    @Test
+    public void testExceptionSetDifference() {
+        final CharPredicate test = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                this.grammar("testException.grammar"),
+                Maps.empty()
+        ).get(TEST);
+
+        assertArrayEquals(
+                new char[]{'A', 'C'},
+                ((EbnfGrammarCharPredicateRanges) test).ranges
+        );
+        this.toStringAndCheck(test, TEST.toString());
+    }
+
     @Test
     public void testConcatenation() {
         assertThrows(UnsupportedOperationException.class, this::createCharPredicate0);
@@ -138,6 +312,467 @@ public final class CharPredicateGrammarEbnfParserTokenVisitorTest implements Cha
         this.readGrammarAndCheck();
     }
 
+    // simplify.........................................................................................................
+
+    private final static CharPredicate AT = CharPredicates.is('@');
+
+    private final static EbnfIdentifierName ALL = EbnfIdentifierName.with("ALL");
+
+    @Test
+    public void testSimplifyGroupTerminalsAndRanges() {
+        this.simplifyAndCheck(
+                "TEST = (\"ABC\") | \"B\" .. \"D\" | \"Z\";",
+                'A', 'D', 'Z', 'Z'
+        );
+    }
+
+    @Test
+    public void testSimplifyExceptionSame() {
+        this.simplifyAndCheck("TEST = ATSIGN - ATSIGN;");
+    }
+
+    @Test
+    public void testSimplifyExceptionAll() {
+        this.simplifyAndCheck("TEST = ATSIGN - ALL;");
+    }
+
+    @Test
+    public void testSimplifyExceptionEmptyLeft() {
+        this.simplifyAndCheck("TEST = (\"A\" - \"A\") - ATSIGN;");
+    }
+
+    @Test
+    public void testSimplifyExceptionEmptyRight() {
+        final CharPredicate test = this.simplify("TEST = ATSIGN - (\"A\" - \"A\");");
+        this.testTrue(test, '@');
+        this.testFalse(test, 'A');
+        this.toStringAndCheck(test, TEST.toString());
+    }
+
+    @Test
+    public void testSimplifyAlternativesAll() {
+        this.simplifyAndCheck(
+                "TEST = ATSIGN | ALL - \"{\" .. \"~\" | \"{\" .. \"~\";",
+                '\u0000', '\uffff'
+        );
+    }
+
+    @Test
+    public void testSimplifyAlternativesEmptyRemoved() {
+        final CharPredicate test = this.simplify("TEST = (\"A\" - \"A\") | ATSIGN;");
+        this.testTrue(test, '@');
+        this.testFalse(test, 'A');
+        this.toStringAndCheck(test, TEST.toString());
+    }
+
+    @Test
+    public void testSimplifyAlternativesDuplicates() {
+        final CharPredicate test = this.simplify("TEST = ATSIGN | \"A\" | ATSIGN;");
+        this.testTrue(test, '@');
+        this.testTrue(test, 'A');
+        this.testFalse(test, 'B');
+        this.toStringAndCheck(test, TEST.toString());
+    }
+
+    @Test
+    public void testSimplifyRuleToStringUnchanged() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse("TEST = ATSIGN - ATSIGN;\nTEST2 = TEST | \"A\";"),
+                Maps.of(ATSIGN, AT)
+        );
+        this.toStringAndCheck(predicates.get(TEST), TEST.toString());
+        this.toStringAndCheck(predicates.get(EbnfIdentifierName.with("TEST2")), "TEST2");
+    }
+
+    private void simplifyAndCheck(final String grammar,
+                                  final char... ranges) {
+        final CharPredicate test = this.simplify(grammar);
+        assertArrayEquals(
+                ranges,
+                ((EbnfGrammarCharPredicateRanges) test).ranges
+        );
+        this.toStringAndCheck(test, TEST.toString());
+    }
+
+    private CharPredicate simplify(final String grammar) {
+        return CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(grammar),
+                Maps.of(
+                        ATSIGN, AT,
+                        ALL, EbnfGrammarCharPredicateRanges.range(Character.MIN_VALUE, Character.MAX_VALUE, "ALL")
+                )
+        ).get(TEST);
+    }
+
+    // roots.............................................................................................................
+
+    private final static String ROOTS = "A = \"a\";\n" +
+            "B = A | \"b\";\n" +
+            "C = \"c\" | ATSIGN;\n" +
+            "D = B | C;\n" +
+            "INVALID = \"z\" .. \"a\";\n" +
+            "CYCLE = \"x\" | CYCLE;";
+
+    @Test
+    public void testFromGrammarRootsNullRootsFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(EbnfParserToken.parse(ROOTS), Maps.empty(), null)
+        );
+    }
+
+    @Test
+    public void testFromGrammarRootsUnknownFails() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> this.fromGrammarRoots(ROOTS, EbnfIdentifierName.with("UNKNOWN"))
+        );
+        this.checkEquals("Unknown root UNKNOWN", thrown.getMessage());
+    }
+
+    @Test
+    public void testFromGrammarRootsUnknownReferenceFails() {
+        assertThrows(
+                EbnfGrammarParserTokenInvalidReferencesException.class,
+                () -> this.fromGrammarRoots(ROOTS + "\nE = UNKNOWN;", A)
+        );
+    }
+
+    @Test
+    public void testFromGrammarRoots() {
+        final Map<EbnfIdentifierName, CharPredicate> roots = this.fromGrammarRoots(ROOTS, D, A);
+
+        this.checkEquals(
+                Lists.of(D, A),
+                new ArrayList<>(roots.keySet())
+        );
+
+        final CharPredicate d = roots.get(D);
+        this.testTrue(d, 'a');
+        this.testTrue(d, 'b');
+        this.testTrue(d, 'c');
+        this.testTrue(d, '@');
+        this.testFalse(d, 'x');
+        this.toStringAndCheck(d, "D");
+
+        this.testTrue(roots.get(A), 'a');
+    }
+
+    @Test
+    public void testFromGrammarRootsSameAsFromGrammar() {
+        final Map<EbnfIdentifierName, CharPredicate> all = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(RECOMPILE),
+                Maps.of(ATSIGN, CharPredicates.is('@'))
+        );
+        final CharPredicate b = this.fromGrammarRoots(RECOMPILE, B).get(B);
+
+        for (char c = 0; c < 256; c++) {
+            this.checkEquals(all.get(B).test(c), b.test(c), "B " + c);
+        }
+    }
+
+    @Test
+    public void testFromGrammarRootsPredefined() {
+        final CharPredicate atSign = CharPredicates.is('@');
+
+        assertSame(
+                atSign,
+                CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                        EbnfParserToken.parse(ROOTS),
+                        Maps.of(ATSIGN, atSign),
+                        Sets.of(ATSIGN)
+                ).get(ATSIGN)
+        );
+    }
+
+    @Test
+    public void testFromGrammarRootsCycleFails() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> this.fromGrammarRoots(ROOTS, EbnfIdentifierName.with("CYCLE"))
+        );
+        this.checkEquals("Rule CYCLE references itself [CYCLE]", thrown.getMessage());
+    }
+
+    @Test
+    public void testFromGrammarRootsInvalidFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.fromGrammarRoots(ROOTS, EbnfIdentifierName.with("INVALID"))
+        );
+    }
+
+    private Map<EbnfIdentifierName, CharPredicate> fromGrammarRoots(final String grammar,
+                                                                    final EbnfIdentifierName... roots) {
+        return CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(grammar),
+                Maps.of(ATSIGN, CharPredicates.is('@')),
+                Sets.of(roots)
+        );
+    }
+
+    // fromGrammarAdaptive...............................................................................................
+
+    private final static String ADAPTIVE = "A = \"a\" | \"b\";\n" +
+            "B = \"c\" | ATSIGN | \"\\u00e9\" | LETTER;\n" +
+            "C = B | \"z\";";
+
+    @Test
+    public void testFromGrammarAdaptiveNullGrammarFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> CharPredicateGrammarEbnfParserTokenVisitor.fromGrammarAdaptive(null, Maps.empty())
+        );
+    }
+
+    @Test
+    public void testFromGrammarAdaptiveNullPredefinedFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> CharPredicateGrammarEbnfParserTokenVisitor.fromGrammarAdaptive(EbnfParserToken.parse(ADAPTIVE), null)
+        );
+    }
+
+    @Test
+    public void testFromGrammarAdaptiveRangesUnchanged() {
+        final Map<EbnfIdentifierName, CharPredicate> adaptive = this.fromGrammarAdaptive();
+
+        this.checkEquals(
+                EbnfGrammarCharPredicateRanges.class,
+                adaptive.get(EbnfIdentifierName.with("A")).getClass()
+        );
+    }
+
+    @Test
+    public void testFromGrammarAdaptiveSameResults() {
+        final Map<EbnfIdentifierName, CharPredicate> predefined = this.adaptivePredefined();
+        final Map<EbnfIdentifierName, CharPredicate> adaptive = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammarAdaptive(
+                EbnfParserToken.parse(ADAPTIVE),
+                predefined
+        );
+        final Map<EbnfIdentifierName, CharPredicate> predicates = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(ADAPTIVE),
+                predefined
+        );
+
+        this.checkEquals(predicates.keySet(), adaptive.keySet());
+
+        for (final EbnfIdentifierName name : predicates.keySet()) {
+            final CharPredicate expected = predicates.get(name);
+            final CharPredicate actual = adaptive.get(name);
+            this.checkEquals(expected.toString(), actual.toString(), "toString");
+
+            for (int i = 0; i < 65536; i++) {
+                final char c = (char) i;
+                this.checkEquals(
+                        expected.test(c),
+                        actual.test(c),
+                        () -> name + " test " + Integer.toHexString(c)
+                );
+            }
+        }
+    }
+
+    private Map<EbnfIdentifierName, CharPredicate> fromGrammarAdaptive() {
+        return CharPredicateGrammarEbnfParserTokenVisitor.fromGrammarAdaptive(
+                EbnfParserToken.parse(ADAPTIVE),
+                this.adaptivePredefined()
+        );
+    }
+
+    private Map<EbnfIdentifierName, CharPredicate> adaptivePredefined() {
+        return Maps.of(
+                ATSIGN, CharPredicates.is('@'),
+                EbnfIdentifierName.with("LETTER"), CharPredicates.range('\u0400', '\u04ff')
+        );
+    }
+
+    // fromGrammarInstrumented...........................................................................................
+
+    @Test
+    public void testFromGrammarInstrumentedNullInstrumentFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> CharPredicateGrammarEbnfParserTokenVisitor.fromGrammarInstrumented(
+                        EbnfParserToken.parse(ADAPTIVE),
+                        this.adaptivePredefined(),
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testFromGrammarInstrumented() {
+        final List<String> instrumented = Lists.array();
+        final Map<EbnfIdentifierName, CharPredicate> predefined = this.adaptivePredefined();
+
+        final Map<EbnfIdentifierName, CharPredicate> predicates = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammarInstrumented(
+                EbnfParserToken.parse(ADAPTIVE),
+                predefined,
+                new EbnfGrammarCharPredicateInstrument() {
+                    @Override
+                    public CharPredicate branch(final EbnfIdentifierName rule,
+                                                final CharPredicate branch) {
+                        instrumented.add("branch " + rule);
+                        return branch;
+                    }
+
+                    @Override
+                    public CharPredicate rule(final EbnfIdentifierName rule,
+                                              final CharPredicate predicate) {
+                        instrumented.add("rule " + rule);
+                        return predicate.setToString(rule.toString());
+                    }
+                }
+        );
+
+        this.checkEquals(
+                Lists.of(
+                        "branch B", "branch B", "branch B",
+                        "branch C", "branch C",
+                        "rule A", "rule B", "rule C"
+                ),
+                instrumented
+        );
+
+        final Map<EbnfIdentifierName, CharPredicate> expected = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(ADAPTIVE),
+                predefined
+        );
+        for (final EbnfIdentifierName name : expected.keySet()) {
+            this.checkEquals(expected.get(name).toString(), predicates.get(name).toString(), "toString");
+
+            for (int i = 0; i < 65536; i++) {
+                final char c = (char) i;
+                this.checkEquals(
+                        expected.get(name).test(c),
+                        predicates.get(name).test(c),
+                        () -> name + " test " + Integer.toHexString(c)
+                );
+            }
+        }
+    }
+
+    // recompile.........................................................................................................
+
+    private final static String RECOMPILE = "A = \"a\";\n" +
+            "B = A | \"b\";\n" +
+            "C = \"c\" | ATSIGN;\n" +
+            "D = \"d\";";
+
+    @Test
+    public void testRecompileNullPreviousFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> CharPredicateGrammarEbnfParserTokenVisitor.recompile(EbnfParserToken.parse(RECOMPILE), Maps.empty(), null, Sets.empty())
+        );
+    }
+
+    @Test
+    public void testRecompileNullChangedFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> CharPredicateGrammarEbnfParserTokenVisitor.recompile(EbnfParserToken.parse(RECOMPILE), Maps.empty(), Maps.empty(), null)
+        );
+    }
+
+    @Test
+    public void testRecompileNothingChanged() {
+        final Map<EbnfIdentifierName, CharPredicate> previous = this.recompileFromGrammar(RECOMPILE);
+        final Map<EbnfIdentifierName, CharPredicate> recompiled = this.recompile(RECOMPILE, previous);
+
+        this.checkEquals(previous.keySet(), recompiled.keySet());
+        for (final EbnfIdentifierName identifier : previous.keySet()) {
+            assertSame(previous.get(identifier), recompiled.get(identifier), identifier::toString);
+        }
+    }
+
+    @Test
+    public void testRecompileChangedRuleAndDependents() {
+        final Map<EbnfIdentifierName, CharPredicate> previous = this.recompileFromGrammar(RECOMPILE);
+        final Map<EbnfIdentifierName, CharPredicate> recompiled = this.recompile(
+                RECOMPILE.replace("A = \"a\"", "A = \"x\""),
+                previous,
+                EbnfIdentifierName.with("A")
+        );
+
+        assertNotSame(previous.get(A), recompiled.get(A), "A");
+        assertNotSame(previous.get(B), recompiled.get(B), "B");
+        assertSame(previous.get(C), recompiled.get(C), "C");
+        assertSame(previous.get(D), recompiled.get(D), "D");
+
+        this.testTrue(recompiled.get(B), 'x');
+        this.testFalse(recompiled.get(B), 'a');
+    }
+
+    @Test
+    public void testRecompileChangedPredefined() {
+        final Map<EbnfIdentifierName, CharPredicate> previous = this.recompileFromGrammar(RECOMPILE);
+        final Map<EbnfIdentifierName, CharPredicate> recompiled = CharPredicateGrammarEbnfParserTokenVisitor.recompile(
+                EbnfParserToken.parse(RECOMPILE),
+                Maps.of(ATSIGN, CharPredicates.is('#')),
+                previous,
+                Sets.of(ATSIGN)
+        );
+
+        assertSame(previous.get(A), recompiled.get(A), "A");
+        assertNotSame(previous.get(C), recompiled.get(C), "C");
+        this.testTrue(recompiled.get(C), '#');
+    }
+
+    @Test
+    public void testRecompileNewAndRemovedRules() {
+        final Map<EbnfIdentifierName, CharPredicate> previous = this.recompileFromGrammar(RECOMPILE);
+        final Map<EbnfIdentifierName, CharPredicate> recompiled = this.recompile(
+                RECOMPILE.replace("D = \"d\";", "E = \"e\";"),
+                previous
+        );
+
+        this.checkEquals(null, recompiled.get(D), "D removed");
+        this.testTrue(recompiled.get(EbnfIdentifierName.with("E")), 'e');
+        assertSame(previous.get(B), recompiled.get(B), "B");
+    }
+
+    private Map<EbnfIdentifierName, CharPredicate> recompileFromGrammar(final String grammar) {
+        return CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(grammar),
+                Maps.of(ATSIGN, CharPredicates.is('@'))
+        );
+    }
+
+    private Map<EbnfIdentifierName, CharPredicate> recompile(final String grammar,
+                                                             final Map<EbnfIdentifierName, CharPredicate> previous,
+                                                             final EbnfIdentifierName... changed) {
+        return CharPredicateGrammarEbnfParserTokenVisitor.recompile(
+                EbnfParserToken.parse(grammar),
+                Maps.of(ATSIGN, previous.get(ATSIGN)),
+                previous,
+                Sets.of(changed)
+        );
+    }
+
+    private final static EbnfIdentifierName ATSIGN = EbnfIdentifierName.with("ATSIGN");
+
+    private final static EbnfIdentifierName A = EbnfIdentifierName.with("A");
+
+    private final static EbnfIdentifierName B = EbnfIdentifierName.with("B");
+
+    private final static EbnfIdentifierName C = EbnfIdentifierName.with("C");
+
+    private final static EbnfIdentifierName D = EbnfIdentifierName.with("D");
+
+    private void fromGrammarFails(final String grammar,
+                                  final String message) {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                        EbnfParserToken.parse(grammar),
+                        Maps.of(ATSIGN, CharPredicates.is('@'))
+                )
+        );
+        this.checkEquals(message, thrown.getMessage());
+    }
+
     private void readGrammarAndCheck() {
         final CharPredicate predicate = this.createCharPredicate0();
         this.testTrue(predicate, 'A');
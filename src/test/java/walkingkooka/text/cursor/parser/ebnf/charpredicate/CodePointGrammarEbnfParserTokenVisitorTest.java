@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfGrammarParserTokenInvalidReferencesException;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CodePointGrammarEbnfParserTokenVisitorTest implements ClassTesting2<CodePointGrammarEbnfParserTokenVisitor> {
+
+    private final static EbnfIdentifierName TEST = EbnfIdentifierName.with("TEST");
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    private final static int GRINNING = 0x1F600;
+
+    @Test
+    public void testFromGrammarNullGrammarFails() {
+        assertThrows(NullPointerException.class, () -> CodePointGrammarEbnfParserTokenVisitor.fromGrammar(null, Maps.empty()));
+    }
+
+    @Test
+    public void testFromGrammarNullPredefinedFails() {
+        assertThrows(NullPointerException.class, () -> CodePointGrammarEbnfParserTokenVisitor.fromGrammar(EbnfParserToken.parse("TEST = \"A\";"), null));
+    }
+
+    @Test
+    public void testTerminal() {
+        this.fromGrammarAndCheck(
+                "TEST = \"A\uD83D\uDE00B\";",
+                'A', 'B',
+                GRINNING, GRINNING
+        );
+    }
+
+    @Test
+    public void testRange() {
+        this.fromGrammarAndCheck(
+                "TEST = \"\uD83D\uDE00\" .. \"\uD83D\uDE4F\";",
+                GRINNING, 0x1F64F
+        );
+    }
+
+    @Test
+    public void testRangeBmpToSupplementary() {
+        this.fromGrammarAndCheck(
+                "TEST = \"\uFFFE\" .. \"\uD800\uDC01\";",
+                0xFFFE, 0x10001
+        );
+    }
+
+    @Test
+    public void testRangeIdentifierBounds() {
+        this.fromGrammarAndCheck(
+                "TEST = BEGIN .. END;\n" +
+                        "BEGIN = \"\uD83D\uDE00\";\n" +
+                        "END = \"\uD83D\uDE01\";",
+                GRINNING, GRINNING + 1
+        );
+    }
+
+    @Test
+    public void testRangeBeginTwoCodePointsFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.fromGrammar("TEST = \"\uD83D\uDE00A\" .. \"\uD83D\uDE4F\";")
+        );
+    }
+
+    @Test
+    public void testRangeBeginAfterEndFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.fromGrammar("TEST = \"\uD83D\uDE4F\" .. \"A\";")
+        );
+    }
+
+    @Test
+    public void testAlternatives() {
+        this.fromGrammarAndCheck(
+                "TEST = \"A\" | \"\uD83D\uDE00\" | \"B\" .. \"C\";",
+                'A', 'C',
+                GRINNING, GRINNING
+        );
+    }
+
+    @Test
+    public void testException() {
+        this.fromGrammarAndCheck(
+                "TEST = (\"A\" .. \"\uD83D\uDE4F\") - (\"B\" .. \"\uD83D\uDE00\");",
+                'A', 'A',
+                GRINNING + 1, 0x1F64F
+        );
+    }
+
+    @Test
+    public void testIdentifierForwardReference() {
+        this.fromGrammarAndCheck(
+                "TEST = ABC | \"D\";\n" +
+                        "ABC = \"ABC\";",
+                'A', 'D'
+        );
+    }
+
+    @Test
+    public void testIdentifierUnknownFail() {
+        assertThrows(
+                EbnfGrammarParserTokenInvalidReferencesException.class,
+                () -> this.fromGrammar("TEST = UNKNOWN;")
+        );
+    }
+
+    @Test
+    public void testPredefined() {
+        this.fromGrammarAndCheck(
+                "TEST = LETTER | \"\uD83D\uDE00\";",
+                'a', 'z',
+                GRINNING, GRINNING
+        );
+    }
+
+    @Test
+    public void testPredefinedReturnedUnchanged() {
+        final IntPredicate letter = predefined().get(LETTER);
+        assertSame(
+                letter,
+                CodePointGrammarEbnfParserTokenVisitor.fromGrammar(
+                        EbnfParserToken.parse("TEST = LETTER;"),
+                        Maps.of(LETTER, letter)
+                ).get(LETTER)
+        );
+    }
+
+    @Test
+    public void testCycleFails() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> this.fromGrammar("TEST = \"A\" | OTHER;\n" +
+                        "OTHER = \"B\" | TEST;")
+        );
+        this.checkEquals("Rule TEST references itself [TEST, OTHER]", thrown.getMessage());
+    }
+
+    @Test
+    public void testCycleFailsBeforeBuilding() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> this.fromGrammar("TEST = \"z\" .. \"a\";\n" +
+                        "OTHER = \"B\" | OTHER;")
+        );
+        this.checkEquals("Rule OTHER references itself [OTHER]", thrown.getMessage());
+    }
+
+    @Test
+    public void testLongChain() {
+        final int length = 10000;
+        final StringBuilder grammar = new StringBuilder();
+        grammar.append("TEST = R0 | \"0\" .. R0;\n");
+        for (int i = 0; i < length; i++) {
+            grammar.append("R").append(i).append(" = R").append(i + 1).append(";\n");
+        }
+        grammar.append("R").append(length).append(" = \"9\";");
+
+        this.fromGrammarAndCheck(
+                grammar.toString(),
+                '0', '9'
+        );
+    }
+
+    @Test
+    public void testConcatenationFails() {
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> this.fromGrammar("TEST = \"A\", \"B\";")
+        );
+    }
+
+    @Test
+    public void testGrammarOrder() {
+        final Map<EbnfIdentifierName, IntPredicate> all = this.fromGrammar(
+                "ABC = \"ABC\";\n" +
+                        "TEST = ABC | DEF;\n" +
+                        "DEF = \"DEF\";"
+        );
+
+        this.checkEquals(
+                Lists.of(
+                        LETTER,
+                        EbnfIdentifierName.with("ABC"),
+                        TEST,
+                        EbnfIdentifierName.with("DEF")
+                ),
+                new ArrayList<>(all.keySet())
+        );
+        this.checkEquals("TEST", all.get(TEST).toString());
+    }
+
+    private void fromGrammarAndCheck(final String grammar,
+                                     final int... ranges) {
+        final IntPredicate test = this.fromGrammar(grammar).get(TEST);
+
+        assertArrayEquals(
+                ranges,
+                EbnfGrammarCodePointRanges.with(test).ranges,
+                grammar
+        );
+        for (int i = 0; i < ranges.length; i += 2) {
+            this.checkEquals(true, test.test(ranges[i]), "begin " + ranges[i]);
+            this.checkEquals(true, test.test(ranges[i + 1]), "end " + ranges[i + 1]);
+        }
+    }
+
+    private Map<EbnfIdentifierName, IntPredicate> fromGrammar(final String grammar) {
+        return CodePointGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse(grammar),
+                predefined()
+        );
+    }
+
+    private static Map<EbnfIdentifierName, IntPredicate> predefined() {
+        return Maps.of(LETTER, c -> c >= 'a' && c <= 'z');
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<CodePointGrammarEbnfParserTokenVisitor> type() {
+        return CodePointGrammarEbnfParserTokenVisitor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicateTesting;
+import walkingkooka.predicate.character.CharPredicates;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateAdaptiveTest implements CharPredicateTesting<EbnfGrammarCharPredicateAdaptive> {
+
+    private final static CharPredicate LATIN = CharPredicates.range('\u0100', '\u024f');
+
+    private final static CharPredicate GREEK = CharPredicates.range('\u0370', '\u03ff');
+
+    private final static CharPredicate CYRILLIC = CharPredicates.range('\u0400', '\u04ff');
+
+    private final static CharPredicate ASCII_LETTER = CharPredicates.range('a', 'z');
+
+    /**
+     * Enough tests of the characters of a branch to count well over {@link EbnfGrammarCharPredicateAdaptive#SAMPLES}.
+     */
+    private final static int TIMES = EbnfGrammarCharPredicateAdaptive.SAMPLE_EVERY * EbnfGrammarCharPredicateAdaptive.SAMPLES * 2;
+
+    private final static String TO_STRING = "RULE";
+
+    @Test
+    public void testWithNullBranchesFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateAdaptive.with(null, TO_STRING));
+    }
+
+    @Test
+    public void testWithOneBranchFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateAdaptive.with(Lists.of(LATIN), TO_STRING));
+    }
+
+    @Test
+    public void testWithNullToStringFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateAdaptive.with(branches(), null));
+    }
+
+    @Test
+    public void testAllCharacters() {
+        this.testAllCharacters(this.createCharPredicate());
+    }
+
+    private void testAllCharacters(final EbnfGrammarCharPredicateAdaptive adaptive) {
+        for (int i = 0; i < 65536; i++) {
+            final char c = (char) i;
+            assertEquals(
+                    LATIN.test(c) || GREEK.test(c) || CYRILLIC.test(c),
+                    adaptive.test(c),
+                    () -> "test " + Integer.toHexString(c)
+            );
+        }
+    }
+
+    @Test
+    public void testBranchesInitialOrder() {
+        this.checkEquals(branches(), this.createCharPredicate().branches());
+    }
+
+    @Test
+    public void testReordersMostFrequentFirst() {
+        final EbnfGrammarCharPredicateAdaptive adaptive = this.createCharPredicate();
+
+        this.testTimes(adaptive, CYRILLIC, TIMES);
+        this.checkEquals(Lists.of(CYRILLIC, LATIN, GREEK), adaptive.branches());
+    }
+
+    @Test
+    public void testWithoutMatchesUnchanged() {
+        final EbnfGrammarCharPredicateAdaptive adaptive = this.createCharPredicate();
+
+        this.testTimes(adaptive, CharPredicates.range('\u3000', '\u30ff'), TIMES);
+        this.checkEquals(branches(), adaptive.branches());
+    }
+
+    @Test
+    public void testReordersAgainWhenFrequenciesChange() {
+        final EbnfGrammarCharPredicateAdaptive adaptive = this.createCharPredicate();
+
+        this.testTimes(adaptive, CYRILLIC, TIMES);
+        this.testTimes(adaptive, GREEK, TIMES);
+        this.checkEquals(Lists.of(GREEK, CYRILLIC, LATIN), adaptive.branches());
+    }
+
+    @Test
+    public void testBeforeSamplesUnchanged() {
+        final EbnfGrammarCharPredicateAdaptive adaptive = this.createCharPredicate();
+
+        this.testTimes(adaptive, CYRILLIC, EbnfGrammarCharPredicateAdaptive.SAMPLES - 1);
+        this.checkEquals(branches(), adaptive.branches());
+    }
+
+    @Test
+    public void testAsciiNotSampled() {
+        final EbnfGrammarCharPredicateAdaptive adaptive = EbnfGrammarCharPredicateAdaptive.with(
+                Lists.of(LATIN, ASCII_LETTER),
+                TO_STRING
+        );
+
+        this.testTimes(adaptive, ASCII_LETTER, TIMES);
+        this.checkEquals(Lists.of(LATIN, ASCII_LETTER), adaptive.branches());
+    }
+
+    @Test
+    public void testSharedByThreads() throws InterruptedException {
+        final EbnfGrammarCharPredicateAdaptive adaptive = this.createCharPredicate();
+        final List<Throwable> failures = Collections.synchronizedList(Lists.array());
+        final List<Thread> threads = Lists.array();
+
+        for (int t = 0; t < 4; t++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    this.testAllCharacters(adaptive);
+                    this.testTimes(adaptive, CYRILLIC, TIMES);
+                } catch (final Throwable cause) {
+                    failures.add(cause);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        this.checkEquals(Lists.empty(), failures);
+        this.checkEquals(CYRILLIC, adaptive.branches().get(0));
+    }
+
+    /**
+     * Tests every character matched by the given predicate in turn, until the given number of tests.
+     */
+    private void testTimes(final EbnfGrammarCharPredicateAdaptive adaptive,
+                           final CharPredicate chars,
+                           final int times) {
+        int i = 0;
+        while (i < times) {
+            for (int c = 0; c < 65536 && i < times; c++) {
+                if (chars.test((char) c)) {
+                    adaptive.test((char) c);
+                    i++;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSetToStringSame() {
+        final EbnfGrammarCharPredicateAdaptive adaptive = this.createCharPredicate();
+        assertSame(adaptive, adaptive.setToString(TO_STRING));
+    }
+
+    @Test
+    public void testSetToStringDifferent() {
+        final EbnfGrammarCharPredicateAdaptive adaptive = this.createCharPredicate();
+        final CharPredicate different = adaptive.setToString("different");
+
+        this.toStringAndCheck(different, "different");
+        this.checkEquals(branches(), ((EbnfGrammarCharPredicateAdaptive) different).branches());
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createCharPredicate(), TO_STRING);
+    }
+
+    @Override
+    public EbnfGrammarCharPredicateAdaptive createCharPredicate() {
+        return EbnfGrammarCharPredicateAdaptive.with(branches(), TO_STRING);
+    }
+
+    private static List<CharPredicate> branches() {
+        return Lists.of(LATIN, GREEK, CYRILLIC);
+    }
+
+    @Override
+    public Class<EbnfGrammarCharPredicateAdaptive> type() {
+        return EbnfGrammarCharPredicateAdaptive.class;
+    }
+}
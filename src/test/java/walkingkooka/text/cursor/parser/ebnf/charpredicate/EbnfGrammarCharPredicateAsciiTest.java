@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicateTesting;
+import walkingkooka.predicate.character.CharPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateAsciiTest implements CharPredicateTesting<EbnfGrammarCharPredicateAscii> {
+
+    private final static int DEPTH = 2;
+
+    private final static String TO_STRING = "RULE";
+
+    @Test
+    public void testWithNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateAscii.with(null, DEPTH, TO_STRING));
+    }
+
+    @Test
+    public void testWithInvalidDepthFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateAscii.with(predicate(), 0, TO_STRING));
+    }
+
+    @Test
+    public void testWithNullToStringFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateAscii.with(predicate(), DEPTH, null));
+    }
+
+    @Test
+    public void testWithRanges() {
+        final EbnfGrammarCharPredicateRanges ranges = EbnfGrammarCharPredicateRanges.characters("ABC", "\"ABC\"");
+        final EbnfGrammarCharPredicate predicate = EbnfGrammarCharPredicateAscii.with(ranges, DEPTH, TO_STRING);
+
+        assertSame(ranges.ranges, ((EbnfGrammarCharPredicateRanges) predicate).ranges);
+        this.toStringAndCheck(predicate, TO_STRING);
+    }
+
+    @Test
+    public void testAllCharacters() {
+        final CharPredicate predicate = predicate();
+        final EbnfGrammarCharPredicate ascii = this.createCharPredicate();
+
+        for (int i = 0; i < 65536; i++) {
+            final char c = (char) i;
+            assertEquals(
+                    predicate.test(c),
+                    ascii.test(c),
+                    () -> "test " + Integer.toHexString(c)
+            );
+        }
+    }
+
+    @Test
+    public void testAsciiMask() {
+        final EbnfGrammarCharPredicate ascii = this.createCharPredicate();
+
+        this.checkEquals(1L << '0', ascii.ascii0, "ascii0");
+        this.checkEquals(1L << ('A' - 64) | 1L << ('z' - 64), ascii.ascii1, "ascii1");
+    }
+
+    @Test
+    public void testSetToString() {
+        final EbnfGrammarCharPredicateAscii ascii = this.createCharPredicate().setToString("different");
+        this.toStringAndCheck(ascii, "different");
+        this.checkEquals(DEPTH, ascii.depth, "depth");
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createCharPredicate(), TO_STRING);
+    }
+
+    @Override
+    public EbnfGrammarCharPredicateAscii createCharPredicate() {
+        return (EbnfGrammarCharPredicateAscii) EbnfGrammarCharPredicateAscii.with(predicate(), DEPTH, TO_STRING);
+    }
+
+    private static CharPredicate predicate() {
+        return CharPredicates.any("0Az\u00e9\u1234");
+    }
+
+    @Override
+    public Class<EbnfGrammarCharPredicateAscii> type() {
+        return EbnfGrammarCharPredicateAscii.class;
+    }
+}
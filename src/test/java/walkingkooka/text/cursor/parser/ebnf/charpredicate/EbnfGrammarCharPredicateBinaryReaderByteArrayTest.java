@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateBinaryReaderByteArrayTest implements ClassTesting2<EbnfGrammarCharPredicateBinaryReaderByteArray> {
+
+    private final static EbnfIdentifierName WHITESPACE = EbnfIdentifierName.with("WHITESPACE");
+
+    private final static CharPredicate WHITESPACE_PREDICATE = CharPredicates.whitespace();
+
+    @Test
+    public void testRoundTrip() {
+        final Map<EbnfIdentifierName, CharPredicate> predefined = predefined();
+        final Map<EbnfIdentifierName, CharPredicate> predicates = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(
+                        "IDENTIFIER = LETTER | DIGIT | \"_\";\n" +
+                                "LETTER = \"a\"..\"z\" | \"A\"..\"Z\";\n" +
+                                "DIGIT = \"0\"..\"9\";\n" +
+                                "SPACE = WHITESPACE - DIGIT;"
+                ),
+                predefined
+        );
+
+        final Map<EbnfIdentifierName, CharPredicate> read = this.read(
+                EbnfGrammarCharPredicateBinaryWriter.write(predicates, predefined),
+                predefined
+        );
+
+        assertEquals(
+                new ArrayList<>(predicates.keySet()),
+                new ArrayList<>(read.keySet())
+        );
+        assertSame(WHITESPACE_PREDICATE, read.get(WHITESPACE));
+
+        for (final EbnfIdentifierName name : predicates.keySet()) {
+            final CharPredicate expected = predicates.get(name);
+            final CharPredicate actual = read.get(name);
+
+            assertEquals(expected.toString(), actual.toString(), name::toString);
+            for (int i = 0; i < 65536; i++) {
+                final char c = (char) i;
+                if (expected.test(c) != actual.test(c)) {
+                    assertEquals(expected.test(c), actual.test(c), name + " " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRanges() {
+        final EbnfGrammarCharPredicateRanges ranges = EbnfGrammarCharPredicateRanges.characters("ACDz\u00e9", "RANGES");
+
+        final CharPredicate read = this.read(
+                EbnfGrammarCharPredicateBinaryWriter.write(Maps.of(EbnfIdentifierName.with("RANGES"), ranges), Maps.empty()),
+                Maps.empty()
+        ).get(EbnfIdentifierName.with("RANGES"));
+
+        assertArrayEquals(ranges.ranges, ((EbnfGrammarCharPredicateRanges) read).ranges);
+        assertEquals("RANGES", read.toString());
+    }
+
+    @Test
+    public void testPredefinedDifferentNamesFails() {
+        final byte[] bytes = EbnfGrammarCharPredicateBinaryWriter.write(Maps.empty(), predefined());
+
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> this.read(bytes, Maps.of(EbnfIdentifierName.with("OTHER"), WHITESPACE_PREDICATE))
+        );
+        assertEquals("Predefined [OTHER] different from [WHITESPACE]", thrown.getMessage());
+    }
+
+    @Test
+    public void testPredefinedMissingFails() {
+        final byte[] bytes = EbnfGrammarCharPredicateBinaryWriter.write(Maps.empty(), predefined());
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.read(bytes, Maps.empty())
+        );
+    }
+
+    @Test
+    public void testInvalidMagicFails() {
+        final byte[] bytes = EbnfGrammarCharPredicateBinaryWriter.write(Maps.empty(), Maps.empty());
+        bytes[0] = 0;
+
+        assertThrows(IllegalArgumentException.class, () -> this.read(bytes, Maps.empty()));
+    }
+
+    @Test
+    public void testUnsupportedVersionFails() {
+        final byte[] bytes = EbnfGrammarCharPredicateBinaryWriter.write(Maps.empty(), Maps.empty());
+        bytes[7] = 2;
+
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> this.read(bytes, Maps.empty()));
+        assertEquals("Unsupported version 2 expected 1", thrown.getMessage());
+    }
+
+    @Test
+    public void testTruncatedFails() {
+        final byte[] bytes = EbnfGrammarCharPredicateBinaryWriter.write(
+                Maps.of(EbnfIdentifierName.with("RANGES"), EbnfGrammarCharPredicateRanges.range('A', 'Z', "RANGES")),
+                Maps.empty()
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> this.read(Arrays.copyOf(bytes, bytes.length - 2), Maps.empty()));
+    }
+
+    @Test
+    public void testTrailingBytesFails() {
+        final byte[] bytes = EbnfGrammarCharPredicateBinaryWriter.write(Maps.empty(), Maps.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> this.read(Arrays.copyOf(bytes, bytes.length + 2), Maps.empty()));
+    }
+
+    @Test
+    public void testOverlappingRangesFails() {
+        final byte[] bytes = EbnfGrammarCharPredicateBinaryWriter.write(
+                Maps.of(EbnfIdentifierName.with("R"), EbnfGrammarCharPredicateRanges.characters("AC", "R")),
+                Maps.empty()
+        );
+        bytes[bytes.length - 5] = 'D'; // the first range now ends after the second begins
+        assertThrows(IllegalArgumentException.class, () -> this.read(bytes, Maps.empty()));
+    }
+
+    private Map<EbnfIdentifierName, CharPredicate> read(final byte[] bytes,
+                                                        final Map<EbnfIdentifierName, CharPredicate> predefined) {
+        return EbnfGrammarCharPredicateBinaryReaderByteArray.with(bytes)
+                .read(predefined);
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predefined() {
+        return Maps.of(WHITESPACE, WHITESPACE_PREDICATE);
+    }
+
+    @Override
+    public Class<EbnfGrammarCharPredicateBinaryReaderByteArray> type() {
+        return EbnfGrammarCharPredicateBinaryReaderByteArray.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
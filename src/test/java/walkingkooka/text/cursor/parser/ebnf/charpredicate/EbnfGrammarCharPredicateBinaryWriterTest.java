@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateBinaryWriterTest implements ClassTesting2<EbnfGrammarCharPredicateBinaryWriter> {
+
+    @Test
+    public void testWriteNullPredicatesFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateBinaryWriter.write(null, Maps.empty()));
+    }
+
+    @Test
+    public void testWriteNullPredefinedFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateBinaryWriter.write(Maps.empty(), null));
+    }
+
+    @Test
+    public void testWriteEmpty() {
+        this.writeAndCheck(
+                Maps.empty(),
+                Maps.empty(),
+                0x45, 0x42, 0x4e, 0x46, // magic
+                0, 0, 0, 1, // version
+                0, 0, 0, 0, // predefined count
+                0, 0, 0, 0 // entry count
+        );
+    }
+
+    @Test
+    public void testWrite() {
+        final EbnfIdentifierName p = EbnfIdentifierName.with("P");
+        final CharPredicate predefinedPredicate = CharPredicates.is('p');
+
+        final Map<EbnfIdentifierName, CharPredicate> predicates = Maps.ordered();
+        predicates.put(p, predefinedPredicate);
+        predicates.put(EbnfIdentifierName.with("R"), EbnfGrammarCharPredicateRanges.range('A', '\u0100', "T"));
+
+        this.writeAndCheck(
+                predicates,
+                Maps.of(p, predefinedPredicate),
+                0x45, 0x42, 0x4e, 0x46, // magic
+                0, 0, 0, 1, // version
+                0, 0, 0, 1, // predefined count
+                0, 0, 0, 1, 0, 'P', // P
+                0, 0, 0, 2, // entry count
+                0, 0, 0, 1, 0, 'P', // P
+                0, 0, 0, 0, // predefined
+                0, 0, 0, 1, 0, 'R', // R
+                0, 0, 0, 1, // ranges
+                0, 0, 0, 1, 0, 'T', // toString
+                0, 0, 0, 1, // range count
+                0, 'A', 1, 0 // A..\u0100
+        );
+    }
+
+    private void writeAndCheck(final Map<EbnfIdentifierName, CharPredicate> predicates,
+                               final Map<EbnfIdentifierName, CharPredicate> predefined,
+                               final int... expected) {
+        final byte[] bytes = new byte[expected.length];
+        for (int i = 0; i < expected.length; i++) {
+            bytes[i] = (byte) expected[i];
+        }
+
+        assertArrayEquals(
+                bytes,
+                EbnfGrammarCharPredicateBinaryWriter.write(predicates, predefined)
+        );
+    }
+
+    @Override
+    public Class<EbnfGrammarCharPredicateBinaryWriter> type() {
+        return EbnfGrammarCharPredicateBinaryWriter.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateClassifierTest implements ClassTesting2<EbnfGrammarCharPredicateClassifier>,
+        ToStringTesting<EbnfGrammarCharPredicateClassifier> {
+
+    private final static String GRAMMAR = "DIGIT = \"0\" .. \"9\";\n" +
+            "LETTER = \"a\" .. \"z\" | \"A\" .. \"Z\" | \"\u00e0\" .. \"\u00ff\";\n" +
+            "HEX = DIGIT | \"a\" .. \"f\" | \"A\" .. \"F\";\n" +
+            "WHITESPACE = \" \t\r\n\u00a0\u3000\";\n" +
+            "SYMBOL = ATSIGN | \"+-*/\";";
+
+    private final static EbnfIdentifierName DIGIT = EbnfIdentifierName.with("DIGIT");
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    private final static EbnfIdentifierName HEX = EbnfIdentifierName.with("HEX");
+
+    private final static EbnfIdentifierName WHITESPACE = EbnfIdentifierName.with("WHITESPACE");
+
+    private final static EbnfIdentifierName SYMBOL = EbnfIdentifierName.with("SYMBOL");
+
+    private final static EbnfIdentifierName ATSIGN = EbnfIdentifierName.with("ATSIGN");
+
+    @Test
+    public void testWithNullPredicatesFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicates.classifier(null));
+    }
+
+    @Test
+    public void testWithNullRulesFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicates.classifier(predicates(), null));
+    }
+
+    @Test
+    public void testWithEmptyRulesFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicates.classifier(predicates(), Lists.empty()));
+    }
+
+    @Test
+    public void testWithUnknownRuleFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicates.classifier(predicates(), Lists.of(DIGIT, EbnfIdentifierName.with("UNKNOWN")))
+        );
+    }
+
+    @Test
+    public void testWithDuplicateRuleFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicates.classifier(predicates(), Lists.of(DIGIT, LETTER, DIGIT))
+        );
+    }
+
+    @Test
+    public void testWithTooManyRulesFails() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = Maps.ordered();
+        for (int i = 0; i <= EbnfGrammarCharPredicateClassifier.MAX_RULES; i++) {
+            predicates.put(EbnfIdentifierName.with("RULE" + i), CharPredicates.is((char) ('0' + i)));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicates.classifier(predicates));
+    }
+
+    @Test
+    public void testMaxRules() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = Maps.ordered();
+        for (int i = 0; i < EbnfGrammarCharPredicateClassifier.MAX_RULES; i++) {
+            predicates.put(EbnfIdentifierName.with("RULE" + i), CharPredicates.is((char) ('0' + i)));
+        }
+
+        final EbnfGrammarCharPredicateClassifier classifier = EbnfGrammarCharPredicates.classifier(predicates);
+        this.checkEquals(1L, classifier.classify('0'), "first");
+        this.checkEquals(1L << 63, classifier.classify((char) ('0' + 63)), "last");
+        this.checkEquals(63, classifier.ruleIndex((char) ('0' + 63)), "last ruleIndex");
+    }
+
+    @Test
+    public void testRules() {
+        this.checkEquals(
+                Lists.of(ATSIGN, DIGIT, LETTER, HEX, WHITESPACE, SYMBOL),
+                EbnfGrammarCharPredicates.classifier(predicates()).rules()
+        );
+    }
+
+    @Test
+    public void testClassifyAllCharacters() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = predicates();
+        final EbnfGrammarCharPredicateClassifier classifier = EbnfGrammarCharPredicates.classifier(predicates);
+        final List<EbnfIdentifierName> rules = classifier.rules();
+
+        for (int i = 0; i <= Character.MAX_VALUE; i++) {
+            final char c = (char) i;
+
+            long mask = 0;
+            int first = -1;
+            for (int r = 0; r < rules.size(); r++) {
+                if (predicates.get(rules.get(r)).test(c)) {
+                    mask |= 1L << r;
+                    if (-1 == first) {
+                        first = r;
+                    }
+                }
+            }
+
+            this.checkEquals(mask, classifier.classify(c), () -> "classify " + Integer.toHexString(c));
+            this.checkEquals(first, classifier.ruleIndex(c), () -> "ruleIndex " + Integer.toHexString(c));
+        }
+    }
+
+    @Test
+    public void testClassify() {
+        final EbnfGrammarCharPredicateClassifier classifier = EbnfGrammarCharPredicates.classifier(predicates());
+
+        this.checkEquals(
+                classifier.mask(DIGIT) | classifier.mask(HEX),
+                classifier.classify('7')
+        );
+        this.checkEquals(
+                classifier.mask(LETTER) | classifier.mask(HEX),
+                classifier.classify('b')
+        );
+        this.checkEquals(
+                classifier.mask(LETTER),
+                classifier.classify('\u00e9')
+        );
+        this.checkEquals(
+                classifier.mask(WHITESPACE),
+                classifier.classify('\u3000')
+        );
+        this.checkEquals(
+                classifier.mask(ATSIGN) | classifier.mask(SYMBOL),
+                classifier.classify('@')
+        );
+        this.checkEquals(
+                0L,
+                classifier.classify('\u4e2d')
+        );
+    }
+
+    @Test
+    public void testSubset() {
+        final EbnfGrammarCharPredicateClassifier classifier = EbnfGrammarCharPredicates.classifier(
+                predicates(),
+                Lists.of(WHITESPACE, DIGIT)
+        );
+
+        this.checkEquals(Lists.of(WHITESPACE, DIGIT), classifier.rules());
+        this.checkEquals(2L, classifier.classify('5'));
+        this.checkEquals(1L, classifier.classify(' '));
+        this.checkEquals(0L, classifier.classify('a'));
+        this.checkEquals(3, classifier.classCount(), "classCount");
+    }
+
+    @Test
+    public void testMaskUnknownFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicates.classifier(predicates(), Lists.of(DIGIT)).mask(LETTER)
+        );
+    }
+
+    @Test
+    public void testIsExclusive() {
+        final EbnfGrammarCharPredicateClassifier classifier = EbnfGrammarCharPredicates.classifier(
+                predicates(),
+                Lists.of(DIGIT, LETTER, WHITESPACE)
+        );
+
+        this.checkEquals(true, classifier.isExclusive());
+        this.checkEquals(0, classifier.ruleIndex('1'));
+        this.checkEquals(1, classifier.ruleIndex('\u00e9'));
+        this.checkEquals(2, classifier.ruleIndex('\u00a0'));
+        this.checkEquals(-1, classifier.ruleIndex('@'));
+    }
+
+    @Test
+    public void testIsExclusiveOverlapping() {
+        final EbnfGrammarCharPredicateClassifier classifier = EbnfGrammarCharPredicates.classifier(
+                predicates(),
+                Lists.of(HEX, DIGIT)
+        );
+
+        this.checkEquals(false, classifier.isExclusive());
+        this.checkEquals(0, classifier.ruleIndex('1'));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                EbnfGrammarCharPredicates.classifier(predicates(), Lists.of(DIGIT, LETTER)),
+                "[DIGIT, LETTER]"
+        );
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predicates() {
+        final Map<EbnfIdentifierName, CharPredicate> predefined = Maps.ordered();
+        predefined.put(ATSIGN, CharPredicates.is('@'));
+
+        return EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(GRAMMAR),
+                predefined
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<EbnfGrammarCharPredicateClassifier> type() {
+        return EbnfGrammarCharPredicateClassifier.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateJavaSourceGeneratorTest implements ClassTesting2<EbnfGrammarCharPredicateJavaSourceGenerator> {
+
+    private final static String PACKAGE = "walkingkooka.text.cursor.parser.ebnf.charpredicate.generated";
+
+    private final static String CLASS_NAME = "TestCharPredicates";
+
+    @Test
+    public void testGenerateNullPackageFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateJavaSourceGenerator.generate(null, CLASS_NAME, Maps.empty()));
+    }
+
+    @Test
+    public void testGenerateNullClassNameFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateJavaSourceGenerator.generate(PACKAGE, null, Maps.empty()));
+    }
+
+    @Test
+    public void testGenerateInvalidClassNameFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateJavaSourceGenerator.generate(PACKAGE, "1Invalid", Maps.empty()));
+    }
+
+    @Test
+    public void testGenerateNullPredicatesFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateJavaSourceGenerator.generate(PACKAGE, CLASS_NAME, null));
+    }
+
+    @Test
+    public void testGenerate() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = Maps.ordered();
+        predicates.put(
+                EbnfIdentifierName.with("LETTER"),
+                EbnfGrammarCharPredicateRanges.range('A', 'Z', "LETTER")
+        );
+        predicates.put(
+                EbnfIdentifierName.with("QUOTE"),
+                EbnfGrammarCharPredicateRanges.characters("\"\\\u00e9", "QUOTE")
+        );
+
+        assertEquals(
+                "// Generated by EbnfGrammarCharPredicates.javaSource, do not edit.\n" +
+                        "package " + PACKAGE + ";\n" +
+                        "\n" +
+                        "import walkingkooka.collect.map.Maps;\n" +
+                        "import walkingkooka.predicate.character.CharPredicate;\n" +
+                        "import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;\n" +
+                        "import walkingkooka.text.cursor.parser.ebnf.charpredicate.EbnfGrammarCharPredicates;\n" +
+                        "\n" +
+                        "import java.util.Map;\n" +
+                        "\n" +
+                        "public final class " + CLASS_NAME + " {\n" +
+                        "\n" +
+                        "    public final static CharPredicate LETTER = EbnfGrammarCharPredicates.ranges(\n" +
+                        "            \"AZ\",\n" +
+                        "            \"LETTER\"\n" +
+                        "    );\n" +
+                        "\n" +
+                        "    public final static CharPredicate QUOTE = EbnfGrammarCharPredicates.ranges(\n" +
+                        "            \"\\\"\\\"\\\\\\\\\\u00e9\\u00e9\",\n" +
+                        "            \"QUOTE\"\n" +
+                        "    );\n" +
+                        "\n" +
+                        "    /**\n" +
+                        "     * All predicates in the order of their grammar.\n" +
+                        "     */\n" +
+                        "    public static Map<EbnfIdentifierName, CharPredicate> predicates() {\n" +
+                        "        return PREDICATES;\n" +
+                        "    }\n" +
+                        "\n" +
+                        "    private final static Map<EbnfIdentifierName, CharPredicate> PREDICATES;\n" +
+                        "\n" +
+                        "    static {\n" +
+                        "        final Map<EbnfIdentifierName, CharPredicate> predicates = Maps.ordered();\n" +
+                        "        predicates.put(EbnfIdentifierName.with(\"LETTER\"), LETTER);\n" +
+                        "        predicates.put(EbnfIdentifierName.with(\"QUOTE\"), QUOTE);\n" +
+                        "        PREDICATES = Maps.immutable(predicates);\n" +
+                        "    }\n" +
+                        "\n" +
+                        "    private " + CLASS_NAME + "() {\n" +
+                        "        throw new UnsupportedOperationException();\n" +
+                        "    }\n" +
+                        "}\n",
+                EbnfGrammarCharPredicateJavaSourceGenerator.generate(PACKAGE, CLASS_NAME, predicates)
+        );
+    }
+
+    @Test
+    public void testGenerateRuleClashingWithPredicatesConstant() {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = Maps.ordered();
+        predicates.put(
+                EbnfIdentifierName.with("PREDICATES"),
+                EbnfGrammarCharPredicateRanges.range('A', 'Z', "PREDICATES")
+        );
+
+        final String source = EbnfGrammarCharPredicateJavaSourceGenerator.generate(PACKAGE, CLASS_NAME, predicates);
+        assertEquals(
+                true,
+                source.contains("private final static Map<EbnfIdentifierName, CharPredicate> PREDICATES_;"),
+                source
+        );
+    }
+
+    @Test
+    public void testCompileAndLoad() throws Exception {
+        final Map<EbnfIdentifierName, CharPredicate> predicates = EbnfGrammarCharPredicates.fromGrammar(
+                EbnfParserToken.parse(
+                        "IDENTIFIER = LETTER | DIGIT | \"_\";\n" +
+                                "LETTER = \"a\"..\"z\" | \"A\"..\"Z\";\n" +
+                                "DIGIT = \"0\"..\"9\";\n" +
+                                "SPACE = WHITESPACE - DIGIT;"
+                ),
+                Maps.of(EbnfIdentifierName.with("WHITESPACE"), CharPredicates.whitespace())
+        );
+
+        final Map<EbnfIdentifierName, CharPredicate> loaded = this.compileAndLoad(
+                EbnfGrammarCharPredicateJavaSourceGenerator.generate(PACKAGE, CLASS_NAME, predicates)
+        );
+
+        assertEquals(
+                new ArrayList<>(predicates.keySet()),
+                new ArrayList<>(loaded.keySet())
+        );
+
+        for (final EbnfIdentifierName name : predicates.keySet()) {
+            final CharPredicate expected = predicates.get(name);
+            final CharPredicate actual = loaded.get(name);
+
+            assertEquals(expected.toString(), actual.toString(), name::toString);
+
+            for (int i = 0; i < 65536; i++) {
+                final char c = (char) i;
+                if (expected.test(c) != actual.test(c)) {
+                    assertEquals(expected.test(c), actual.test(c), name + " " + i);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<EbnfIdentifierName, CharPredicate> compileAndLoad(final String source) throws Exception {
+        final Path dir = Files.createTempDirectory(CLASS_NAME);
+        try {
+            final Path java = dir.resolve(CLASS_NAME + ".java");
+            Files.write(java, source.getBytes(StandardCharsets.UTF_8));
+
+            final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            assertEquals(
+                    0,
+                    compiler.run(
+                            null,
+                            null,
+                            null,
+                            "-classpath",
+                            classpath(
+                                    Maps.class,
+                                    CharPredicate.class,
+                                    EbnfIdentifierName.class,
+                                    EbnfGrammarCharPredicates.class
+                            ),
+                            "-d",
+                            dir.toString(),
+                            java.toString()
+                    ),
+                    source
+            );
+
+            try (final URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, this.getClass().getClassLoader())) {
+                return (Map<EbnfIdentifierName, CharPredicate>) loader.loadClass(PACKAGE + "." + CLASS_NAME)
+                        .getMethod("predicates")
+                        .invoke(null);
+            }
+        } finally {
+            delete(dir.toFile());
+        }
+    }
+
+    /**
+     * The classpath holding the given classes, which are those referenced by the generated source.
+     */
+    private static String classpath(final Class<?>... classes) throws Exception {
+        final StringBuilder classpath = new StringBuilder();
+
+        for (final Class<?> type : classes) {
+            if (classpath.length() > 0) {
+                classpath.append(File.pathSeparatorChar);
+            }
+            classpath.append(
+                    new File(
+                            type.getProtectionDomain()
+                                    .getCodeSource()
+                                    .getLocation()
+                                    .toURI()
+                    )
+            );
+        }
+
+        return classpath.toString();
+    }
+
+    private static void delete(final File file) throws IOException {
+        final File[] files = file.listFiles();
+        if (null != files) {
+            for (final File child : files) {
+                delete(child);
+            }
+        }
+        Files.delete(file.toPath());
+    }
+
+    @Test
+    public void testLiteral() {
+        assertEquals(
+                "\"abc \\\"\\\\\\n\\r\\u0000\\u00e9\\uffff\"",
+                EbnfGrammarCharPredicateJavaSourceGenerator.literal("abc \"\\\n\r\u0000\u00e9\uffff")
+        );
+    }
+
+    @Test
+    public void testJavaIdentifier() {
+        this.javaIdentifierAndCheck("LETTER", "LETTER");
+    }
+
+    @Test
+    public void testJavaIdentifierInvalidCharacters() {
+        this.javaIdentifierAndCheck("A-B.C", "A_B_C");
+    }
+
+    @Test
+    public void testJavaIdentifierLeadingDigit() {
+        this.javaIdentifierAndCheck("1A", "_1A");
+    }
+
+    @Test
+    public void testJavaIdentifierKeyword() {
+        this.javaIdentifierAndCheck("int", "int_");
+    }
+
+    private void javaIdentifierAndCheck(final String name,
+                                        final String expected) {
+        assertEquals(
+                expected,
+                EbnfGrammarCharPredicateJavaSourceGenerator.javaIdentifier(name),
+                name
+        );
+    }
+
+    @Override
+    public Class<EbnfGrammarCharPredicateJavaSourceGenerator> type() {
+        return EbnfGrammarCharPredicateJavaSourceGenerator.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.predicate.character.CharPredicateTesting;
+import walkingkooka.predicate.character.CharPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateRangesTest implements CharPredicateTesting<EbnfGrammarCharPredicateRanges> {
+
+    @Test
+    public void testWithNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateRanges.with(null));
+    }
+
+    @Test
+    public void testWithRanges() {
+        final EbnfGrammarCharPredicateRanges ranges = this.createCharPredicate();
+        assertSame(ranges, EbnfGrammarCharPredicateRanges.with(ranges));
+    }
+
+    @Test
+    public void testWithPredicate() {
+        this.checkRanges(
+                EbnfGrammarCharPredicateRanges.with(
+                        CharPredicates.range('A', 'C')
+                                .or(CharPredicates.is('D'))
+                                .or(CharPredicates.is('Z'))
+                                .or(CharPredicates.is('\uffff'))
+                ),
+                'A', 'D',
+                'Z', 'Z',
+                '\uffff', '\uffff'
+        );
+    }
+
+    @Test
+    public void testCharacters() {
+        this.checkRanges(
+                EbnfGrammarCharPredicateRanges.characters("CAzBAx", "toString"),
+                'A', 'C',
+                'x', 'x',
+                'z', 'z'
+        );
+    }
+
+    @Test
+    public void testCharactersEmpty() {
+        this.checkRanges(
+                EbnfGrammarCharPredicateRanges.characters("", "toString")
+        );
+    }
+
+    @Test
+    public void testRangeBeginAfterEndFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateRanges.range('Z', 'A', "toString"));
+    }
+
+    @Test
+    public void testPairs() {
+        this.checkRanges(
+                EbnfGrammarCharPredicateRanges.pairs("ACxxzz", "toString"),
+                'A', 'C',
+                'x', 'x',
+                'z', 'z'
+        );
+    }
+
+    @Test
+    public void testPairsAdjacentMerged() {
+        this.checkRanges(
+                EbnfGrammarCharPredicateRanges.pairs("ACDF", "toString"),
+                'A', 'F'
+        );
+    }
+
+    @Test
+    public void testPairsOddLengthFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateRanges.pairs("ACx", "toString"));
+    }
+
+    @Test
+    public void testPairsBeginAfterEndFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateRanges.pairs("CA", "toString"));
+    }
+
+    @Test
+    public void testPairsOverlappingFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateRanges.pairs("AFCZ", "toString"));
+    }
+
+    @Test
+    public void testTest() {
+        final EbnfGrammarCharPredicateRanges ranges = this.createCharPredicate();
+
+        this.testTrue(ranges, 'A');
+        this.testTrue(ranges, 'B');
+        this.testTrue(ranges, 'C');
+        this.testTrue(ranges, 'x');
+        this.testTrue(ranges, 'z');
+
+        this.testFalse(ranges, '\0');
+        this.testFalse(ranges, '@');
+        this.testFalse(ranges, 'D');
+        this.testFalse(ranges, 'w');
+        this.testFalse(ranges, 'y');
+        this.testFalse(ranges, '\uffff');
+    }
+
+    @Test
+    public void testTestNonAsciiNone() {
+        this.testAllAndCheck("\0\u007f");
+    }
+
+    @Test
+    public void testTestNonAsciiSingleCharacter() {
+        this.testAllAndCheck("\u00a0\u00a0");
+    }
+
+    @Test
+    public void testTestNonAsciiWhitespace() {
+        this.testAllAndCheck("\t\n  \u00a0\u00a0\u1680\u1680\u2000\u200a\u2028\u2029\u202f\u202f\u205f\u205f\u3000\u3000");
+    }
+
+    @Test
+    public void testTestNonAsciiWithinWindow() {
+        this.testAllAndCheck("\u2010\u2015\u2020\u2020\u204f\u204f");
+    }
+
+    @Test
+    public void testTestNonAsciiAfterWindow() {
+        this.testAllAndCheck("\u2010\u2015\u2050\u2050\uff00\uff10");
+    }
+
+    @Test
+    public void testTestNonAsciiSpanningAscii() {
+        this.testAllAndCheck("A\u00ff\u0400\u04ff");
+    }
+
+    @Test
+    public void testTestNonAsciiLargeRange() {
+        this.testAllAndCheck("\u0100\uffff");
+    }
+
+    private void testAllAndCheck(final String pairs) {
+        final EbnfGrammarCharPredicateRanges ranges = EbnfGrammarCharPredicateRanges.pairs(pairs, "ranges");
+
+        for (int i = 0; i <= Character.MAX_VALUE; i++) {
+            final char c = (char) i;
+
+            boolean expected = false;
+            for (int j = 0; j < pairs.length(); j += 2) {
+                if (c >= pairs.charAt(j) && c <= pairs.charAt(j + 1)) {
+                    expected = true;
+                    break;
+                }
+            }
+
+            this.checkEquals(
+                    expected,
+                    ranges.test(c),
+                    () -> "test " + Integer.toHexString(c)
+            );
+        }
+    }
+
+    @Test
+    public void testUnion() {
+        this.checkRanges(
+                this.createCharPredicate()
+                        .union(
+                                EbnfGrammarCharPredicateRanges.characters("DEy0", "right"),
+                                "union"
+                        ),
+                '0', '0',
+                'A', 'E',
+                'x', 'z'
+        );
+    }
+
+    @Test
+    public void testUnionOverlapping() {
+        this.checkRanges(
+                EbnfGrammarCharPredicateRanges.range('A', 'M', "left")
+                        .union(
+                                EbnfGrammarCharPredicateRanges.range('F', 'Z', "right"),
+                                "union"
+                        ),
+                'A', 'Z'
+        );
+    }
+
+    @Test
+    public void testDifference() {
+        this.checkRanges(
+                EbnfGrammarCharPredicateRanges.range('A', 'Z', "left")
+                        .difference(
+                                EbnfGrammarCharPredicateRanges.characters("AMNZ", "right"),
+                                "difference"
+                        ),
+                'B', 'L',
+                'O', 'Y'
+        );
+    }
+
+    @Test
+    public void testDifferenceSpanningSeveralRanges() {
+        this.checkRanges(
+                this.createCharPredicate()
+                        .difference(
+                                EbnfGrammarCharPredicateRanges.range('B', 'x', "right"),
+                                "difference"
+                        ),
+                'A', 'A',
+                'z', 'z'
+        );
+    }
+
+    @Test
+    public void testDifferenceSelf() {
+        final EbnfGrammarCharPredicateRanges ranges = this.createCharPredicate();
+        this.checkRanges(
+                ranges.difference(ranges, "difference")
+        );
+    }
+
+    @Test
+    public void testComplement() {
+        this.checkRanges(
+                this.createCharPredicate()
+                        .complement("complement"),
+                '\0', '@',
+                'D', 'w',
+                'y', 'y',
+                '{', '\uffff'
+        );
+    }
+
+    @Test
+    public void testComplementAll() {
+        this.checkRanges(
+                EbnfGrammarCharPredicateRanges.range('\0', '\uffff', "all")
+                        .complement("complement")
+        );
+    }
+
+    @Test
+    public void testNone() {
+        this.checkRanges(EbnfGrammarCharPredicateRanges.NONE);
+        this.checkEquals(true, EbnfGrammarCharPredicateRanges.NONE.isEmpty(), "isEmpty");
+        this.checkEquals(false, EbnfGrammarCharPredicateRanges.NONE.isAll(), "isAll");
+    }
+
+    @Test
+    public void testIsEmpty() {
+        this.checkEquals(false, this.createCharPredicate().isEmpty());
+    }
+
+    @Test
+    public void testIsAll() {
+        this.checkEquals(
+                true,
+                EbnfGrammarCharPredicateRanges.range('\0', '\uffff', "all")
+                        .isAll()
+        );
+    }
+
+    @Test
+    public void testIsAllNot() {
+        this.checkEquals(
+                false,
+                EbnfGrammarCharPredicateRanges.range('\0', '\ufffe', "all")
+                        .isAll()
+        );
+    }
+
+    @Test
+    public void testSetToString() {
+        final EbnfGrammarCharPredicateRanges ranges = this.createCharPredicate();
+        final EbnfGrammarCharPredicateRanges different = ranges.setToString("different");
+
+        assertSame(ranges.ranges, different.ranges);
+        this.toStringAndCheck(different, "different");
+    }
+
+    @Test
+    public void testSetToStringSame() {
+        final EbnfGrammarCharPredicateRanges ranges = this.createCharPredicate();
+        assertSame(ranges, ranges.setToString(ranges.toString()));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createCharPredicate(), "\"ABC\" | \"xz\"");
+    }
+
+    private void checkRanges(final EbnfGrammarCharPredicateRanges ranges,
+                             final char... expected) {
+        assertArrayEquals(
+                expected,
+                ranges.ranges,
+                ranges::toString
+        );
+    }
+
+    @Override
+    public EbnfGrammarCharPredicateRanges createCharPredicate() {
+        return EbnfGrammarCharPredicateRanges.characters("ABCxz", "\"ABC\" | \"xz\"");
+    }
+
+    @Override
+    public Class<EbnfGrammarCharPredicateRanges> type() {
+        return EbnfGrammarCharPredicateRanges.class;
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ParserToken;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.RuleEbnfParserToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateRuleGraphTest implements ClassTesting2<EbnfGrammarCharPredicateRuleGraph> {
+
+    private final static String GRAMMAR = "A = \"a\";\n" +
+            "B = A | \"b\";\n" +
+            "C = B - A;\n" +
+            "D = \"d\" .. E;\n" +
+            "E = \"e\";\n" +
+            "F = LETTER;";
+
+    @Test
+    public void testReferences() {
+        final Map<EbnfIdentifierName, Set<EbnfIdentifierName>> references = this.graph(GRAMMAR).references;
+
+        this.checkEquals(Sets.empty(), references.get(name("A")), "A");
+        this.checkEquals(Sets.of(name("A")), references.get(name("B")), "B");
+        this.checkEquals(Sets.of(name("B"), name("A")), references.get(name("C")), "C");
+        this.checkEquals(Sets.of(name("E")), references.get(name("D")), "D range bound");
+        this.checkEquals(Sets.of(name("LETTER")), references.get(name("F")), "F predefined");
+    }
+
+    @Test
+    public void testDependents() {
+        this.dependentsAndCheck(
+                Sets.of(name("A")),
+                name("A"), name("B"), name("C")
+        );
+    }
+
+    @Test
+    public void testDependentsRangeBound() {
+        this.dependentsAndCheck(
+                Sets.of(name("E")),
+                name("D"), name("E")
+        );
+    }
+
+    @Test
+    public void testDependentsPredefined() {
+        this.dependentsAndCheck(
+                Sets.of(name("LETTER")),
+                name("F"), name("LETTER")
+        );
+    }
+
+    @Test
+    public void testDependentsNone() {
+        this.dependentsAndCheck(
+                Sets.of(name("C")),
+                name("C")
+        );
+    }
+
+    @Test
+    public void testDependentsCycle() {
+        this.checkEquals(
+                Sets.of(name("X"), name("Y")),
+                this.graph("X = \"x\" | Y;\nY = \"y\" | X;").dependents(Sets.of(name("X")))
+        );
+    }
+
+    @Test
+    public void testDependentsLongChain() {
+        final StringBuilder grammar = new StringBuilder();
+        final int length = 10000;
+        for (int i = 0; i < length; i++) {
+            grammar.append("R").append(i).append(" = R").append(i + 1).append(";\n");
+        }
+        grammar.append("R").append(length).append(" = \"x\";");
+
+        this.checkEquals(
+                length + 1,
+                this.graph(grammar.toString()).dependents(Sets.of(name("R" + length))).size()
+        );
+    }
+
+    @Test
+    public void testComponents() {
+        this.checkEquals(
+                Lists.of(
+                        Sets.of(name("A")),
+                        Sets.of(name("B")),
+                        Sets.of(name("C")),
+                        Sets.of(name("E")),
+                        Sets.of(name("D")),
+                        Sets.of(name("F"))
+                ),
+                this.graph(GRAMMAR).components()
+        );
+    }
+
+    @Test
+    public void testComponentsCycles() {
+        final List<Set<EbnfIdentifierName>> components = this.graph(
+                "TEST = X | \"t\";\n" +
+                        "X = \"x\" | Y;\n" +
+                        "Y = \"y\" | Z | X;\n" +
+                        "Z = \"z\" | Z;\n" +
+                        "W = TEST;"
+        ).components();
+
+        this.checkEquals(
+                Lists.of(
+                        Sets.of(name("Z")),
+                        Sets.of(name("X"), name("Y")),
+                        Sets.of(name("TEST")),
+                        Sets.of(name("W"))
+                ),
+                components
+        );
+    }
+
+    @Test
+    public void testComponentsLongChain() {
+        final StringBuilder grammar = new StringBuilder();
+        final int length = 10000;
+        for (int i = 0; i < length; i++) {
+            grammar.append("R").append(i).append(" = R").append(i + 1).append(";\n");
+        }
+        grammar.append("R").append(length).append(" = \"x\";");
+
+        final List<Set<EbnfIdentifierName>> components = this.graph(grammar.toString()).components();
+        this.checkEquals(length + 1, components.size());
+        this.checkEquals(Sets.of(name("R" + length)), components.get(0));
+    }
+
+    @Test
+    public void testReachable() {
+        final EbnfGrammarCharPredicateRuleGraph graph = EbnfGrammarCharPredicateRuleGraph.reachable(
+                rules(GRAMMAR),
+                Sets.of(name("D"), name("C"), name("LETTER"))
+        );
+
+        this.checkEquals(
+                Lists.of(
+                        name("A"),
+                        name("B"),
+                        name("C"),
+                        name("D"),
+                        name("E")
+                ),
+                new ArrayList<>(graph.references.keySet())
+        );
+        this.checkEquals(
+                Sets.of(name("A"), name("B"), name("C")),
+                graph.dependents(Sets.of(name("A")))
+        );
+    }
+
+    @Test
+    public void testOrder() {
+        this.checkEquals(
+                Lists.of(
+                        name("A"),
+                        name("B"),
+                        name("C"),
+                        name("E"),
+                        name("D"),
+                        name("F")
+                ),
+                this.graph(GRAMMAR).order()
+        );
+    }
+
+    @Test
+    public void testOrderCycleFails() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> this.graph(
+                        "TEST = X | \"t\";\n" +
+                                "Y = \"y\" | X;\n" +
+                                "X = \"x\" | Y;"
+                ).order()
+        );
+        this.checkEquals("Rule Y references itself [Y, X]", thrown.getMessage());
+    }
+
+    @Test
+    public void testOrderSelfReferenceFails() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> this.graph("Z = \"z\" | Z;").order()
+        );
+        this.checkEquals("Rule Z references itself [Z]", thrown.getMessage());
+    }
+
+    private void dependentsAndCheck(final Set<EbnfIdentifierName> identifiers,
+                                    final EbnfIdentifierName... expected) {
+        this.checkEquals(
+                Sets.of(expected),
+                this.graph(GRAMMAR).dependents(identifiers)
+        );
+    }
+
+    private EbnfGrammarCharPredicateRuleGraph graph(final String grammar) {
+        return EbnfGrammarCharPredicateRuleGraph.with(rules(grammar));
+    }
+
+    private static Map<EbnfIdentifierName, RuleEbnfParserToken> rules(final String grammar) {
+        final Map<EbnfIdentifierName, RuleEbnfParserToken> identifierToRule = Maps.ordered();
+        for (final ParserToken token : EbnfParserToken.parse(grammar).value()) {
+            if (token instanceof RuleEbnfParserToken) {
+                final RuleEbnfParserToken rule = (RuleEbnfParserToken) token;
+                identifierToRule.put(rule.identifier().value(), rule);
+            }
+        }
+        return identifierToRule;
+    }
+
+    private static EbnfIdentifierName name(final String name) {
+        return EbnfIdentifierName.with(name);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<EbnfGrammarCharPredicateRuleGraph> type() {
+        return EbnfGrammarCharPredicateRuleGraph.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicateTesting;
+import walkingkooka.predicate.character.CharPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicateTableTest implements CharPredicateTesting<EbnfGrammarCharPredicateTable> {
+
+    private final static String TO_STRING = "ABC | x..z";
+
+    @Test
+    public void testWithNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicateTable.with(null));
+    }
+
+    @Test
+    public void testWithTable() {
+        final EbnfGrammarCharPredicateTable table = this.createCharPredicate();
+        assertSame(table, EbnfGrammarCharPredicateTable.with(table));
+    }
+
+    @Test
+    public void testTrue() {
+        final EbnfGrammarCharPredicateTable table = this.createCharPredicate();
+        this.testTrue(table, 'A');
+        this.testTrue(table, 'B');
+        this.testTrue(table, 'C');
+        this.testTrue(table, 'x');
+        this.testTrue(table, 'z');
+        this.testTrue(table, '\uffff');
+    }
+
+    @Test
+    public void testFalse() {
+        final EbnfGrammarCharPredicateTable table = this.createCharPredicate();
+        this.testFalse(table, '\0');
+        this.testFalse(table, '@');
+        this.testFalse(table, 'D');
+        this.testFalse(table, 'w');
+        this.testFalse(table, '{');
+        this.testFalse(table, '\ufffe');
+    }
+
+    @Test
+    public void testAllCharacters() {
+        final CharPredicate predicate = predicate();
+        final EbnfGrammarCharPredicateTable table = this.createCharPredicate();
+
+        for (int i = 0; i < 65536; i++) {
+            final char c = (char) i;
+            assertEquals(
+                    predicate.test(c),
+                    table.test(c),
+                    () -> "test " + Integer.toHexString(c)
+            );
+        }
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createCharPredicate(), TO_STRING);
+    }
+
+    @Override
+    public EbnfGrammarCharPredicateTable createCharPredicate() {
+        return EbnfGrammarCharPredicateTable.with(predicate());
+    }
+
+    private static CharPredicate predicate() {
+        return CharPredicates.any("ABC")
+                .or(CharPredicates.range('x', 'z'))
+                .or(CharPredicates.range('\u1000', '\u10ff'))
+                .or(CharPredicates.is('\uffff'))
+                .setToString(TO_STRING);
+    }
+
+    @Override
+    public Class<EbnfGrammarCharPredicateTable> type() {
+        return EbnfGrammarCharPredicateTable.class;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Generates the source of {@link EbnfGrammarCharPredicateUnicodeTables} from the Unicode data of the running JDK, using
+ * {@link Character#getType(int)} and {@link Character.UnicodeScript#of(int)}. Run with the project directory as the
+ * working directory, on a JDK whose {@link #unicodeVersion()} is the wanted version of the tables.
+ */
+public final class EbnfGrammarCharPredicateUnicodeTablesGenerator {
+
+    /**
+     * The file holding the generated class, relative to the project directory.
+     */
+    final static String FILE = "src/main/java/walkingkooka/text/cursor/parser/ebnf/charpredicate/EbnfGrammarCharPredicateUnicodeTables.java";
+
+    /**
+     * The general categories in order, grouped by their major category, the first letter of each name.
+     */
+    private final static String[] CATEGORY_NAMES = new String[]{
+            "Lu", "Ll", "Lt", "Lm", "Lo",
+            "Mn", "Mc", "Me",
+            "Nd", "Nl", "No",
+            "Pc", "Pd", "Ps", "Pe", "Pi", "Pf", "Po",
+            "Sm", "Sc", "Sk", "So",
+            "Zs", "Zl", "Zp",
+            "Cc", "Cf", "Cs", "Co", "Cn"
+    };
+
+    /**
+     * The {@link Character#getType(int)} of each of the {@link #CATEGORY_NAMES}.
+     */
+    private final static byte[] CATEGORY_TYPES = new byte[]{
+            Character.UPPERCASE_LETTER, Character.LOWERCASE_LETTER, Character.TITLECASE_LETTER, Character.MODIFIER_LETTER, Character.OTHER_LETTER,
+            Character.NON_SPACING_MARK, Character.COMBINING_SPACING_MARK, Character.ENCLOSING_MARK,
+            Character.DECIMAL_DIGIT_NUMBER, Character.LETTER_NUMBER, Character.OTHER_NUMBER,
+            Character.CONNECTOR_PUNCTUATION, Character.DASH_PUNCTUATION, Character.START_PUNCTUATION, Character.END_PUNCTUATION, Character.INITIAL_QUOTE_PUNCTUATION, Character.FINAL_QUOTE_PUNCTUATION, Character.OTHER_PUNCTUATION,
+            Character.MATH_SYMBOL, Character.CURRENCY_SYMBOL, Character.MODIFIER_SYMBOL, Character.OTHER_SYMBOL,
+            Character.SPACE_SEPARATOR, Character.LINE_SEPARATOR, Character.PARAGRAPH_SEPARATOR,
+            Character.CONTROL, Character.FORMAT, Character.SURROGATE, Character.PRIVATE_USE, Character.UNASSIGNED
+    };
+
+    /**
+     * The number of range pairs written on each line of a string literal.
+     */
+    private final static int PAIRS_PER_LINE = 16;
+
+    /**
+     * The width the names are wrapped at.
+     */
+    private final static int NAMES_WIDTH = 120;
+
+    /**
+     * Writes the generated source to {@link #FILE}, or the file given as the only argument.
+     */
+    public static void main(final String[] args) throws IOException {
+        final Path file = Paths.get(args.length > 0 ? args[0] : FILE);
+        Files.write(
+                file,
+                generate().getBytes(StandardCharsets.UTF_8)
+        );
+        System.out.println("Wrote " + file.toAbsolutePath());
+    }
+
+    /**
+     * Returns the version of the Unicode data of the running JDK, or an empty string if it is not known.
+     */
+    static String unicodeVersion() {
+        final String version;
+
+        switch (Runtime.version().feature()) {
+            case 11:
+                version = "10.0";
+                break;
+            case 12:
+                version = "11.0";
+                break;
+            case 13:
+            case 14:
+                version = "12.1";
+                break;
+            case 15:
+            case 16:
+            case 17:
+            case 18:
+                version = "13.0";
+                break;
+            case 19:
+                version = "14.0";
+                break;
+            case 20:
+            case 21:
+                version = "15.0";
+                break;
+            case 22:
+            case 23:
+                version = "15.1";
+                break;
+            case 24:
+                version = "16.0";
+                break;
+            default:
+                version = "";
+                break;
+        }
+
+        return version;
+    }
+
+    /**
+     * Returns the pairs of every table by name, the general category groups and categories followed by the scripts
+     * with BMP characters.
+     */
+    static Map<String, String> tables() {
+        final Map<String, String> tables = new LinkedHashMap<>();
+
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            final char major = CATEGORY_NAMES[i].charAt(0);
+            final String name = "UNICODE_" + major;
+            if (false == tables.containsKey(name)) {
+                tables.put(
+                        name,
+                        pairs(c -> CATEGORY_NAMES[category(c)].charAt(0) == major)
+                );
+            }
+        }
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            final int category = i;
+            tables.put(
+                    "UNICODE_" + CATEGORY_NAMES[i],
+                    pairs(c -> category(c) == category)
+            );
+        }
+        for (final Character.UnicodeScript script : Character.UnicodeScript.values()) {
+            final String pairs = pairs(c -> Character.UnicodeScript.of(c) == script);
+            if (false == pairs.isEmpty()) {
+                tables.put("SCRIPT_" + scriptName(script), pairs);
+            }
+        }
+
+        return tables;
+    }
+
+    /**
+     * Returns the index of the {@link #CATEGORY_NAMES} of the character.
+     */
+    private static int category(final int c) {
+        final int type = Character.getType(c);
+
+        for (int i = 0; i < CATEGORY_TYPES.length; i++) {
+            if (CATEGORY_TYPES[i] == type) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown type " + type + " of " + Integer.toHexString(c));
+    }
+
+    /**
+     * Returns the begin and end of each run of BMP characters matched by the predicate.
+     */
+    private static String pairs(final IntPredicate predicate) {
+        final StringBuilder pairs = new StringBuilder();
+        int begin = -1;
+
+        for (int c = 0; c <= Character.MAX_VALUE + 1; c++) {
+            final boolean match = c <= Character.MAX_VALUE && predicate.test(c);
+            if (match && begin < 0) {
+                begin = c;
+            }
+            if (false == match && begin >= 0) {
+                pairs.append((char) begin)
+                        .append((char) (c - 1));
+                begin = -1;
+            }
+        }
+
+        return pairs.toString();
+    }
+
+    /**
+     * Converts a script such as CANADIAN_ABORIGINAL into Canadian_Aboriginal.
+     */
+    private static String scriptName(final Character.UnicodeScript script) {
+        final StringBuilder name = new StringBuilder();
+
+        for (final String part : script.name().split("_")) {
+            if (name.length() > 0) {
+                name.append('_');
+            }
+            name.append(part.charAt(0))
+                    .append(part.substring(1).toLowerCase());
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * Returns the source of {@link EbnfGrammarCharPredicateUnicodeTables}.
+     */
+    static String generate() {
+        final String version = unicodeVersion();
+        if (version.isEmpty()) {
+            throw new IllegalStateException("Unknown Unicode version of JDK " + Runtime.version().feature());
+        }
+
+        final Map<String, String> tables = tables();
+        final StringBuilder b = new StringBuilder();
+
+        b.append("/*\n" +
+                " * Copyright 2019 Miroslav Pokorny (github.com/mP1)\n" +
+                " *\n" +
+                " * Licensed under the Apache License, Version 2.0 (the \"License\");\n" +
+                " * you may not use this file except in compliance with the License.\n" +
+                " * You may obtain a copy of the License at\n" +
+                " *\n" +
+                " *     http://www.apache.org/licenses/LICENSE-2.0\n" +
+                " *\n" +
+                " * Unless required by applicable law or agreed to in writing, software\n" +
+                " * distributed under the License is distributed on an \"AS IS\" BASIS,\n" +
+                " * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.\n" +
+                " * See the License for the specific language governing permissions and\n" +
+                " * limitations under the License.\n" +
+                " *\n" +
+                " */\n" +
+                "\n" +
+                "package walkingkooka.text.cursor.parser.ebnf.charpredicate;\n" +
+                "\n" +
+                "import walkingkooka.text.CharSequences;\n" +
+                "\n" +
+                "/**\n" +
+                " * Holds the BMP characters of each Unicode general category, general category group and script as pairs of begin and\n" +
+                " * end characters, in the format read by {@link EbnfGrammarCharPredicateRanges#pairs(String, String)}. Each table is\n" +
+                " * a string constant, which is only resolved when {@link #pairs(String)} first returns it.\n" +
+                " * <br>\n" +
+                " * The tables were generated from the Unicode " + version + " data of JDK " + Runtime.version().feature() + " by EbnfGrammarCharPredicateUnicodeTablesGenerator in\n" +
+                " * the tests, so they hold characters that older JDKs do not assign. Scripts without any BMP characters are absent.\n" +
+                " */\n" +
+                "final class EbnfGrammarCharPredicateUnicodeTables {\n" +
+                "\n" +
+                "    /**\n" +
+                "     * The version of the Unicode data the tables were generated from.\n" +
+                "     */\n" +
+                "    final static String UNICODE_VERSION = \"" + version + "\";\n" +
+                "\n" +
+                "    /**\n" +
+                "     * The names of all tables in order, the general category groups and categories followed by the scripts.\n" +
+                "     */\n" +
+                "    final static String[] NAMES = new String[]{\n");
+
+        final String indent = "           ";
+        StringBuilder line = new StringBuilder(indent);
+        int i = 0;
+        for (final String name : tables.keySet()) {
+            i++;
+            final String item = " \"" + name + "\"" + (i < tables.size() ? "," : "");
+            if (line.length() + item.length() > NAMES_WIDTH) {
+                b.append(line)
+                        .append('\n');
+                line = new StringBuilder(indent);
+            }
+            line.append(item);
+        }
+        b.append(line)
+                .append("\n" +
+                        "    };\n" +
+                        "\n" +
+                        "    /**\n" +
+                        "     * Returns the pairs of begin and end characters for the given name.\n" +
+                        "     */\n" +
+                        "    static String pairs(final String name) {\n" +
+                        "        final String pairs;\n" +
+                        "\n" +
+                        "        switch (name) {\n");
+
+        final int lineLength = PAIRS_PER_LINE * 2;
+        for (final Map.Entry<String, String> nameAndPairs : tables.entrySet()) {
+            b.append("            case \"")
+                    .append(nameAndPairs.getKey())
+                    .append("\":\n");
+
+            final String pairs = nameAndPairs.getValue();
+            for (int begin = 0; begin < pairs.length(); begin += lineLength) {
+                final int end = Math.min(pairs.length(), begin + lineLength);
+
+                b.append(0 == begin ? "                pairs = " : "                        ")
+                        .append(EbnfGrammarCharPredicateJavaSourceGenerator.literal(pairs.substring(begin, end)))
+                        .append(end < pairs.length() ? " +\n" : ";\n");
+            }
+            b.append("                break;\n");
+        }
+
+        b.append("            default:\n" +
+                "                throw new IllegalArgumentException(\"Unknown table \" + CharSequences.quote(name));\n" +
+                "        }\n" +
+                "\n" +
+                "        return pairs;\n" +
+                "    }\n" +
+                "\n" +
+                "\n" +
+                "    /**\n" +
+                "     * Stop creation\n" +
+                "     */\n" +
+                "    private EbnfGrammarCharPredicateUnicodeTables() {\n" +
+                "        throw new UnsupportedOperationException();\n" +
+                "    }\n" +
+                "}\n");
+
+        return b.toString();
+    }
+
+    /**
+     * Stop creation
+     */
+    private EbnfGrammarCharPredicateUnicodeTablesGenerator() {
+        throw new UnsupportedOperationException();
+    }
+}
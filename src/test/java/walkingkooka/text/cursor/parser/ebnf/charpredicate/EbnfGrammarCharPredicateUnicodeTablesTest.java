@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.CharSequences;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public final class EbnfGrammarCharPredicateUnicodeTablesTest implements ClassTesting2<EbnfGrammarCharPredicateUnicodeTables> {
+
+    @Test
+    public void testPairsUnknownFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicateUnicodeTables.pairs("UNKNOWN"));
+    }
+
+    @Test
+    public void testAllTablesValid() {
+        for (final String name : EbnfGrammarCharPredicateUnicodeTables.NAMES) {
+            EbnfGrammarCharPredicateRanges.pairs(
+                    EbnfGrammarCharPredicateUnicodeTables.pairs(name),
+                    name
+            );
+        }
+    }
+
+    @Test
+    public void testUppercaseLetter() {
+        this.tableAndCheck("UNICODE_Lu", c -> Character.getType(c) == Character.UPPERCASE_LETTER);
+    }
+
+    @Test
+    public void testDecimalDigit() {
+        this.tableAndCheck("UNICODE_Nd", c -> Character.getType(c) == Character.DECIMAL_DIGIT_NUMBER);
+    }
+
+    @Test
+    public void testLetter() {
+        this.tableAndCheck("UNICODE_L", Character::isLetter);
+    }
+
+    @Test
+    public void testGreek() {
+        this.tableAndCheck("SCRIPT_Greek", c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.GREEK);
+    }
+
+    @Test
+    public void testHan() {
+        this.tableAndCheck("SCRIPT_Han", c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN);
+    }
+
+    @Test
+    public void testGenerated() {
+        assumeUnicodeVersion();
+
+        final Map<String, String> tables = EbnfGrammarCharPredicateUnicodeTablesGenerator.tables();
+        this.checkEquals(
+                List.copyOf(tables.keySet()),
+                List.of(EbnfGrammarCharPredicateUnicodeTables.NAMES),
+                "names"
+        );
+
+        for (final Map.Entry<String, String> nameAndPairs : tables.entrySet()) {
+            final String name = nameAndPairs.getKey();
+            this.checkEquals(
+                    nameAndPairs.getValue(),
+                    EbnfGrammarCharPredicateUnicodeTables.pairs(name),
+                    name
+            );
+        }
+    }
+
+    /**
+     * Every character must match the JDK, which is only possible when the JDK has the
+     * {@link EbnfGrammarCharPredicateUnicodeTables#UNICODE_VERSION} data of the tables.
+     */
+    private void tableAndCheck(final String name,
+                               final IntPredicate jdk) {
+        assumeUnicodeVersion();
+
+        final EbnfGrammarCharPredicateRanges ranges = EbnfGrammarCharPredicateRanges.pairs(
+                EbnfGrammarCharPredicateUnicodeTables.pairs(name),
+                name
+        );
+
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            final boolean expected = jdk.test(c);
+            final boolean actual = ranges.test((char) c);
+
+            if (expected != actual) {
+                this.checkEquals(expected, actual, name + " " + Integer.toHexString(c));
+            }
+        }
+    }
+
+    private static void assumeUnicodeVersion() {
+        final String version = EbnfGrammarCharPredicateUnicodeTablesGenerator.unicodeVersion();
+
+        assumeTrue(
+                EbnfGrammarCharPredicateUnicodeTables.UNICODE_VERSION.equals(version),
+                () -> "Tables are Unicode " + EbnfGrammarCharPredicateUnicodeTables.UNICODE_VERSION + " but JDK " + Runtime.version().feature() + " is Unicode " + CharSequences.quote(version)
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<EbnfGrammarCharPredicateUnicodeTables> type() {
+        return EbnfGrammarCharPredicateUnicodeTables.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
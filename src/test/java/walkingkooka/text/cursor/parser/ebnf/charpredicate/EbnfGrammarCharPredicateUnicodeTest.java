@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicateTesting;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class EbnfGrammarCharPredicateUnicodeTest implements CharPredicateTesting<EbnfGrammarCharPredicateUnicode> {
+
+    @Test
+    public void testPredefinedSame() {
+        assertSame(
+                EbnfGrammarCharPredicateUnicode.predefined(),
+                EbnfGrammarCharPredicateUnicode.predefined()
+        );
+    }
+
+    @Test
+    public void testPredefinedImmutable() {
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> EbnfGrammarCharPredicateUnicode.predefined().clear()
+        );
+    }
+
+    @Test
+    public void testPredefinedNames() {
+        final Map<EbnfIdentifierName, CharPredicate> predefined = EbnfGrammarCharPredicateUnicode.predefined();
+
+        this.checkEquals(
+                EbnfGrammarCharPredicateUnicodeTables.NAMES.length,
+                predefined.size()
+        );
+        for (final String name : new String[]{"UNICODE_L", "UNICODE_Lu", "UNICODE_Nd", "SCRIPT_Greek", "SCRIPT_Han"}) {
+            this.checkEquals(
+                    name,
+                    predefined.get(EbnfIdentifierName.with(name)).toString()
+            );
+        }
+    }
+
+    @Test
+    public void testTest() {
+        final EbnfGrammarCharPredicateUnicode predicate = this.createCharPredicate();
+
+        this.testTrue(predicate, 'A');
+        this.testTrue(predicate, 'Z');
+        this.testTrue(predicate, '\u00c0');
+        this.testTrue(predicate, '\u0391');
+
+        this.testFalse(predicate, 'a');
+        this.testFalse(predicate, '1');
+        this.testFalse(predicate, '\u03b1');
+    }
+
+    @Test
+    public void testRangesLoadedOnce() {
+        final EbnfGrammarCharPredicateUnicode predicate = this.createCharPredicate();
+        assertSame(predicate.ranges(), predicate.ranges());
+        assertTrue(predicate.isLoaded());
+    }
+
+    @Test
+    public void testFromGrammarLoadsOnlyReferenced() {
+        final Map<EbnfIdentifierName, CharPredicate> predefined = EbnfGrammarCharPredicateUnicode.predefined();
+        final EbnfGrammarCharPredicateUnicode unreferenced = (EbnfGrammarCharPredicateUnicode) predefined.get(EbnfIdentifierName.with("SCRIPT_Unknown"));
+
+        final CharPredicate test = CharPredicateGrammarEbnfParserTokenVisitor.fromGrammar(
+                EbnfParserToken.parse("TEST = SCRIPT_Greek - UNICODE_Ll | UNICODE_Nd;"),
+                predefined
+        ).get(EbnfIdentifierName.with("TEST"));
+
+        this.checkEquals(false, unreferenced.isLoaded(), "SCRIPT_Unknown loaded");
+        assertTrue(test instanceof EbnfGrammarCharPredicateRanges, () -> "ranges " + test.getClass().getName());
+
+        this.checkEquals(true, test.test('\u0391'), "\u0391");
+        this.checkEquals(true, test.test('1'), "1");
+        this.checkEquals(true, test.test('\u0661'), "\u0661");
+
+        this.checkEquals(false, test.test('\u03b1'), "\u03b1");
+        this.checkEquals(false, test.test('A'), "A");
+    }
+
+    @Test
+    public void testSetToString() {
+        final EbnfGrammarCharPredicateRanges ranges = this.createCharPredicate()
+                .setToString("different");
+
+        this.toStringAndCheck(ranges, "different");
+        assertSame(
+                this.createCharPredicate().ranges().ranges,
+                ranges.ranges
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createCharPredicate(), "UNICODE_Lu");
+    }
+
+    @Override
+    public EbnfGrammarCharPredicateUnicode createCharPredicate() {
+        return (EbnfGrammarCharPredicateUnicode) EbnfGrammarCharPredicateUnicode.predefined()
+                .get(EbnfIdentifierName.with("UNICODE_Lu"));
+    }
+
+    @Override
+    public Class<EbnfGrammarCharPredicateUnicode> type() {
+        return EbnfGrammarCharPredicateUnicode.class;
+    }
+}
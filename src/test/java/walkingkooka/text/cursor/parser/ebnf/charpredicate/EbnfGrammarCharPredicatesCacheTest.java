@@ -0,0 +1,257 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
+import walkingkooka.text.cursor.parser.ebnf.EbnfParserToken;
+import walkingkooka.text.cursor.parser.ebnf.GrammarEbnfParserToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCharPredicatesCacheTest implements ClassTesting2<EbnfGrammarCharPredicatesCache>,
+        ToStringTesting<EbnfGrammarCharPredicatesCache> {
+
+    private final static String GRAMMAR = "TEST = \"A\" | \"B\" | LETTER;";
+
+    private final static EbnfIdentifierName LETTER = EbnfIdentifierName.with("LETTER");
+
+    private final static CharPredicate LETTER_PREDICATE = CharPredicates.range('a', 'z');
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicatesCache.with(0));
+    }
+
+    @Test
+    public void testFromGrammarNullGrammarFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesCache.with(1).fromGrammar(null, Maps.empty()));
+    }
+
+    @Test
+    public void testFromGrammarNullPredefinedFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicatesCache.with(1).fromGrammar(grammar(GRAMMAR), null));
+    }
+
+    @Test
+    public void testFromGrammarMiss() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+        final Map<EbnfIdentifierName, CharPredicate> predicates = cache.fromGrammar(grammar(GRAMMAR), predefined());
+
+        assertEquals(true, predicates.get(EbnfIdentifierName.with("TEST")).test('q'));
+        this.countersAndCheck(cache, 1, 0, 1, 0);
+    }
+
+    @Test
+    public void testFromGrammarHitEqualGrammar() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+
+        assertSame(
+                cache.fromGrammar(grammar(GRAMMAR), predefined()),
+                cache.fromGrammar(grammar(GRAMMAR), predefined())
+        );
+        this.countersAndCheck(cache, 1, 1, 1, 0);
+    }
+
+    @Test
+    public void testFromGrammarHitWhitespaceDifferent() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+
+        assertSame(
+                cache.fromGrammar(grammar(GRAMMAR), predefined()),
+                cache.fromGrammar(grammar("\n  TEST=\"A\"\n    |\"B\"\n    |LETTER ;\n"), predefined())
+        );
+        this.countersAndCheck(cache, 1, 1, 1, 0);
+    }
+
+    @Test
+    public void testFromGrammarHitCommentDifferent() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+
+        assertSame(
+                cache.fromGrammar(grammar(GRAMMAR), predefined()),
+                cache.fromGrammar(grammar("(* letters *) TEST = \"A\" | (* or *) \"B\" | LETTER;"), predefined())
+        );
+        this.countersAndCheck(cache, 1, 1, 1, 0);
+    }
+
+    @Test
+    public void testFromGrammarHitGroupDifferent() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+
+        assertSame(
+                cache.fromGrammar(grammar("TEST = \"A\" | LETTER;"), predefined()),
+                cache.fromGrammar(grammar("TEST = (\"A\" | LETTER);"), predefined())
+        );
+        this.countersAndCheck(cache, 1, 1, 1, 0);
+    }
+
+    @Test
+    public void testFromGrammarDifferentStructureMiss() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+
+        cache.fromGrammar(grammar("TEST = LETTER | \"A\";"), predefined());
+        cache.fromGrammar(grammar("TEST = LETTER - \"A\";"), predefined());
+        cache.fromGrammar(grammar("TEST2 = LETTER | \"A\";"), predefined());
+
+        this.countersAndCheck(cache, 2, 0, 3, 1);
+    }
+
+    @Test
+    public void testFromGrammarDifferentPredefinedPredicateMiss() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+
+        assertNotSame(
+                cache.fromGrammar(grammar(GRAMMAR), predefined()),
+                cache.fromGrammar(grammar(GRAMMAR), Maps.of(LETTER, CharPredicates.range('a', 'z')))
+        );
+        this.countersAndCheck(cache, 2, 0, 2, 0);
+    }
+
+    @Test
+    public void testFromGrammarDifferentGrammarMiss() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+
+        cache.fromGrammar(grammar(GRAMMAR), predefined());
+        cache.fromGrammar(grammar("TEST = \"Z\";"), predefined());
+
+        this.countersAndCheck(cache, 2, 0, 2, 0);
+    }
+
+    @Test
+    public void testFromGrammarEvictsLeastRecentlyUsed() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+
+        final Map<EbnfIdentifierName, CharPredicate> a = cache.fromGrammar(grammar("TEST = \"A\";"), predefined());
+        cache.fromGrammar(grammar("TEST = \"B\";"), predefined());
+        assertSame(a, cache.fromGrammar(grammar("TEST = \"A\";"), predefined()));
+
+        cache.fromGrammar(grammar("TEST = \"C\";"), predefined()); // evicts B
+        assertSame(a, cache.fromGrammar(grammar("TEST = \"A\";"), predefined()));
+        this.countersAndCheck(cache, 2, 2, 3, 1);
+
+        cache.fromGrammar(grammar("TEST = \"B\";"), predefined());
+        this.countersAndCheck(cache, 2, 2, 4, 2);
+    }
+
+    @Test
+    public void testFromGrammarFailureNotCached() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+        final GrammarEbnfParserToken grammar = grammar("TEST = UNKNOWN;");
+
+        assertThrows(RuntimeException.class, () -> cache.fromGrammar(grammar, predefined()));
+        assertThrows(RuntimeException.class, () -> cache.fromGrammar(grammar, predefined()));
+        this.countersAndCheck(cache, 0, 0, 2, 0);
+    }
+
+    @Test
+    public void testFromGrammarConcurrentBuildsOnce() throws Exception {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Map<EbnfIdentifierName, CharPredicate>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(
+                        executor.submit(() -> {
+                            start.await();
+                            return cache.fromGrammar(grammar(GRAMMAR), predefined());
+                        })
+                );
+            }
+            start.countDown();
+
+            final Map<EbnfIdentifierName, CharPredicate> first = futures.get(0).get();
+            for (final Future<Map<EbnfIdentifierName, CharPredicate>> future : futures) {
+                assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        this.countersAndCheck(cache, 1, threads - 1, 1, 0);
+    }
+
+    @Test
+    public void testClear() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+        cache.fromGrammar(grammar(GRAMMAR), predefined());
+        cache.clear();
+
+        this.countersAndCheck(cache, 0, 0, 1, 0);
+    }
+
+    @Test
+    public void testToString() {
+        final EbnfGrammarCharPredicatesCache cache = EbnfGrammarCharPredicatesCache.with(2);
+        cache.fromGrammar(grammar(GRAMMAR), predefined());
+        cache.fromGrammar(grammar(GRAMMAR), predefined());
+
+        this.toStringAndCheck(cache, "size=1 maxSize=2 hits=1 misses=1 evictions=0");
+    }
+
+    private void countersAndCheck(final EbnfGrammarCharPredicatesCache cache,
+                                  final int size,
+                                  final long hits,
+                                  final long misses,
+                                  final long evictions) {
+        assertEquals(size, cache.size(), "size");
+        assertEquals(hits, cache.hits(), "hits");
+        assertEquals(misses, cache.misses(), "misses");
+        assertEquals(evictions, cache.evictions(), "evictions");
+    }
+
+    private static GrammarEbnfParserToken grammar(final String grammar) {
+        return EbnfParserToken.parse(grammar);
+    }
+
+    private static Map<EbnfIdentifierName, CharPredicate> predefined() {
+        return Maps.of(LETTER, LETTER_PREDICATE);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<EbnfGrammarCharPredicatesCache> type() {
+        return EbnfGrammarCharPredicatesCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -17,13 +17,361 @@
 
 package walkingkooka.text.cursor.parser.ebnf.charpredicate;
 
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.predicate.character.CharPredicates;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.reflect.PublicStaticHelperTesting;
+import walkingkooka.text.cursor.parser.ebnf.EbnfIdentifierName;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class EbnfGrammarCharPredicatesTest implements PublicStaticHelperTesting<EbnfGrammarCharPredicates> {
 
+    @Test
+    public void testFromBinaryNullFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicates.fromBinary(null, Maps.empty()));
+    }
+
+    @Test
+    public void testToBinaryFromBinary() {
+        final EbnfIdentifierName digits = EbnfIdentifierName.with("DIGITS");
+
+        final CharPredicate predicate = EbnfGrammarCharPredicates.fromBinary(
+                EbnfGrammarCharPredicates.toBinary(Maps.of(digits, digits()), Maps.empty()),
+                Maps.empty()
+        ).get(digits);
+
+        this.checkEquals(true, predicate.test('5'), "5");
+        this.checkEquals(false, predicate.test('A'), "A");
+    }
+
+    @Test
+    public void testUnicode() {
+        final CharPredicate greek = EbnfGrammarCharPredicates.unicode()
+                .get(EbnfIdentifierName.with("SCRIPT_Greek"));
+
+        this.checkEquals(true, greek.test('\u03b1'), "alpha");
+        this.checkEquals(false, greek.test('A'), "A");
+    }
+
+    @Test
+    public void testRanges() {
+        final CharPredicate predicate = EbnfGrammarCharPredicates.ranges("09az", "DIGIT_OR_LETTER");
+
+        this.checkEquals(true, predicate.test('5'), "5");
+        this.checkEquals(true, predicate.test('q'), "q");
+        this.checkEquals(false, predicate.test('A'), "A");
+        this.checkEquals("DIGIT_OR_LETTER", predicate.toString());
+    }
+
+    @Test
+    public void testRangesInvalidFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicates.ranges("az09", "DIGIT_OR_LETTER"));
+    }
+
+    // bulk.............................................................................................................
+
+    private final static String TEXT = "abc123\u00e9\u00e9xyz";
+
+    @Test
+    public void testIndexOfNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicates.indexOf(null, TEXT, 0));
+    }
+
+    @Test
+    public void testIndexOfNullTextFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicates.indexOf(letters(), (CharSequence) null, 0));
+    }
+
+    @Test
+    public void testIndexOfInvalidFromFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicates.indexOf(letters(), TEXT, -1));
+    }
+
+    @Test
+    public void testIndexOfInvalidFromFails2() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicates.indexOf(letters(), TEXT, TEXT.length() + 1));
+    }
+
+    @Test
+    public void testIndexOfInvalidToFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicates.indexOf(letters(), TEXT.toCharArray(), 0, TEXT.length() + 1));
+    }
+
+    @Test
+    public void testIndexOf() {
+        this.indexOfAndCheck(digits(), 0, 3);
+    }
+
+    @Test
+    public void testIndexOfNonAscii() {
+        this.indexOfAndCheck(letters(), 3, 6);
+    }
+
+    @Test
+    public void testIndexOfNone() {
+        this.indexOfAndCheck(digits(), 6, -1);
+    }
+
+    @Test
+    public void testIndexOfEmpty() {
+        this.indexOfAndCheck(digits(), TEXT.length(), -1);
+    }
+
+    private void indexOfAndCheck(final CharPredicate predicate,
+                                 final int from,
+                                 final int expected) {
+        this.bulkAndCheck(
+                expected,
+                EbnfGrammarCharPredicates.indexOf(predicate, TEXT, from),
+                EbnfGrammarCharPredicates.indexOf(predicate, TEXT.toCharArray(), from, TEXT.length())
+        );
+    }
+
+    @Test
+    public void testIndexOfFirstMismatch() {
+        this.indexOfFirstMismatchAndCheck(letters(), 0, 3);
+    }
+
+    @Test
+    public void testIndexOfFirstMismatchNonAscii() {
+        this.indexOfFirstMismatchAndCheck(digits(), 3, 6);
+    }
+
+    @Test
+    public void testIndexOfFirstMismatchNone() {
+        this.indexOfFirstMismatchAndCheck(letters(), 6, -1);
+    }
+
+    private void indexOfFirstMismatchAndCheck(final CharPredicate predicate,
+                                              final int from,
+                                              final int expected) {
+        this.bulkAndCheck(
+                expected,
+                EbnfGrammarCharPredicates.indexOfFirstMismatch(predicate, TEXT, from),
+                EbnfGrammarCharPredicates.indexOfFirstMismatch(predicate, TEXT.toCharArray(), from, TEXT.length())
+        );
+    }
+
+    @Test
+    public void testSpan() {
+        this.spanAndCheck(letters(), 0, 3);
+    }
+
+    @Test
+    public void testSpanNone() {
+        this.spanAndCheck(letters(), 3, 0);
+    }
+
+    @Test
+    public void testSpanUntilEnd() {
+        this.spanAndCheck(letters(), 6, 5);
+    }
+
+    private void spanAndCheck(final CharPredicate predicate,
+                              final int from,
+                              final int expected) {
+        this.bulkAndCheck(
+                expected,
+                EbnfGrammarCharPredicates.span(predicate, TEXT, from),
+                EbnfGrammarCharPredicates.span(predicate, TEXT.toCharArray(), from, TEXT.length())
+        );
+    }
+
+    @Test
+    public void testCount() {
+        this.countAndCheck(letters(), 0, 8);
+    }
+
+    @Test
+    public void testCount2() {
+        this.countAndCheck(digits(), 1, 3);
+    }
+
+    @Test
+    public void testCountEmpty() {
+        this.countAndCheck(digits(), TEXT.length(), 0);
+    }
+
+    private void countAndCheck(final CharPredicate predicate,
+                               final int from,
+                               final int expected) {
+        this.bulkAndCheck(
+                expected,
+                EbnfGrammarCharPredicates.count(predicate, TEXT, from),
+                EbnfGrammarCharPredicates.count(predicate, TEXT.toCharArray(), from, TEXT.length())
+        );
+    }
+
+    private void bulkAndCheck(final int expected,
+                              final int charSequence,
+                              final int chars) {
+        this.checkEquals(expected, charSequence, "CharSequence");
+        this.checkEquals(expected, chars, "char[]");
+    }
+
+    /**
+     * Letters are a {@link EbnfGrammarCharPredicate} while digits are a plain {@link CharPredicate}, so both loops are tested.
+     */
+    private static CharPredicate letters() {
+        return EbnfGrammarCharPredicateRanges.range('a', 'z', "letters")
+                .union(
+                        EbnfGrammarCharPredicateRanges.characters("\u00e9", "e"),
+                        "letters"
+                );
+    }
+
+    private static CharPredicate digits() {
+        return CharPredicates.range('0', '9');
+    }
+
+    // bulk code points.................................................................................................
+
+    /**
+     * Two emoji, a lone high surrogate before the final x.
+     */
+    private final static String CODE_POINTS = "ab\uD83D\uDE00c1\uD83D\uDE01\uD83Dx";
+
+    @Test
+    public void testIndexOfCodePointNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCharPredicates.indexOfCodePoint(null, CODE_POINTS, 0));
+    }
+
+    @Test
+    public void testIndexOfCodePointInvalidToFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCharPredicates.indexOfCodePoint(emojiOrLetters().get(0), CODE_POINTS.toCharArray(), 0, CODE_POINTS.length() + 1));
+    }
+
+    @Test
+    public void testIndexOfCodePoint() {
+        this.indexOfCodePointAndCheck(0, 0);
+    }
+
+    @Test
+    public void testIndexOfCodePointLowSurrogate() {
+        this.indexOfCodePointAndCheck(3, 4);
+    }
+
+    @Test
+    public void testIndexOfCodePointSupplementary() {
+        this.indexOfCodePointAndCheck(5, 6);
+    }
+
+    private void indexOfCodePointAndCheck(final int from,
+                                          final int expected) {
+        for (final IntPredicate predicate : emojiOrLetters()) {
+            this.bulkAndCheck(
+                    expected,
+                    EbnfGrammarCharPredicates.indexOfCodePoint(predicate, CODE_POINTS, from),
+                    EbnfGrammarCharPredicates.indexOfCodePoint(predicate, CODE_POINTS.toCharArray(), from, CODE_POINTS.length())
+            );
+        }
+    }
+
+    @Test
+    public void testIndexOfFirstCodePointMismatch() {
+        this.indexOfFirstCodePointMismatchAndCheck(0, 5);
+    }
+
+    @Test
+    public void testIndexOfFirstCodePointMismatchLoneHighSurrogate() {
+        this.indexOfFirstCodePointMismatchAndCheck(6, 8);
+    }
+
+    @Test
+    public void testIndexOfFirstCodePointMismatchPairSplitByTo() {
+        for (final IntPredicate predicate : emojiOrLetters()) {
+            this.checkEquals(
+                    6,
+                    EbnfGrammarCharPredicates.indexOfFirstCodePointMismatch(predicate, CODE_POINTS.toCharArray(), 6, 7),
+                    predicate.toString()
+            );
+        }
+    }
+
+    private void indexOfFirstCodePointMismatchAndCheck(final int from,
+                                                       final int expected) {
+        for (final IntPredicate predicate : emojiOrLetters()) {
+            this.bulkAndCheck(
+                    expected,
+                    EbnfGrammarCharPredicates.indexOfFirstCodePointMismatch(predicate, CODE_POINTS, from),
+                    EbnfGrammarCharPredicates.indexOfFirstCodePointMismatch(predicate, CODE_POINTS.toCharArray(), from, CODE_POINTS.length())
+            );
+        }
+    }
+
+    @Test
+    public void testSpanCodePoints() {
+        this.spanCodePointsAndCheck(0, 5);
+    }
+
+    @Test
+    public void testSpanCodePointsSupplementary() {
+        this.spanCodePointsAndCheck(6, 2);
+    }
+
+    @Test
+    public void testSpanCodePointsUntilEnd() {
+        this.spanCodePointsAndCheck(9, 1);
+    }
+
+    private void spanCodePointsAndCheck(final int from,
+                                        final int expected) {
+        for (final IntPredicate predicate : emojiOrLetters()) {
+            this.bulkAndCheck(
+                    expected,
+                    EbnfGrammarCharPredicates.spanCodePoints(predicate, CODE_POINTS, from),
+                    EbnfGrammarCharPredicates.spanCodePoints(predicate, CODE_POINTS.toCharArray(), from, CODE_POINTS.length())
+            );
+        }
+    }
+
+    @Test
+    public void testCountCodePoints() {
+        this.countCodePointsAndCheck(0, 6);
+    }
+
+    @Test
+    public void testCountCodePointsLowSurrogate() {
+        this.countCodePointsAndCheck(3, 3);
+    }
+
+    private void countCodePointsAndCheck(final int from,
+                                         final int expected) {
+        for (final IntPredicate predicate : emojiOrLetters()) {
+            this.bulkAndCheck(
+                    expected,
+                    EbnfGrammarCharPredicates.countCodePoints(predicate, CODE_POINTS, from),
+                    EbnfGrammarCharPredicates.countCodePoints(predicate, CODE_POINTS.toCharArray(), from, CODE_POINTS.length())
+            );
+        }
+    }
+
+    /**
+     * Returns a trie and a plain {@link IntPredicate} matching the same code points, so both loops are tested.
+     */
+    private static List<IntPredicate> emojiOrLetters() {
+        return Lists.of(
+                EbnfGrammarCodePointTrie.with(
+                        EbnfGrammarCodePointRanges.range('a', 'z', "letters")
+                                .union(
+                                        EbnfGrammarCodePointRanges.range(0x1F600, 0x1F64F, "emoji"),
+                                        "emojiOrLetters"
+                                )
+                ),
+                c -> c >= 'a' && c <= 'z' || c >= 0x1F600 && c <= 0x1F64F
+        );
+    }
+
+    // PublicStaticHelperTesting........................................................................................
+
     @Override
     public Class<EbnfGrammarCharPredicates> type() {
         return EbnfGrammarCharPredicates.class;
@@ -31,7 +379,7 @@ public final class EbnfGrammarCharPredicatesTest implements PublicStaticHelperTe
 
     @Override
     public boolean canHavePublicTypes(final Method method) {
-        return false;
+        return method.getName().equals("classifier");
     }
 
     @Override
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class EbnfGrammarCodePointRangesTest implements ClassTesting2<EbnfGrammarCodePointRanges>,
+        ToStringTesting<EbnfGrammarCodePointRanges> {
+
+    private final static int EMOJI = 0x1F600;
+
+    @Test
+    public void testWithNullPredicateFails() {
+        assertThrows(NullPointerException.class, () -> EbnfGrammarCodePointRanges.with(null));
+    }
+
+    @Test
+    public void testWithRanges() {
+        final EbnfGrammarCodePointRanges ranges = this.createRanges();
+        assertSame(ranges, EbnfGrammarCodePointRanges.with(ranges));
+    }
+
+    @Test
+    public void testWithTrie() {
+        final EbnfGrammarCodePointRanges ranges = this.createRanges();
+        final EbnfGrammarCodePointRanges fromTrie = EbnfGrammarCodePointRanges.with(EbnfGrammarCodePointTrie.with(ranges));
+
+        assertArrayEquals(ranges.ranges, fromTrie.ranges);
+        assertEquals(ranges.toString(), fromTrie.toString());
+    }
+
+    @Test
+    public void testWithTrieRangesCrossingBitmaps() {
+        final EbnfGrammarCodePointRanges ranges = EbnfGrammarCodePointRanges.range(0, 63, "a")
+                .union(EbnfGrammarCodePointRanges.range(65, 200, "b"), "ab")
+                .union(EbnfGrammarCodePointRanges.range(0x10000 - 1, Character.MAX_CODE_POINT, "c"), "abc");
+
+        assertArrayEquals(
+                ranges.ranges,
+                EbnfGrammarCodePointRanges.with(EbnfGrammarCodePointTrie.with(ranges)).ranges
+        );
+    }
+
+    @Test
+    public void testWithPredicate() {
+        this.checkRanges(
+                EbnfGrammarCodePointRanges.with(c -> c == 'A' || c == 'B' || c >= EMOJI && c <= EMOJI + 2 || c == Character.MAX_CODE_POINT),
+                'A', 'B',
+                EMOJI, EMOJI + 2,
+                Character.MAX_CODE_POINT, Character.MAX_CODE_POINT
+        );
+    }
+
+    @Test
+    public void testCodePoints() {
+        this.checkRanges(
+                EbnfGrammarCodePointRanges.codePoints("\uD83D\uDE01CA\uD83D\uDE00B", "toString"),
+                'A', 'C',
+                EMOJI, EMOJI + 1
+        );
+    }
+
+    @Test
+    public void testCodePointsLoneSurrogates() {
+        this.checkRanges(
+                EbnfGrammarCodePointRanges.codePoints("\uDE00A\uD83D", "toString"),
+                'A', 'A',
+                0xD83D, 0xD83D,
+                0xDE00, 0xDE00
+        );
+    }
+
+    @Test
+    public void testCodePointsEmpty() {
+        this.checkRanges(
+                EbnfGrammarCodePointRanges.codePoints("", "toString")
+        );
+    }
+
+    @Test
+    public void testCodePointAtPairSplitByTo() {
+        this.checkEquals(0xD83D, EbnfGrammarCodePointRanges.codePointAt("\uD83D\uDE00", 0, 1));
+        this.checkEquals(EMOJI, EbnfGrammarCodePointRanges.codePointAt("\uD83D\uDE00", 0, 2));
+    }
+
+    @Test
+    public void testRangeBeginAfterEndFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCodePointRanges.range(EMOJI, 'A', "toString"));
+    }
+
+    @Test
+    public void testRangeNegativeBeginFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCodePointRanges.range(-1, 'A', "toString"));
+    }
+
+    @Test
+    public void testRangeInvalidEndFails() {
+        assertThrows(IllegalArgumentException.class, () -> EbnfGrammarCodePointRanges.range('A', Character.MAX_CODE_POINT + 1, "toString"));
+    }
+
+    @Test
+    public void testTest() {
+        final EbnfGrammarCodePointRanges ranges = this.createRanges();
+
+        this.checkEquals(true, ranges.test('A'));
+        this.checkEquals(true, ranges.test('C'));
+        this.checkEquals(true, ranges.test(EMOJI));
+        this.checkEquals(true, ranges.test(EMOJI + 0x4F));
+
+        this.checkEquals(false, ranges.test(-1));
+        this.checkEquals(false, ranges.test('D'));
+        this.checkEquals(false, ranges.test(EMOJI - 1));
+        this.checkEquals(false, ranges.test(EMOJI + 0x50));
+        this.checkEquals(false, ranges.test(Character.MAX_CODE_POINT));
+    }
+
+    @Test
+    public void testUnion() {
+        this.checkRanges(
+                this.createRanges()
+                        .union(
+                                EbnfGrammarCodePointRanges.codePoints("D\uD83D\uDE50", "right"),
+                                "union"
+                        ),
+                'A', 'D',
+                EMOJI, EMOJI + 0x50
+        );
+    }
+
+    @Test
+    public void testDifference() {
+        this.checkRanges(
+                this.createRanges()
+                        .difference(
+                                EbnfGrammarCodePointRanges.range('B', EMOJI + 1, "right"),
+                                "difference"
+                        ),
+                'A', 'A',
+                EMOJI + 2, EMOJI + 0x4F
+        );
+    }
+
+    @Test
+    public void testDifferenceSelf() {
+        final EbnfGrammarCodePointRanges ranges = this.createRanges();
+        this.checkRanges(
+                ranges.difference(ranges, "difference")
+        );
+    }
+
+    @Test
+    public void testSetToString() {
+        final EbnfGrammarCodePointRanges ranges = this.createRanges();
+        final EbnfGrammarCodePointRanges different = ranges.setToString("different");
+
+        assertSame(ranges.ranges, different.ranges);
+        this.toStringAndCheck(different, "different");
+    }
+
+    @Test
+    public void testSetToStringSame() {
+        final EbnfGrammarCodePointRanges ranges = this.createRanges();
+        assertSame(ranges, ranges.setToString(ranges.toString()));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createRanges(), "ranges");
+    }
+
+    private EbnfGrammarCodePointRanges createRanges() {
+        return EbnfGrammarCodePointRanges.range('A', 'C', "ABC")
+                .union(
+                        EbnfGrammarCodePointRanges.range(EMOJI, EMOJI + 0x4F, "emoji"),
+                        "ranges"
+                );
+    }
+
+    private void checkRanges(final EbnfGrammarCodePointRanges ranges,
+                             final int... expected) {
+        assertArrayEquals(
+                expected,
+                ranges.ranges,
+                ranges::toString
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<EbnfGrammarCodePointRanges> type() {
+        return EbnfGrammarCodePointRanges.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
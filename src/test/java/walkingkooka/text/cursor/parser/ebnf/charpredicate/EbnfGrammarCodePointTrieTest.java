@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class EbnfGrammarCodePointTrieTest implements ClassTesting2<EbnfGrammarCodePointTrie>,
+        ToStringTesting<EbnfGrammarCodePointTrie> {
+
+    @Test
+    public void testEmpty() {
+        this.checkAllCodePoints(c -> false);
+    }
+
+    @Test
+    public void testAll() {
+        this.checkAllCodePoints(c -> true);
+    }
+
+    @Test
+    public void testAscii() {
+        this.checkAllCodePoints(c -> c == 0 || c == 63 || c == 64 || c == 127 || c >= 'a' && c <= 'z');
+    }
+
+    @Test
+    public void testBitmapBoundaries() {
+        this.checkAllCodePoints(c -> c >= 1023 && c <= 1088 || c == 0xFFFF || c == 0x10000);
+    }
+
+    @Test
+    public void testSupplementary() {
+        this.checkAllCodePoints(c -> c >= 0x1F600 && c <= 0x1F64F || c >= 0x20000 && c <= 0x2A6DF || c == Character.MAX_CODE_POINT);
+    }
+
+    @Test
+    public void testUnicodeLetters() {
+        this.checkAllCodePoints(Character::isLetter);
+    }
+
+    @Test
+    public void testOutsideCodePoints() {
+        final EbnfGrammarCodePointTrie trie = this.createTrie(c -> true);
+
+        this.checkEquals(false, trie.test(-1), "-1");
+        this.checkEquals(false, trie.test(Integer.MIN_VALUE), "MIN_VALUE");
+        this.checkEquals(false, trie.test(Character.MAX_CODE_POINT + 1), "MAX_CODE_POINT + 1");
+    }
+
+    @Test
+    public void testIdenticalBlocksShared() {
+        final EbnfGrammarCodePointTrie trie = this.createTrie(c -> c >= 0x20000 && c <= 0x2A6DF);
+
+        assertTrue(
+                trie.size() < 4096,
+                () -> "size " + trie.size()
+        );
+    }
+
+    @Test
+    public void testBitmap() {
+        final EbnfGrammarCodePointTrie trie = EbnfGrammarCodePointTrie.with(EbnfGrammarCodePointRanges.range('A', 'Z', "A-Z"));
+        assertEquals(0, trie.bitmap(0));
+        assertEquals(0x7fffffeL, trie.bitmap(1));
+        assertEquals(0, trie.bitmap(2));
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                EbnfGrammarCodePointTrie.with(EbnfGrammarCodePointRanges.range('A', 'Z', "A-Z")),
+                "A-Z"
+        );
+    }
+
+    private void checkAllCodePoints(final IntPredicate expected) {
+        final EbnfGrammarCodePointTrie trie = this.createTrie(expected);
+
+        for (int c = 0; c <= Character.MAX_CODE_POINT; c++) {
+            if (expected.test(c) != trie.test(c)) {
+                this.checkEquals(expected.test(c), trie.test(c), "code point " + Integer.toHexString(c));
+            }
+        }
+    }
+
+    private EbnfGrammarCodePointTrie createTrie(final IntPredicate predicate) {
+        return EbnfGrammarCodePointTrie.with(EbnfGrammarCodePointRanges.with(predicate));
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<EbnfGrammarCodePointTrie> type() {
+        return EbnfGrammarCodePointTrie.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classifies a vector of characters at a time against a {@link EbnfGrammarCharPredicateRanges}. Sets holding only ASCII
+ * characters use a nibble lookup, where the low nibble selects a bitmap of the allowed high nibbles. All other sets
+ * compare every lane against each range. Any characters left over at the end are tested one at a time.
+ * <br>
+ * This class references the incubating vector API and must only be loaded when the module is present.
+ */
+final class EbnfGrammarCharPredicateVectorKernel {
+
+    /**
+     * Sets with more ranges than this are faster using the scalar binary search.
+     */
+    final static int MAX_RANGES = 8;
+
+    private final static VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    private final static int LANES = SPECIES.length();
+
+    /**
+     * Returns a kernel for the given ranges or null if they are not suitable.
+     */
+    static EbnfGrammarCharPredicateVectorKernel with(final EbnfGrammarCharPredicateRanges ranges) {
+        final char[] r = ranges.ranges;
+        final int count = r.length / 2;
+
+        return count == 0 || count > MAX_RANGES ?
+                null :
+                new EbnfGrammarCharPredicateVectorKernel(ranges);
+    }
+
+    private EbnfGrammarCharPredicateVectorKernel(final EbnfGrammarCharPredicateRanges ranges) {
+        final char[] r = ranges.ranges;
+        final int count = r.length / 2;
+
+        this.begins = new short[count];
+        this.ends = new short[count];
+        for (int i = 0; i < count; i++) {
+            this.begins[i] = (short) r[i * 2];
+            this.ends[i] = (short) r[i * 2 + 1];
+        }
+
+        this.nibbles = count > 1 && r[r.length - 1] < 128 && LANES >= 16 ?
+                nibbles(r) :
+                null;
+    }
+
+    /**
+     * Builds a table indexed by the low nibble of an ASCII character, holding a bit for each of the 8 possible high nibbles.
+     */
+    private static ShortVector nibbles(final char[] ranges) {
+        final short[] table = new short[LANES];
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            for (int c = ranges[i]; c <= ranges[i + 1]; c++) {
+                table[c & 0xf] |= (short) (1 << (c >> 4));
+            }
+        }
+
+        return ShortVector.fromArray(SPECIES, table, 0);
+    }
+
+    /**
+     * Returns a mask with a lane set for every character matching the ranges.
+     */
+    private VectorMask<Short> matches(final ShortVector text) {
+        final ShortVector nibbles = this.nibbles;
+
+        final VectorMask<Short> matches;
+        if (null != nibbles) {
+            final ShortVector low = text.and((short) 0xf);
+            final ShortVector high = text.lanewise(VectorOperators.LSHR, 4)
+                    .and((short) 7);
+            final ShortVector highBit = ShortVector.broadcast(SPECIES, (short) 1)
+                    .lanewise(VectorOperators.LSHL, high);
+
+            matches = low.selectFrom(nibbles)
+                    .and(highBit)
+                    .compare(VectorOperators.NE, (short) 0)
+                    .and(text.compare(VectorOperators.UNSIGNED_LT, (short) 128));
+        } else {
+            final short[] begins = this.begins;
+            final short[] ends = this.ends;
+
+            VectorMask<Short> or = text.compare(VectorOperators.UNSIGNED_GE, begins[0])
+                    .and(text.compare(VectorOperators.UNSIGNED_LE, ends[0]));
+            for (int i = 1; i < begins.length; i++) {
+                or = or.or(
+                        text.compare(VectorOperators.UNSIGNED_GE, begins[i])
+                                .and(text.compare(VectorOperators.UNSIGNED_LE, ends[i]))
+                );
+            }
+            matches = or;
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns the index of the first character between from and to whose test result equals the given test, or -1.
+     * The ranges the kernel was built from test the characters left over at the end.
+     */
+    int indexOf(final EbnfGrammarCharPredicateRanges ranges,
+                final char[] text,
+                final int from,
+                final int to,
+                final boolean test) {
+        int i = from;
+        for (final int last = to - LANES; i <= last; i += LANES) {
+            VectorMask<Short> matches = this.matches(ShortVector.fromCharArray(SPECIES, text, i));
+            if (false == test) {
+                matches = matches.not();
+            }
+            if (matches.anyTrue()) {
+                return i + matches.firstTrue();
+            }
+        }
+
+        return ranges.indexOf(text, i, to, test);
+    }
+
+    /**
+     * Counts the matching characters between from and to, like {@link #indexOf}.
+     */
+    int count(final EbnfGrammarCharPredicateRanges ranges,
+              final char[] text,
+              final int from,
+              final int to) {
+        int i = from;
+        int count = 0;
+
+        for (final int last = to - LANES; i <= last; i += LANES) {
+            count += this.matches(ShortVector.fromCharArray(SPECIES, text, i))
+                    .trueCount();
+        }
+
+        return count + ranges.count(text, i, to);
+    }
+
+    private final short[] begins;
+
+    private final short[] ends;
+
+    /**
+     * Only present when all ranges are ASCII and a vector holds at least 16 lanes.
+     */
+    private final ShortVector nibbles;
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import walkingkooka.predicate.character.CharPredicate;
+import walkingkooka.reflect.PublicStaticHelper;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Bulk scanning of char arrays, that classifies many characters at once using the incubating vector API when the
+ * predicate is a small range set returned by {@link EbnfGrammarCharPredicates#fromGrammar}. All other predicates, or
+ * when the <code>jdk.incubator.vector</code> module is missing, use the scalar methods of {@link EbnfGrammarCharPredicates}.
+ */
+final public class EbnfGrammarCharPredicatesVector implements PublicStaticHelper {
+
+    /**
+     * True when the vector module was added to the JVM.
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    private final static boolean SUPPORTED = ModuleLayer.boot()
+            .findModule("jdk.incubator.vector")
+            .isPresent();
+
+    /**
+     * Searches test this many characters one at a time before using a vector, as most runs in real text are short
+     * and finish before loading a vector is worthwhile.
+     */
+    final static int SCALAR_PREFIX = 32;
+
+    /**
+     * {@see EbnfGrammarCharPredicates#indexOf(CharPredicate, char[], int, int)}
+     */
+    public static int indexOf(final CharPredicate predicate,
+                              final char[] text,
+                              final int from,
+                              final int to) {
+        return indexOf(predicate, text, from, to, true);
+    }
+
+    /**
+     * {@see EbnfGrammarCharPredicates#indexOfFirstMismatch(CharPredicate, char[], int, int)}
+     */
+    public static int indexOfFirstMismatch(final CharPredicate predicate,
+                                           final char[] text,
+                                           final int from,
+                                           final int to) {
+        return indexOf(predicate, text, from, to, false);
+    }
+
+    /**
+     * Range sets test the first characters one at a time like the scalar methods, continuing with a vector only if
+     * the search is still running, so short runs cost no more than the scalar methods.
+     */
+    private static int indexOf(final CharPredicate predicate,
+                               final char[] text,
+                               final int from,
+                               final int to,
+                               final boolean test) {
+        check(predicate, text, from, to);
+
+        final int index;
+        if (predicate instanceof EbnfGrammarCharPredicateRanges) {
+            final EbnfGrammarCharPredicateRanges ranges = (EbnfGrammarCharPredicateRanges) predicate;
+            final int prefixEnd = to - from > SCALAR_PREFIX ?
+                    from + SCALAR_PREFIX :
+                    to;
+            final int prefix = ranges.indexOf(text, from, prefixEnd, test);
+
+            index = -1 == prefix && prefixEnd < to ?
+                    indexOfVector(ranges, text, prefixEnd, to, test) :
+                    prefix;
+        } else {
+            index = test ?
+                    EbnfGrammarCharPredicates.indexOf(predicate, text, from, to) :
+                    EbnfGrammarCharPredicates.indexOfFirstMismatch(predicate, text, from, to);
+        }
+
+        return index;
+    }
+
+    /**
+     * Kept out of {@link #indexOf(CharPredicate, char[], int, int, boolean)} so the JIT inlines its short scalar path
+     * into callers.
+     */
+    private static int indexOfVector(final EbnfGrammarCharPredicateRanges ranges,
+                                     final char[] text,
+                                     final int from,
+                                     final int to,
+                                     final boolean test) {
+        final EbnfGrammarCharPredicateVectorKernel kernel = kernel(ranges);
+        return null != kernel ?
+                kernel.indexOf(ranges, text, from, to, test) :
+                ranges.indexOf(text, from, to, test);
+    }
+
+    /**
+     * {@see EbnfGrammarCharPredicates#span(CharPredicate, char[], int, int)}
+     */
+    public static int span(final CharPredicate predicate,
+                           final char[] text,
+                           final int from,
+                           final int to) {
+        final int mismatch = indexOfFirstMismatch(predicate, text, from, to);
+        return (-1 == mismatch ? to : mismatch) - from;
+    }
+
+    /**
+     * {@see EbnfGrammarCharPredicates#count(CharPredicate, char[], int, int)}
+     */
+    public static int count(final CharPredicate predicate,
+                            final char[] text,
+                            final int from,
+                            final int to) {
+        check(predicate, text, from, to);
+
+        final EbnfGrammarCharPredicateVectorKernel kernel = to - from > SCALAR_PREFIX ?
+                kernel(predicate) :
+                null;
+        return null != kernel ?
+                kernel.count((EbnfGrammarCharPredicateRanges) predicate, text, from, to) :
+                EbnfGrammarCharPredicates.count(predicate, text, from, to);
+    }
+
+    private static void check(final CharPredicate predicate,
+                              final char[] text,
+                              final int from,
+                              final int to) {
+        EbnfGrammarCharPredicates.checkPredicate(predicate);
+        EbnfGrammarCharPredicates.checkText(text);
+        EbnfGrammarCharPredicates.checkFromTo(from, to, text.length);
+    }
+
+    /**
+     * Returns the kernel cached for the predicate if the vector module is present and the predicate is suitable,
+     * otherwise null. Only searches still running after the scalar prefix, and counts of more characters than it, look
+     * up the kernel, first in the {@link #LAST} kernel of the calling thread and only then in {@link #KERNELS}.
+     */
+    static EbnfGrammarCharPredicateVectorKernel kernel(final CharPredicate predicate) {
+        EbnfGrammarCharPredicateVectorKernel kernel = null;
+
+        if (SUPPORTED && predicate instanceof EbnfGrammarCharPredicateRanges) {
+            final EbnfGrammarCharPredicateRanges ranges = (EbnfGrammarCharPredicateRanges) predicate;
+
+            Last last = LAST.get();
+            if (null == last || last.get() != ranges) {
+                Object cached = KERNELS.get(ranges);
+                if (null == cached) {
+                    cached = EbnfGrammarCharPredicateVectorKernel.with(ranges);
+                    if (null == cached) {
+                        cached = UNSUITABLE;
+                    }
+                    KERNELS.put(ranges, cached);
+                }
+                last = new Last(ranges, cached);
+                LAST.set(last);
+            }
+            if (UNSUITABLE != last.kernel) {
+                kernel = (EbnfGrammarCharPredicateVectorKernel) last.kernel;
+            }
+        }
+
+        return kernel;
+    }
+
+    /**
+     * The kernel of each range set, or {@link #UNSUITABLE}. Range sets are compared by identity, and their entries go
+     * once they are no longer used, as kernels do not reference the ranges they were built from. Two threads may both
+     * build the kernel of a range set, and the last one built is kept.
+     */
+    private final static Map<EbnfGrammarCharPredicateRanges, Object> KERNELS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The range set each thread last scanned with and its kernel, so repeated scans with the same predicate, such as
+     * splitting a text into spans, take no lock.
+     */
+    private final static ThreadLocal<Last> LAST = new ThreadLocal<>();
+
+    /**
+     * Weakly references its range set, so a thread never keeps it alive.
+     */
+    private final static class Last extends WeakReference<EbnfGrammarCharPredicateRanges> {
+
+        Last(final EbnfGrammarCharPredicateRanges ranges,
+             final Object kernel) {
+            super(ranges);
+            this.kernel = kernel;
+        }
+
+        final Object kernel;
+    }
+
+    /**
+     * Cached for ranges that are not worth vectorizing, so they are only examined once.
+     */
+    private final static Object UNSUITABLE = new Object();
+
+    /**
+     * Stop creation
+     */
+    private EbnfGrammarCharPredicatesVector() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.text.cursor.parser.ebnf.charpredicate;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.predicate.character.CharPredicate;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class EbnfGrammarCharPredicatesVectorTest {
+
+    @Test
+    public void testSupported() {
+        assertTrue(EbnfGrammarCharPredicatesVector.isSupported(), "surefire adds the jdk.incubator.vector module");
+    }
+
+    @Test
+    public void testIndexOfInvalidToFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> EbnfGrammarCharPredicatesVector.indexOf(ascii(), new char[1], 0, 2)
+        );
+    }
+
+    @Test
+    public void testKernelCachedPerPredicate() {
+        final EbnfGrammarCharPredicateRanges letters = ascii();
+        final EbnfGrammarCharPredicateRanges digits = EbnfGrammarCharPredicateRanges.range('0', '9', "digits");
+
+        final EbnfGrammarCharPredicateVectorKernel kernel = EbnfGrammarCharPredicatesVector.kernel(letters);
+        final EbnfGrammarCharPredicateVectorKernel digitsKernel = EbnfGrammarCharPredicatesVector.kernel(digits);
+
+        assertSame(kernel, EbnfGrammarCharPredicatesVector.kernel(letters));
+        assertSame(digitsKernel, EbnfGrammarCharPredicatesVector.kernel(digits));
+        assertNotSame(kernel, digitsKernel);
+    }
+
+    @Test
+    public void testKernelTooManyRangesNull() {
+        assertNull(EbnfGrammarCharPredicatesVector.kernel(EbnfGrammarCharPredicateRanges.characters("acegikmoqsuwy", "many")));
+    }
+
+    @Test
+    public void testLongRuns() {
+        final char[] text = new char[1000];
+        Arrays.fill(text, 'a');
+        text[700] = '!';
+
+        assertEquals(700, EbnfGrammarCharPredicatesVector.indexOfFirstMismatch(ascii(), text, 0, text.length));
+        assertEquals(700, EbnfGrammarCharPredicatesVector.indexOf(EbnfGrammarCharPredicateRanges.characters("!", "bang"), text, 0, text.length));
+        assertEquals(999, EbnfGrammarCharPredicatesVector.count(ascii(), text, 0, text.length));
+    }
+
+    @Test
+    public void testAsciiNibbles() {
+        this.scanAndCheck(ascii());
+    }
+
+    @Test
+    public void testSingleRange() {
+        this.scanAndCheck(EbnfGrammarCharPredicateRanges.range('0', '9', "digits"));
+    }
+
+    @Test
+    public void testNonAsciiRanges() {
+        this.scanAndCheck(
+                ascii().union(
+                        EbnfGrammarCharPredicateRanges.range('\u00c0', '\u00ff', "latin1"),
+                        "mixed"
+                ).union(
+                        EbnfGrammarCharPredicateRanges.range('\u8000', '\uffff', "high"),
+                        "mixed"
+                )
+        );
+    }
+
+    @Test
+    public void testManyRanges() {
+        this.scanAndCheck(EbnfGrammarCharPredicateRanges.characters("acegikmoqsuwy", "many"));
+    }
+
+    @Test
+    public void testPlainCharPredicate() {
+        this.scanAndCheck(Character::isDigit);
+    }
+
+    private static EbnfGrammarCharPredicateRanges ascii() {
+        return EbnfGrammarCharPredicateRanges.range('a', 'z', "letters")
+                .union(EbnfGrammarCharPredicateRanges.range('A', 'Z', "letters"), "letters")
+                .union(EbnfGrammarCharPredicateRanges.characters("_$", "letters"), "identifier");
+    }
+
+    /**
+     * Compares the vector results against the scalar results for many random texts and offsets.
+     */
+    private void scanAndCheck(final CharPredicate predicate) {
+        final Random random = new Random(1);
+        final String alphabet = "abcXYZ_$019 \n\u00e9\u00ff\u0100\u8000\uffff";
+
+        for (int i = 0; i < 500; i++) {
+            final char[] text = new char[random.nextInt(200)];
+            for (int j = 0; j < text.length; j++) {
+                text[j] = random.nextInt(4) == 0 ?
+                        (char) random.nextInt(65536) :
+                        alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            final int from = random.nextInt(text.length + 1);
+            final int to = from + random.nextInt(text.length - from + 1);
+
+            assertEquals(
+                    EbnfGrammarCharPredicates.indexOf(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesVector.indexOf(predicate, text, from, to),
+                    "indexOf"
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.indexOfFirstMismatch(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesVector.indexOfFirstMismatch(predicate, text, from, to),
+                    "indexOfFirstMismatch"
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.span(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesVector.span(predicate, text, from, to),
+                    "span"
+            );
+            assertEquals(
+                    EbnfGrammarCharPredicates.count(predicate, text, from, to),
+                    EbnfGrammarCharPredicatesVector.count(predicate, text, from, to),
+                    "count"
+            );
+        }
+    }
+}